@@ -0,0 +1,41 @@
+import org.springframework.boot.gradle.plugin.SpringBootPlugin
+
+plugins {
+    java
+    id("io.spring.dependency-management")
+    id("me.champeau.jmh")
+}
+
+dependencyManagement {
+    imports {
+        mavenBom(SpringBootPlugin.BOM_COORDINATES)
+    }
+}
+
+dependencies {
+    jmh(project(":shared-kernel"))
+    jmh(project(":sales-service"))
+    jmh(project(":payment-service"))
+    jmh(project(":inventory-service"))
+
+    // Aggregates run on an in-memory event store, no Spring context
+    jmh("org.axonframework:axon-eventsourcing:4.9.3")
+    jmh("org.axonframework:axon-modelling:4.9.3")
+    jmh("org.axonframework:axon-messaging:4.9.3")
+    jmh("com.lmax:disruptor:3.4.4")
+
+    // Same mapper setup as the services' Jackson serializer
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+    jmh("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+}
+
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    // Machine-readable results for comparing runs between commits
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+}
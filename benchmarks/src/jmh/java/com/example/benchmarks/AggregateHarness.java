@@ -0,0 +1,63 @@
+package com.example.benchmarks;
+
+import org.axonframework.commandhandling.SimpleCommandBus;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.commandhandling.gateway.DefaultCommandGateway;
+import org.axonframework.common.annotation.ClasspathParameterResolverFactory;
+import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.messaging.annotation.MultiParameterResolverFactory;
+import org.axonframework.messaging.annotation.ParameterResolverFactory;
+import org.axonframework.messaging.annotation.SimpleResourceParameterResolverFactory;
+import org.axonframework.modelling.command.AggregateAnnotationCommandHandler;
+
+import java.util.List;
+
+/**
+ * Event-sourced aggregate on a local command bus and an in-memory event store.
+ *
+ * Commands go through the same annotation handler, unit of work and
+ * event-sourcing repository as in the services; only Axon Server and the
+ * database are left out. Extra handler parameters such as repositories are
+ * resolved from {@code resources}.
+ */
+final class AggregateHarness {
+
+    private final EmbeddedEventStore eventStore;
+    private final CommandGateway commandGateway;
+
+    AggregateHarness(Class<?> aggregateType, Object... resources) {
+        this.eventStore = EmbeddedEventStore.builder()
+            .storageEngine(new InMemoryEventStorageEngine())
+            .build();
+        SimpleCommandBus commandBus = SimpleCommandBus.builder().build();
+        subscribe(aggregateType, commandBus, MultiParameterResolverFactory.ordered(
+            ClasspathParameterResolverFactory.forClass(aggregateType),
+            new SimpleResourceParameterResolverFactory(List.of(resources))
+        ));
+        this.commandGateway = DefaultCommandGateway.builder().commandBus(commandBus).build();
+    }
+
+    <R> R send(Object command) {
+        return commandGateway.sendAndWait(command);
+    }
+
+    void shutdown() {
+        eventStore.shutDown();
+    }
+
+    private <T> void subscribe(Class<T> aggregateType, SimpleCommandBus commandBus,
+                               ParameterResolverFactory parameterResolverFactory) {
+        EventSourcingRepository<T> repository = EventSourcingRepository.builder(aggregateType)
+            .eventStore(eventStore)
+            .parameterResolverFactory(parameterResolverFactory)
+            .build();
+        AggregateAnnotationCommandHandler.<T>builder()
+            .aggregateType(aggregateType)
+            .repository(repository)
+            .parameterResolverFactory(parameterResolverFactory)
+            .build()
+            .subscribe(commandBus);
+    }
+}
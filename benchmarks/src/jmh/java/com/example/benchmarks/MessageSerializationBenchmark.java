@@ -0,0 +1,168 @@
+package com.example.benchmarks;
+
+import com.example.shared.command.*;
+import com.example.shared.event.*;
+import com.example.shared.serialization.BinarySerializer;
+import com.example.shared.serialization.SharedKernelTypes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Round trip of every shared-kernel command and event record through Axon's
+ * JacksonSerializer, with the mapper set up like the services' (JSR-310 types
+ * as ISO strings), and through BinarySerializer. Both produce byte[], as for the
+ * event store and Axon Server. The serialized size is reported next to the
+ * timings as the {@code serializedBytes} and {@code messages} counters; their
+ * ratio is the size of one message.
+ *
+ * Run with: ./gradlew :benchmarks:jmh -PjmhIncludes=MessageSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MessageSerializationBenchmark {
+
+    private static final UUID ORDER_ID = UUID.randomUUID();
+    private static final UUID RESERVATION_ID = UUID.randomUUID();
+    private static final BigDecimal AMOUNT = new BigDecimal("35000");
+
+    private static final Map<String, Supplier<Object>> SAMPLES = Map.ofEntries(
+        Map.entry("CreateOrderCommand", () -> new CreateOrderCommand(ORDER_ID, "CUST-001", "IPHONE17", 1, AMOUNT)),
+        Map.entry("ConfirmOrderCommand", () -> new ConfirmOrderCommand(ORDER_ID)),
+        Map.entry("CancelOrderCommand", () -> CancelOrderCommand.forTimeout(ORDER_ID)),
+        Map.entry("ReservePaymentCommand",
+            () -> new ReservePaymentCommand(RESERVATION_ID, ORDER_ID, "CUST-001", AMOUNT)),
+        Map.entry("ConfirmPaymentCommand", () -> new ConfirmPaymentCommand(RESERVATION_ID, ORDER_ID)),
+        Map.entry("ReleasePaymentCommand",
+            () -> new ReleasePaymentCommand(RESERVATION_ID, ORDER_ID, "Inventory failed")),
+        Map.entry("ReserveInventoryCommand",
+            () -> new ReserveInventoryCommand(RESERVATION_ID, ORDER_ID, "IPHONE17", 1)),
+        Map.entry("ConfirmInventoryCommand", () -> new ConfirmInventoryCommand(RESERVATION_ID, ORDER_ID)),
+        Map.entry("ReleaseInventoryCommand",
+            () -> new ReleaseInventoryCommand(RESERVATION_ID, ORDER_ID, "Payment failed")),
+        Map.entry("OrderCreatedEvent", () -> new OrderCreatedEvent(ORDER_ID, "CUST-001", "IPHONE17", 1, AMOUNT)),
+        Map.entry("OrderConfirmedEvent", () -> new OrderConfirmedEvent(ORDER_ID)),
+        Map.entry("OrderCancelledEvent", () -> new OrderCancelledEvent(ORDER_ID, "Operation timed out", true)),
+        Map.entry("PaymentReservedEvent",
+            () -> new PaymentReservedEvent(ORDER_ID, RESERVATION_ID, "CUST-001", AMOUNT, Instant.now())),
+        Map.entry("PaymentReservationFailedEvent", () -> new PaymentReservationFailedEvent(ORDER_ID, RESERVATION_ID,
+            "CUST-001", AMOUNT, BigDecimal.ZERO, PaymentReservationFailedEvent.Reason.INSUFFICIENT_CREDIT.name(),
+            "Insufficient credit")),
+        Map.entry("PaymentConfirmedEvent", () -> new PaymentConfirmedEvent(ORDER_ID, RESERVATION_ID, AMOUNT)),
+        Map.entry("PaymentReleasedEvent",
+            () -> new PaymentReleasedEvent(ORDER_ID, RESERVATION_ID, AMOUNT, "Inventory failed")),
+        Map.entry("InventoryReservedEvent",
+            () -> new InventoryReservedEvent(ORDER_ID, RESERVATION_ID, "IPHONE17", 1, 99)),
+        Map.entry("InventoryReservationFailedEvent", () -> new InventoryReservationFailedEvent(ORDER_ID,
+            RESERVATION_ID, "IPHONE17", 1, 0, InventoryReservationFailedEvent.Reason.OUT_OF_STOCK.name(),
+            "Insufficient stock")),
+        Map.entry("InventoryConfirmedEvent",
+            () -> new InventoryConfirmedEvent(ORDER_ID, RESERVATION_ID, "IPHONE17", 1)),
+        Map.entry("InventoryReleasedEvent",
+            () -> new InventoryReleasedEvent(ORDER_ID, RESERVATION_ID, "IPHONE17", 1, "Payment failed"))
+    );
+
+    @Param({
+        "CreateOrderCommand", "ConfirmOrderCommand", "CancelOrderCommand",
+        "ReservePaymentCommand", "ConfirmPaymentCommand", "ReleasePaymentCommand",
+        "ReserveInventoryCommand", "ConfirmInventoryCommand", "ReleaseInventoryCommand",
+        "OrderCreatedEvent", "OrderConfirmedEvent", "OrderCancelledEvent",
+        "PaymentReservedEvent", "PaymentReservationFailedEvent", "PaymentConfirmedEvent", "PaymentReleasedEvent",
+        "InventoryReservedEvent", "InventoryReservationFailedEvent", "InventoryConfirmedEvent",
+        "InventoryReleasedEvent"
+    })
+    public String message;
+
+    @Param({"jackson", "binary"})
+    public String format;
+
+    private Serializer serializer;
+    private Object sample;
+    private SerializedObject<byte[]> serialized;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        Serializer jackson = JacksonSerializer.builder().objectMapper(objectMapper).build();
+        serializer = switch (format) {
+            case "jackson" -> jackson;
+            case "binary" -> BinarySerializer.builder().fallback(jackson).register(SharedKernelTypes.MESSAGES).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        Supplier<Object> supplier = SAMPLES.get(message);
+        if (supplier == null) {
+            throw new IllegalArgumentException("No sample for " + message);
+        }
+        sample = supplier.get();
+        serialized = serializer.serialize(sample, byte[].class);
+        if (!sample.equals(serializer.deserialize(serialized))) {
+            throw new IllegalStateException(message + " does not survive a round trip");
+        }
+    }
+
+    /**
+     * Bytes written or read, and the messages they belong to, per iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+
+        public long serializedBytes;
+        public long messages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            serializedBytes = 0;
+            messages = 0;
+        }
+
+        void record(SerializedObject<byte[]> serialized) {
+            serializedBytes += serialized.getData().length;
+            messages++;
+        }
+    }
+
+    @Benchmark
+    public SerializedObject<byte[]> serialize(Size size) {
+        SerializedObject<byte[]> result = serializer.serialize(sample, byte[].class);
+        size.record(result);
+        return result;
+    }
+
+    @Benchmark
+    public Object deserialize(Size size) {
+        size.record(serialized);
+        return serializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public Object roundTrip(Size size) {
+        SerializedObject<byte[]> result = serializer.serialize(sample, byte[].class);
+        size.record(result);
+        return serializer.deserialize(result);
+    }
+}
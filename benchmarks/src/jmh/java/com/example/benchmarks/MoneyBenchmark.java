@@ -0,0 +1,54 @@
+package com.example.benchmarks;
+
+import com.example.shared.valueobject.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money value object arithmetic and the minor-unit conversions done at
+ * command boundaries.
+ *
+ * Run with: ./gradlew :benchmarks:jmh -PjmhIncludes=MoneyBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private final Money balance = Money.of(new BigDecimal("50000.00"));
+    private final Money price = Money.of(new BigDecimal("35000.50"));
+    private final BigDecimal amount = new BigDecimal("35000.50");
+    private final long minorUnits = 3_500_050L;
+
+    @Benchmark
+    public Money addSubtract() {
+        return balance.add(price).subtract(price);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return balance.isGreaterThanOrEqual(price);
+    }
+
+    @Benchmark
+    public long toMinorUnits() {
+        return Money.toMinorUnits(amount);
+    }
+
+    @Benchmark
+    public BigDecimal fromMinorUnits() {
+        return Money.fromMinorUnits(minorUnits);
+    }
+
+    @Benchmark
+    public String formatMinorUnits() {
+        return Money.formatMinorUnits(minorUnits);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.benchmarks;
+
+import com.example.sales.domain.aggregate.Order;
+import com.example.shared.command.CancelOrderCommand;
+import com.example.shared.command.ConfirmOrderCommand;
+import com.example.shared.command.CreateOrderCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order command handling on an in-memory event store.
+ *
+ * {@code create} pays for one new aggregate and one appended event.
+ * {@code createAndConfirm} and {@code createAndCancel} also load the order back
+ * by replaying its events, which is the event-sourcing cost every saga command
+ * sees. The store is rebuilt per iteration so it does not grow across the run.
+ *
+ * Run with: ./gradlew :benchmarks:jmh -PjmhIncludes=OrderAggregateBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class OrderAggregateBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("35000");
+
+    private AggregateHarness harness;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        harness = new AggregateHarness(Order.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        harness.shutdown();
+    }
+
+    @Benchmark
+    public Object create() {
+        return harness.send(createOrder());
+    }
+
+    @Benchmark
+    public Object createAndConfirm() {
+        CreateOrderCommand command = createOrder();
+        harness.send(command);
+        return harness.send(new ConfirmOrderCommand(command.orderId()));
+    }
+
+    @Benchmark
+    public Object createAndCancel() {
+        CreateOrderCommand command = createOrder();
+        harness.send(command);
+        return harness.send(CancelOrderCommand.forTimeout(command.orderId()));
+    }
+
+    private static CreateOrderCommand createOrder() {
+        return new CreateOrderCommand(UUID.randomUUID(), "CUST-001", "IPHONE17", 1, AMOUNT);
+    }
+}
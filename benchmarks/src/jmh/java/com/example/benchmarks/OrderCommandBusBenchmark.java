@@ -0,0 +1,117 @@
+package com.example.benchmarks;
+
+import com.example.sales.domain.aggregate.Order;
+import com.example.shared.command.ConfirmOrderCommand;
+import com.example.shared.command.CreateOrderCommand;
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.commandhandling.SimpleCommandBus;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.commandhandling.gateway.DefaultCommandGateway;
+import org.axonframework.common.annotation.ClasspathParameterResolverFactory;
+import org.axonframework.common.caching.WeakReferenceCache;
+import org.axonframework.disruptor.commandhandling.DisruptorCommandBus;
+import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.GenericAggregateFactory;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.messaging.annotation.ParameterResolverFactory;
+import org.axonframework.modelling.command.AggregateAnnotationCommandHandler;
+import org.axonframework.modelling.command.Repository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order commands per second on the default command bus and on the disruptor bus.
+ *
+ * Each operation creates an order and confirms it, as the saga does on the happy
+ * path. On the simple bus the confirm replays the order from the event store and
+ * locks it; on the disruptor bus the invoker that created the order still has it
+ * cached. Both run on the same in-memory event store, configured as in
+ * {@code DisruptorCommandBusConfig}.
+ *
+ * Run with: ./gradlew :benchmarks:jmh -PjmhIncludes=OrderCommandBusBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class OrderCommandBusBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("35000");
+
+    @Param({"simple", "disruptor"})
+    public String bus;
+
+    private EmbeddedEventStore eventStore;
+    private DisruptorCommandBus disruptorCommandBus;
+    private CommandGateway commandGateway;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        eventStore = EmbeddedEventStore.builder()
+            .storageEngine(new InMemoryEventStorageEngine())
+            .build();
+        ParameterResolverFactory parameterResolverFactory = ClasspathParameterResolverFactory.forClass(Order.class);
+
+        CommandBus commandBus;
+        Repository<Order> repository;
+        switch (bus) {
+            case "simple" -> {
+                commandBus = SimpleCommandBus.builder().build();
+                repository = EventSourcingRepository.builder(Order.class)
+                    .eventStore(eventStore)
+                    .parameterResolverFactory(parameterResolverFactory)
+                    .build();
+            }
+            case "disruptor" -> {
+                disruptorCommandBus = DisruptorCommandBus.builder()
+                    .bufferSize(4096)
+                    .invokerThreadCount(2)
+                    .publisherThreadCount(1)
+                    .cache(new WeakReferenceCache())
+                    .build();
+                commandBus = disruptorCommandBus;
+                repository = disruptorCommandBus.createRepository(
+                    eventStore, new GenericAggregateFactory<>(Order.class), parameterResolverFactory);
+            }
+            default -> throw new IllegalArgumentException("Unknown bus: " + bus);
+        }
+
+        AggregateAnnotationCommandHandler.<Order>builder()
+            .aggregateType(Order.class)
+            .repository(repository)
+            .parameterResolverFactory(parameterResolverFactory)
+            .build()
+            .subscribe(commandBus);
+        commandGateway = DefaultCommandGateway.builder().commandBus(commandBus).build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (disruptorCommandBus != null) {
+            disruptorCommandBus.stop();
+            disruptorCommandBus = null;
+        }
+        eventStore.shutDown();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object createAndConfirm() {
+        UUID orderId = UUID.randomUUID();
+        commandGateway.sendAndWait(new CreateOrderCommand(orderId, "CUST-001", "IPHONE17", 1, AMOUNT));
+        return commandGateway.sendAndWait(new ConfirmOrderCommand(orderId));
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.benchmarks;
+
+import com.example.sales.domain.saga.OrderSaga;
+import com.example.sales.infrastructure.lease.CreditLeases;
+import com.example.sales.infrastructure.lease.StockLeases;
+import com.example.sales.infrastructure.metrics.SagaStepMetrics;
+import com.example.sales.infrastructure.retry.RetryBudget;
+import com.example.sales.infrastructure.retry.RetryMetrics;
+import com.example.sales.infrastructure.retry.RetryPolicy;
+import com.example.sales.infrastructure.retry.RetryableCommandGateway;
+import com.example.sales.infrastructure.timeout.AdaptiveOrderTimeout;
+import com.example.shared.command.*;
+import com.example.shared.event.InventoryConfirmedEvent;
+import com.example.shared.event.InventoryItemsReservedEvent;
+import com.example.shared.event.InventoryReleasedEvent;
+import com.example.shared.event.InventoryReservedEvent;
+import com.example.shared.event.OrderCancelledEvent;
+import com.example.shared.event.OrderConfirmedEvent;
+import com.example.shared.event.MultiItemOrderCreatedEvent;
+import com.example.shared.event.OrderCreatedEvent;
+import com.example.shared.event.PaymentConfirmedEvent;
+import com.example.shared.event.PaymentReservationFailedEvent;
+import com.example.shared.event.PaymentReservedEvent;
+import com.example.shared.valueobject.Money;
+import com.example.shared.valueobject.OrderItem;
+import com.example.shared.valueobject.ProductQuantity;
+import org.axonframework.commandhandling.SimpleCommandBus;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.commandhandling.gateway.DefaultCommandGateway;
+import org.axonframework.deadline.AbstractDeadlineManager;
+import org.axonframework.deadline.DeadlineManager;
+import org.axonframework.messaging.ScopeDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OrderSaga event handling with stub gateways, one whole saga per operation.
+ *
+ * Events are delivered straight to the handlers, so this measures the saga's
+ * own logic and the commands it sends, not association lookups or saga
+ * storage. Sent commands go to no-op handlers on a local command bus.
+ * {@code confirmedBasketOfFour} runs one saga for a four-item order, against
+ * {@code confirmedFourSingleItemOrders} running four.
+ *
+ * Run with: ./gradlew :benchmarks:jmh -PjmhIncludes=OrderSagaBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class OrderSagaBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("35000");
+    private static final List<Class<?>> SAGA_COMMANDS = List.of(
+        ReservePaymentCommand.class, ReserveInventoryCommand.class, ReserveInventoryItemsCommand.class,
+        ConfirmPaymentCommand.class, ConfirmInventoryCommand.class, ConfirmOrderCommand.class,
+        ReleasePaymentCommand.class, ReleaseInventoryCommand.class, CancelOrderCommand.class
+    );
+
+    private static final List<OrderItem> BASKET = List.of(
+        new OrderItem("AIRPODS4", 1, Money.of(AMOUNT)),
+        new OrderItem("IPAD12", 1, Money.of(AMOUNT)),
+        new OrderItem("IPHONE17", 1, Money.of(AMOUNT)),
+        new OrderItem("WATCH11", 1, Money.of(AMOUNT))
+    );
+    private static final BigDecimal BASKET_AMOUNT = AMOUNT.multiply(BigDecimal.valueOf(BASKET.size()));
+    private static final List<ProductQuantity> BASKET_QUANTITIES = BASKET.stream()
+        .map(item -> new ProductQuantity(item.productId(), item.quantity()))
+        .toList();
+
+    private CommandGateway commandGateway;
+    private RetryableCommandGateway retryableCommandGateway;
+    private DeadlineManager deadlineManager;
+    private SagaStepMetrics sagaStepMetrics;
+    private AdaptiveOrderTimeout orderTimeout;
+
+    @Setup
+    public void setUp() {
+        SimpleCommandBus commandBus = SimpleCommandBus.builder().build();
+        SAGA_COMMANDS.forEach(type -> commandBus.subscribe(type.getName(), command -> null));
+        commandGateway = DefaultCommandGateway.builder().commandBus(commandBus).build();
+        retryableCommandGateway = new RetryableCommandGateway(
+            commandGateway,
+            new RetryPolicy(3, Duration.ofMillis(500), 2.0, Duration.ofSeconds(10), 0.5),
+            Map.of(),
+            new RetryBudget(0.2, 10, 100),
+            new RetryMetrics(),
+            (command, cause) -> { }
+        );
+        deadlineManager = new StubDeadlineManager();
+        sagaStepMetrics = new SagaStepMetrics();
+        orderTimeout = new AdaptiveOrderTimeout(
+            Duration.ofSeconds(15), Duration.ofSeconds(2), Duration.ofSeconds(15), 2.0, 100,
+            Duration.ofSeconds(60), Duration.ofSeconds(1), Duration.ofSeconds(30)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        retryableCommandGateway.shutdown();
+    }
+
+    @Benchmark
+    public OrderSaga confirmed() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+        OrderSaga saga = newSaga();
+        saga.on(new OrderCreatedEvent(orderId, "CUST-001", "IPHONE17", 1, AMOUNT));
+        saga.on(new PaymentReservedEvent(orderId, paymentReservationId, "CUST-001", AMOUNT, Instant.now()));
+        saga.on(new InventoryReservedEvent(orderId, inventoryReservationId, "IPHONE17", 1, 99));
+        saga.on(new PaymentConfirmedEvent(orderId, paymentReservationId, AMOUNT));
+        saga.on(new InventoryConfirmedEvent(orderId, inventoryReservationId, "IPHONE17", 1));
+        saga.on(new OrderConfirmedEvent(orderId));
+        return saga;
+    }
+
+    @Benchmark
+    public OrderSaga confirmedBasketOfFour() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+        OrderSaga saga = newSaga();
+        saga.on(new MultiItemOrderCreatedEvent(orderId, "CUST-001", BASKET, BASKET_AMOUNT));
+        saga.on(new PaymentReservedEvent(orderId, paymentReservationId, "CUST-001", BASKET_AMOUNT, Instant.now()));
+        saga.on(new InventoryItemsReservedEvent(orderId, inventoryReservationId, BASKET_QUANTITIES));
+        saga.on(new PaymentConfirmedEvent(orderId, paymentReservationId, BASKET_AMOUNT));
+        for (ProductQuantity item : BASKET_QUANTITIES) {
+            saga.on(new InventoryConfirmedEvent(orderId, inventoryReservationId, item.productId(), item.quantity()));
+        }
+        saga.on(new OrderConfirmedEvent(orderId));
+        return saga;
+    }
+
+    @Benchmark
+    public OrderSaga confirmedFourSingleItemOrders() {
+        OrderSaga saga = null;
+        for (OrderItem item : BASKET) {
+            UUID orderId = UUID.randomUUID();
+            UUID paymentReservationId = UUID.randomUUID();
+            UUID inventoryReservationId = UUID.randomUUID();
+            saga = newSaga();
+            saga.on(new OrderCreatedEvent(orderId, "CUST-001", item.productId(), item.quantity(), AMOUNT));
+            saga.on(new PaymentReservedEvent(orderId, paymentReservationId, "CUST-001", AMOUNT, Instant.now()));
+            saga.on(new InventoryReservedEvent(orderId, inventoryReservationId, item.productId(), item.quantity(), 99));
+            saga.on(new PaymentConfirmedEvent(orderId, paymentReservationId, AMOUNT));
+            saga.on(new InventoryConfirmedEvent(orderId, inventoryReservationId, item.productId(), item.quantity()));
+            saga.on(new OrderConfirmedEvent(orderId));
+        }
+        return saga;
+    }
+
+    @Benchmark
+    public OrderSaga compensated() {
+        UUID orderId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+        OrderSaga saga = newSaga();
+        saga.on(new OrderCreatedEvent(orderId, "CUST-001", "IPHONE17", 1, AMOUNT));
+        saga.on(new InventoryReservedEvent(orderId, inventoryReservationId, "IPHONE17", 1, 99));
+        saga.on(new PaymentReservationFailedEvent(orderId, UUID.randomUUID(), "CUST-001", AMOUNT,
+            BigDecimal.ZERO, PaymentReservationFailedEvent.Reason.INSUFFICIENT_CREDIT.name(), "Insufficient credit"));
+        saga.on(new InventoryReleasedEvent(orderId, inventoryReservationId, "IPHONE17", 1, "Payment failed"));
+        saga.on(new OrderCancelledEvent(orderId, "Payment failed", false));
+        return saga;
+    }
+
+    private OrderSaga newSaga() {
+        OrderSaga saga = new OrderSaga();
+        inject(saga, "commandGateway", commandGateway);
+        inject(saga, "retryableCommandGateway", retryableCommandGateway);
+        inject(saga, "deadlineManager", deadlineManager);
+        inject(saga, "sagaStepMetrics", sagaStepMetrics);
+        inject(saga, "orderTimeout", orderTimeout);
+        inject(saga, "stockLeases", StockLeases.disabled());
+        inject(saga, "creditLeases", CreditLeases.disabled());
+        return saga;
+    }
+
+    private static void inject(OrderSaga saga, String fieldName, Object resource) {
+        try {
+            Field field = OrderSaga.class.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(saga, resource);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into OrderSaga", e);
+        }
+    }
+
+    /**
+     * Hands out schedule ids without scheduling anything; the saga never times out here.
+     */
+    private static class StubDeadlineManager extends AbstractDeadlineManager {
+
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public String schedule(Duration triggerDuration, String deadlineName) {
+            return Long.toString(ids.incrementAndGet());
+        }
+
+        @Override
+        public String schedule(Instant triggerDateTime, String deadlineName,
+                               Object messageOrPayload, ScopeDescriptor deadlineScope) {
+            return Long.toString(ids.incrementAndGet());
+        }
+
+        @Override
+        public void cancelSchedule(String deadlineName, String scheduleId) {
+        }
+
+        @Override
+        public void cancelAll(String deadlineName) {
+        }
+
+        @Override
+        public void cancelAllWithinScope(String deadlineName, ScopeDescriptor scope) {
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.benchmarks;
+
+import com.example.inventory.domain.aggregate.InventoryReservation;
+import com.example.inventory.domain.entity.Product;
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.DirectStockReserver;
+import com.example.payment.domain.aggregate.PaymentReservation;
+import com.example.payment.domain.entity.CustomerCredit;
+import com.example.payment.domain.repository.CustomerCreditRepository;
+import com.example.shared.command.ReleaseInventoryCommand;
+import com.example.shared.command.ReleasePaymentCommand;
+import com.example.shared.command.ReserveInventoryCommand;
+import com.example.shared.command.ReserveInventoryItemsCommand;
+import com.example.shared.command.ReservePaymentCommand;
+import com.example.shared.valueobject.ProductQuantity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PaymentReservation and InventoryReservation construction with in-memory
+ * repositories, so the numbers are the aggregate and Axon overhead without
+ * database round trips.
+ *
+ * The {@code ...AndRelease} variants add loading the reservation back from its
+ * events and the compensation command. {@code reserveBasketOfFour} reserves four
+ * products with one command, against {@code reserveFourSingleItems} sending one
+ * command per product.
+ *
+ * Run with: ./gradlew :benchmarks:jmh -PjmhIncludes=ReservationAggregateBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ReservationAggregateBenchmark {
+
+    private static final String CUSTOMER_ID = "CUST-001";
+    private static final String PRODUCT_ID = "IPHONE17";
+    private static final BigDecimal AMOUNT = new BigDecimal("35000");
+    private static final List<ProductQuantity> BASKET = List.of(
+        new ProductQuantity("AIRPODS4", 1),
+        new ProductQuantity("IPAD12", 1),
+        new ProductQuantity(PRODUCT_ID, 1),
+        new ProductQuantity("WATCH11", 1)
+    );
+
+    private AggregateHarness payment;
+    private AggregateHarness inventory;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Balances large enough that no iteration runs out
+        InMemoryCreditRepository credits = new InMemoryCreditRepository();
+        credits.save(new CustomerCredit(CUSTOMER_ID, Long.MAX_VALUE / 2));
+        payment = new AggregateHarness(PaymentReservation.class, credits);
+
+        InMemoryProductRepository products = new InMemoryProductRepository();
+        BASKET.forEach(item -> products.save(new Product(item.productId(), item.productId(), AMOUNT, Integer.MAX_VALUE)));
+        inventory = new AggregateHarness(InventoryReservation.class, products, new DirectStockReserver(products));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        payment.shutdown();
+        inventory.shutdown();
+    }
+
+    @Benchmark
+    public Object reservePayment() {
+        return payment.send(new ReservePaymentCommand(UUID.randomUUID(), UUID.randomUUID(), CUSTOMER_ID, AMOUNT));
+    }
+
+    @Benchmark
+    public Object reservePaymentAndRelease() {
+        ReservePaymentCommand command =
+            new ReservePaymentCommand(UUID.randomUUID(), UUID.randomUUID(), CUSTOMER_ID, AMOUNT);
+        payment.send(command);
+        return payment.send(new ReleasePaymentCommand(command.reservationId(), command.orderId(), "Benchmark"));
+    }
+
+    @Benchmark
+    public Object reserveInventory() {
+        return inventory.send(new ReserveInventoryCommand(UUID.randomUUID(), UUID.randomUUID(), PRODUCT_ID, 1));
+    }
+
+    @Benchmark
+    public Object reserveInventoryAndRelease() {
+        ReserveInventoryCommand command =
+            new ReserveInventoryCommand(UUID.randomUUID(), UUID.randomUUID(), PRODUCT_ID, 1);
+        inventory.send(command);
+        return inventory.send(new ReleaseInventoryCommand(command.reservationId(), command.orderId(), "Benchmark"));
+    }
+
+    @Benchmark
+    public Object reserveBasketOfFour() {
+        return inventory.send(new ReserveInventoryItemsCommand(UUID.randomUUID(), UUID.randomUUID(), BASKET));
+    }
+
+    @Benchmark
+    public Object reserveFourSingleItems() {
+        Object result = null;
+        for (ProductQuantity item : BASKET) {
+            result = inventory.send(
+                new ReserveInventoryCommand(UUID.randomUUID(), UUID.randomUUID(), item.productId(), item.quantity()));
+        }
+        return result;
+    }
+
+    private static class InMemoryCreditRepository implements CustomerCreditRepository {
+
+        private final Map<String, CustomerCredit> credits = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<CustomerCredit> findByCustomerId(String customerId) {
+            return Optional.ofNullable(credits.get(customerId));
+        }
+
+        @Override
+        public CustomerCredit save(CustomerCredit customerCredit) {
+            credits.put(customerCredit.getCustomerId(), customerCredit);
+            return customerCredit;
+        }
+
+        @Override
+        public boolean existsByCustomerId(String customerId) {
+            return credits.containsKey(customerId);
+        }
+    }
+
+    private static class InMemoryProductRepository implements ProductRepository {
+
+        private final Map<String, Product> products = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<Product> findByProductId(String productId) {
+            return Optional.ofNullable(products.get(productId));
+        }
+
+        @Override
+        public Product save(Product product) {
+            products.put(product.getProductId(), product);
+            return product;
+        }
+
+        @Override
+        public boolean existsByProductId(String productId) {
+            return products.containsKey(productId);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.inventory.domain.entity;
+
+import com.example.inventory.infrastructure.persistence.JpaProductRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservations per second for one hot product under concurrent orders.
+ *
+ * Each operation is what DirectStockReserver does in a command's unit of work:
+ * load the {@link Product} through {@link JpaProductRepository}, reserve one
+ * unit with a random stripe hint and save it, in one transaction against an
+ * in-memory H2 database. A version conflict retries the whole transaction, as
+ * the command bus would. {@code stripeCount = 1} leaves the product unstriped;
+ * larger values enable striping, so the product row and its stripes are read
+ * the way Hibernate loads them for a real reservation.
+ *
+ * Run with: ./gradlew :inventory-service:jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class StockContentionBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    private static final String PRODUCT_ID = "IPHONE17";
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"1", "8", "32"})
+    public int stripeCount;
+
+    private AnnotationConfigApplicationContext context;
+    private JpaProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        productRepository = context.getBean(JpaProductRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = new Product(PRODUCT_ID, "iPhone 17", new BigDecimal("35000"), STOCK);
+            if (stripeCount > 1) {
+                product.enableStriping(stripeCount);
+            }
+            productRepository.save(product);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Version conflicts are reported next to the throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Session {
+
+        public long versionConflicts;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean reserve(Session session) {
+        // The reservation ID's hash in production
+        int stripeHint = ThreadLocalRandom.current().nextInt();
+        while (true) {
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    Product product = productRepository.findByProductId(PRODUCT_ID).orElseThrow();
+                    if (!product.hasAvailableStock(1, stripeHint)) {
+                        return false;
+                    }
+                    product.reserveStock(1, stripeHint);
+                    productRepository.save(product);
+                    return true;
+                }));
+            } catch (OptimisticLockingFailureException e) {
+                session.versionConflicts++;
+            }
+        }
+    }
+
+    /**
+     * Just the products schema and repository, without the rest of the service.
+     */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = JpaProductRepository.class)
+    static class JpaConfig {
+
+        @Bean(destroyMethod = "close")
+        HikariDataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(URL);
+            dataSource.setUsername("sa");
+            dataSource.setMaximumPoolSize(16);
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(Product.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.inventory.infrastructure.batch;
+
+import com.example.inventory.domain.entity.Product;
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.DirectStockReserver;
+import com.example.inventory.domain.service.StockReservationResult;
+import com.example.inventory.domain.service.StockReserver;
+import com.example.inventory.infrastructure.engine.StockEngine;
+import com.example.inventory.infrastructure.engine.StockStore;
+import com.example.inventory.infrastructure.engine.StockStore.StockLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reservations per second for one burst SKU: direct, micro-batched, and on the
+ * in-memory stock engine.
+ *
+ * The repository charges a fixed round-trip latency per load and per save and
+ * holds the product row lock from load to save, so direct reservations for the
+ * same product serialise the way they do on the products row. Batching pays the
+ * two round trips once per batch instead of once per command. The engine pays
+ * one load per product and one checkpoint per interval, and a journal append per
+ * command on a temporary directory.
+ *
+ * Run with: ./gradlew :inventory-service:jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReservationBatchingBenchmark {
+
+    @Param({"direct", "batching", "engine"})
+    public String mode;
+
+    @Param({"200"})
+    public long roundTripMicros;
+
+    private StockReserver reserver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ProductRepository repository = new LatencyProductRepository(
+            new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), Integer.MAX_VALUE),
+            TimeUnit.MICROSECONDS.toNanos(roundTripMicros)
+        );
+        reserver = switch (mode) {
+            case "direct" -> new DirectStockReserver(repository);
+            case "batching" -> new BatchingStockReserver(
+                repository,
+                new TransactionTemplate(new NoOpTransactionManager()),
+                64,
+                Duration.ofMillis(2),
+                Duration.ofSeconds(5),
+                4
+            );
+            case "engine" -> new StockEngine(
+                new LatencyStockStore(TimeUnit.MICROSECONDS.toNanos(roundTripMicros)),
+                Files.createTempDirectory("stock-journal"),
+                4,
+                256,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(5),
+                false
+            );
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (reserver instanceof BatchingStockReserver batching) {
+            batching.shutdown();
+        } else if (reserver instanceof StockEngine engine) {
+            engine.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Threads(64)
+    public StockReservationResult reserve() {
+        return reserver.reserve("IPHONE17", 1, ThreadLocalRandom.current().nextInt());
+    }
+
+    /**
+     * Single-product repository with simulated database round trips and row lock.
+     * Stock never runs out, so every load is followed by a save that releases the lock.
+     */
+    private static class LatencyProductRepository implements ProductRepository {
+
+        private final Product product;
+        private final long roundTripNanos;
+        private final ReentrantLock rowLock = new ReentrantLock();
+
+        LatencyProductRepository(Product product, long roundTripNanos) {
+            this.product = product;
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public Optional<Product> findByProductId(String productId) {
+            rowLock.lock();
+            LockSupport.parkNanos(roundTripNanos);
+            return Optional.of(product);
+        }
+
+        @Override
+        public Product save(Product product) {
+            LockSupport.parkNanos(roundTripNanos);
+            rowLock.unlock();
+            return product;
+        }
+
+        @Override
+        public boolean existsByProductId(String productId) {
+            return true;
+        }
+    }
+
+    /**
+     * Stock store with the same simulated round trip per load and per checkpoint.
+     */
+    private static class LatencyStockStore implements StockStore {
+
+        private final long roundTripNanos;
+
+        LatencyStockStore(long roundTripNanos) {
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public Optional<StockLevel> load(String productId) {
+            LockSupport.parkNanos(roundTripNanos);
+            return Optional.of(new StockLevel(productId, Integer.MAX_VALUE, 0));
+        }
+
+        @Override
+        public void checkpoint(Collection<StockLevel> levels) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
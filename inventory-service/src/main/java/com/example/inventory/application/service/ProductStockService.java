@@ -52,6 +52,22 @@ public class ProductStockService {
         log.info("Reserved {} units of product {}", quantity, productId);
     }
 
+    /**
+     * Split a hot product's available stock across independently reservable stripes.
+     */
+    public void enableStriping(String productId, int stripeCount) {
+        Product product = productRepository.findByProductId(productId)
+            .orElseThrow(() -> new IllegalStateException("Product not found: " + productId));
+
+        if (product.isStriped()) {
+            log.info("Product {} is already striped across {} stripes", productId, product.getStripeCount());
+            return;
+        }
+        product.enableStriping(stripeCount);
+        productRepository.save(product);
+        log.info("Striped stock of product {} across {} stripes", productId, stripeCount);
+    }
+
     /**
      * Confirm a stock reservation.
      */
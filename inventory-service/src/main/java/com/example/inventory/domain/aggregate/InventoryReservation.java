@@ -1,15 +1,22 @@
 package com.example.inventory.domain.aggregate;
 
 import com.example.shared.command.ConfirmInventoryCommand;
+import com.example.shared.command.ExpireInventoryReservationCommand;
 import com.example.shared.command.ReleaseInventoryCommand;
 import com.example.shared.command.ReserveInventoryCommand;
+import com.example.shared.command.ReserveInventoryItemsCommand;
 import com.example.shared.event.InventoryConfirmedEvent;
+import com.example.shared.event.InventoryItemsReservedEvent;
 import com.example.shared.event.InventoryReleasedEvent;
+import com.example.shared.event.InventoryReservationExpiredEvent;
 import com.example.shared.event.InventoryReservationFailedEvent;
 import com.example.shared.event.InventoryReservedEvent;
+import com.example.shared.exception.ReservationSettledException;
+import com.example.shared.valueobject.ProductQuantity;
 import com.example.shared.valueobject.ReservationStatus;
-import com.example.inventory.domain.entity.Product;
-import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.ItemsReservationResult;
+import com.example.inventory.domain.service.StockReservationResult;
+import com.example.inventory.domain.service.StockReserver;
 import org.axonframework.commandhandling.CommandHandler;
 import org.axonframework.eventsourcing.EventSourcingHandler;
 import org.axonframework.modelling.command.AggregateIdentifier;
@@ -17,13 +24,18 @@ import org.axonframework.modelling.command.AggregateLifecycle;
 import org.axonframework.spring.stereotype.Aggregate;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * InventoryReservation aggregate root.
  * Manages the lifecycle and state of an inventory reservation.
+ *
+ * A reservation covers one product, or all items of a multi-item order. The
+ * items of a multi-item reservation are reserved together and confirmed,
+ * released or expired together, with one event per item for the last three.
  */
-@Aggregate
+@Aggregate(cache = "inventoryReservationCache")
 public class InventoryReservation {
 
     @AggregateIdentifier
@@ -31,6 +43,8 @@ public class InventoryReservation {
     private UUID orderId;
     private String productId;
     private int quantity;
+    // Only for multi-item reservations, one per product in product ID order
+    private List<ProductQuantity> items;
     private ReservationStatus status;
     private Instant createdAt;
 
@@ -41,12 +55,16 @@ public class InventoryReservation {
     }
 
     @CommandHandler
-    public InventoryReservation(ReserveInventoryCommand command, ProductRepository productRepository) {
-        Product product = productRepository.findByProductId(command.productId())
-            .orElse(null);
+    public InventoryReservation(ReserveInventoryCommand command, StockReserver stockReserver) {
+        // The reservation ID picks the stripe of a striped product
+        StockReservationResult result = stockReserver.reserve(
+            command.productId(),
+            command.quantity(),
+            command.reservationId().hashCode()
+        );
 
-        if (product == null) {
-            AggregateLifecycle.apply(new InventoryReservationFailedEvent(
+        switch (result.outcome()) {
+            case PRODUCT_NOT_FOUND -> AggregateLifecycle.apply(new InventoryReservationFailedEvent(
                 command.orderId(),
                 command.reservationId(),
                 command.productId(),
@@ -55,74 +73,121 @@ public class InventoryReservation {
                 InventoryReservationFailedEvent.Reason.PRODUCT_NOT_FOUND.name(),
                 "Product not found: " + command.productId()
             ));
-            return;
-        }
-
-        if (!product.hasAvailableStock(command.quantity())) {
-            AggregateLifecycle.apply(new InventoryReservationFailedEvent(
+            case OUT_OF_STOCK -> AggregateLifecycle.apply(new InventoryReservationFailedEvent(
                 command.orderId(),
                 command.reservationId(),
                 command.productId(),
                 command.quantity(),
-                product.getAvailableStock(),
+                result.availableStock(),
                 InventoryReservationFailedEvent.Reason.OUT_OF_STOCK.name(),
-                "Insufficient stock. Required: " + command.quantity() + ", Available: " + product.getAvailableStock()
+                "Insufficient stock. Required: " + command.quantity() + ", Available: " + result.availableStock()
+            ));
+            case RESERVED -> AggregateLifecycle.apply(new InventoryReservedEvent(
+                command.orderId(),
+                command.reservationId(),
+                command.productId(),
+                command.quantity(),
+                result.availableStock()
             ));
-            return;
         }
+    }
 
-        // Reserve the stock
-        product.reserveStock(command.quantity());
-        productRepository.save(product);
+    @CommandHandler
+    public InventoryReservation(ReserveInventoryItemsCommand command, StockReserver stockReserver) {
+        // Every item takes the reservation's stripe hint, like a single-product reservation
+        List<ProductQuantity> reserving = ProductQuantity.merged(command.items());
+        ItemsReservationResult result = stockReserver.reserveAll(reserving, command.reservationId().hashCode());
 
-        AggregateLifecycle.apply(new InventoryReservedEvent(
-            command.orderId(),
-            command.reservationId(),
-            command.productId(),
-            command.quantity(),
-            product.getAvailableStock()
-        ));
+        if (result.isReserved()) {
+            AggregateLifecycle.apply(new InventoryItemsReservedEvent(
+                command.orderId(),
+                command.reservationId(),
+                reserving
+            ));
+            return;
+        }
+
+        // One failure for the whole order, naming the first item that could not be reserved
+        ProductQuantity failed = result.failedItem();
+        if (result.outcome() == StockReservationResult.Outcome.PRODUCT_NOT_FOUND) {
+            AggregateLifecycle.apply(new InventoryReservationFailedEvent(
+                command.orderId(),
+                command.reservationId(),
+                failed.productId(),
+                failed.quantity(),
+                0,
+                InventoryReservationFailedEvent.Reason.PRODUCT_NOT_FOUND.name(),
+                "Product not found: " + failed.productId()
+            ));
+        } else {
+            AggregateLifecycle.apply(new InventoryReservationFailedEvent(
+                command.orderId(),
+                command.reservationId(),
+                failed.productId(),
+                failed.quantity(),
+                result.availableStock(),
+                InventoryReservationFailedEvent.Reason.OUT_OF_STOCK.name(),
+                "Insufficient stock of " + failed.productId() + ". Required: " + failed.quantity()
+                    + ", Available: " + result.availableStock()
+            ));
+        }
     }
 
     @CommandHandler
-    public void handle(ConfirmInventoryCommand command, ProductRepository productRepository) {
+    public void handle(ConfirmInventoryCommand command, StockReserver stockReserver) {
         if (status != ReservationStatus.RESERVED) {
-            throw new IllegalStateException("Cannot confirm inventory in status: " + status);
+            throw new ReservationSettledException("Cannot confirm inventory in status: " + status);
         }
 
         // Confirm the stock deduction
-        Product product = productRepository.findByProductId(productId)
-            .orElseThrow(() -> new IllegalStateException("Product not found: " + productId));
-        product.confirmReservation(quantity);
-        productRepository.save(product);
+        for (ProductQuantity item : reservedItems()) {
+            stockReserver.confirm(item.productId(), item.quantity(), reservationId.hashCode());
 
-        AggregateLifecycle.apply(new InventoryConfirmedEvent(
-            command.orderId(),
-            command.reservationId(),
-            productId,
-            quantity
-        ));
+            AggregateLifecycle.apply(new InventoryConfirmedEvent(
+                command.orderId(),
+                command.reservationId(),
+                item.productId(),
+                item.quantity()
+            ));
+        }
     }
 
     @CommandHandler
-    public void handle(ReleaseInventoryCommand command, ProductRepository productRepository) {
+    public void handle(ReleaseInventoryCommand command, StockReserver stockReserver) {
         if (status != ReservationStatus.RESERVED) {
-            throw new IllegalStateException("Cannot release inventory in status: " + status);
+            throw new ReservationSettledException("Cannot release inventory in status: " + status);
         }
 
         // Release the reserved stock
-        Product product = productRepository.findByProductId(productId)
-            .orElseThrow(() -> new IllegalStateException("Product not found: " + productId));
-        product.releaseReservation(quantity);
-        productRepository.save(product);
+        for (ProductQuantity item : reservedItems()) {
+            stockReserver.release(item.productId(), item.quantity(), reservationId.hashCode());
 
-        AggregateLifecycle.apply(new InventoryReleasedEvent(
-            command.orderId(),
-            command.reservationId(),
-            productId,
-            quantity,
-            command.reason()
-        ));
+            AggregateLifecycle.apply(new InventoryReleasedEvent(
+                command.orderId(),
+                command.reservationId(),
+                item.productId(),
+                item.quantity(),
+                command.reason()
+            ));
+        }
+    }
+
+    @CommandHandler
+    public void handle(ExpireInventoryReservationCommand command) {
+        // The saga may have confirmed or released it since the sweeper looked
+        if (status != ReservationStatus.RESERVED) {
+            return;
+        }
+
+        // The stock goes back in bulk, from the expired events, rather than here one reservation at a time
+        for (ProductQuantity item : reservedItems()) {
+            AggregateLifecycle.apply(new InventoryReservationExpiredEvent(
+                orderId,
+                reservationId,
+                item.productId(),
+                item.quantity()
+            ));
+        }
     }
 
     @EventSourcingHandler
@@ -135,6 +200,15 @@ public class InventoryReservation {
         this.createdAt = event.timestamp();
     }
 
+    @EventSourcingHandler
+    public void on(InventoryItemsReservedEvent event) {
+        this.reservationId = event.reservationId();
+        this.orderId = event.orderId();
+        this.items = event.items();
+        this.status = ReservationStatus.RESERVED;
+        this.createdAt = event.timestamp();
+    }
+
     @EventSourcingHandler
     public void on(InventoryReservationFailedEvent event) {
         // Set status to RELEASED on failure
@@ -156,6 +230,18 @@ public class InventoryReservation {
         this.status = ReservationStatus.RELEASED;
     }
 
+    @EventSourcingHandler
+    public void on(InventoryReservationExpiredEvent event) {
+        this.status = ReservationStatus.EXPIRED;
+    }
+
+    /**
+     * The items of a multi-item reservation, otherwise its one product.
+     */
+    private List<ProductQuantity> reservedItems() {
+        return items != null ? items : List.of(new ProductQuantity(productId, quantity));
+    }
+
     // Getters
     public UUID getReservationId() {
         return reservationId;
@@ -173,6 +259,10 @@ public class InventoryReservation {
         return quantity;
     }
 
+    public List<ProductQuantity> getItems() {
+        return reservedItems();
+    }
+
     public ReservationStatus getStatus() {
         return status;
     }
@@ -0,0 +1,218 @@
+package com.example.inventory.domain.aggregate;
+
+import com.example.inventory.domain.service.StockReservationResult;
+import com.example.inventory.domain.service.StockReserver;
+import com.example.shared.command.ConsumeStockLeaseCommand;
+import com.example.shared.command.GrantStockLeaseCommand;
+import com.example.shared.command.ReturnStockLeaseCommand;
+import com.example.shared.event.StockLeaseConsumedEvent;
+import com.example.shared.event.StockLeaseDeniedEvent;
+import com.example.shared.event.StockLeaseExpiredEvent;
+import com.example.shared.event.StockLeaseGrantedEvent;
+import com.example.shared.event.StockLeaseReturnedEvent;
+import org.axonframework.commandhandling.CommandHandler;
+import org.axonframework.deadline.DeadlineManager;
+import org.axonframework.deadline.annotation.DeadlineHandler;
+import org.axonframework.eventsourcing.EventSourcingHandler;
+import org.axonframework.modelling.command.AggregateIdentifier;
+import org.axonframework.modelling.command.AggregateLifecycle;
+import org.axonframework.spring.stereotype.Aggregate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * StockLease aggregate root.
+ *
+ * A block of a product's stock held as reserved stock for one sales node, which
+ * takes orders against it without asking this service. Confirmed orders consume
+ * units from the lease afterwards; unused units are returned by the holder, and
+ * whatever is neither consumed nor returned goes back to the product when the
+ * lease expires.
+ */
+@Aggregate
+public class StockLease {
+
+    private static final String EXPIRY_DEADLINE = "stock-lease-expiry";
+
+    @AggregateIdentifier
+    private UUID leaseId;
+    private String holderId;
+    private String productId;
+    private int quantity;
+    private int consumed;
+    private int returned;
+    private boolean expired;
+    private Instant expiresAt;
+    private Set<UUID> consumedOrders = new HashSet<>();
+
+    /**
+     * Required by Axon for aggregate reconstruction.
+     */
+    protected StockLease() {
+    }
+
+    @CommandHandler
+    public StockLease(GrantStockLeaseCommand command, StockReserver stockReserver, DeadlineManager deadlineManager) {
+        // The lease ID picks the stripe of a striped product, for the hold and for every later change
+        int stripeHint = command.leaseId().hashCode();
+        int granted = command.quantity();
+        StockReservationResult result = stockReserver.reserve(command.productId(), granted, stripeHint);
+
+        // Lease what is left rather than nothing when the full block no longer fits
+        if (result.outcome() == StockReservationResult.Outcome.OUT_OF_STOCK && result.availableStock() > 0) {
+            granted = result.availableStock();
+            result = stockReserver.reserve(command.productId(), granted, stripeHint);
+        }
+
+        if (!result.isReserved()) {
+            AggregateLifecycle.apply(new StockLeaseDeniedEvent(
+                command.leaseId(),
+                command.holderId(),
+                command.productId(),
+                command.quantity(),
+                result.outcome().name()
+            ));
+            return;
+        }
+
+        AggregateLifecycle.apply(new StockLeaseGrantedEvent(
+            command.leaseId(),
+            command.holderId(),
+            command.productId(),
+            granted,
+            command.expiresAt()
+        ));
+        deadlineManager.schedule(command.expiresAt(), EXPIRY_DEADLINE);
+    }
+
+    @CommandHandler
+    public void handle(ConsumeStockLeaseCommand command, StockReserver stockReserver) {
+        // Consumes are retried by the holder, so one order is deducted at most once
+        if (consumedOrders.contains(command.orderId())) {
+            return;
+        }
+
+        // Units the lease no longer covers (it expired, or the holder overdrew) come from free stock
+        int fromStock = command.quantity() - leasedPart(command.quantity());
+        if (fromStock > 0) {
+            StockReservationResult result = stockReserver.reserve(productId, fromStock, leaseId.hashCode());
+            if (!result.isReserved()) {
+                throw new IllegalStateException("Lease " + leaseId + " cannot cover order " + command.orderId()
+                    + " and no stock is left for " + productId);
+            }
+        }
+        stockReserver.confirm(productId, command.quantity(), leaseId.hashCode());
+
+        AggregateLifecycle.apply(new StockLeaseConsumedEvent(
+            leaseId,
+            command.orderId(),
+            productId,
+            command.quantity()
+        ));
+    }
+
+    @CommandHandler
+    public void handle(ReturnStockLeaseCommand command, StockReserver stockReserver) {
+        int returning = expired ? 0 : Math.min(command.quantity(), remaining());
+        if (returning == 0) {
+            return;
+        }
+
+        stockReserver.release(productId, returning, leaseId.hashCode());
+
+        AggregateLifecycle.apply(new StockLeaseReturnedEvent(leaseId, productId, returning));
+    }
+
+    @DeadlineHandler(deadlineName = EXPIRY_DEADLINE)
+    public void onExpiry(StockReserver stockReserver) {
+        if (expired) {
+            return;
+        }
+
+        int releasing = remaining();
+        if (releasing > 0) {
+            stockReserver.release(productId, releasing, leaseId.hashCode());
+        }
+
+        AggregateLifecycle.apply(new StockLeaseExpiredEvent(leaseId, productId, releasing));
+    }
+
+    @EventSourcingHandler
+    public void on(StockLeaseGrantedEvent event) {
+        this.leaseId = event.leaseId();
+        this.holderId = event.holderId();
+        this.productId = event.productId();
+        this.quantity = event.quantity();
+        this.expiresAt = event.expiresAt();
+    }
+
+    @EventSourcingHandler
+    public void on(StockLeaseDeniedEvent event) {
+        this.leaseId = event.leaseId();
+        this.holderId = event.holderId();
+        this.productId = event.productId();
+        this.expired = true;
+    }
+
+    @EventSourcingHandler
+    public void on(StockLeaseConsumedEvent event) {
+        this.consumed += leasedPart(event.quantity());
+        this.consumedOrders.add(event.orderId());
+    }
+
+    @EventSourcingHandler
+    public void on(StockLeaseReturnedEvent event) {
+        this.returned += event.quantity();
+    }
+
+    @EventSourcingHandler
+    public void on(StockLeaseExpiredEvent event) {
+        this.expired = true;
+    }
+
+    /**
+     * Units the lease still holds at inventory.
+     */
+    private int remaining() {
+        return quantity - consumed - returned;
+    }
+
+    /**
+     * How much of a consumed quantity the lease covers.
+     */
+    private int leasedPart(int consumedQuantity) {
+        return expired ? 0 : Math.min(consumedQuantity, remaining());
+    }
+
+    // Getters
+    public UUID getLeaseId() {
+        return leaseId;
+    }
+
+    public String getHolderId() {
+        return holderId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getRemaining() {
+        return expired ? 0 : remaining();
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
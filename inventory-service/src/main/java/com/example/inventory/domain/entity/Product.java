@@ -1,15 +1,30 @@
 package com.example.inventory.domain.entity;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Product entity representing a product in the inventory.
+ *
+ * A hot product can be switched to striped mode, where its available stock is
+ * split across {@link StockStripe} rows that are reserved from independently.
+ * Reservations pick a stripe from a hint (the reservation ID), so concurrent
+ * orders touch different rows instead of all conflicting on this row's version.
+ * Only the hinted stripe is read unless it runs dry, and once striped this row
+ * is written only to settle reservations made before striping.
  */
 @Entity
 @Table(name = "products")
@@ -31,6 +46,13 @@ public class Product {
     @Column(name = "reserved_stock", nullable = false)
     private int reservedStock;
 
+    @Column(name = "stripe_count", nullable = false)
+    private int stripeCount;
+
+    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("stripeIndex")
+    private List<StockStripe> stripes = new ArrayList<>();
+
     @Version
     private Long version;
 
@@ -43,30 +65,95 @@ public class Product {
         this.price = price;
         this.availableStock = initialStock;
         this.reservedStock = 0;
+        this.stripeCount = 0;
+    }
+
+    /**
+     * Split the available stock evenly across the given number of stripes.
+     * Stock that is already reserved stays on the product row.
+     */
+    public void enableStriping(int stripeCount) {
+        if (isStriped()) {
+            throw new IllegalStateException("Product is already striped: " + productId);
+        }
+        if (stripeCount < 2) {
+            throw new IllegalArgumentException("Stripe count must be at least 2");
+        }
+        int share = availableStock / stripeCount;
+        int remainder = availableStock % stripeCount;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new StockStripe(this, i, share + (i < remainder ? 1 : 0)));
+        }
+        this.availableStock = 0;
+        this.stripeCount = stripeCount;
+    }
+
+    public boolean isStriped() {
+        return stripeCount > 0;
     }
 
     /**
      * Check if the product has enough available stock.
      */
     public boolean hasAvailableStock(int quantity) {
-        return availableStock >= quantity;
+        return getAvailableStock() >= quantity;
+    }
+
+    /**
+     * Check if a reservation with the given stripe hint can be made.
+     * The other stripes are only counted when the hinted one cannot cover it.
+     */
+    public boolean hasAvailableStock(int quantity, int stripeHint) {
+        if (!isStriped()) {
+            return availableStock >= quantity;
+        }
+        return stripeFor(stripeHint).getAvailableStock() >= quantity || hasAvailableStock(quantity);
     }
 
     /**
      * Reserve stock for a transaction.
      */
     public void reserveStock(int quantity) {
-        if (!hasAvailableStock(quantity)) {
+        reserveStock(quantity, 0);
+    }
+
+    /**
+     * Reserve stock for a transaction, using the hint to pick a stripe when striped.
+     * A stripe that cannot cover the quantity is topped up from the others first.
+     */
+    public void reserveStock(int quantity, int stripeHint) {
+        if (!hasAvailableStock(quantity, stripeHint)) {
             throw new IllegalStateException("Insufficient stock");
         }
-        this.availableStock -= quantity;
-        this.reservedStock += quantity;
+        if (!isStriped()) {
+            this.availableStock -= quantity;
+            this.reservedStock += quantity;
+            return;
+        }
+        StockStripe stripe = stripeFor(stripeHint);
+        if (stripe.getAvailableStock() < quantity) {
+            rebalance(stripe, quantity);
+        }
+        stripe.reserve(quantity);
     }
 
     /**
      * Confirm a reservation (deduct from reserved).
      */
     public void confirmReservation(int quantity) {
+        confirmReservation(quantity, 0);
+    }
+
+    /**
+     * Confirm a reservation made with the same stripe hint.
+     */
+    public void confirmReservation(int quantity, int stripeHint) {
+        StockStripe stripe = isStriped() ? stripeFor(stripeHint) : null;
+        if (stripe != null && stripe.getReservedStock() >= quantity) {
+            stripe.confirm(quantity);
+            return;
+        }
+        // Reservations made before striping was enabled are held on the product row
         if (reservedStock < quantity) {
             throw new IllegalStateException("Insufficient reserved stock");
         }
@@ -77,11 +164,83 @@ public class Product {
      * Release a reservation (return to available).
      */
     public void releaseReservation(int quantity) {
+        releaseReservation(quantity, 0);
+    }
+
+    /**
+     * Release a reservation made with the same stripe hint.
+     */
+    public void releaseReservation(int quantity, int stripeHint) {
+        StockStripe stripe = isStriped() ? stripeFor(stripeHint) : null;
+        if (stripe != null && stripe.getReservedStock() >= quantity) {
+            stripe.release(quantity);
+            return;
+        }
+        // Reservations made before striping was enabled are held on the product row
         if (reservedStock < quantity) {
             throw new IllegalStateException("Insufficient reserved stock");
         }
         this.reservedStock -= quantity;
-        this.availableStock += quantity;
+        if (stripe != null) {
+            stripe.addAvailable(quantity);
+        } else {
+            this.availableStock += quantity;
+        }
+    }
+
+    /**
+     * Release several reservations, keyed by the stripe hint each was made with.
+     * All of them are checked first, so either every one is released or none is.
+     *
+     * @throws IllegalStateException if any of them finds too little reserved stock
+     */
+    public void releaseReservations(Map<Integer, Integer> quantitiesByStripeHint) {
+        // Same choice as releaseReservation: the hinted stripe if it holds enough, else the product row
+        int rowReserved = reservedStock;
+        int[] stripeReserved = isStriped()
+            ? stripes.stream().mapToInt(StockStripe::getReservedStock).toArray()
+            : new int[0];
+        for (Map.Entry<Integer, Integer> release : quantitiesByStripeHint.entrySet()) {
+            int quantity = release.getValue();
+            int index = isStriped() ? Math.floorMod(release.getKey(), stripeCount) : -1;
+            if (index >= 0 && stripeReserved[index] >= quantity) {
+                stripeReserved[index] -= quantity;
+            } else if (rowReserved >= quantity) {
+                rowReserved -= quantity;
+            } else {
+                throw new IllegalStateException("Insufficient reserved stock");
+            }
+        }
+        quantitiesByStripeHint.forEach((stripeHint, quantity) -> releaseReservation(quantity, stripeHint));
+    }
+
+    private StockStripe stripeFor(int stripeHint) {
+        return stripes.get(Math.floorMod(stripeHint, stripeCount));
+    }
+
+    /**
+     * Top up a dry stripe from the fullest other stripes.
+     * Donors give at least half their stock so a hot stripe does not run dry again immediately.
+     */
+    private void rebalance(StockStripe target, int quantity) {
+        int needed = quantity - target.getAvailableStock();
+        // Only rows released to before striping kept returned stock here; hand it out once
+        if (availableStock > 0) {
+            int moved = Math.min(needed, availableStock);
+            this.availableStock -= moved;
+            target.addAvailable(moved);
+            needed -= moved;
+        }
+        List<StockStripe> donors = new ArrayList<>(stripes);
+        donors.remove(target);
+        donors.sort(Comparator.comparingInt(StockStripe::getAvailableStock).reversed());
+        for (StockStripe donor : donors) {
+            if (needed <= 0) {
+                break;
+            }
+            int share = Math.max(needed, donor.getAvailableStock() / 2);
+            needed -= donor.transferTo(target, share);
+        }
     }
 
     // Getters
@@ -97,16 +256,42 @@ public class Product {
         return price;
     }
 
+    /**
+     * Available stock across the product row and all stripes.
+     */
     public int getAvailableStock() {
-        return availableStock;
+        int total = availableStock;
+        if (isStriped()) {
+            for (StockStripe stripe : stripes) {
+                total += stripe.getAvailableStock();
+            }
+        }
+        return total;
     }
 
+    /**
+     * Reserved stock across the product row and all stripes.
+     */
     public int getReservedStock() {
-        return reservedStock;
+        int total = reservedStock;
+        if (isStriped()) {
+            for (StockStripe stripe : stripes) {
+                total += stripe.getReservedStock();
+            }
+        }
+        return total;
+    }
+
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    public List<StockStripe> getStripes() {
+        return List.copyOf(stripes);
     }
 
     public int getTotalStock() {
-        return availableStock + reservedStock;
+        return getAvailableStock() + getReservedStock();
     }
 
     public Long getVersion() {
@@ -0,0 +1,105 @@
+package com.example.inventory.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * One sub-bucket of a striped product's stock.
+ * Each stripe is its own row with its own version, so reservations that land on
+ * different stripes of the same product do not conflict with each other.
+ */
+@Entity
+@Table(name = "product_stock_stripes")
+public class StockStripe {
+
+    @Id
+    @Column(name = "stripe_id", nullable = false, length = 60)
+    private String stripeId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Column(name = "stripe_index", nullable = false)
+    private int stripeIndex;
+
+    @Column(name = "available_stock", nullable = false)
+    private int availableStock;
+
+    @Column(name = "reserved_stock", nullable = false)
+    private int reservedStock;
+
+    @Version
+    private Long version;
+
+    protected StockStripe() {
+    }
+
+    StockStripe(Product product, int stripeIndex, int availableStock) {
+        this.stripeId = product.getProductId() + "#" + stripeIndex;
+        this.product = product;
+        this.stripeIndex = stripeIndex;
+        this.availableStock = availableStock;
+        this.reservedStock = 0;
+    }
+
+    void reserve(int quantity) {
+        if (availableStock < quantity) {
+            throw new IllegalStateException("Insufficient stock in stripe " + stripeId);
+        }
+        this.availableStock -= quantity;
+        this.reservedStock += quantity;
+    }
+
+    void confirm(int quantity) {
+        this.reservedStock -= quantity;
+    }
+
+    void release(int quantity) {
+        this.reservedStock -= quantity;
+        this.availableStock += quantity;
+    }
+
+    void addAvailable(int quantity) {
+        this.availableStock += quantity;
+    }
+
+    /**
+     * Move up to {@code quantity} available units from this stripe to another.
+     *
+     * @return The number of units actually moved
+     */
+    int transferTo(StockStripe target, int quantity) {
+        int moved = Math.min(quantity, availableStock);
+        this.availableStock -= moved;
+        target.availableStock += moved;
+        return moved;
+    }
+
+    // Getters
+    public String getStripeId() {
+        return stripeId;
+    }
+
+    public int getStripeIndex() {
+        return stripeIndex;
+    }
+
+    public int getAvailableStock() {
+        return availableStock;
+    }
+
+    public int getReservedStock() {
+        return reservedStock;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.inventory.domain.repository;
 
 import com.example.inventory.domain.entity.Product;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,6 +17,18 @@ public interface ProductRepository {
      */
     Optional<Product> findByProductId(String productId);
 
+    /**
+     * Find the products with the given IDs in product ID order, locked for update
+     * where the store supports it. Missing products are left out.
+     */
+    default List<Product> findAllForUpdate(Collection<String> productIds) {
+        return productIds.stream()
+            .sorted()
+            .map(this::findByProductId)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
     /**
      * Save a product.
      */
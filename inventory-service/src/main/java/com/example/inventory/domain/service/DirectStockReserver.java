@@ -0,0 +1,102 @@
+package com.example.inventory.domain.service;
+
+import com.example.inventory.domain.entity.Product;
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.shared.valueobject.ProductQuantity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Takes each stock decision with its own load and save of the product,
+ * inside the caller's unit of work.
+ */
+public class DirectStockReserver implements StockReserver {
+
+    private final ProductRepository productRepository;
+
+    public DirectStockReserver(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public StockReservationResult reserve(String productId, int quantity, int stripeHint) {
+        Product product = productRepository.findByProductId(productId)
+            .orElse(null);
+
+        if (product == null) {
+            return StockReservationResult.productNotFound();
+        }
+
+        if (!product.hasAvailableStock(quantity, stripeHint)) {
+            return StockReservationResult.outOfStock(product.getAvailableStock());
+        }
+
+        product.reserveStock(quantity, stripeHint);
+        productRepository.save(product);
+        return StockReservationResult.reserved(product.getAvailableStock());
+    }
+
+    /**
+     * Locks the products in product ID order, so concurrent multi-product
+     * reservations cannot deadlock, checks every item and only then reserves
+     * them, all in the caller's unit of work.
+     */
+    @Override
+    public ItemsReservationResult reserveAll(List<ProductQuantity> items, int stripeHint) {
+        Map<String, Product> products = new HashMap<>();
+        productRepository.findAllForUpdate(items.stream().map(ProductQuantity::productId).toList())
+            .forEach(product -> products.put(product.getProductId(), product));
+
+        for (ProductQuantity item : items) {
+            Product product = products.get(item.productId());
+            if (product == null) {
+                return ItemsReservationResult.failed(item, StockReservationResult.productNotFound());
+            }
+            if (!product.hasAvailableStock(item.quantity(), stripeHint)) {
+                return ItemsReservationResult.failed(item,
+                    StockReservationResult.outOfStock(product.getAvailableStock()));
+            }
+        }
+
+        for (ProductQuantity item : items) {
+            Product product = products.get(item.productId());
+            product.reserveStock(item.quantity(), stripeHint);
+            productRepository.save(product);
+        }
+        return ItemsReservationResult.reserved();
+    }
+
+    @Override
+    public void confirm(String productId, int quantity, int stripeHint) {
+        Product product = productRepository.findByProductId(productId)
+            .orElseThrow(() -> new IllegalStateException("Product not found: " + productId));
+        product.confirmReservation(quantity, stripeHint);
+        productRepository.save(product);
+    }
+
+    @Override
+    public void release(String productId, int quantity, int stripeHint) {
+        Product product = productRepository.findByProductId(productId)
+            .orElseThrow(() -> new IllegalStateException("Product not found: " + productId));
+        product.releaseReservation(quantity, stripeHint);
+        productRepository.save(product);
+    }
+
+    /**
+     * One load and one save for all the releases. Either every release is applied
+     * to the product or, when one cannot be, none is.
+     */
+    @Override
+    public void releaseAll(String productId, Map<UUID, Integer> quantitiesByReservationId) {
+        Product product = productRepository.findByProductId(productId)
+            .orElseThrow(() -> new IllegalStateException("Product not found: " + productId));
+        Map<Integer, Integer> quantitiesByStripeHint = new HashMap<>();
+        quantitiesByReservationId.forEach((reservationId, quantity) ->
+            quantitiesByStripeHint.merge(reservationId.hashCode(), quantity, Integer::sum));
+        product.releaseReservations(quantitiesByStripeHint);
+        productRepository.save(product);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.inventory.domain.service;
+
+import com.example.shared.valueobject.ProductQuantity;
+
+/**
+ * Outcome of reserving several products at once: all reserved, or the first
+ * item that could not be, with the stock that was available for it.
+ */
+public record ItemsReservationResult(StockReservationResult.Outcome outcome, ProductQuantity failedItem,
+                                     int availableStock) {
+
+    public static ItemsReservationResult reserved() {
+        return new ItemsReservationResult(StockReservationResult.Outcome.RESERVED, null, 0);
+    }
+
+    public static ItemsReservationResult failed(ProductQuantity item, StockReservationResult result) {
+        return new ItemsReservationResult(result.outcome(), item, result.availableStock());
+    }
+
+    public boolean isReserved() {
+        return outcome == StockReservationResult.Outcome.RESERVED;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.inventory.domain.service;
+
+/**
+ * Outcome of a single stock reservation request.
+ */
+public record StockReservationResult(Outcome outcome, int availableStock) {
+
+    public static StockReservationResult reserved(int remainingStock) {
+        return new StockReservationResult(Outcome.RESERVED, remainingStock);
+    }
+
+    public static StockReservationResult outOfStock(int availableStock) {
+        return new StockReservationResult(Outcome.OUT_OF_STOCK, availableStock);
+    }
+
+    public static StockReservationResult productNotFound() {
+        return new StockReservationResult(Outcome.PRODUCT_NOT_FOUND, 0);
+    }
+
+    public boolean isReserved() {
+        return outcome == Outcome.RESERVED;
+    }
+
+    public enum Outcome {
+        RESERVED,
+        OUT_OF_STOCK,
+        PRODUCT_NOT_FOUND
+    }
+}
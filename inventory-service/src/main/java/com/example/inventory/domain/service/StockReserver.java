@@ -0,0 +1,77 @@
+package com.example.inventory.domain.service;
+
+import com.example.shared.valueobject.ProductQuantity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Domain service that takes the stock decisions of a reservation.
+ * Domain layer interface - implementations decide how the product is loaded and persisted.
+ * One that writes stock outside the caller's unit of work may apply confirmations
+ * and releases once that unit of work commits, and cannot report their failures then.
+ */
+public interface StockReserver {
+
+    /**
+     * Reserve stock for a product if enough is available.
+     *
+     * @param productId  The product to reserve from
+     * @param quantity   The number of units to reserve
+     * @param stripeHint Hint used to pick a stock stripe of a striped product
+     * @return The outcome of the reservation and the stock left afterwards
+     */
+    StockReservationResult reserve(String productId, int quantity, int stripeHint);
+
+    /**
+     * Reserve every item or none, all with the same stripe hint. Items come one per
+     * product in product ID order, as {@link ProductQuantity#merged} produces them.
+     * Reserves item by item and releases what it took once one fails, unless the
+     * implementation can do better.
+     *
+     * @return RESERVED, or the first item that could not be reserved and why
+     */
+    default ItemsReservationResult reserveAll(List<ProductQuantity> items, int stripeHint) {
+        List<ProductQuantity> reserved = new ArrayList<>(items.size());
+        for (ProductQuantity item : items) {
+            StockReservationResult result = reserve(item.productId(), item.quantity(), stripeHint);
+            if (!result.isReserved()) {
+                reserved.forEach(taken -> release(taken.productId(), taken.quantity(), stripeHint));
+                return ItemsReservationResult.failed(item, result);
+            }
+            reserved.add(item);
+        }
+        return ItemsReservationResult.reserved();
+    }
+
+    /**
+     * Deduct stock reserved earlier with the same stripe hint.
+     *
+     * @throws IllegalStateException if the product is missing or has less reserved stock
+     */
+    void confirm(String productId, int quantity, int stripeHint);
+
+    /**
+     * Return stock reserved earlier with the same stripe hint to the available stock.
+     *
+     * @throws IllegalStateException if the product is missing or has less reserved stock
+     */
+    void release(String productId, int quantity, int stripeHint);
+
+    /**
+     * Return the stock of several reservations of one product at once, as
+     * quantities keyed by reservation ID; each was reserved with its ID's hash as
+     * the stripe hint. Releases one by one unless the implementation can do better.
+     * An implementation that writes stock outside the caller's unit of work must
+     * ignore a reservation it has released already, since a redelivered batch
+     * releases it again.
+     *
+     * @throws IllegalStateException if the product is missing or has less reserved stock
+     */
+    default void releaseAll(String productId, Map<UUID, Integer> quantitiesByReservationId) {
+        quantitiesByReservationId.forEach((reservationId, quantity) ->
+            release(productId, quantity, reservationId.hashCode()));
+    }
+}
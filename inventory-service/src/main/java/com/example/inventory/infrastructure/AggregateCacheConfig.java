@@ -0,0 +1,31 @@
+package com.example.inventory.infrastructure;
+
+import com.example.inventory.domain.aggregate.InventoryReservation;
+import com.example.shared.caching.WeightedAggregateCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache of loaded InventoryReservation aggregates, named on its {@code @Aggregate}.
+ *
+ * Confirm and release commands follow the reservation within seconds and find it
+ * here instead of replaying its events. Weights are approximate bytes:
+ * {@code base-weight} per reservation plus {@code item-weight} per product of a
+ * multi-item reservation.
+ */
+@Configuration
+public class AggregateCacheConfig {
+
+    @Bean
+    public WeightedAggregateCache inventoryReservationCache(
+            @Value("${inventory.aggregate-cache.max-weight:67108864}") long maxWeight,
+            @Value("${inventory.aggregate-cache.base-weight:384}") long baseWeight,
+            @Value("${inventory.aggregate-cache.item-weight:96}") long itemWeight) {
+        return WeightedAggregateCache.weighingAggregates("InventoryReservation", maxWeight,
+            InventoryReservation.class,
+            reservation -> baseWeight
+                + (reservation.getItems() != null ? reservation.getItems().size() * itemWeight : 0),
+            baseWeight);
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.inventory.infrastructure;
 
+import com.example.inventory.application.service.ProductStockService;
 import com.example.inventory.domain.entity.Product;
 import com.example.inventory.domain.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Initializes test data for the inventory service.
@@ -18,15 +21,36 @@ public class DataInitializer implements CommandLineRunner {
     private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
     private final ProductRepository productRepository;
+    private final ProductStockService productStockService;
+    private final List<String> stripedProducts;
+    private final int stripeCount;
+    private final boolean stockEngineEnabled;
 
-    public DataInitializer(ProductRepository productRepository) {
+    public DataInitializer(ProductRepository productRepository,
+                           ProductStockService productStockService,
+                           @Value("${inventory.striping.products:}") List<String> stripedProducts,
+                           @Value("${inventory.striping.stripe-count:8}") int stripeCount,
+                           @Value("${inventory.stock-engine.enabled:false}") boolean stockEngineEnabled) {
         this.productRepository = productRepository;
+        this.productStockService = productStockService;
+        this.stripedProducts = stripedProducts;
+        this.stripeCount = stripeCount;
+        this.stockEngineEnabled = stockEngineEnabled;
     }
 
     @Override
     public void run(String... args) {
         // Initialize products for testing
         initializeProducts();
+
+        // Split hot products into stock stripes; the stock engine keeps one counter pair per product
+        if (stockEngineEnabled) {
+            if (!stripedProducts.isEmpty()) {
+                log.info("Stock engine enabled, not striping {}", stripedProducts);
+            }
+            return;
+        }
+        stripedProducts.forEach(productId -> productStockService.enableStriping(productId, stripeCount));
     }
 
     private void initializeProducts() {
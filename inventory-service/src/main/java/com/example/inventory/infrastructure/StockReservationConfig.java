@@ -0,0 +1,53 @@
+package com.example.inventory.infrastructure;
+
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.DirectStockReserver;
+import com.example.inventory.domain.service.StockReserver;
+import com.example.inventory.infrastructure.batch.BatchingStockReserver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Selects how ReserveInventoryCommand takes its stock decision.
+ * Neither reserver is created while the stock engine is enabled.
+ */
+@Configuration
+public class StockReservationConfig {
+
+    /**
+     * One load and save of the product per command, inside the command's unit of work.
+     */
+    @Bean
+    @ConditionalOnExpression("!${inventory.reservation.batching.enabled:false} && !${inventory.stock-engine.enabled:false}")
+    public StockReserver directStockReserver(ProductRepository productRepository) {
+        return new DirectStockReserver(productRepository);
+    }
+
+    /**
+     * Reservations for the same product are micro-batched into one load and save.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnExpression("${inventory.reservation.batching.enabled:false} && !${inventory.stock-engine.enabled:false}")
+    public StockReserver batchingStockReserver(
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.reservation.batching.max-batch-size:64}") int maxBatchSize,
+            @Value("${inventory.reservation.batching.max-delay:2ms}") Duration maxDelay,
+            @Value("${inventory.reservation.batching.max-wait:5s}") Duration maxWait,
+            @Value("${inventory.reservation.batching.flush-threads:4}") int flushThreads) {
+        return new BatchingStockReserver(
+            productRepository,
+            new TransactionTemplate(transactionManager),
+            maxBatchSize,
+            maxDelay,
+            maxWait,
+            flushThreads
+        );
+    }
+}
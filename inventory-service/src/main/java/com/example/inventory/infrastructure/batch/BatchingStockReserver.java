@@ -0,0 +1,310 @@
+package com.example.inventory.infrastructure.batch;
+
+import com.example.inventory.domain.entity.Product;
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.DirectStockReserver;
+import com.example.inventory.domain.service.ItemsReservationResult;
+import com.example.inventory.domain.service.StockReservationResult;
+import com.example.inventory.domain.service.StockReserver;
+import com.example.shared.valueobject.ProductQuantity;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StockReserver that micro-batches reservation requests per product.
+ *
+ * Requests for the same product are collected until either the batch is full or
+ * the oldest request has waited {@code maxDelay}. The batch is then applied in
+ * arrival order against one loaded Product and persisted with a single write, and
+ * every caller receives its own result. Batches of one product never overlap.
+ *
+ * The stock write commits in the batch's own transaction rather than the caller's
+ * unit of work, so a reservation whose unit of work rolls back afterwards, for
+ * example because its event could not be appended, is released again in a new
+ * transaction. A caller that stops waiting after {@code maxWait} withdraws its
+ * request, and if a batch has taken it already, what it reserves is released the
+ * same way.
+ *
+ * Multi-item reservations, confirm and release, including {@code releaseAll},
+ * are not batched here and go through a {@link DirectStockReserver}.
+ */
+public class BatchingStockReserver implements StockReserver {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingStockReserver.class);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+    private final DirectStockReserver direct;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate compensationTemplate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService flusher;
+    private final Map<String, ProductBatch> batches = new ConcurrentHashMap<>();
+
+    public BatchingStockReserver(ProductRepository productRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 int maxBatchSize,
+                                 Duration maxDelay,
+                                 Duration maxWait,
+                                 int flushThreads) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.productRepository = productRepository;
+        this.direct = new DirectStockReserver(productRepository);
+        this.transactionTemplate = transactionTemplate;
+        this.compensationTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.compensationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.flusher = Executors.newScheduledThreadPool(flushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-batch-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public StockReservationResult reserve(String productId, int quantity, int stripeHint) {
+        PendingReservation pending = new PendingReservation(quantity, stripeHint);
+        batches.computeIfAbsent(productId, ProductBatch::new).add(pending);
+        StockReservationResult result = await(productId, quantity, stripeHint, pending);
+        if (result.isReserved() && CurrentUnitOfWork.isStarted()) {
+            CurrentUnitOfWork.get().onRollback(unitOfWork -> compensate(productId, quantity, stripeHint));
+        }
+        return result;
+    }
+
+    private StockReservationResult await(String productId, int quantity, int stripeHint,
+                                         PendingReservation pending) {
+        try {
+            return pending.result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(productId, quantity, stripeHint, pending);
+            throw new IllegalStateException("Timed out waiting for stock reservation of " + productId, e);
+        } catch (InterruptedException e) {
+            abandon(productId, quantity, stripeHint, pending);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for stock reservation of " + productId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Stock reservation failed for " + productId, e.getCause());
+        }
+    }
+
+    /**
+     * Withdraw a request the caller no longer waits for. If a batch has taken it
+     * already, whatever that batch reserves for it is released again.
+     */
+    private void abandon(String productId, int quantity, int stripeHint, PendingReservation pending) {
+        if (!pending.cancel()) {
+            pending.result.thenAccept(result -> {
+                if (result.isReserved()) {
+                    compensate(productId, quantity, stripeHint);
+                }
+            });
+        }
+    }
+
+    /**
+     * Undo a batched reservation nobody will report; the batch's transaction has committed by then.
+     */
+    private void compensate(String productId, int quantity, int stripeHint) {
+        try {
+            compensationTemplate.executeWithoutResult(status -> direct.release(productId, quantity, stripeHint));
+            log.debug("Released {} units of product {} that no reservation kept", quantity, productId);
+        } catch (RuntimeException e) {
+            log.error("Could not release {} units of product {} that no reservation kept", quantity, productId, e);
+        }
+    }
+
+    @Override
+    public void confirm(String productId, int quantity, int stripeHint) {
+        direct.confirm(productId, quantity, stripeHint);
+    }
+
+    @Override
+    public void release(String productId, int quantity, int stripeHint) {
+        direct.release(productId, quantity, stripeHint);
+    }
+
+    /**
+     * Not batched: the items need one transaction, which the caller's unit of work provides.
+     */
+    @Override
+    public ItemsReservationResult reserveAll(List<ProductQuantity> items, int stripeHint) {
+        return direct.reserveAll(items, stripeHint);
+    }
+
+    @Override
+    public void releaseAll(String productId, Map<UUID, Integer> quantitiesByReservationId) {
+        direct.releaseAll(productId, quantitiesByReservationId);
+    }
+
+    /**
+     * Apply whatever is still queued, then stop the flusher.
+     */
+    public void shutdown() {
+        batches.values().forEach(ProductBatch::flush);
+        flusher.shutdownNow();
+    }
+
+    /**
+     * Apply one batch in arrival order and persist the product once.
+     */
+    private List<StockReservationResult> applyBatch(String productId, List<PendingReservation> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    List<StockReservationResult> results = new ArrayList<>(batch.size());
+                    Optional<Product> loaded = productRepository.findByProductId(productId);
+                    if (loaded.isEmpty()) {
+                        batch.forEach(pending -> results.add(StockReservationResult.productNotFound()));
+                        return results;
+                    }
+
+                    Product product = loaded.get();
+                    boolean changed = false;
+                    for (PendingReservation pending : batch) {
+                        if (product.hasAvailableStock(pending.quantity, pending.stripeHint)) {
+                            product.reserveStock(pending.quantity, pending.stripeHint);
+                            results.add(StockReservationResult.reserved(product.getAvailableStock()));
+                            changed = true;
+                        } else {
+                            results.add(StockReservationResult.outOfStock(product.getAvailableStock()));
+                        }
+                    }
+                    if (changed) {
+                        productRepository.save(product);
+                    }
+                    return results;
+                });
+            } catch (OptimisticLockingFailureException e) {
+                // Another node wrote the product; reapply the whole batch against fresh state
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Version conflict on product {}, retrying batch of {} (attempt {})",
+                    productId, batch.size(), attempt);
+            }
+        }
+    }
+
+    /**
+     * A reservation request waiting for its batch to be applied.
+     * Either the batch takes it or its caller withdraws it, never both.
+     */
+    private static final class PendingReservation {
+
+        private static final int WAITING = 0;
+        private static final int TAKEN = 1;
+        private static final int CANCELLED = 2;
+
+        private final int quantity;
+        private final int stripeHint;
+        private final CompletableFuture<StockReservationResult> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private PendingReservation(int quantity, int stripeHint) {
+            this.quantity = quantity;
+            this.stripeHint = stripeHint;
+        }
+
+        boolean take() {
+            return state.compareAndSet(WAITING, TAKEN);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+    }
+
+    /**
+     * Queue of pending reservations for one product.
+     */
+    private final class ProductBatch {
+
+        private final String productId;
+        private final Queue<PendingReservation> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+        private ProductBatch(String productId) {
+            this.productId = productId;
+        }
+
+        void add(PendingReservation pending) {
+            queue.add(pending);
+            if (size.incrementAndGet() >= maxBatchSize) {
+                flusher.execute(this::flush);
+            } else if (flushScheduled.compareAndSet(false, true)) {
+                flusher.schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void flush() {
+            synchronized (this) {
+                // Reset first so requests arriving during this flush schedule the next one
+                flushScheduled.set(false);
+                List<PendingReservation> batch = drain();
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    List<StockReservationResult> results = applyBatch(productId, batch);
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).result.complete(results.get(i));
+                    }
+                    log.debug("Applied batch of {} reservations for product {}", batch.size(), productId);
+                } catch (RuntimeException e) {
+                    log.error("Failed to apply batch of {} reservations for product {}", batch.size(), productId, e);
+                    batch.forEach(pending -> pending.result.completeExceptionally(e));
+                }
+            }
+            // Requests left behind by a full batch go out immediately
+            if (size.get() > 0 && flushScheduled.compareAndSet(false, true)) {
+                flusher.execute(this::flush);
+            }
+        }
+
+        private List<PendingReservation> drain() {
+            List<PendingReservation> batch = new ArrayList<>(Math.min(size.get(), maxBatchSize));
+            PendingReservation pending;
+            while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                size.decrementAndGet();
+                // Callers that gave up are dropped before anything is reserved for them
+                if (pending.take()) {
+                    batch.add(pending);
+                }
+            }
+            return batch;
+        }
+    }
+}
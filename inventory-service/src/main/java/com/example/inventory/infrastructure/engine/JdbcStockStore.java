@@ -0,0 +1,57 @@
+package com.example.inventory.infrastructure.engine;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * StockStore on the {@code products} table.
+ *
+ * Checkpoints write the counters directly and bump the version, so JPA readers
+ * of Product see the new stock and stale entity writes fail their version check.
+ * Striped products are refused: their stock lives in stripe rows the engine does
+ * not write.
+ */
+public class JdbcStockStore implements StockStore {
+
+    private static final String SELECT_SQL =
+        "SELECT available_stock, reserved_stock, stripe_count FROM products WHERE product_id = ?";
+    private static final String UPDATE_SQL =
+        "UPDATE products SET available_stock = ?, reserved_stock = ?, version = version + 1 WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcStockStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public Optional<StockLevel> load(String productId) {
+        List<StockLevel> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            if (rs.getInt("stripe_count") > 0) {
+                throw new IllegalStateException("Product " + productId
+                    + " is striped; the stock engine keeps one pair of counters per product");
+            }
+            return new StockLevel(productId, rs.getInt("available_stock"), rs.getInt("reserved_stock"));
+        }, productId);
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void checkpoint(Collection<StockLevel> levels) {
+        if (levels.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+            UPDATE_SQL, List.copyOf(levels), levels.size(), (ps, level) -> {
+                ps.setInt(1, level.availableStock());
+                ps.setInt(2, level.reservedStock());
+                ps.setString(3, level.productId());
+            }));
+    }
+}
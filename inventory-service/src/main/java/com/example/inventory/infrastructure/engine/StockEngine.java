@@ -0,0 +1,575 @@
+package com.example.inventory.infrastructure.engine;
+
+import com.example.inventory.domain.service.ItemsReservationResult;
+import com.example.inventory.domain.service.StockReservationResult;
+import com.example.inventory.domain.service.StockReserver;
+import com.example.inventory.infrastructure.engine.StockStore.StockLevel;
+import com.example.shared.valueobject.ProductQuantity;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StockReserver that keeps the authoritative stock of each product in memory,
+ * owned by a single thread.
+ *
+ * Products are routed to one of a fixed number of partitions by the hash of
+ * their ID. Each partition thread owns the stock of its products outright and
+ * applies reserve, confirm and release in arrival order without locks; the
+ * first command for a product loads it from the {@link StockStore}.
+ *
+ * Every change is appended to the partition's {@link StockJournal}, and the
+ * commands of a drained batch are answered only after the journal has been
+ * flushed. Every {@code checkpointInterval} the partition writes the stock of the
+ * products it changed to the store and truncates its journal. On startup the
+ * journals left by a crash are replayed into the store before any command is
+ * taken, so the store is current again.
+ *
+ * While the engine runs it is the only writer of stock: one instance owns the
+ * products table, and reads of the table lag by up to one checkpoint interval.
+ * Stripe hints are ignored since each product is a single pair of counters.
+ * Multi-item reservations reserve item by item, since their products may belong
+ * to different partitions.
+ *
+ * Stock changes are not part of the caller's unit of work. A reservation whose
+ * unit of work rolls back is released again by a compensating command. A caller
+ * that stops waiting after {@code maxWait} withdraws its command, and if the
+ * partition has applied a reservation already, that is released the same way.
+ * Confirmations and releases are queued only once the caller's unit of work has
+ * committed, so stock never moves for a decision the reservation did not record;
+ * a crash between that commit and the partition taking them leaves the stock
+ * reserved. {@code releaseAll} skips reservation IDs its partition has released
+ * before. Each partition remembers its most recent releases in memory, so that
+ * does not survive a restart.
+ */
+public class StockEngine implements StockReserver {
+
+    private static final Logger log = LoggerFactory.getLogger(StockEngine.class);
+    private static final StockCommand STOP = new StockCommand(null, null, 0);
+    private static final int REMEMBERED_RELEASES = 65_536;
+
+    private final StockStore store;
+    private final int maxBatchSize;
+    private final long checkpointIntervalNanos;
+    private final long maxWaitNanos;
+    private final Partition[] partitions;
+
+    public StockEngine(StockStore store,
+                       Path journalDirectory,
+                       int partitionCount,
+                       int maxBatchSize,
+                       Duration checkpointInterval,
+                       Duration maxWait,
+                       boolean fsync) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.store = store;
+        this.maxBatchSize = maxBatchSize;
+        this.checkpointIntervalNanos = checkpointInterval.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.partitions = new Partition[partitionCount];
+        try {
+            Files.createDirectories(journalDirectory);
+            recover(journalDirectory);
+            for (int i = 0; i < partitionCount; i++) {
+                Path path = journalDirectory.resolve("partition-" + i + StockJournal.SUFFIX);
+                partitions[i] = new Partition(i, StockJournal.open(path, fsync));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open stock journal in " + journalDirectory, e);
+        }
+        for (Partition partition : partitions) {
+            partition.thread.start();
+        }
+    }
+
+    @Override
+    public StockReservationResult reserve(String productId, int quantity, int stripeHint) {
+        StockReservationResult result = submit(new StockCommand(Operation.RESERVE, productId, quantity));
+        if (result.isReserved() && CurrentUnitOfWork.isStarted()) {
+            CurrentUnitOfWork.get().onRollback(unitOfWork -> compensate(productId, quantity));
+        }
+        return result;
+    }
+
+    /**
+     * Reserves item by item. When an item fails, the items taken before it are
+     * released straight away; when all are taken, they are released only if the
+     * unit of work rolls back. Never both, so no item is released twice.
+     */
+    @Override
+    public ItemsReservationResult reserveAll(List<ProductQuantity> items, int stripeHint) {
+        List<ProductQuantity> reserved = new ArrayList<>(items.size());
+        try {
+            for (ProductQuantity item : items) {
+                StockReservationResult result =
+                    submit(new StockCommand(Operation.RESERVE, item.productId(), item.quantity()));
+                if (!result.isReserved()) {
+                    reserved.forEach(taken -> compensate(taken.productId(), taken.quantity()));
+                    return ItemsReservationResult.failed(item, result);
+                }
+                reserved.add(item);
+            }
+        } catch (RuntimeException e) {
+            reserved.forEach(taken -> compensate(taken.productId(), taken.quantity()));
+            throw e;
+        }
+        if (CurrentUnitOfWork.isStarted()) {
+            CurrentUnitOfWork.get().onRollback(unitOfWork ->
+                reserved.forEach(taken -> compensate(taken.productId(), taken.quantity())));
+        }
+        return ItemsReservationResult.reserved();
+    }
+
+    /**
+     * Queued once the unit of work commits; applied and awaited now without one.
+     */
+    @Override
+    public void confirm(String productId, int quantity, int stripeHint) {
+        submitAfterCommit(new StockCommand(Operation.CONFIRM, productId, quantity));
+    }
+
+    /**
+     * Queued once the unit of work commits; applied and awaited now without one.
+     */
+    @Override
+    public void release(String productId, int quantity, int stripeHint) {
+        submitAfterCommit(new StockCommand(Operation.RELEASE, productId, quantity));
+    }
+
+    /**
+     * Stripes do not exist here, so the releases become one command. Reservations
+     * the partition has released already are left out.
+     */
+    @Override
+    public void releaseAll(String productId, Map<UUID, Integer> quantitiesByReservationId) {
+        submit(new StockCommand(productId, Map.copyOf(quantitiesByReservationId)));
+    }
+
+    /**
+     * Apply whatever is still queued, checkpoint every partition and close the journals.
+     */
+    public void shutdown() {
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The partition that owns the product.
+     */
+    int partitionOf(String productId) {
+        return Math.floorMod(productId.hashCode(), partitions.length);
+    }
+
+    private StockReservationResult submit(StockCommand command) {
+        partitions[partitionOf(command.productId)].submit(command);
+        try {
+            return command.result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            abandon(command);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for stock of " + command.productId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Stock " + command.operation + " failed for " + command.productId,
+                e.getCause());
+        } catch (TimeoutException e) {
+            abandon(command);
+            throw new IllegalStateException("Timed out waiting for stock of " + command.productId, e);
+        }
+    }
+
+    /**
+     * Withdraw a command the caller no longer waits for. If its partition has taken
+     * it already and it reserved stock, that stock is released again.
+     */
+    private void abandon(StockCommand command) {
+        if (!command.cancel() && command.operation == Operation.RESERVE) {
+            command.result.thenAccept(result -> {
+                if (result.isReserved()) {
+                    compensate(command.productId, command.quantity);
+                }
+            });
+        }
+    }
+
+    /**
+     * Queue a release for a reservation nobody will report, without waiting for it.
+     */
+    private void compensate(String productId, int quantity) {
+        submitWithoutWaiting(new StockCommand(Operation.RELEASE, productId, quantity),
+            "that no reservation kept");
+    }
+
+    private void submitAfterCommit(StockCommand command) {
+        if (!CurrentUnitOfWork.isStarted()) {
+            submit(command);
+            return;
+        }
+        CurrentUnitOfWork.get().afterCommit(unitOfWork -> submitWithoutWaiting(command, "after commit"));
+    }
+
+    /**
+     * Queue a command nobody waits for. Its caller has moved on, so a failure can only be logged.
+     */
+    private void submitWithoutWaiting(StockCommand command, String context) {
+        String operation = command.operation.name().toLowerCase(Locale.ROOT);
+        try {
+            partitions[partitionOf(command.productId)].submit(command);
+        } catch (IllegalStateException e) {
+            log.error("Could not {} {} units of product {} {}",
+                operation, command.quantity, command.productId, context, e);
+            return;
+        }
+        command.result.whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not {} {} units of product {} {}",
+                    operation, command.quantity, command.productId, context, error);
+            } else {
+                log.debug("Applied {} of {} units of product {} {}",
+                    operation, command.quantity, command.productId, context);
+            }
+        });
+    }
+
+    /**
+     * Bring the store up to date with the journals of a previous run, then start empty.
+     */
+    private void recover(Path journalDirectory) throws IOException {
+        Map<String, StockLevel> replayed = StockJournal.replay(journalDirectory);
+        if (!replayed.isEmpty()) {
+            store.checkpoint(replayed.values());
+            log.info("Recovered stock of {} products from the journal", replayed.size());
+        }
+        StockJournal.deleteAll(journalDirectory);
+    }
+
+    private enum Operation { RESERVE, CONFIRM, RELEASE, RELEASE_RESERVATIONS }
+
+    /**
+     * A stock command waiting for its partition. Outcome and error are written by
+     * the partition thread and published through the future. Either the partition
+     * takes it or its caller withdraws it, never both.
+     */
+    private static final class StockCommand {
+
+        private static final int WAITING = 0;
+        private static final int TAKEN = 1;
+        private static final int CANCELLED = 2;
+
+        private final Operation operation;
+        private final String productId;
+        private final int quantity;
+        private final Map<UUID, Integer> reservations;
+        private final CompletableFuture<StockReservationResult> result = new CompletableFuture<>();
+        private StockReservationResult outcome;
+        private RuntimeException error;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private StockCommand(Operation operation, String productId, int quantity) {
+            this.operation = operation;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.reservations = null;
+        }
+
+        private StockCommand(String productId, Map<UUID, Integer> reservations) {
+            this.operation = Operation.RELEASE_RESERVATIONS;
+            this.productId = productId;
+            this.quantity = reservations.values().stream().mapToInt(Integer::intValue).sum();
+            this.reservations = reservations;
+        }
+
+        boolean take() {
+            return state.compareAndSet(WAITING, TAKEN);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+
+    /**
+     * In-memory stock of one product, touched only by its partition thread.
+     */
+    private static final class Stock {
+
+        private final String productId;
+        private int availableStock;
+        private int reservedStock;
+
+        private Stock(StockLevel level) {
+            this.productId = level.productId();
+            this.availableStock = level.availableStock();
+            this.reservedStock = level.reservedStock();
+        }
+
+        StockLevel level() {
+            return new StockLevel(productId, availableStock, reservedStock);
+        }
+    }
+
+    /**
+     * One owner thread with its queue, its products and its journal.
+     */
+    private final class Partition implements Runnable {
+
+        private final int index;
+        private final StockJournal journal;
+        private final Thread thread;
+        private final BlockingQueue<StockCommand> queue = new LinkedBlockingQueue<>();
+        private final Map<String, Stock> stocks = new HashMap<>();
+        private final Set<Stock> dirty = new LinkedHashSet<>();
+        private final Set<UUID> released = Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > REMEMBERED_RELEASES;
+            }
+        });
+        private final List<StockCommand> batch = new ArrayList<>(maxBatchSize);
+        private volatile boolean stopping;
+        private IllegalStateException failure;
+
+        private Partition(int index, StockJournal journal) {
+            this.index = index;
+            this.journal = journal;
+            this.thread = new Thread(this, "stock-engine-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void submit(StockCommand command) {
+            if (stopping) {
+                throw new IllegalStateException("Stock engine is shut down");
+            }
+            queue.add(command);
+        }
+
+        void stop() {
+            stopping = true;
+            queue.add(STOP);
+        }
+
+        @Override
+        public void run() {
+            long nextCheckpoint = System.nanoTime() + checkpointIntervalNanos;
+            boolean stopped = false;
+            while (!stopped || !queue.isEmpty()) {
+                try {
+                    StockCommand first = queue.poll(Math.max(0, nextCheckpoint - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, maxBatchSize - 1);
+                        stopped |= applyBatch();
+                    }
+                } catch (InterruptedException e) {
+                    stopped = true;
+                }
+                if (System.nanoTime() - nextCheckpoint >= 0) {
+                    checkpoint();
+                    nextCheckpoint = System.nanoTime() + checkpointIntervalNanos;
+                }
+            }
+            checkpoint();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Failed to close stock journal of partition {}", index, e);
+            }
+        }
+
+        /**
+         * Apply the batch, flush the journal once and only then answer the callers.
+         *
+         * @return whether the batch contained the stop marker
+         */
+        private boolean applyBatch() {
+            boolean stop = false;
+            for (StockCommand command : batch) {
+                if (command == STOP) {
+                    stop = true;
+                } else if (!command.take()) {
+                    // Callers that gave up are dropped before anything is applied for them
+                    continue;
+                } else if (failure == null) {
+                    try {
+                        command.outcome = apply(command);
+                    } catch (IOException e) {
+                        fail(e);
+                    } catch (RuntimeException e) {
+                        command.error = e;
+                    }
+                }
+            }
+            try {
+                journal.flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+            for (StockCommand command : batch) {
+                if (command == STOP || command.isCancelled()) {
+                    continue;
+                }
+                if (failure != null) {
+                    command.result.completeExceptionally(failure);
+                } else if (command.error != null) {
+                    command.result.completeExceptionally(command.error);
+                } else {
+                    command.result.complete(command.outcome);
+                }
+            }
+            batch.clear();
+            return stop;
+        }
+
+        private StockReservationResult apply(StockCommand command) throws IOException {
+            Stock stock = stockOf(command.productId);
+            int quantity = command.quantity;
+            switch (command.operation) {
+                case RESERVE -> {
+                    if (stock == null) {
+                        return StockReservationResult.productNotFound();
+                    }
+                    if (stock.availableStock < quantity) {
+                        return StockReservationResult.outOfStock(stock.availableStock);
+                    }
+                    stock.availableStock -= quantity;
+                    stock.reservedStock += quantity;
+                    record(stock);
+                    return StockReservationResult.reserved(stock.availableStock);
+                }
+                case CONFIRM -> {
+                    requireReserved(stock, command.productId, quantity);
+                    stock.reservedStock -= quantity;
+                    record(stock);
+                }
+                case RELEASE -> {
+                    requireReserved(stock, command.productId, quantity);
+                    stock.reservedStock -= quantity;
+                    stock.availableStock += quantity;
+                    record(stock);
+                }
+                case RELEASE_RESERVATIONS -> {
+                    List<UUID> releasing = new ArrayList<>(command.reservations.size());
+                    int releasingQuantity = 0;
+                    for (Map.Entry<UUID, Integer> reservation : command.reservations.entrySet()) {
+                        if (!released.contains(reservation.getKey())) {
+                            releasing.add(reservation.getKey());
+                            releasingQuantity += reservation.getValue();
+                        }
+                    }
+                    if (releasing.isEmpty()) {
+                        return null;
+                    }
+                    requireReserved(stock, command.productId, releasingQuantity);
+                    stock.reservedStock -= releasingQuantity;
+                    stock.availableStock += releasingQuantity;
+                    record(stock);
+                    released.addAll(releasing);
+                }
+            }
+            return null;
+        }
+
+        private Stock stockOf(String productId) {
+            Stock stock = stocks.get(productId);
+            if (stock == null) {
+                // Unknown products are not cached; they may be created later
+                Optional<StockLevel> loaded = store.load(productId);
+                if (loaded.isPresent()) {
+                    stock = new Stock(loaded.get());
+                    stocks.put(productId, stock);
+                }
+            }
+            return stock;
+        }
+
+        private void requireReserved(Stock stock, String productId, int quantity) {
+            if (stock == null) {
+                throw new IllegalStateException("Product not found: " + productId);
+            }
+            if (stock.reservedStock < quantity) {
+                throw new IllegalStateException("Insufficient reserved stock");
+            }
+        }
+
+        private void record(Stock stock) throws IOException {
+            journal.append(stock.productId, stock.availableStock, stock.reservedStock);
+            dirty.add(stock);
+        }
+
+        /**
+         * Without a durable journal nothing more can be acknowledged. The journal
+         * is kept as it is for recovery and the partition rejects every command.
+         */
+        private void fail(IOException e) {
+            if (failure == null) {
+                log.error("Stock journal of partition {} failed; rejecting its commands", index, e);
+                failure = new IllegalStateException("Stock journal of partition " + index + " failed", e);
+            }
+        }
+
+        private void checkpoint() {
+            if (dirty.isEmpty() || failure != null) {
+                return;
+            }
+            List<StockLevel> levels = new ArrayList<>(dirty.size());
+            dirty.forEach(stock -> levels.add(stock.level()));
+            try {
+                store.checkpoint(levels);
+            } catch (RuntimeException e) {
+                // The journal still covers these changes; the next interval tries again
+                log.warn("Checkpoint of {} products failed on partition {}", levels.size(), index, e);
+                return;
+            }
+            dirty.clear();
+            try {
+                journal.truncate();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.inventory.infrastructure.engine;
+
+import com.example.inventory.domain.service.StockReserver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Replaces the direct and batching reservers with the in-memory {@link StockEngine}
+ * when {@code inventory.stock-engine.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "inventory.stock-engine", name = "enabled", havingValue = "true")
+public class StockEngineConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public StockReserver stockEngine(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.stock-engine.journal-dir:data/stock-journal}") Path journalDirectory,
+            @Value("${inventory.stock-engine.partitions:4}") int partitions,
+            @Value("${inventory.stock-engine.max-batch-size:256}") int maxBatchSize,
+            @Value("${inventory.stock-engine.checkpoint-interval:1s}") Duration checkpointInterval,
+            @Value("${inventory.stock-engine.max-wait:5s}") Duration maxWait,
+            @Value("${inventory.stock-engine.fsync:false}") boolean fsync) {
+        return new StockEngine(
+            new JdbcStockStore(jdbcTemplate, new TransactionTemplate(transactionManager)),
+            journalDirectory,
+            partitions,
+            maxBatchSize,
+            checkpointInterval,
+            maxWait,
+            fsync
+        );
+    }
+}
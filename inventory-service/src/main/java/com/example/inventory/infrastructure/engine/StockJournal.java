@@ -0,0 +1,150 @@
+package com.example.inventory.infrastructure.engine;
+
+import com.example.inventory.infrastructure.engine.StockStore.StockLevel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of one {@link StockEngine} partition.
+ *
+ * Each record holds the absolute stock of one product after a change, so
+ * replaying is idempotent and only the last record per product matters. A record
+ * is its payload length, the payload (product ID, available, reserved) and a
+ * CRC32 of the payload; a torn or corrupt tail ends the replay of that file.
+ * Not thread-safe: only the owning partition thread writes.
+ */
+final class StockJournal implements Closeable {
+
+    static final String SUFFIX = ".journal";
+
+    private final FileOutputStream file;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream(64);
+    private final DataOutputStream payload = new DataOutputStream(payloadBuffer);
+    private final CRC32 crc = new CRC32();
+    private final boolean fsync;
+
+    private StockJournal(FileOutputStream file, boolean fsync) {
+        this.file = file;
+        this.channel = file.getChannel();
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+        this.fsync = fsync;
+    }
+
+    /**
+     * Open a journal file for appending, creating it if needed.
+     *
+     * @param fsync force each flush to the device instead of stopping at the OS page cache
+     */
+    static StockJournal open(Path path, boolean fsync) throws IOException {
+        return new StockJournal(new FileOutputStream(path.toFile(), true), fsync);
+    }
+
+    void append(String productId, int availableStock, int reservedStock) throws IOException {
+        payloadBuffer.reset();
+        payload.writeUTF(productId);
+        payload.writeInt(availableStock);
+        payload.writeInt(reservedStock);
+        crc.reset();
+        crc.update(payloadBuffer.toByteArray());
+        out.writeInt(payloadBuffer.size());
+        payloadBuffer.writeTo(out);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Hand everything appended so far to the file system.
+     */
+    void flush() throws IOException {
+        out.flush();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Drop all records once their state has been checkpointed.
+     */
+    void truncate() throws IOException {
+        out.flush();
+        channel.truncate(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+        file.close();
+    }
+
+    /**
+     * Last recorded stock per product across all journal files in the directory,
+     * files in name order.
+     */
+    static Map<String, StockLevel> replay(Path directory) throws IOException {
+        Map<String, StockLevel> levels = new LinkedHashMap<>();
+        for (Path path : journalFiles(directory)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                StockLevel level;
+                while ((level = readRecord(in)) != null) {
+                    levels.put(level.productId(), level);
+                }
+            }
+        }
+        return levels;
+    }
+
+    static void deleteAll(Path directory) throws IOException {
+        for (Path path : journalFiles(directory)) {
+            Files.delete(path);
+        }
+    }
+
+    private static StockLevel readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            if (length <= 0 || length > 64 * 1024) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            int expected = in.readInt();
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if ((int) crc.getValue() != expected) {
+                return null;
+            }
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(bytes));
+            return new StockLevel(record.readUTF(), record.readInt(), record.readInt());
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static List<Path> journalFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+}
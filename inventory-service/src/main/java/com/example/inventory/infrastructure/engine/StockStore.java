@@ -0,0 +1,29 @@
+package com.example.inventory.infrastructure.engine;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Durable home of the stock levels the {@link StockEngine} keeps in memory.
+ */
+public interface StockStore {
+
+    /**
+     * Load the stock of a product the engine has not seen yet.
+     *
+     * @return empty if the product does not exist
+     * @throws IllegalStateException if the product cannot be held as one pair of counters
+     */
+    Optional<StockLevel> load(String productId);
+
+    /**
+     * Overwrite the stored stock of the given products in one transaction.
+     */
+    void checkpoint(Collection<StockLevel> levels);
+
+    /**
+     * Absolute stock of one product at some point of its history.
+     */
+    record StockLevel(String productId, int availableStock, int reservedStock) {
+    }
+}
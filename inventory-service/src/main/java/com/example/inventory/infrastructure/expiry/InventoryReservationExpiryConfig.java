@@ -0,0 +1,71 @@
+package com.example.inventory.infrastructure.expiry;
+
+import com.example.shared.command.ExpireInventoryReservationCommand;
+import com.example.shared.expiry.ExpirySweeper;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.eventhandling.TrackingEventProcessorConfiguration;
+import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Expires inventory reservations that no saga confirmed or released, from
+ * {@code inventory.reservation-expiry.*}.
+ *
+ * The index processor is a tracking processor that keeps its token in memory and
+ * starts at the tail, so the {@link InventoryReservationExpiryIndexer} is rebuilt on
+ * every start, and the sweeper waits until that processor has caught up. The
+ * reclaim processor handles {@code reclaim-batch-size} expired events per transaction.
+ */
+@Configuration
+public class InventoryReservationExpiryConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "inventory.reservation-expiry.enabled", havingValue = "true", matchIfMissing = true)
+    public ExpirySweeper inventoryReservationExpirySweeper(
+            InventoryReservationExpiryIndexer indexer,
+            CommandGateway commandGateway,
+            EventProcessingConfiguration eventProcessingConfiguration,
+            @Value("${inventory.reservation-expiry.grace:30s}") Duration grace,
+            @Value("${inventory.reservation-expiry.batch-size:500}") int batchSize,
+            @Value("${inventory.reservation-expiry.interval:1s}") Duration interval) {
+        return new ExpirySweeper(
+            "inventory",
+            indexer.index(),
+            commandGateway,
+            ExpireInventoryReservationCommand::new,
+            ExpirySweeper.whenCaughtUp(eventProcessingConfiguration, InventoryReservationExpiryIndexer.PROCESSING_GROUP),
+            grace,
+            batchSize,
+            interval
+        );
+    }
+
+    @Autowired
+    public void configureExpiryProcessors(
+            EventProcessingConfigurer eventProcessingConfigurer,
+            @Value("${inventory.reservation-expiry.reclaim-batch-size:100}") int reclaimBatchSize) {
+        eventProcessingConfigurer.registerTokenStore(
+            InventoryReservationExpiryIndexer.PROCESSING_GROUP,
+            configuration -> new InMemoryTokenStore()
+        );
+        eventProcessingConfigurer.registerTrackingEventProcessor(
+            InventoryReservationExpiryIndexer.PROCESSING_GROUP,
+            org.axonframework.config.Configuration::eventStore,
+            configuration -> TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+        );
+        eventProcessingConfigurer.registerTrackingEventProcessor(
+            InventoryReservationReclaimer.PROCESSING_GROUP,
+            org.axonframework.config.Configuration::eventStore,
+            configuration -> TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                .andBatchSize(reclaimBatchSize)
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.inventory.infrastructure.expiry;
+
+import com.example.shared.event.InventoryConfirmedEvent;
+import com.example.shared.event.InventoryItemsReservedEvent;
+import com.example.shared.event.InventoryReleasedEvent;
+import com.example.shared.event.InventoryReservationExpiredEvent;
+import com.example.shared.event.InventoryReservedEvent;
+import com.example.shared.expiry.ExpiryIndex;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps the open inventory reservations in an {@link ExpiryIndex} for the sweeper.
+ *
+ * The reserved events carry no expiry, so a reservation expires {@code ttl}
+ * after it was made. The index lives in memory and its processor keeps its token
+ * in memory too, so every start replays the reservation events to rebuild it.
+ */
+@Component
+@ProcessingGroup(InventoryReservationExpiryIndexer.PROCESSING_GROUP)
+@ConditionalOnProperty(name = "inventory.reservation-expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryReservationExpiryIndexer {
+
+    public static final String PROCESSING_GROUP = "inventory-reservation-expiry-index";
+
+    private final ExpiryIndex<UUID> index;
+    private final Duration ttl;
+
+    public InventoryReservationExpiryIndexer(
+            @Value("${inventory.reservation-expiry.ttl:15s}") Duration ttl,
+            @Value("${inventory.reservation-expiry.bucket-width:1s}") Duration bucketWidth) {
+        this.index = new ExpiryIndex<>(bucketWidth);
+        this.ttl = ttl;
+    }
+
+    @EventHandler
+    public void on(InventoryReservedEvent event) {
+        index.add(event.reservationId(), event.timestamp().plus(ttl));
+    }
+
+    @EventHandler
+    public void on(InventoryItemsReservedEvent event) {
+        index.add(event.reservationId(), event.timestamp().plus(ttl));
+    }
+
+    @EventHandler
+    public void on(InventoryConfirmedEvent event) {
+        index.remove(event.reservationId());
+    }
+
+    @EventHandler
+    public void on(InventoryReleasedEvent event) {
+        index.remove(event.reservationId());
+    }
+
+    @EventHandler
+    public void on(InventoryReservationExpiredEvent event) {
+        index.remove(event.reservationId());
+    }
+
+    public ExpiryIndex<UUID> index() {
+        return index;
+    }
+}
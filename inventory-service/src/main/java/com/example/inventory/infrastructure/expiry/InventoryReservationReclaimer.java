@@ -0,0 +1,81 @@
+package com.example.inventory.infrastructure.expiry;
+
+import com.example.inventory.domain.service.StockReserver;
+import com.example.shared.event.InventoryReservationExpiredEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Returns the stock of expired inventory reservations.
+ *
+ * The expired events of one processor batch are collected per product and
+ * reservation, and each product is written once when the batch commits, in the
+ * same transaction as the processor's token. A release that fails rolls back the
+ * whole batch with its token, so the processor retries it instead of losing the
+ * stock. The stock engine writes outside that transaction and ignores reservations
+ * it has released already.
+ *
+ * Runs whether or not the sweeper is enabled, so reservations it has expired are
+ * always reclaimed.
+ */
+@Component
+@ProcessingGroup(InventoryReservationReclaimer.PROCESSING_GROUP)
+public class InventoryReservationReclaimer implements MeterBinder {
+
+    public static final String PROCESSING_GROUP = "inventory-reservation-reclaim";
+
+    private static final String PENDING_RELEASES = InventoryReservationReclaimer.class.getName() + ".pending";
+
+    private final StockReserver stockReserver;
+    private final AtomicLong reclaimedUnits = new AtomicLong();
+
+    public InventoryReservationReclaimer(StockReserver stockReserver) {
+        this.stockReserver = stockReserver;
+    }
+
+    @EventHandler
+    public void on(InventoryReservationExpiredEvent event) {
+        pendingReleases()
+            .computeIfAbsent(event.productId(), productId -> new HashMap<>())
+            .merge(event.reservationId(), event.quantity(), Integer::sum);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reservation.expiry.reclaimed", reclaimedUnits, AtomicLong::get)
+            .description("Stock units returned from expired reservations")
+            .tag("reservation", "inventory")
+            .register(registry);
+    }
+
+    /**
+     * Releases collected in the current batch, flushed once before it commits and
+     * counted once it has.
+     */
+    private Map<String, Map<UUID, Integer>> pendingReleases() {
+        UnitOfWork<?> unitOfWork = CurrentUnitOfWork.get().root();
+        return unitOfWork.getOrComputeResource(PENDING_RELEASES, key -> {
+            Map<String, Map<UUID, Integer>> pending = new LinkedHashMap<>();
+            unitOfWork.onPrepareCommit(committing -> flush(pending));
+            unitOfWork.afterCommit(committed -> pending.values().forEach(quantities ->
+                quantities.values().forEach(reclaimedUnits::addAndGet)));
+            return pending;
+        });
+    }
+
+    private void flush(Map<String, Map<UUID, Integer>> pending) {
+        pending.forEach(stockReserver::releaseAll);
+    }
+}
@@ -2,9 +2,15 @@ package com.example.inventory.infrastructure.persistence;
 
 import com.example.inventory.domain.entity.Product;
 import com.example.inventory.domain.repository.ProductRepository;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,6 +22,15 @@ public interface JpaProductRepository extends JpaRepository<Product, String>, Pr
     @Override
     Optional<Product> findByProductId(String productId);
 
+    /**
+     * One SELECT ... FOR UPDATE ordered by product ID, so the row locks are
+     * always taken in the same order.
+     */
+    @Override
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.productId in :productIds order by p.productId")
+    List<Product> findAllForUpdate(@Param("productIds") Collection<String> productIds);
+
     @Override
     default boolean existsByProductId(String productId) {
         return existsById(productId);
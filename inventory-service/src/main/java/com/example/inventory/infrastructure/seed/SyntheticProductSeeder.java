@@ -0,0 +1,100 @@
+package com.example.inventory.infrastructure.seed;
+
+import com.example.shared.seed.ZipfDistribution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk-loads a synthetic product catalogue for load tests.
+ *
+ * Rows are written with JDBC batch inserts straight into the products table,
+ * bypassing JPA, so a million products load in seconds instead of one
+ * exists-check and save per row. Stock follows a Zipf distribution over the
+ * product number: SKU-0000000 gets {@code maxStock}, and stock falls off with
+ * rank down to {@code minStock}, so the first few SKUs behave like the hot items
+ * of a sale. Products are never striped here.
+ *
+ * Seeding is skipped when the first synthetic product already exists, so a
+ * file-backed database is not loaded twice.
+ */
+public class SyntheticProductSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticProductSeeder.class);
+    private static final String INSERT_SQL =
+        "INSERT INTO products (product_id, name, price, available_stock, reserved_stock, stripe_count, version) "
+            + "VALUES (?, ?, ?, ?, 0, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int products;
+    private final int maxStock;
+    private final int minStock;
+    private final double skew;
+    private final BigDecimal price;
+    private final int batchSize;
+
+    public SyntheticProductSeeder(JdbcTemplate jdbcTemplate, int products, int maxStock, int minStock,
+                                  double skew, BigDecimal price, int batchSize) {
+        if (products < 0) {
+            throw new IllegalArgumentException("Product count cannot be negative");
+        }
+        if (minStock < 0 || maxStock < minStock) {
+            throw new IllegalArgumentException("Stock range must satisfy 0 <= min-stock <= max-stock");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.products = products;
+        this.maxStock = maxStock;
+        this.minStock = minStock;
+        this.skew = skew;
+        this.price = price;
+        this.batchSize = batchSize;
+    }
+
+    public static String productId(int rank) {
+        return String.format("SKU-%07d", rank);
+    }
+
+    @Override
+    public void run(String... args) {
+        if (products == 0) {
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM products WHERE product_id = ?", Integer.class, productId(0));
+        if (existing != null && existing > 0) {
+            log.info("Synthetic products already present, skipping seeding");
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int rank = 0; rank < products; rank++) {
+            batch.add(new Object[] {
+                productId(rank), "Synthetic product " + rank, price, stockFor(rank)
+            });
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        log.info("Seeded {} synthetic products (stock {}..{}, skew {}) in {} ms",
+            products, maxStock, stockFor(products - 1), skew,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    int stockFor(int rank) {
+        return (int) ZipfDistribution.scaled(maxStock, minStock, rank, skew);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.inventory.infrastructure.seed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Enables the {@link SyntheticProductSeeder} with {@code inventory.seed.synthetic.*} settings.
+ * The demo products of DataInitializer are created either way.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "inventory.seed.synthetic", name = "enabled", havingValue = "true")
+public class SyntheticSeedConfig {
+
+    @Bean
+    public SyntheticProductSeeder syntheticProductSeeder(
+            JdbcTemplate jdbcTemplate,
+            @Value("${inventory.seed.synthetic.products:1000000}") int products,
+            @Value("${inventory.seed.synthetic.max-stock:100000}") int maxStock,
+            @Value("${inventory.seed.synthetic.min-stock:10}") int minStock,
+            @Value("${inventory.seed.synthetic.skew:1.0}") double skew,
+            @Value("${inventory.seed.synthetic.price:35000}") BigDecimal price,
+            @Value("${inventory.seed.synthetic.batch-size:5000}") int batchSize) {
+        return new SyntheticProductSeeder(jdbcTemplate, products, maxStock, minStock, skew, price, batchSize);
+    }
+}
@@ -2,13 +2,19 @@ package com.example.inventory.domain.aggregate;
 
 import com.example.inventory.domain.entity.Product;
 import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.DirectStockReserver;
 import com.example.shared.command.ConfirmInventoryCommand;
+import com.example.shared.command.ExpireInventoryReservationCommand;
 import com.example.shared.command.ReleaseInventoryCommand;
 import com.example.shared.command.ReserveInventoryCommand;
+import com.example.shared.command.ReserveInventoryItemsCommand;
 import com.example.shared.event.InventoryConfirmedEvent;
+import com.example.shared.event.InventoryItemsReservedEvent;
 import com.example.shared.event.InventoryReleasedEvent;
+import com.example.shared.event.InventoryReservationExpiredEvent;
 import com.example.shared.event.InventoryReservationFailedEvent;
 import com.example.shared.event.InventoryReservedEvent;
+import com.example.shared.valueobject.ProductQuantity;
 import com.example.shared.valueobject.ReservationStatus;
 import org.axonframework.test.aggregate.AggregateTestFixture;
 import org.axonframework.test.aggregate.FixtureConfiguration;
@@ -20,6 +26,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -45,6 +52,7 @@ class InventoryReservationTest {
         MockitoAnnotations.openMocks(this);
         fixture = new AggregateTestFixture<>(InventoryReservation.class);
         fixture.registerInjectableResource(productRepository);
+        fixture.registerInjectableResource(new DirectStockReserver(productRepository));
     }
 
     @Nested
@@ -116,6 +124,102 @@ class InventoryReservationTest {
         }
     }
 
+    @Nested
+    @DisplayName("ReserveInventoryItemsCommand")
+    class ReserveInventoryItemsTests {
+
+        @Test
+        @DisplayName("should reserve all items with one event, merged per product in product ID order")
+        void shouldReserveAllItems() {
+            // Given
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            Product iphone = new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10);
+            Product airpods = new Product("AIRPODS4", "AirPods 4", new BigDecimal("5990"), 5);
+            when(productRepository.findAllForUpdate(any())).thenReturn(List.of(airpods, iphone));
+
+            // When / Then
+            fixture.givenNoPriorActivity()
+                .when(new ReserveInventoryItemsCommand(reservationId, orderId, List.of(
+                    new ProductQuantity("IPHONE17", 1),
+                    new ProductQuantity("AIRPODS4", 2),
+                    new ProductQuantity("IPHONE17", 1)
+                )))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(InventoryItemsReservedEvent.class))
+                ))
+                .expectState(reservation -> {
+                    assertEquals(ReservationStatus.RESERVED, reservation.getStatus());
+                    assertEquals(List.of(new ProductQuantity("AIRPODS4", 2), new ProductQuantity("IPHONE17", 2)),
+                        reservation.getItems());
+                });
+
+            assertEquals(8, iphone.getAvailableStock());
+            assertEquals(3, airpods.getAvailableStock());
+            verify(productRepository).findAllForUpdate(List.of("AIRPODS4", "IPHONE17"));
+        }
+
+        @Test
+        @DisplayName("should reserve nothing and fail once when one item is short")
+        void shouldReserveNothingWhenOneItemIsShort() {
+            // Given
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            Product iphone = new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10);
+            Product airpods = new Product("AIRPODS4", "AirPods 4", new BigDecimal("5990"), 1);
+            when(productRepository.findAllForUpdate(any())).thenReturn(List.of(airpods, iphone));
+
+            // When / Then
+            fixture.givenNoPriorActivity()
+                .when(new ReserveInventoryItemsCommand(reservationId, orderId, List.of(
+                    new ProductQuantity("IPHONE17", 1),
+                    new ProductQuantity("AIRPODS4", 2)
+                )))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(InventoryReservationFailedEvent.class))
+                ))
+                .expectState(reservation -> {
+                    assertEquals(ReservationStatus.RELEASED, reservation.getStatus());
+                    assertEquals("AIRPODS4", reservation.getProductId());
+                });
+
+            assertEquals(10, iphone.getAvailableStock());
+            verify(productRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should release every item of the reservation")
+        void shouldReleaseEveryItem() {
+            // Given
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            Product iphone = new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10);
+            Product airpods = new Product("AIRPODS4", "AirPods 4", new BigDecimal("5990"), 5);
+            airpods.reserveStock(2);
+            iphone.reserveStock(1);
+            when(productRepository.findByProductId("AIRPODS4")).thenReturn(Optional.of(airpods));
+            when(productRepository.findByProductId("IPHONE17")).thenReturn(Optional.of(iphone));
+
+            // When / Then
+            fixture.given(new InventoryItemsReservedEvent(orderId, reservationId, List.of(
+                    new ProductQuantity("AIRPODS4", 2),
+                    new ProductQuantity("IPHONE17", 1)
+                )))
+                .when(new ReleaseInventoryCommand(reservationId, orderId, "Payment failed"))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(InventoryReleasedEvent.class)),
+                    messageWithPayload(instanceOf(InventoryReleasedEvent.class))
+                ))
+                .expectState(reservation -> assertEquals(ReservationStatus.RELEASED, reservation.getStatus()));
+
+            assertEquals(5, airpods.getAvailableStock());
+            assertEquals(10, iphone.getAvailableStock());
+        }
+    }
+
     @Nested
     @DisplayName("ConfirmInventoryCommand")
     class ConfirmInventoryTests {
@@ -170,4 +274,41 @@ class InventoryReservationTest {
                 .expectState(reservation -> assertEquals(ReservationStatus.RELEASED, reservation.getStatus()));
         }
     }
+
+    @Nested
+    @DisplayName("ExpireInventoryReservationCommand")
+    class ExpireInventoryReservationTests {
+
+        @Test
+        @DisplayName("should expire an open reservation without touching the product")
+        void shouldExpireReservation() {
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+
+            fixture.given(new InventoryReservedEvent(orderId, reservationId, "IPHONE17", 1, 9))
+                .when(new ExpireInventoryReservationCommand(reservationId))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(InventoryReservationExpiredEvent.class))
+                ))
+                .expectState(reservation -> assertEquals(ReservationStatus.EXPIRED, reservation.getStatus()));
+
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("should ignore a reservation the saga already confirmed")
+        void shouldIgnoreConfirmedReservation() {
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+
+            fixture.given(
+                    new InventoryReservedEvent(orderId, reservationId, "IPHONE17", 1, 9),
+                    new InventoryConfirmedEvent(orderId, reservationId, "IPHONE17", 1)
+                )
+                .when(new ExpireInventoryReservationCommand(reservationId))
+                .expectSuccessfulHandlerExecution()
+                .expectNoEvents();
+        }
+    }
 }
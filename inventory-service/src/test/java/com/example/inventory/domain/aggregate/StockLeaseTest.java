@@ -0,0 +1,194 @@
+package com.example.inventory.domain.aggregate;
+
+import com.example.inventory.domain.entity.Product;
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.DirectStockReserver;
+import com.example.shared.command.ConsumeStockLeaseCommand;
+import com.example.shared.command.GrantStockLeaseCommand;
+import com.example.shared.command.ReturnStockLeaseCommand;
+import com.example.shared.event.StockLeaseConsumedEvent;
+import com.example.shared.event.StockLeaseDeniedEvent;
+import com.example.shared.event.StockLeaseExpiredEvent;
+import com.example.shared.event.StockLeaseGrantedEvent;
+import com.example.shared.event.StockLeaseReturnedEvent;
+import org.axonframework.test.aggregate.AggregateTestFixture;
+import org.axonframework.test.aggregate.FixtureConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.axonframework.test.matchers.Matchers.*;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockLease aggregate.
+ */
+@DisplayName("StockLease Aggregate")
+class StockLeaseTest {
+
+    private static final String PRODUCT_ID = "IPHONE17";
+    private static final String HOLDER_ID = "sales-1";
+
+    private FixtureConfiguration<StockLease> fixture;
+    private Product product;
+    private UUID leaseId;
+    private Instant expiresAt;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        fixture = new AggregateTestFixture<>(StockLease.class);
+        fixture.registerInjectableResource(new DirectStockReserver(productRepository));
+
+        product = new Product(PRODUCT_ID, "iPhone 17", new BigDecimal("35000"), 10);
+        when(productRepository.findByProductId(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(productRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        leaseId = UUID.randomUUID();
+        expiresAt = Instant.now().plus(Duration.ofSeconds(60));
+    }
+
+    @Nested
+    @DisplayName("GrantStockLeaseCommand")
+    class GrantStockLeaseTests {
+
+        @Test
+        @DisplayName("should hold the block as reserved stock and schedule its expiry")
+        void shouldGrantLease() {
+            fixture.givenNoPriorActivity()
+                .when(new GrantStockLeaseCommand(leaseId, HOLDER_ID, PRODUCT_ID, 4, expiresAt))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(StockLeaseGrantedEvent.class))
+                ))
+                .expectScheduledDeadlineWithName(expiresAt, "stock-lease-expiry");
+
+            assertEquals(6, product.getAvailableStock());
+            assertEquals(4, product.getReservedStock());
+        }
+
+        @Test
+        @DisplayName("should lease the remaining stock when the block does not fit")
+        void shouldGrantRemainingStock() {
+            fixture.givenNoPriorActivity()
+                .when(new GrantStockLeaseCommand(leaseId, HOLDER_ID, PRODUCT_ID, 50, expiresAt))
+                .expectSuccessfulHandlerExecution()
+                .expectState(lease -> assertEquals(10, lease.getQuantity()));
+
+            assertEquals(0, product.getAvailableStock());
+        }
+
+        @Test
+        @DisplayName("should deny the lease when the product is sold out")
+        void shouldDenyLease() {
+            product.reserveStock(10);
+
+            fixture.givenNoPriorActivity()
+                .when(new GrantStockLeaseCommand(leaseId, HOLDER_ID, PRODUCT_ID, 4, expiresAt))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(StockLeaseDeniedEvent.class))
+                ))
+                .expectNoScheduledDeadlines();
+        }
+    }
+
+    @Nested
+    @DisplayName("ConsumeStockLeaseCommand")
+    class ConsumeStockLeaseTests {
+
+        @Test
+        @DisplayName("should deduct leased stock once per order")
+        void shouldConsumeOncePerOrder() {
+            UUID orderId = UUID.randomUUID();
+            product.reserveStock(4);
+
+            fixture.given(
+                    new StockLeaseGrantedEvent(leaseId, HOLDER_ID, PRODUCT_ID, 4, expiresAt),
+                    new StockLeaseConsumedEvent(leaseId, orderId, PRODUCT_ID, 1)
+                )
+                .when(new ConsumeStockLeaseCommand(leaseId, orderId, 1))
+                .expectSuccessfulHandlerExecution()
+                .expectNoEvents();
+
+            assertEquals(4, product.getReservedStock());
+        }
+
+        @Test
+        @DisplayName("should take units from free stock after the lease expired")
+        void shouldConsumeFreeStockAfterExpiry() {
+            fixture.given(
+                    new StockLeaseGrantedEvent(leaseId, HOLDER_ID, PRODUCT_ID, 4, expiresAt),
+                    new StockLeaseExpiredEvent(leaseId, PRODUCT_ID, 4)
+                )
+                .when(new ConsumeStockLeaseCommand(leaseId, UUID.randomUUID(), 1))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(StockLeaseConsumedEvent.class))
+                ));
+
+            assertEquals(9, product.getAvailableStock());
+            assertEquals(0, product.getReservedStock());
+        }
+    }
+
+    @Nested
+    @DisplayName("Return and expiry")
+    class ReturnAndExpiryTests {
+
+        @Test
+        @DisplayName("should return no more than the lease still holds")
+        void shouldReturnUnusedStock() {
+            product.reserveStock(4);
+            product.confirmReservation(1);
+
+            fixture.given(
+                    new StockLeaseGrantedEvent(leaseId, HOLDER_ID, PRODUCT_ID, 4, expiresAt),
+                    new StockLeaseConsumedEvent(leaseId, UUID.randomUUID(), PRODUCT_ID, 1)
+                )
+                .when(new ReturnStockLeaseCommand(leaseId, 5))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(StockLeaseReturnedEvent.class))
+                ))
+                .expectState(lease -> assertEquals(0, lease.getRemaining()));
+
+            assertEquals(9, product.getAvailableStock());
+            assertEquals(0, product.getReservedStock());
+        }
+
+        @Test
+        @DisplayName("should release whatever is left when the lease expires")
+        void shouldReleaseRemainingOnExpiry() {
+            UUID orderId = UUID.randomUUID();
+
+            fixture.givenCommands(
+                    new GrantStockLeaseCommand(leaseId, HOLDER_ID, PRODUCT_ID, 4, expiresAt),
+                    new ConsumeStockLeaseCommand(leaseId, orderId, 1)
+                )
+                .whenTimeElapses(Duration.ofSeconds(61))
+                .expectTriggeredDeadlinesWithName("stock-lease-expiry")
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(StockLeaseExpiredEvent.class))
+                ));
+
+            assertEquals(9, product.getAvailableStock());
+            assertEquals(0, product.getReservedStock());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.inventory.domain.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Product stock accounting.
+ */
+@DisplayName("Product")
+class ProductTest {
+
+    @Nested
+    @DisplayName("Striped stock")
+    class StripedStockTests {
+
+        private Product product;
+
+        @BeforeEach
+        void setUp() {
+            product = new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10);
+            product.enableStriping(4);
+        }
+
+        @Test
+        @DisplayName("should split available stock evenly across stripes")
+        void shouldSplitStockAcrossStripes() {
+            // Then
+            assertTrue(product.isStriped());
+            assertEquals(4, product.getStripes().size());
+            assertEquals(3, product.getStripes().get(0).getAvailableStock());
+            assertEquals(3, product.getStripes().get(1).getAvailableStock());
+            assertEquals(2, product.getStripes().get(2).getAvailableStock());
+            assertEquals(2, product.getStripes().get(3).getAvailableStock());
+            assertEquals(10, product.getAvailableStock());
+        }
+
+        @Test
+        @DisplayName("should reserve from the stripe selected by the hint only")
+        void shouldReserveFromHintedStripe() {
+            // When
+            product.reserveStock(2, 5);
+
+            // Then - hint 5 maps to stripe 1
+            assertEquals(1, product.getStripes().get(1).getAvailableStock());
+            assertEquals(2, product.getStripes().get(1).getReservedStock());
+            assertEquals(3, product.getStripes().get(0).getAvailableStock());
+            assertEquals(8, product.getAvailableStock());
+            assertEquals(2, product.getReservedStock());
+        }
+
+        @Test
+        @DisplayName("should rebalance from other stripes when the hinted stripe runs dry")
+        void shouldRebalanceDryStripe() {
+            // When - stripe 3 only holds 2 units
+            product.reserveStock(5, 3);
+
+            // Then
+            assertEquals(5, product.getStripes().get(3).getReservedStock());
+            assertEquals(5, product.getAvailableStock());
+            assertEquals(5, product.getReservedStock());
+            assertEquals(10, product.getTotalStock());
+        }
+
+        @Test
+        @DisplayName("should still reject reservations above the aggregate stock")
+        void shouldRejectReservationAboveAggregate() {
+            // Then
+            assertTrue(product.hasAvailableStock(10));
+            assertFalse(product.hasAvailableStock(11));
+            assertThrows(IllegalStateException.class, () -> product.reserveStock(11, 0));
+        }
+
+        @Test
+        @DisplayName("should confirm and release on the stripe used for the reservation")
+        void shouldConfirmAndReleaseOnSameStripe() {
+            // Given
+            product.reserveStock(1, 2);
+            product.reserveStock(1, 7);
+
+            // When
+            product.confirmReservation(1, 2);
+            product.releaseReservation(1, 7);
+
+            // Then
+            assertEquals(0, product.getReservedStock());
+            assertEquals(9, product.getAvailableStock());
+            assertEquals(1, product.getStripes().get(2).getAvailableStock());
+            assertEquals(2, product.getStripes().get(3).getAvailableStock());
+        }
+
+        @Test
+        @DisplayName("should release reservations made before striping from the product row")
+        void shouldReleaseReservationsMadeBeforeStriping() {
+            // Given
+            Product legacy = new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10);
+            legacy.reserveStock(2);
+            legacy.enableStriping(4);
+
+            // When
+            legacy.releaseReservation(2, 1);
+
+            // Then - returned to the hinted stripe rather than the product row
+            assertEquals(0, legacy.getReservedStock());
+            assertEquals(10, legacy.getAvailableStock());
+            assertEquals(4, legacy.getStripes().get(1).getAvailableStock());
+        }
+
+        @Test
+        @DisplayName("should check stock on the hinted stripe and report the total")
+        void shouldCheckHintedStripe() {
+            // When
+            product.reserveStock(1, 0);
+
+            // Then
+            assertEquals(2, product.getStripes().get(0).getAvailableStock());
+            assertEquals(9, product.getAvailableStock());
+            assertTrue(product.hasAvailableStock(2, 0));
+            // Stripe 3 only holds 2 units, but the others can top it up
+            assertTrue(product.hasAvailableStock(9, 3));
+            assertFalse(product.hasAvailableStock(10, 3));
+        }
+
+        @Test
+        @DisplayName("should release several reservations all or none")
+        void shouldReleaseAllOrNone() {
+            // Given
+            product.reserveStock(2, 0);
+            product.reserveStock(1, 1);
+
+            // When - stripe 1 cannot give back 5
+            assertThrows(IllegalStateException.class,
+                () -> product.releaseReservations(Map.of(0, 2, 1, 5)));
+            product.releaseReservations(Map.of(0, 2, 1, 1));
+
+            // Then - the failed call changed nothing
+            assertEquals(0, product.getReservedStock());
+            assertEquals(10, product.getAvailableStock());
+        }
+
+        @Test
+        @DisplayName("should not allow striping twice")
+        void shouldNotStripeTwice() {
+            assertThrows(IllegalStateException.class, () -> product.enableStriping(2));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.inventory.infrastructure.batch;
+
+import com.example.inventory.domain.entity.Product;
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.inventory.domain.service.StockReservationResult;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchingStockReserver.
+ */
+@DisplayName("BatchingStockReserver")
+class BatchingStockReserverTest {
+
+    private final CountingProductRepository productRepository = new CountingProductRepository();
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+    private BatchingStockReserver reserver;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (reserver != null) {
+            reserver.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should apply a full batch of reservations with a single write")
+    void shouldApplyFullBatchWithSingleWrite() throws Exception {
+        // Given - a long delay so only the batch size can trigger the flush
+        productRepository.save(new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10));
+        productRepository.saves.set(0);
+        reserver = newReserver(8, Duration.ofSeconds(30));
+
+        // When
+        List<StockReservationResult> results = reserveConcurrently("IPHONE17", 8);
+
+        // Then
+        assertTrue(results.stream().allMatch(StockReservationResult::isReserved));
+        assertEquals(1, productRepository.saves.get());
+        assertEquals(2, productRepository.findByProductId("IPHONE17").orElseThrow().getAvailableStock());
+    }
+
+    @Test
+    @DisplayName("should fail only the reservations that exceed the remaining stock")
+    void shouldFailReservationsBeyondStock() throws Exception {
+        // Given
+        productRepository.save(new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 2));
+        reserver = newReserver(4, Duration.ofSeconds(30));
+
+        // When
+        List<StockReservationResult> results = reserveConcurrently("IPHONE17", 4);
+
+        // Then
+        assertEquals(2, results.stream().filter(StockReservationResult::isReserved).count());
+        assertEquals(2, results.stream()
+            .filter(result -> result.outcome() == StockReservationResult.Outcome.OUT_OF_STOCK)
+            .count());
+        assertEquals(0, productRepository.findByProductId("IPHONE17").orElseThrow().getAvailableStock());
+    }
+
+    @Test
+    @DisplayName("should flush a partial batch once the delay has passed")
+    void shouldFlushPartialBatchAfterDelay() {
+        // Given
+        productRepository.save(new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10));
+        reserver = newReserver(64, Duration.ofMillis(2));
+
+        // When
+        StockReservationResult result = reserver.reserve("IPHONE17", 1, 0);
+
+        // Then
+        assertTrue(result.isReserved());
+        assertEquals(9, result.availableStock());
+    }
+
+    @Test
+    @DisplayName("should report product not found without writing")
+    void shouldReportProductNotFound() {
+        // Given
+        reserver = newReserver(64, Duration.ofMillis(2));
+
+        // When
+        StockReservationResult result = reserver.reserve("UNKNOWN", 1, 0);
+
+        // Then
+        assertEquals(StockReservationResult.Outcome.PRODUCT_NOT_FOUND, result.outcome());
+        assertEquals(0, productRepository.saves.get());
+    }
+
+    @Test
+    @DisplayName("should not reserve for a caller that stopped waiting")
+    void shouldDropTimedOutReservation() {
+        // Given - the batch is only flushed on shutdown, long after the caller gave up
+        productRepository.save(new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10));
+        productRepository.saves.set(0);
+        reserver = newReserver(64, Duration.ofSeconds(30), Duration.ofMillis(10));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> reserver.reserve("IPHONE17", 1, 0));
+        reserver.shutdown();
+
+        // Then
+        assertEquals(10, productRepository.findByProductId("IPHONE17").orElseThrow().getAvailableStock());
+        assertEquals(0, productRepository.saves.get());
+    }
+
+    @Test
+    @DisplayName("should release the stock again when the unit of work rolls back")
+    void shouldReleaseWhenUnitOfWorkRollsBack() {
+        // Given
+        productRepository.save(new Product("IPHONE17", "iPhone 17", new BigDecimal("35000"), 10));
+        reserver = newReserver(64, Duration.ofMillis(2));
+        DefaultUnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+
+        // When
+        StockReservationResult result = reserver.reserve("IPHONE17", 1, 0);
+        unitOfWork.rollback();
+
+        // Then
+        assertTrue(result.isReserved());
+        Product product = productRepository.findByProductId("IPHONE17").orElseThrow();
+        assertEquals(10, product.getAvailableStock());
+        assertEquals(0, product.getReservedStock());
+    }
+
+    private BatchingStockReserver newReserver(int maxBatchSize, Duration maxDelay) {
+        return newReserver(maxBatchSize, maxDelay, Duration.ofSeconds(5));
+    }
+
+    private BatchingStockReserver newReserver(int maxBatchSize, Duration maxDelay, Duration maxWait) {
+        return new BatchingStockReserver(
+            productRepository,
+            new TransactionTemplate(new NoOpTransactionManager()),
+            maxBatchSize,
+            maxDelay,
+            maxWait,
+            2
+        );
+    }
+
+    private List<StockReservationResult> reserveConcurrently(String productId, int count) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<StockReservationResult>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int stripeHint = i;
+            futures.add(callers.submit(() -> {
+                start.await();
+                return reserver.reserve(productId, 1, stripeHint);
+            }));
+        }
+        start.countDown();
+        List<StockReservationResult> results = new ArrayList<>();
+        for (Future<StockReservationResult> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    /**
+     * In-memory repository that counts writes.
+     */
+    private static class CountingProductRepository implements ProductRepository {
+
+        private final Map<String, Product> products = new ConcurrentHashMap<>();
+        private final AtomicInteger saves = new AtomicInteger();
+
+        @Override
+        public Optional<Product> findByProductId(String productId) {
+            return Optional.ofNullable(products.get(productId));
+        }
+
+        @Override
+        public Product save(Product product) {
+            saves.incrementAndGet();
+            products.put(product.getProductId(), product);
+            return product;
+        }
+
+        @Override
+        public boolean existsByProductId(String productId) {
+            return products.containsKey(productId);
+        }
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.inventory.infrastructure.engine;
+
+import com.example.inventory.domain.service.ItemsReservationResult;
+import com.example.inventory.domain.service.StockReservationResult;
+import com.example.inventory.infrastructure.engine.StockStore.StockLevel;
+import com.example.shared.valueobject.ProductQuantity;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StockEngine.
+ */
+@DisplayName("StockEngine")
+class StockEngineTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    private final InMemoryStockStore store = new InMemoryStockStore();
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+    private StockEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should reserve, confirm and release in memory after loading the product once")
+    void shouldApplyCommandsInMemory() {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+
+        // When
+        StockReservationResult first = engine.reserve("IPHONE17", 3, 0);
+        StockReservationResult second = engine.reserve("IPHONE17", 2, 0);
+        engine.confirm("IPHONE17", 3, 0);
+        engine.release("IPHONE17", 2, 0);
+        StockReservationResult third = engine.reserve("IPHONE17", 7, 0);
+
+        // Then
+        assertTrue(first.isReserved());
+        assertEquals(7, first.availableStock());
+        assertEquals(5, second.availableStock());
+        assertEquals(0, third.availableStock());
+        assertEquals(1, store.loads.get());
+        assertEquals(0, store.checkpoints.get());
+    }
+
+    @Test
+    @DisplayName("should report out of stock and product not found without changing stock")
+    void shouldReportFailedReservations() {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 1, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+
+        // When
+        StockReservationResult outOfStock = engine.reserve("IPHONE17", 2, 0);
+        StockReservationResult notFound = engine.reserve("UNKNOWN", 1, 0);
+
+        // Then
+        assertEquals(StockReservationResult.Outcome.OUT_OF_STOCK, outOfStock.outcome());
+        assertEquals(1, outOfStock.availableStock());
+        assertEquals(StockReservationResult.Outcome.PRODUCT_NOT_FOUND, notFound.outcome());
+        assertThrows(IllegalStateException.class, () -> engine.confirm("IPHONE17", 1, 0));
+        assertThrows(IllegalStateException.class, () -> engine.release("UNKNOWN", 1, 0));
+        assertTrue(engine.reserve("IPHONE17", 1, 0).isReserved());
+    }
+
+    @Test
+    @DisplayName("should never reserve more than the available stock under concurrent commands")
+    void shouldNotOversellUnderConcurrency() throws Exception {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 100, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+
+        // When
+        List<StockReservationResult> results = reserveConcurrently("IPHONE17", 200);
+
+        // Then
+        assertEquals(100, results.stream().filter(StockReservationResult::isReserved).count());
+        engine.shutdown();
+        assertEquals(new StockLevel("IPHONE17", 0, 100), store.levels.get("IPHONE17"));
+    }
+
+    @Test
+    @DisplayName("should checkpoint changed products and truncate the journal")
+    void shouldCheckpointAndTruncateJournal() throws Exception {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        store.levels.put("IPHONE17_SOLDOUT", new StockLevel("IPHONE17_SOLDOUT", 0, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+        engine.reserve("IPHONE17", 4, 0);
+        engine.reserve("IPHONE17_SOLDOUT", 1, 0);
+        Path journal = journalOf("IPHONE17");
+        assertTrue(Files.size(journal) > 0);
+
+        // When
+        engine.shutdown();
+
+        // Then - only the product that changed is written
+        assertEquals(1, store.checkpoints.get());
+        assertEquals(List.of(new StockLevel("IPHONE17", 6, 4)), store.lastCheckpoint);
+        assertEquals(0, Files.size(journal));
+    }
+
+    @Test
+    @DisplayName("should replay the journals of a crashed run into the store before taking commands")
+    void shouldRecoverFromJournal() throws Exception {
+        // Given - a journal with two changes of one product and a torn record at the end
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        Path path = journalDirectory.resolve("partition-0" + StockJournal.SUFFIX);
+        try (StockJournal journal = StockJournal.open(path, false)) {
+            journal.append("IPHONE17", 9, 1);
+            journal.append("IPHONE17", 7, 3);
+        }
+        Files.write(path, new byte[] {0, 0, 0, 20, 1, 2}, StandardOpenOption.APPEND);
+
+        // When
+        engine = newEngine(Duration.ofSeconds(30));
+
+        // Then
+        assertEquals(new StockLevel("IPHONE17", 7, 3), store.levels.get("IPHONE17"));
+        assertFalse(Files.exists(path) && Files.size(path) > 0);
+        assertEquals(6, engine.reserve("IPHONE17", 1, 0).availableStock());
+    }
+
+    @Test
+    @DisplayName("should release a reservation whose unit of work rolls back")
+    void shouldReleaseOnRollback() {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        assertTrue(engine.reserve("IPHONE17", 4, 0).isReserved());
+
+        // When
+        unitOfWork.rollback();
+
+        // Then - the release is queued ahead of the next command
+        StockReservationResult all = engine.reserve("IPHONE17", 10, 0);
+        assertTrue(all.isReserved());
+        assertEquals(0, all.availableStock());
+    }
+
+    @Test
+    @DisplayName("should release stock only once the unit of work commits")
+    void shouldReleaseAfterCommit() {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+        engine.reserve("IPHONE17", 4, 0);
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+
+        // When
+        engine.release("IPHONE17", 4, 0);
+
+        // Then - nothing moved before the commit
+        assertFalse(engine.reserve("IPHONE17", 10, 0).isReserved());
+        unitOfWork.commit();
+        assertTrue(engine.reserve("IPHONE17", 10, 0).isReserved());
+    }
+
+    @Test
+    @DisplayName("should not confirm stock when the unit of work rolls back")
+    void shouldNotConfirmOnRollback() {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+        engine.reserve("IPHONE17", 4, 0);
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        engine.confirm("IPHONE17", 4, 0);
+
+        // When
+        unitOfWork.rollback();
+
+        // Then - the reservation still holds its stock, so it can be released
+        engine.release("IPHONE17", 4, 0);
+        engine.shutdown();
+        assertEquals(new StockLevel("IPHONE17", 10, 0), store.levels.get("IPHONE17"));
+    }
+
+    @Test
+    @DisplayName("should release the items of a failed multi-item reservation once, even if it rolls back")
+    void shouldReleaseFailedItemsOnce() {
+        // Given - another order holds 5 units
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        store.levels.put("IPHONE17_SOLDOUT", new StockLevel("IPHONE17_SOLDOUT", 1, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+        engine.reserve("IPHONE17", 5, 0);
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        ItemsReservationResult result = engine.reserveAll(
+            List.of(new ProductQuantity("IPHONE17", 3), new ProductQuantity("IPHONE17_SOLDOUT", 2)), 0);
+
+        // When
+        unitOfWork.rollback();
+
+        // Then - the other order's 5 units stay reserved
+        assertFalse(result.isReserved());
+        assertEquals("IPHONE17_SOLDOUT", result.failedItem().productId());
+        engine.shutdown();
+        assertEquals(new StockLevel("IPHONE17", 5, 5), store.levels.get("IPHONE17"));
+    }
+
+    @Test
+    @DisplayName("should release every item of a multi-item reservation whose unit of work rolls back")
+    void shouldReleaseReservedItemsOnRollback() {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        store.levels.put("IPHONE17_PRO", new StockLevel("IPHONE17_PRO", 4, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        assertTrue(engine.reserveAll(
+            List.of(new ProductQuantity("IPHONE17", 3), new ProductQuantity("IPHONE17_PRO", 4)), 0).isReserved());
+
+        // When
+        unitOfWork.rollback();
+
+        // Then
+        engine.shutdown();
+        assertEquals(new StockLevel("IPHONE17", 10, 0), store.levels.get("IPHONE17"));
+        assertEquals(new StockLevel("IPHONE17_PRO", 4, 0), store.levels.get("IPHONE17_PRO"));
+    }
+
+    @Test
+    @DisplayName("should drop a command whose caller stopped waiting before it was applied")
+    void shouldDropAbandonedCommand() throws Exception {
+        // Given - one partition, held up loading another product
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        store.levels.put("BLOCKER", new StockLevel("BLOCKER", 1, 0));
+        store.blockLoadOf("BLOCKER");
+        engine = new StockEngine(store, journalDirectory, 1, 64, Duration.ofSeconds(30), Duration.ofMillis(200), false);
+        callers.submit(() -> engine.reserve("BLOCKER", 1, 0));
+        assertTrue(store.loadStarted.await(5, TimeUnit.SECONDS));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> engine.reserve("IPHONE17", 4, 0));
+        store.loadGate.countDown();
+
+        // Then
+        StockReservationResult all = engine.reserve("IPHONE17", 10, 0);
+        assertTrue(all.isReserved());
+        assertEquals(0, all.availableStock());
+    }
+
+    @Test
+    @DisplayName("should release each reservation only once when a batch is redelivered")
+    void shouldReleaseReservationOnce() {
+        // Given
+        store.levels.put("IPHONE17", new StockLevel("IPHONE17", 10, 0));
+        engine = newEngine(Duration.ofSeconds(30));
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        engine.reserve("IPHONE17", 2, first.hashCode());
+        engine.reserve("IPHONE17", 3, second.hashCode());
+        engine.releaseAll("IPHONE17", Map.of(first, 2));
+
+        // When
+        engine.releaseAll("IPHONE17", Map.of(first, 2, second, 3));
+        engine.releaseAll("IPHONE17", Map.of(first, 2, second, 3));
+
+        // Then
+        engine.shutdown();
+        assertEquals(new StockLevel("IPHONE17", 10, 0), store.levels.get("IPHONE17"));
+    }
+
+    private StockEngine newEngine(Duration checkpointInterval) {
+        return new StockEngine(store, journalDirectory, 4, 64, checkpointInterval, Duration.ofSeconds(5), false);
+    }
+
+    private Path journalOf(String productId) {
+        return journalDirectory.resolve("partition-" + engine.partitionOf(productId) + StockJournal.SUFFIX);
+    }
+
+    private List<StockReservationResult> reserveConcurrently(String productId, int count) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<StockReservationResult>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                return engine.reserve(productId, 1, 0);
+            }));
+        }
+        start.countDown();
+        List<StockReservationResult> results = new ArrayList<>();
+        for (Future<StockReservationResult> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    /**
+     * In-memory store that counts loads and checkpoints.
+     */
+    private static class InMemoryStockStore implements StockStore {
+
+        private final Map<String, StockLevel> levels = new ConcurrentHashMap<>();
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger checkpoints = new AtomicInteger();
+        private final CountDownLatch loadStarted = new CountDownLatch(1);
+        private final CountDownLatch loadGate = new CountDownLatch(1);
+        private volatile String blockedProductId;
+        private volatile List<StockLevel> lastCheckpoint;
+
+        void blockLoadOf(String productId) {
+            blockedProductId = productId;
+        }
+
+        @Override
+        public Optional<StockLevel> load(String productId) {
+            loads.incrementAndGet();
+            if (productId.equals(blockedProductId)) {
+                loadStarted.countDown();
+                try {
+                    loadGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Optional.ofNullable(levels.get(productId));
+        }
+
+        @Override
+        public void checkpoint(Collection<StockLevel> checkpointed) {
+            checkpoints.incrementAndGet();
+            lastCheckpoint = List.copyOf(checkpointed);
+            checkpointed.forEach(level -> levels.put(level.productId(), level));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.inventory.infrastructure.seed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SyntheticProductSeeder.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyntheticProductSeeder")
+class SyntheticProductSeederTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("should insert all products in batches with Zipf-skewed stock")
+    @SuppressWarnings("unchecked")
+    void shouldInsertInBatches() {
+        // Given
+        SyntheticProductSeeder seeder = new SyntheticProductSeeder(
+            jdbcTemplate, 25, 1000, 10, 1.0, new BigDecimal("35000"), 10);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("SKU-0000000"))).thenReturn(0);
+
+        // When
+        seeder.run();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), batches.capture());
+        List<List<Object[]>> captured = batches.getAllValues();
+        assertEquals(List.of(10, 10, 5), captured.stream().map(List::size).toList());
+        assertEquals("SKU-0000000", captured.get(0).get(0)[0]);
+        assertEquals(1000, captured.get(0).get(0)[3]);
+        assertEquals(500, captured.get(0).get(1)[3]);
+        assertEquals(40, captured.get(2).get(4)[3]);
+    }
+
+    @Test
+    @DisplayName("should skip seeding when the synthetic products already exist")
+    void shouldSkipWhenAlreadySeeded() {
+        // Given
+        SyntheticProductSeeder seeder = new SyntheticProductSeeder(
+            jdbcTemplate, 25, 1000, 10, 1.0, new BigDecimal("35000"), 10);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("SKU-0000000"))).thenReturn(1);
+
+        // When
+        seeder.run();
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
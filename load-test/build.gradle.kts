@@ -0,0 +1,36 @@
+plugins {
+    java
+    id("org.springframework.boot")
+    id("io.spring.dependency-management")
+}
+
+dependencies {
+    // All three services' handlers, repositories and configuration in one JVM
+    implementation(project(":shared-kernel"))
+    implementation(project(":shared-metrics"))
+    implementation(project(":shared-axon"))
+    implementation(project(":sales-service"))
+    implementation(project(":payment-service"))
+    implementation(project(":inventory-service"))
+
+    // Spring Boot
+    implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+    // Axon Framework, started without an Axon Server connection
+    implementation("org.axonframework:axon-spring-boot-starter:4.9.3")
+    implementation("io.projectreactor:reactor-core")
+
+    // Database
+    runtimeOnly("com.h2database:h2")
+
+    // Testing
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.bootJar {
+    archiveBaseName.set("load-test")
+}
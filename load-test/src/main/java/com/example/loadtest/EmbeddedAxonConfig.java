@@ -0,0 +1,42 @@
+package com.example.loadtest;
+
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.modelling.saga.repository.SagaStore;
+import org.axonframework.modelling.saga.repository.inmemory.InMemorySagaStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Axon infrastructure for the embedded load test.
+ *
+ * With {@code axon.axonserver.enabled=false} Axon's auto-configuration falls back to
+ * the local SimpleCommandBus and SimpleQueryBus, and to an EmbeddedEventStore over
+ * whichever EventStorageEngine is present. With {@code loadtest.event-store=memory}
+ * (the default) that engine, the token store and the saga store are in memory.
+ * With {@code loadtest.event-store=jpa} none are defined here and Axon's JPA
+ * auto-configuration stores events, tokens and sagas in the datasource, which can
+ * be an H2 file database.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "loadtest", name = "event-store", havingValue = "memory", matchIfMissing = true)
+public class EmbeddedAxonConfig {
+
+    @Bean
+    public EventStorageEngine eventStorageEngine() {
+        return new InMemoryEventStorageEngine();
+    }
+
+    @Bean
+    public TokenStore tokenStore() {
+        return new InMemoryTokenStore();
+    }
+
+    @Bean
+    public SagaStore<Object> sagaStore() {
+        return new InMemorySagaStore();
+    }
+}
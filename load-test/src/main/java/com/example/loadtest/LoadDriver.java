@@ -0,0 +1,149 @@
+package com.example.loadtest;
+
+import com.example.shared.command.CreateOrderCommand;
+import com.example.shared.seed.ZipfDistribution;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop order generator.
+ *
+ * Orders are scheduled at a fixed rate regardless of how fast earlier ones finish,
+ * the way independent clients would arrive. The pacing thread only hands each order
+ * to a dispatch pool, because the local command bus runs the handler in the sending
+ * thread. Each order goes to a load customer and product (see
+ * {@link LoadTestDataSeeder}) drawn from a {@link ZipfDistribution}; a skew of 0 is
+ * uniform, higher skews concentrate orders on a few hot customers and SKUs. Its
+ * completion is reported back through {@link #orderCompleted} by
+ * {@link OrderCompletionListener}.
+ *
+ * A run has a warm-up phase that is not reported, a measured phase, and a drain
+ * phase that waits for the measured orders still in flight.
+ */
+public class LoadDriver {
+
+    static final BigDecimal UNIT_PRICE = new BigDecimal("35000");
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final CommandGateway commandGateway;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration drainTimeout;
+    private final ZipfDistribution customers;
+    private final ZipfDistribution products;
+    private final ExecutorService dispatcher;
+    private volatile LoadStatistics statistics = new LoadStatistics();
+
+    public LoadDriver(CommandGateway commandGateway,
+                      double rate,
+                      Duration warmup,
+                      Duration duration,
+                      Duration drainTimeout,
+                      ZipfDistribution customers,
+                      ZipfDistribution products,
+                      int dispatchThreads) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.commandGateway = commandGateway;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.drainTimeout = drainTimeout;
+        this.customers = customers;
+        this.products = products;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "load-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Send orders for the warm-up and measured phases, wait for the measured ones
+     * to finish, and report them. Blocks the calling thread for the whole run.
+     */
+    public LoadReport run() {
+        LoadStatistics run = new LoadStatistics();
+        statistics = run;
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + warmup.toNanos();
+        long endNanos = measureStartNanos + duration.toNanos();
+        log.info("Load run: {} orders/s, warm-up {}, measured {}, customer skew {}, product skew {}",
+            rate, warmup, duration, customers.exponent(), products.exponent());
+
+        for (long sequence = 0; ; sequence++) {
+            long intendedNanos = startNanos + sequence * intervalNanos;
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            parkUntil(intendedNanos);
+            boolean measured = intendedNanos >= measureStartNanos;
+            dispatcher.execute(() -> send(run, intendedNanos, measured));
+        }
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (run.inFlight() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return run.report(rate, measureStartNanos, duration.toNanos());
+    }
+
+    /**
+     * Record the terminal event of an order sent by the current run.
+     */
+    public void orderCompleted(UUID orderId, LoadStatistics.Outcome outcome) {
+        statistics.completed(orderId, outcome, System.nanoTime());
+    }
+
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void send(LoadStatistics run, long intendedNanos, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID orderId = UUID.randomUUID();
+        CreateOrderCommand command = new CreateOrderCommand(
+            orderId,
+            LoadTestDataSeeder.customerId(customers.sample(random)),
+            LoadTestDataSeeder.productId(products.sample(random)),
+            1,
+            UNIT_PRICE
+        );
+        // Registered first: the saga may finish before send() returns
+        run.sent(orderId, intendedNanos, measured);
+        try {
+            commandGateway.send(command).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.debug("CreateOrderCommand for {} failed: {}", orderId, error.getMessage());
+                    run.rejected(orderId);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.debug("CreateOrderCommand for {} failed: {}", orderId, e.getMessage());
+            run.rejected(orderId);
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
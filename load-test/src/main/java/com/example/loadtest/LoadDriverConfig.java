@@ -0,0 +1,87 @@
+package com.example.loadtest;
+
+import com.example.shared.seed.ZipfDistribution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Creates the {@link LoadDriver} from {@code loadtest.driver.*} settings and starts
+ * a run once the application, including the seed data, is ready.
+ *
+ * The report is logged and, if {@code loadtest.driver.report-file} is set, written
+ * there as JSON so CI can keep it. With {@code loadtest.driver.exit-on-finish} the
+ * JVM exits after the run, non-zero if measured orders were rejected or unfinished.
+ */
+@Configuration
+public class LoadDriverConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriverConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public LoadDriver loadDriver(
+            CommandGateway commandGateway,
+            @Value("${loadtest.driver.rate:200}") double rate,
+            @Value("${loadtest.driver.warmup:10s}") Duration warmup,
+            @Value("${loadtest.driver.duration:60s}") Duration duration,
+            @Value("${loadtest.driver.drain-timeout:30s}") Duration drainTimeout,
+            @Value("${loadtest.driver.dispatch-threads:16}") int dispatchThreads,
+            @Value("${loadtest.seed.customers:1000}") int customers,
+            @Value("${loadtest.seed.products:100}") int products,
+            @Value("${loadtest.driver.customer-skew:0.0}") double customerSkew,
+            @Value("${loadtest.driver.product-skew:0.0}") double productSkew) {
+        return new LoadDriver(commandGateway, rate, warmup, duration, drainTimeout,
+            new ZipfDistribution(customers, customerSkew), new ZipfDistribution(products, productSkew),
+            dispatchThreads);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRun(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        LoadDriver driver = context.getBean(LoadDriver.class);
+        String reportFile = context.getEnvironment().getProperty("loadtest.driver.report-file", "");
+        boolean exitOnFinish = context.getEnvironment()
+            .getProperty("loadtest.driver.exit-on-finish", Boolean.class, false);
+
+        Thread thread = new Thread(() -> {
+            LoadReport report = driver.run();
+            log.info("Load run finished:{}{}", System.lineSeparator(), report.format());
+            if (!reportFile.isBlank()) {
+                writeReport(context.getBean(ObjectMapper.class), report, Path.of(reportFile));
+            }
+            if (exitOnFinish) {
+                int exitCode = report.rejected() + report.unfinished() > 0 ? 1 : 0;
+                System.exit(SpringApplication.exit(context, () -> exitCode));
+            }
+        }, "load-driver");
+        thread.setDaemon(!exitOnFinish);
+        thread.start();
+    }
+
+    private static void writeReport(ObjectMapper objectMapper, LoadReport report, Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("Load report written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write load report to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.loadtest;
+
+import com.example.shared.metrics.LatencyPercentiles;
+
+import java.util.Map;
+
+/**
+ * Result of one load run. Latencies are in microseconds.
+ *
+ * @param offeredRate     orders per second the driver was configured to send
+ * @param durationSeconds length of the measured phase
+ * @param sent            orders sent during the measured phase
+ * @param completed       of those, orders that reached a terminal event
+ * @param rejected        orders whose CreateOrderCommand failed
+ * @param unfinished      orders still in flight when the drain timeout expired
+ * @param throughput      completed orders per second, up to the last completion
+ * @param latency         end-to-end latency of all completed orders
+ * @param latencyByOutcome end-to-end latency per outcome
+ */
+public record LoadReport(
+    double offeredRate,
+    double durationSeconds,
+    long sent,
+    long completed,
+    long rejected,
+    long unfinished,
+    double throughput,
+    LatencyPercentiles latency,
+    Map<LoadStatistics.Outcome, LatencyPercentiles> latencyByOutcome
+) {
+
+    /**
+     * Human-readable summary for the log.
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder()
+            .append(String.format("offered %.1f orders/s for %.1f s%n", offeredRate, durationSeconds))
+            .append(String.format("sent %d, completed %d, rejected %d, unfinished %d%n",
+                sent, completed, rejected, unfinished))
+            .append(String.format("throughput %.1f orders/s%n", throughput))
+            .append(line("all", latency));
+        latencyByOutcome.forEach((outcome, percentiles) -> {
+            if (percentiles.count() > 0) {
+                text.append(line(outcome.name(), percentiles));
+            }
+        });
+        return text.toString();
+    }
+
+    private static String line(String label, LatencyPercentiles percentiles) {
+        return String.format("%-10s count %d, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+            label, percentiles.count(), percentiles.p50() / 1000.0, percentiles.p99() / 1000.0,
+            percentiles.p999() / 1000.0, percentiles.max() / 1000.0);
+    }
+}
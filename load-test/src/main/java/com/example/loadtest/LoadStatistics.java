@@ -0,0 +1,125 @@
+package com.example.loadtest;
+
+import com.example.shared.metrics.LatencyHistogram;
+import com.example.shared.metrics.LatencyPercentiles;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end accounting for one load run.
+ *
+ * Latency runs from the moment an order was scheduled to be sent, not from when a
+ * dispatch thread got to it, until the saga's OrderConfirmed or OrderCancelled
+ * event is published. A system that falls behind the offered rate therefore shows
+ * the queueing in its percentiles instead of hiding it. Orders sent during warm-up
+ * are tracked so their completions are not mistaken for measured ones, but they
+ * are left out of the report.
+ */
+public class LoadStatistics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    /**
+     * How a measured order finished.
+     */
+    public enum Outcome {
+        CONFIRMED,
+        CANCELLED,
+        TIMED_OUT
+    }
+
+    private final Map<UUID, PendingOrder> pending = new ConcurrentHashMap<>();
+    private final Map<Outcome, LatencyHistogram> histograms = new EnumMap<>(Outcome.class);
+    private final LatencyHistogram overall = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong lastCompletionNanos = new AtomicLong();
+
+    public LoadStatistics() {
+        for (Outcome outcome : Outcome.values()) {
+            histograms.put(outcome, new LatencyHistogram(HIGHEST_TRACKABLE_MICROS));
+        }
+    }
+
+    /**
+     * Register an order before its command is dispatched.
+     */
+    public void sent(UUID orderId, long intendedStartNanos, boolean measured) {
+        pending.put(orderId, new PendingOrder(intendedStartNanos, measured));
+        if (measured) {
+            sent.increment();
+        }
+    }
+
+    /**
+     * The CreateOrderCommand itself failed; no saga will finish this order.
+     */
+    public void rejected(UUID orderId) {
+        PendingOrder order = pending.remove(orderId);
+        if (order != null && order.measured) {
+            rejected.increment();
+        }
+    }
+
+    /**
+     * The saga reached a terminal event for the order.
+     * Completions of orders this run did not send are ignored.
+     */
+    public void completed(UUID orderId, Outcome outcome, long nowNanos) {
+        PendingOrder order = pending.remove(orderId);
+        if (order == null || !order.measured) {
+            return;
+        }
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nowNanos - order.intendedStartNanos));
+        histograms.get(outcome).record(micros);
+        overall.record(micros);
+        lastCompletionNanos.accumulateAndGet(nowNanos, Math::max);
+    }
+
+    public int inFlight() {
+        return pending.size();
+    }
+
+    /**
+     * Summarise the measured orders.
+     *
+     * @param offeredRate          orders per second the driver was configured to send
+     * @param measureStartNanos    start of the measured phase
+     * @param measureDurationNanos length of the measured phase, used when no order completed
+     */
+    public LoadReport report(double offeredRate, long measureStartNanos, long measureDurationNanos) {
+        Map<Outcome, LatencyPercentiles> latencies = new EnumMap<>(Outcome.class);
+        long completed = 0;
+        for (Map.Entry<Outcome, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyPercentiles percentiles = LatencyPercentiles.of(entry.getValue().snapshot());
+            latencies.put(entry.getKey(), percentiles);
+            completed += percentiles.count();
+        }
+        long last = lastCompletionNanos.get();
+        long windowNanos = last > measureStartNanos ? last - measureStartNanos : measureDurationNanos;
+        double throughput = completed * (double) TimeUnit.SECONDS.toNanos(1) / windowNanos;
+        long sentCount = sent.sum();
+        long rejectedCount = rejected.sum();
+
+        return new LoadReport(
+            offeredRate,
+            measureDurationNanos / (double) TimeUnit.SECONDS.toNanos(1),
+            sentCount,
+            completed,
+            rejectedCount,
+            sentCount - completed - rejectedCount,
+            throughput,
+            LatencyPercentiles.of(overall.snapshot()),
+            latencies
+        );
+    }
+
+    private record PendingOrder(long intendedStartNanos, boolean measured) {
+    }
+}
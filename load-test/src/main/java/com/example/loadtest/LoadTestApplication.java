@@ -0,0 +1,47 @@
+package com.example.loadtest;
+
+import com.example.inventory.InventoryServiceApplication;
+import com.example.payment.PaymentServiceApplication;
+import com.example.sales.SalesServiceApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.FullyQualifiedAnnotationBeanNameGenerator;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Runs sales, payment and inventory in one JVM for capacity tests.
+ *
+ * Scans the three services' packages in place of their own application classes,
+ * so aggregates, the saga, projections and JPA repositories are the production ones.
+ * Bean names are fully qualified because payment and inventory each have a DataInitializer.
+ *
+ * Configuration comes from {@code loadtest.yml} only: the services' application.yml files
+ * point at Axon Server and are not read. Commands go over the local command bus and events
+ * through an embedded event store (see {@link EmbeddedAxonConfig}).
+ *
+ * Run with: ./gradlew :load-test:bootRun --args='--loadtest.driver.rate=500'
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(
+    basePackages = "com.example",
+    nameGenerator = FullyQualifiedAnnotationBeanNameGenerator.class,
+    excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE,
+        classes = {SalesServiceApplication.class, PaymentServiceApplication.class, InventoryServiceApplication.class}
+    )
+)
+@EntityScan("com.example")
+@EnableJpaRepositories("com.example")
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(LoadTestApplication.class)
+            .properties("spring.config.name=loadtest")
+            .run(args);
+    }
+}
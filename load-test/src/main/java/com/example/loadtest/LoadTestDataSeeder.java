@@ -0,0 +1,75 @@
+package com.example.loadtest;
+
+import com.example.inventory.domain.entity.Product;
+import com.example.inventory.domain.repository.ProductRepository;
+import com.example.payment.domain.entity.CustomerCredit;
+import com.example.payment.domain.repository.CustomerCreditRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Creates the customers and products the load driver orders against.
+ *
+ * The services' own seed data is a few customers and ten phones, which a load test
+ * drains in seconds. Load customers get a credit limit and load products a stock level
+ * that a run does not exhaust, so every order can be confirmed unless the system
+ * itself fails it.
+ */
+@Component
+public class LoadTestDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    private final CustomerCreditRepository creditRepository;
+    private final ProductRepository productRepository;
+    private final int customers;
+    private final int products;
+    private final BigDecimal creditLimit;
+    private final int stock;
+
+    public LoadTestDataSeeder(CustomerCreditRepository creditRepository,
+                              ProductRepository productRepository,
+                              @Value("${loadtest.seed.customers:1000}") int customers,
+                              @Value("${loadtest.seed.products:100}") int products,
+                              @Value("${loadtest.seed.credit-limit:1000000000}") BigDecimal creditLimit,
+                              @Value("${loadtest.seed.stock:1000000000}") int stock) {
+        this.creditRepository = creditRepository;
+        this.productRepository = productRepository;
+        this.customers = customers;
+        this.products = products;
+        this.creditLimit = creditLimit;
+        this.stock = stock;
+    }
+
+    public static String customerId(int index) {
+        return String.format("LOAD-CUST-%06d", index);
+    }
+
+    public static String productId(int index) {
+        return String.format("LOAD-SKU-%04d", index);
+    }
+
+    @Override
+    public void run(String... args) {
+        for (int i = 0; i < customers; i++) {
+            String customerId = customerId(i);
+            if (!creditRepository.existsByCustomerId(customerId)) {
+                creditRepository.save(new CustomerCredit(customerId, creditLimit));
+            }
+        }
+        for (int i = 0; i < products; i++) {
+            String productId = productId(i);
+            if (!productRepository.existsByProductId(productId)) {
+                productRepository.save(new Product(productId, "Load test product " + i,
+                    LoadDriver.UNIT_PRICE, stock));
+            }
+        }
+        log.info("Seeded {} load customers with credit {} and {} load products with stock {}",
+            customers, creditLimit, products, stock);
+    }
+}
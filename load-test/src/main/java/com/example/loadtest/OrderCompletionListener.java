@@ -0,0 +1,38 @@
+package com.example.loadtest;
+
+import com.example.shared.event.OrderCancelledEvent;
+import com.example.shared.event.OrderConfirmedEvent;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the {@link LoadDriver} when a saga has finished an order.
+ *
+ * Runs in its own subscribing processor (see loadtest.yml), so the completion is
+ * seen in the thread that publishes the event rather than after a tracking
+ * processor's polling delay.
+ */
+@Component
+@ProcessingGroup(OrderCompletionListener.PROCESSING_GROUP)
+public class OrderCompletionListener {
+
+    public static final String PROCESSING_GROUP = "load-driver";
+
+    private final LoadDriver loadDriver;
+
+    public OrderCompletionListener(LoadDriver loadDriver) {
+        this.loadDriver = loadDriver;
+    }
+
+    @EventHandler
+    public void on(OrderConfirmedEvent event) {
+        loadDriver.orderCompleted(event.orderId(), LoadStatistics.Outcome.CONFIRMED);
+    }
+
+    @EventHandler
+    public void on(OrderCancelledEvent event) {
+        loadDriver.orderCompleted(event.orderId(),
+            event.isTimeout() ? LoadStatistics.Outcome.TIMED_OUT : LoadStatistics.Outcome.CANCELLED);
+    }
+}
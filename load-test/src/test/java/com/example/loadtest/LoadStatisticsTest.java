@@ -0,0 +1,99 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadStatistics.
+ */
+@DisplayName("LoadStatistics")
+class LoadStatisticsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadStatistics statistics = new LoadStatistics();
+
+    @Test
+    @DisplayName("should measure latency from the intended start and split it by outcome")
+    void shouldMeasureFromIntendedStart() {
+        // Given
+        UUID confirmed = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        statistics.sent(confirmed, 0, true);
+        statistics.sent(cancelled, 0, true);
+
+        // When
+        statistics.completed(confirmed, LoadStatistics.Outcome.CONFIRMED, TimeUnit.MILLISECONDS.toNanos(20));
+        statistics.completed(cancelled, LoadStatistics.Outcome.CANCELLED, TimeUnit.MILLISECONDS.toNanos(40));
+        LoadReport report = statistics.report(2.0, 0, SECOND);
+
+        // Then
+        assertEquals(2, report.sent());
+        assertEquals(2, report.completed());
+        assertEquals(0, report.unfinished());
+        assertEquals(2, report.latency().count());
+        assertEquals(1, report.latencyByOutcome().get(LoadStatistics.Outcome.CONFIRMED).count());
+        assertEquals(20_000, report.latencyByOutcome().get(LoadStatistics.Outcome.CONFIRMED).max(), 400);
+        assertEquals(40_000, report.latencyByOutcome().get(LoadStatistics.Outcome.CANCELLED).max(), 700);
+        assertEquals(0, report.latencyByOutcome().get(LoadStatistics.Outcome.TIMED_OUT).count());
+    }
+
+    @Test
+    @DisplayName("should leave warm-up orders and unknown orders out of the report")
+    void shouldIgnoreWarmupOrders() {
+        // Given
+        UUID warmup = UUID.randomUUID();
+        statistics.sent(warmup, 0, false);
+
+        // When
+        statistics.completed(warmup, LoadStatistics.Outcome.CONFIRMED, SECOND);
+        statistics.completed(UUID.randomUUID(), LoadStatistics.Outcome.CONFIRMED, SECOND);
+        LoadReport report = statistics.report(1.0, 0, SECOND);
+
+        // Then
+        assertEquals(0, report.sent());
+        assertEquals(0, report.completed());
+        assertEquals(0, statistics.inFlight());
+    }
+
+    @Test
+    @DisplayName("should count rejected and unfinished orders separately")
+    void shouldCountRejectedAndUnfinished() {
+        // Given
+        UUID rejected = UUID.randomUUID();
+        statistics.sent(rejected, 0, true);
+        statistics.sent(UUID.randomUUID(), 0, true);
+
+        // When
+        statistics.rejected(rejected);
+        LoadReport report = statistics.report(2.0, 0, SECOND);
+
+        // Then
+        assertEquals(2, report.sent());
+        assertEquals(1, report.rejected());
+        assertEquals(1, report.unfinished());
+        assertEquals(1, statistics.inFlight());
+    }
+
+    @Test
+    @DisplayName("should compute throughput up to the last completion")
+    void shouldComputeThroughput() {
+        // Given
+        for (int i = 1; i <= 10; i++) {
+            UUID orderId = UUID.randomUUID();
+            statistics.sent(orderId, 0, true);
+            statistics.completed(orderId, LoadStatistics.Outcome.CONFIRMED, i * SECOND / 10);
+        }
+
+        // When
+        LoadReport report = statistics.report(10.0, 0, 5 * SECOND);
+
+        // Then
+        assertEquals(10.0, report.throughput(), 0.001);
+    }
+}
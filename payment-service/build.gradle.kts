@@ -2,15 +2,19 @@ plugins {
     java
     id("org.springframework.boot")
     id("io.spring.dependency-management")
+    id("me.champeau.jmh")
 }
 
 dependencies {
     implementation(project(":shared-kernel"))
+    implementation(project(":shared-metrics"))
+    implementation(project(":shared-axon"))
 
     // Spring Boot
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
 
     // Axon Framework
     implementation("org.axonframework:axon-spring-boot-starter:4.9.3")
@@ -28,6 +32,13 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+}
+
 tasks.bootJar {
     archiveBaseName.set("payment-service")
 }
@@ -0,0 +1,77 @@
+package com.example.payment.domain.entity;
+
+import com.example.shared.valueobject.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one reserve/release cycle on a customer's credit balance.
+ *
+ * {@code bigDecimal} replays the arithmetic CustomerCredit did before balances
+ * moved to minor units: a compareTo on the check plus a subtract and an add
+ * allocating new BigDecimals on every mutation. {@code minorUnits} is the
+ * current long path, and {@code minorUnitsFromBoundary} adds the one scale
+ * check a command pays when its amount arrives as BigDecimal.
+ *
+ * Run with: ./gradlew :payment-service:jmh (the gc profiler reports gc.alloc.rate.norm per op)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CreditArithmeticBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("35000");
+
+    private BigDecimal available;
+    private BigDecimal reserved;
+    private CustomerCredit credit;
+    private long amountMinorUnits;
+
+    @Setup
+    public void setUp() {
+        available = new BigDecimal("50000");
+        reserved = BigDecimal.ZERO;
+        credit = new CustomerCredit("CUST-001", new BigDecimal("50000"));
+        amountMinorUnits = Money.toMinorUnits(AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        if (available.compareTo(AMOUNT) >= 0) {
+            available = available.subtract(AMOUNT);
+            reserved = reserved.add(AMOUNT);
+        }
+        if (reserved.compareTo(AMOUNT) >= 0) {
+            reserved = reserved.subtract(AMOUNT);
+            available = available.add(AMOUNT);
+        }
+        return available;
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        if (credit.hasAvailableCredit(amountMinorUnits)) {
+            credit.reserveCredit(amountMinorUnits);
+        }
+        credit.releaseReservation(amountMinorUnits);
+        return credit.getAvailableCreditMinorUnits();
+    }
+
+    @Benchmark
+    public long minorUnitsFromBoundary() {
+        long amount = Money.toMinorUnits(AMOUNT);
+        if (credit.hasAvailableCredit(amount)) {
+            credit.reserveCredit(amount);
+        }
+        credit.releaseReservation(amount);
+        return credit.getAvailableCreditMinorUnits();
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.payment.domain.aggregate;
+
+import com.example.payment.domain.entity.CustomerCredit;
+import com.example.payment.domain.repository.CustomerCreditRepository;
+import com.example.shared.command.ConsumeCreditLeaseCommand;
+import com.example.shared.command.GrantCreditLeaseCommand;
+import com.example.shared.command.ReturnCreditLeaseCommand;
+import com.example.shared.event.CreditLeaseConsumedEvent;
+import com.example.shared.event.CreditLeaseDeniedEvent;
+import com.example.shared.event.CreditLeaseExpiredEvent;
+import com.example.shared.event.CreditLeaseGrantedEvent;
+import com.example.shared.event.CreditLeaseReturnedEvent;
+import com.example.shared.event.PaymentReservationFailedEvent;
+import com.example.shared.valueobject.Money;
+import org.axonframework.commandhandling.CommandHandler;
+import org.axonframework.deadline.DeadlineManager;
+import org.axonframework.deadline.annotation.DeadlineHandler;
+import org.axonframework.eventsourcing.EventSourcingHandler;
+import org.axonframework.modelling.command.AggregateIdentifier;
+import org.axonframework.modelling.command.AggregateLifecycle;
+import org.axonframework.spring.stereotype.Aggregate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * CreditLease aggregate root.
+ *
+ * Part of a customer's available credit held as reserved credit for one sales
+ * node, which takes that customer's orders against it without a
+ * PaymentReservation each. Confirmed orders consume from the lease without
+ * touching the customer's row; what they consumed is deducted, and what is left
+ * released, in one write when the lease expires. Unused credit the holder hands
+ * back is released straight away.
+ */
+@Aggregate
+public class CreditLease {
+
+    private static final String EXPIRY_DEADLINE = "credit-lease-expiry";
+
+    @AggregateIdentifier
+    private UUID leaseId;
+    private String holderId;
+    private String customerId;
+    private long amountMinorUnits;
+    private long consumedMinorUnits;
+    private long returnedMinorUnits;
+    private boolean expired;
+    private Instant expiresAt;
+    private Set<UUID> consumedOrders = new HashSet<>();
+
+    /**
+     * Required by Axon for aggregate reconstruction.
+     */
+    protected CreditLease() {
+    }
+
+    @CommandHandler
+    public CreditLease(GrantCreditLeaseCommand command, CustomerCreditRepository creditRepository,
+                       DeadlineManager deadlineManager) {
+        long requestedMinorUnits = Money.toMinorUnits(command.amount());
+        CustomerCredit credit = creditRepository.findByCustomerId(command.customerId())
+            .orElse(null);
+
+        if (credit == null) {
+            deny(command, PaymentReservationFailedEvent.Reason.CUSTOMER_NOT_FOUND);
+            return;
+        }
+
+        // Lease what is left rather than nothing when the full amount no longer fits
+        long grantedMinorUnits = Math.min(requestedMinorUnits, credit.getAvailableCreditMinorUnits());
+        if (grantedMinorUnits <= 0) {
+            deny(command, PaymentReservationFailedEvent.Reason.INSUFFICIENT_CREDIT);
+            return;
+        }
+
+        credit.reserveCredit(grantedMinorUnits);
+        creditRepository.save(credit);
+
+        AggregateLifecycle.apply(new CreditLeaseGrantedEvent(
+            command.leaseId(),
+            command.holderId(),
+            command.customerId(),
+            Money.fromMinorUnits(grantedMinorUnits),
+            command.expiresAt()
+        ));
+        deadlineManager.schedule(command.expiresAt(), EXPIRY_DEADLINE);
+    }
+
+    @CommandHandler
+    public void handle(ConsumeCreditLeaseCommand command, CustomerCreditRepository creditRepository) {
+        // Consumes are retried by the holder, so one order is charged at most once
+        if (consumedOrders.contains(command.orderId())) {
+            return;
+        }
+
+        // The leased part is settled on expiry; whatever the lease no longer covers
+        // (it expired, or the holder overdrew) is charged to the customer now
+        long requestedMinorUnits = Money.toMinorUnits(command.amount());
+        long fromCredit = requestedMinorUnits - leasedPart(requestedMinorUnits);
+        if (fromCredit > 0) {
+            CustomerCredit credit = creditRepository.findByCustomerId(customerId)
+                .orElseThrow(() -> new IllegalStateException("Customer not found: " + customerId));
+            if (!credit.hasAvailableCredit(fromCredit)) {
+                throw new IllegalStateException("Lease " + leaseId + " cannot cover order " + command.orderId()
+                    + " and customer " + customerId + " has no credit left");
+            }
+            credit.reserveCredit(fromCredit);
+            credit.confirmReservation(fromCredit);
+            creditRepository.save(credit);
+        }
+
+        AggregateLifecycle.apply(new CreditLeaseConsumedEvent(
+            leaseId,
+            command.orderId(),
+            customerId,
+            command.amount()
+        ));
+    }
+
+    @CommandHandler
+    public void handle(ReturnCreditLeaseCommand command, CustomerCreditRepository creditRepository) {
+        long returning = expired ? 0 : Math.min(Money.toMinorUnits(command.amount()), remaining());
+        if (returning == 0) {
+            return;
+        }
+
+        CustomerCredit credit = creditRepository.findByCustomerId(customerId)
+            .orElseThrow(() -> new IllegalStateException("Customer not found: " + customerId));
+        credit.releaseReservation(returning);
+        creditRepository.save(credit);
+
+        AggregateLifecycle.apply(new CreditLeaseReturnedEvent(leaseId, customerId, Money.fromMinorUnits(returning)));
+    }
+
+    @DeadlineHandler(deadlineName = EXPIRY_DEADLINE)
+    public void onExpiry(CustomerCreditRepository creditRepository) {
+        if (expired) {
+            return;
+        }
+
+        // One write for the whole lease: deduct what its orders consumed, release the rest
+        long releasing = remaining();
+        if (consumedMinorUnits > 0 || releasing > 0) {
+            CustomerCredit credit = creditRepository.findByCustomerId(customerId)
+                .orElseThrow(() -> new IllegalStateException("Customer not found: " + customerId));
+            credit.confirmReservation(consumedMinorUnits);
+            credit.releaseReservation(releasing);
+            creditRepository.save(credit);
+        }
+
+        AggregateLifecycle.apply(new CreditLeaseExpiredEvent(
+            leaseId,
+            customerId,
+            Money.fromMinorUnits(consumedMinorUnits),
+            Money.fromMinorUnits(releasing)
+        ));
+    }
+
+    @EventSourcingHandler
+    public void on(CreditLeaseGrantedEvent event) {
+        this.leaseId = event.leaseId();
+        this.holderId = event.holderId();
+        this.customerId = event.customerId();
+        this.amountMinorUnits = Money.toMinorUnits(event.amount());
+        this.expiresAt = event.expiresAt();
+    }
+
+    @EventSourcingHandler
+    public void on(CreditLeaseDeniedEvent event) {
+        this.leaseId = event.leaseId();
+        this.holderId = event.holderId();
+        this.customerId = event.customerId();
+        this.expired = true;
+    }
+
+    @EventSourcingHandler
+    public void on(CreditLeaseConsumedEvent event) {
+        this.consumedMinorUnits += leasedPart(Money.toMinorUnits(event.amount()));
+        this.consumedOrders.add(event.orderId());
+    }
+
+    @EventSourcingHandler
+    public void on(CreditLeaseReturnedEvent event) {
+        this.returnedMinorUnits += Money.toMinorUnits(event.amount());
+    }
+
+    @EventSourcingHandler
+    public void on(CreditLeaseExpiredEvent event) {
+        this.expired = true;
+    }
+
+    private void deny(GrantCreditLeaseCommand command, PaymentReservationFailedEvent.Reason reason) {
+        AggregateLifecycle.apply(new CreditLeaseDeniedEvent(
+            command.leaseId(),
+            command.holderId(),
+            command.customerId(),
+            command.amount(),
+            reason.name()
+        ));
+    }
+
+    /**
+     * Credit the lease still holds, neither consumed nor returned.
+     */
+    private long remaining() {
+        return amountMinorUnits - consumedMinorUnits - returnedMinorUnits;
+    }
+
+    /**
+     * How much of a consumed amount the lease covers.
+     */
+    private long leasedPart(long consumedAmountMinorUnits) {
+        return expired ? 0 : Math.min(consumedAmountMinorUnits, remaining());
+    }
+
+    // Getters
+    public UUID getLeaseId() {
+        return leaseId;
+    }
+
+    public String getHolderId() {
+        return holderId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public long getAmountMinorUnits() {
+        return amountMinorUnits;
+    }
+
+    public long getConsumedMinorUnits() {
+        return consumedMinorUnits;
+    }
+
+    public long getRemainingMinorUnits() {
+        return expired ? 0 : remaining();
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.payment.domain.aggregate;
 
 import com.example.shared.command.ConfirmPaymentCommand;
+import com.example.shared.command.ExpirePaymentReservationCommand;
 import com.example.shared.command.ReleasePaymentCommand;
 import com.example.shared.command.ReservePaymentCommand;
 import com.example.shared.event.PaymentConfirmedEvent;
 import com.example.shared.event.PaymentReleasedEvent;
+import com.example.shared.event.PaymentReservationExpiredEvent;
 import com.example.shared.event.PaymentReservationFailedEvent;
 import com.example.shared.event.PaymentReservedEvent;
+import com.example.shared.exception.ReservationSettledException;
+import com.example.shared.valueobject.Money;
 import com.example.shared.valueobject.ReservationStatus;
 import com.example.payment.domain.entity.CustomerCredit;
 import com.example.payment.domain.repository.CustomerCreditRepository;
@@ -25,9 +29,10 @@ import java.util.UUID;
  * PaymentReservation aggregate root.
  * Manages the lifecycle and state of a payment reservation.
  */
-@Aggregate
+@Aggregate(cache = "paymentReservationCache")
 public class PaymentReservation {
 
+    /** Upper bound of the sales saga's timeout (sales.order-timeout.max), so a reservation outlives its saga. */
     private static final int RESERVATION_EXPIRY_SECONDS = 15;
 
     @AggregateIdentifier
@@ -35,6 +40,7 @@ public class PaymentReservation {
     private UUID orderId;
     private String customerId;
     private BigDecimal amount;
+    private long amountMinorUnits;
     private ReservationStatus status;
     private Instant expiresAt;
     private Instant createdAt;
@@ -47,6 +53,22 @@ public class PaymentReservation {
 
     @CommandHandler
     public PaymentReservation(ReservePaymentCommand command, CustomerCreditRepository creditRepository) {
+        // The API rejects these already; answer the saga rather than fail the command
+        if (!Money.fitsMinorUnits(command.amount())) {
+            AggregateLifecycle.apply(new PaymentReservationFailedEvent(
+                command.orderId(),
+                command.reservationId(),
+                command.customerId(),
+                command.amount(),
+                BigDecimal.ZERO,
+                PaymentReservationFailedEvent.Reason.INVALID_AMOUNT.name(),
+                "Amount cannot be represented in minor units: " + command.amount().toPlainString()
+            ));
+            return;
+        }
+
+        // Scale is checked once here; the credit checks below are long arithmetic
+        long requestedMinorUnits = Money.toMinorUnits(command.amount());
         CustomerCredit credit = creditRepository.findByCustomerId(command.customerId())
             .orElse(null);
 
@@ -63,7 +85,7 @@ public class PaymentReservation {
             return;
         }
 
-        if (!credit.hasAvailableCredit(command.amount())) {
+        if (!credit.hasAvailableCredit(requestedMinorUnits)) {
             AggregateLifecycle.apply(new PaymentReservationFailedEvent(
                 command.orderId(),
                 command.reservationId(),
@@ -71,13 +93,14 @@ public class PaymentReservation {
                 command.amount(),
                 credit.getAvailableCredit(),
                 PaymentReservationFailedEvent.Reason.INSUFFICIENT_CREDIT.name(),
-                "Insufficient credit. Required: " + command.amount() + ", Available: " + credit.getAvailableCredit()
+                "Insufficient credit. Required: " + Money.formatMinorUnits(requestedMinorUnits)
+                    + ", Available: " + Money.formatMinorUnits(credit.getAvailableCreditMinorUnits())
             ));
             return;
         }
 
         // Reserve the credit
-        credit.reserveCredit(command.amount());
+        credit.reserveCredit(requestedMinorUnits);
         creditRepository.save(credit);
 
         Instant expiresAt = Instant.now().plus(RESERVATION_EXPIRY_SECONDS, ChronoUnit.SECONDS);
@@ -93,13 +116,13 @@ public class PaymentReservation {
     @CommandHandler
     public void handle(ConfirmPaymentCommand command, CustomerCreditRepository creditRepository) {
         if (status != ReservationStatus.RESERVED) {
-            throw new IllegalStateException("Cannot confirm payment in status: " + status);
+            throw new ReservationSettledException("Cannot confirm payment in status: " + status);
         }
 
         // Confirm the credit deduction
         CustomerCredit credit = creditRepository.findByCustomerId(customerId)
             .orElseThrow(() -> new IllegalStateException("Customer not found: " + customerId));
-        credit.confirmReservation(amount);
+        credit.confirmReservation(amountMinorUnits);
         creditRepository.save(credit);
 
         AggregateLifecycle.apply(new PaymentConfirmedEvent(
@@ -112,13 +135,13 @@ public class PaymentReservation {
     @CommandHandler
     public void handle(ReleasePaymentCommand command, CustomerCreditRepository creditRepository) {
         if (status != ReservationStatus.RESERVED) {
-            throw new IllegalStateException("Cannot release payment in status: " + status);
+            throw new ReservationSettledException("Cannot release payment in status: " + status);
         }
 
         // Release the reserved credit
         CustomerCredit credit = creditRepository.findByCustomerId(customerId)
             .orElseThrow(() -> new IllegalStateException("Customer not found: " + customerId));
-        credit.releaseReservation(amount);
+        credit.releaseReservation(amountMinorUnits);
         creditRepository.save(credit);
 
         AggregateLifecycle.apply(new PaymentReleasedEvent(
@@ -129,12 +152,29 @@ public class PaymentReservation {
         ));
     }
 
+    @CommandHandler
+    public void handle(ExpirePaymentReservationCommand command) {
+        // The saga may have confirmed or released it since the sweeper looked
+        if (status != ReservationStatus.RESERVED) {
+            return;
+        }
+
+        // The credit goes back in bulk, from the expired events, rather than here one reservation at a time
+        AggregateLifecycle.apply(new PaymentReservationExpiredEvent(
+            orderId,
+            reservationId,
+            customerId,
+            amount
+        ));
+    }
+
     @EventSourcingHandler
     public void on(PaymentReservedEvent event) {
         this.reservationId = event.reservationId();
         this.orderId = event.orderId();
         this.customerId = event.customerId();
         this.amount = event.amount();
+        this.amountMinorUnits = Money.toMinorUnits(event.amount());
         this.status = ReservationStatus.RESERVED;
         this.expiresAt = event.expiresAt();
         this.createdAt = event.timestamp();
@@ -161,6 +201,11 @@ public class PaymentReservation {
         this.status = ReservationStatus.RELEASED;
     }
 
+    @EventSourcingHandler
+    public void on(PaymentReservationExpiredEvent event) {
+        this.status = ReservationStatus.EXPIRED;
+    }
+
     // Getters
     public UUID getReservationId() {
         return reservationId;
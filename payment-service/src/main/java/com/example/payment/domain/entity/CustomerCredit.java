@@ -1,5 +1,6 @@
 package com.example.payment.domain.entity;
 
+import com.example.shared.valueobject.Money;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -10,6 +11,10 @@ import java.math.BigDecimal;
 
 /**
  * CustomerCredit entity representing a customer's credit account.
+ *
+ * Balances are held in minor units (see {@link Money#MINOR_UNIT_SCALE}) so the
+ * reservation path is plain long arithmetic. The BigDecimal methods convert at
+ * the boundary and reject amounts with more than two decimals.
  */
 @Entity
 @Table(name = "customer_credits")
@@ -19,14 +24,14 @@ public class CustomerCredit {
     @Column(name = "customer_id", nullable = false, length = 50)
     private String customerId;
 
-    @Column(name = "credit_limit", nullable = false, precision = 19, scale = 2)
-    private BigDecimal creditLimit;
+    @Column(name = "credit_limit_minor", nullable = false)
+    private long creditLimit;
 
-    @Column(name = "available_credit", nullable = false, precision = 19, scale = 2)
-    private BigDecimal availableCredit;
+    @Column(name = "available_credit_minor", nullable = false)
+    private long availableCredit;
 
-    @Column(name = "reserved_credit", nullable = false, precision = 19, scale = 2)
-    private BigDecimal reservedCredit;
+    @Column(name = "reserved_credit_minor", nullable = false)
+    private long reservedCredit;
 
     @Version
     private Long version;
@@ -35,49 +40,72 @@ public class CustomerCredit {
     }
 
     public CustomerCredit(String customerId, BigDecimal creditLimit) {
+        this(customerId, Money.toMinorUnits(creditLimit));
+    }
+
+    public CustomerCredit(String customerId, long creditLimitMinorUnits) {
+        if (creditLimitMinorUnits < 0) {
+            throw new IllegalArgumentException("Credit limit cannot be negative");
+        }
         this.customerId = customerId;
-        this.creditLimit = creditLimit;
-        this.availableCredit = creditLimit;
-        this.reservedCredit = BigDecimal.ZERO;
+        this.creditLimit = creditLimitMinorUnits;
+        this.availableCredit = creditLimitMinorUnits;
+        this.reservedCredit = 0;
     }
 
     /**
      * Check if the customer has enough available credit.
      */
     public boolean hasAvailableCredit(BigDecimal amount) {
-        return availableCredit.compareTo(amount) >= 0;
+        return hasAvailableCredit(Money.toMinorUnits(amount));
+    }
+
+    public boolean hasAvailableCredit(long amountMinorUnits) {
+        return availableCredit >= amountMinorUnits;
     }
 
     /**
      * Reserve credit for a transaction.
      */
     public void reserveCredit(BigDecimal amount) {
-        if (!hasAvailableCredit(amount)) {
+        reserveCredit(Money.toMinorUnits(amount));
+    }
+
+    public void reserveCredit(long amountMinorUnits) {
+        if (!hasAvailableCredit(amountMinorUnits)) {
             throw new IllegalStateException("Insufficient credit");
         }
-        this.availableCredit = this.availableCredit.subtract(amount);
-        this.reservedCredit = this.reservedCredit.add(amount);
+        this.availableCredit -= amountMinorUnits;
+        this.reservedCredit += amountMinorUnits;
     }
 
     /**
      * Confirm a reservation (deduct from reserved).
      */
     public void confirmReservation(BigDecimal amount) {
-        if (reservedCredit.compareTo(amount) < 0) {
+        confirmReservation(Money.toMinorUnits(amount));
+    }
+
+    public void confirmReservation(long amountMinorUnits) {
+        if (reservedCredit < amountMinorUnits) {
             throw new IllegalStateException("Insufficient reserved credit");
         }
-        this.reservedCredit = this.reservedCredit.subtract(amount);
+        this.reservedCredit -= amountMinorUnits;
     }
 
     /**
      * Release a reservation (return to available).
      */
     public void releaseReservation(BigDecimal amount) {
-        if (reservedCredit.compareTo(amount) < 0) {
+        releaseReservation(Money.toMinorUnits(amount));
+    }
+
+    public void releaseReservation(long amountMinorUnits) {
+        if (reservedCredit < amountMinorUnits) {
             throw new IllegalStateException("Insufficient reserved credit");
         }
-        this.reservedCredit = this.reservedCredit.subtract(amount);
-        this.availableCredit = this.availableCredit.add(amount);
+        this.reservedCredit -= amountMinorUnits;
+        this.availableCredit += amountMinorUnits;
     }
 
     // Getters
@@ -86,14 +114,26 @@ public class CustomerCredit {
     }
 
     public BigDecimal getCreditLimit() {
-        return creditLimit;
+        return Money.fromMinorUnits(creditLimit);
     }
 
     public BigDecimal getAvailableCredit() {
-        return availableCredit;
+        return Money.fromMinorUnits(availableCredit);
     }
 
     public BigDecimal getReservedCredit() {
+        return Money.fromMinorUnits(reservedCredit);
+    }
+
+    public long getCreditLimitMinorUnits() {
+        return creditLimit;
+    }
+
+    public long getAvailableCreditMinorUnits() {
+        return availableCredit;
+    }
+
+    public long getReservedCreditMinorUnits() {
         return reservedCredit;
     }
 
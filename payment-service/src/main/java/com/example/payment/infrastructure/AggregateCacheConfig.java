@@ -0,0 +1,29 @@
+package com.example.payment.infrastructure;
+
+import com.example.payment.domain.aggregate.PaymentReservation;
+import com.example.shared.caching.WeightedAggregateCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache of loaded PaymentReservation aggregates, named on its {@code @Aggregate}.
+ *
+ * Confirm and release commands follow the reservation within seconds and find it
+ * here instead of replaying its events. Weights are approximate bytes:
+ * {@code base-weight} for the fixed fields plus the customer ID, the only field
+ * whose size varies.
+ */
+@Configuration
+public class AggregateCacheConfig {
+
+    @Bean
+    public WeightedAggregateCache paymentReservationCache(
+            @Value("${payment.aggregate-cache.max-weight:67108864}") long maxWeight,
+            @Value("${payment.aggregate-cache.base-weight:384}") long baseWeight) {
+        return WeightedAggregateCache.weighingAggregates("PaymentReservation", maxWeight, PaymentReservation.class,
+            reservation -> baseWeight
+                + (reservation.getCustomerId() != null ? reservation.getCustomerId().length() : 0),
+            baseWeight);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.payment.infrastructure.expiry;
+
+import com.example.shared.command.ExpirePaymentReservationCommand;
+import com.example.shared.expiry.ExpirySweeper;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.eventhandling.TrackingEventProcessorConfiguration;
+import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Expires payment reservations that no saga confirmed or released, from
+ * {@code payment.reservation-expiry.*}.
+ *
+ * The index processor is a tracking processor that keeps its token in memory and
+ * starts at the tail, so the {@link PaymentReservationExpiryIndexer} is rebuilt on
+ * every start, and the sweeper waits until that processor has caught up. The
+ * reclaim processor handles {@code reclaim-batch-size} expired events per transaction.
+ */
+@Configuration
+public class PaymentReservationExpiryConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "payment.reservation-expiry.enabled", havingValue = "true", matchIfMissing = true)
+    public ExpirySweeper paymentReservationExpirySweeper(
+            PaymentReservationExpiryIndexer indexer,
+            CommandGateway commandGateway,
+            EventProcessingConfiguration eventProcessingConfiguration,
+            @Value("${payment.reservation-expiry.grace:30s}") Duration grace,
+            @Value("${payment.reservation-expiry.batch-size:500}") int batchSize,
+            @Value("${payment.reservation-expiry.interval:1s}") Duration interval) {
+        return new ExpirySweeper(
+            "payment",
+            indexer.index(),
+            commandGateway,
+            ExpirePaymentReservationCommand::new,
+            ExpirySweeper.whenCaughtUp(eventProcessingConfiguration, PaymentReservationExpiryIndexer.PROCESSING_GROUP),
+            grace,
+            batchSize,
+            interval
+        );
+    }
+
+    @Autowired
+    public void configureExpiryProcessors(
+            EventProcessingConfigurer eventProcessingConfigurer,
+            @Value("${payment.reservation-expiry.reclaim-batch-size:100}") int reclaimBatchSize) {
+        eventProcessingConfigurer.registerTokenStore(
+            PaymentReservationExpiryIndexer.PROCESSING_GROUP,
+            configuration -> new InMemoryTokenStore()
+        );
+        eventProcessingConfigurer.registerTrackingEventProcessor(
+            PaymentReservationExpiryIndexer.PROCESSING_GROUP,
+            org.axonframework.config.Configuration::eventStore,
+            configuration -> TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+        );
+        eventProcessingConfigurer.registerTrackingEventProcessor(
+            PaymentReservationReclaimer.PROCESSING_GROUP,
+            org.axonframework.config.Configuration::eventStore,
+            configuration -> TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                .andBatchSize(reclaimBatchSize)
+        );
+    }
+}
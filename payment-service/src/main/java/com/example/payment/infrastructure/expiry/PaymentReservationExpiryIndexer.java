@@ -0,0 +1,61 @@
+package com.example.payment.infrastructure.expiry;
+
+import com.example.shared.event.PaymentConfirmedEvent;
+import com.example.shared.event.PaymentReleasedEvent;
+import com.example.shared.event.PaymentReservationExpiredEvent;
+import com.example.shared.event.PaymentReservedEvent;
+import com.example.shared.expiry.ExpiryIndex;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps the open payment reservations in an {@link ExpiryIndex} for the sweeper,
+ * by the {@code expiresAt} of their PaymentReservedEvent.
+ *
+ * The index lives in memory and its processor keeps its token in memory too, so
+ * every start replays the reservation events to rebuild it.
+ */
+@Component
+@ProcessingGroup(PaymentReservationExpiryIndexer.PROCESSING_GROUP)
+@ConditionalOnProperty(name = "payment.reservation-expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentReservationExpiryIndexer {
+
+    public static final String PROCESSING_GROUP = "payment-reservation-expiry-index";
+
+    private final ExpiryIndex<UUID> index;
+
+    public PaymentReservationExpiryIndexer(
+            @Value("${payment.reservation-expiry.bucket-width:1s}") Duration bucketWidth) {
+        this.index = new ExpiryIndex<>(bucketWidth);
+    }
+
+    @EventHandler
+    public void on(PaymentReservedEvent event) {
+        index.add(event.reservationId(), event.expiresAt());
+    }
+
+    @EventHandler
+    public void on(PaymentConfirmedEvent event) {
+        index.remove(event.reservationId());
+    }
+
+    @EventHandler
+    public void on(PaymentReleasedEvent event) {
+        index.remove(event.reservationId());
+    }
+
+    @EventHandler
+    public void on(PaymentReservationExpiredEvent event) {
+        index.remove(event.reservationId());
+    }
+
+    public ExpiryIndex<UUID> index() {
+        return index;
+    }
+}
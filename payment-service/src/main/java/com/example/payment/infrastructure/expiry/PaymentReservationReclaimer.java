@@ -0,0 +1,83 @@
+package com.example.payment.infrastructure.expiry;
+
+import com.example.payment.domain.entity.CustomerCredit;
+import com.example.payment.domain.repository.CustomerCreditRepository;
+import com.example.shared.event.PaymentReservationExpiredEvent;
+import com.example.shared.valueobject.Money;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Returns the credit of expired payment reservations.
+ *
+ * The expired events of one processor batch are summed per customer, and each
+ * customer's credit row is written once when the batch commits, in the same
+ * transaction as the processor's token. A release that fails rolls back the whole
+ * batch with its token, so the processor retries it instead of losing the credit.
+ *
+ * Runs whether or not the sweeper is enabled, so reservations it has expired are
+ * always reclaimed.
+ */
+@Component
+@ProcessingGroup(PaymentReservationReclaimer.PROCESSING_GROUP)
+public class PaymentReservationReclaimer implements MeterBinder {
+
+    public static final String PROCESSING_GROUP = "payment-reservation-reclaim";
+
+    private static final String PENDING_RELEASES = PaymentReservationReclaimer.class.getName() + ".pending";
+
+    private final CustomerCreditRepository creditRepository;
+    // Minor units
+    private final AtomicLong reclaimedCredit = new AtomicLong();
+
+    public PaymentReservationReclaimer(CustomerCreditRepository creditRepository) {
+        this.creditRepository = creditRepository;
+    }
+
+    @EventHandler
+    public void on(PaymentReservationExpiredEvent event) {
+        pendingReleases().merge(event.customerId(), Money.toMinorUnits(event.amount()), Long::sum);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reservation.expiry.reclaimed", reclaimedCredit,
+                reclaimed -> Money.fromMinorUnits(reclaimed.get()).doubleValue())
+            .description("Credit returned from expired reservations")
+            .tag("reservation", "payment")
+            .register(registry);
+    }
+
+    /**
+     * Releases collected in the current batch, flushed once before it commits and
+     * counted once it has.
+     */
+    private Map<String, Long> pendingReleases() {
+        UnitOfWork<?> unitOfWork = CurrentUnitOfWork.get().root();
+        return unitOfWork.getOrComputeResource(PENDING_RELEASES, key -> {
+            Map<String, Long> pending = new LinkedHashMap<>();
+            unitOfWork.onPrepareCommit(committing -> flush(pending));
+            unitOfWork.afterCommit(committed -> pending.values().forEach(reclaimedCredit::addAndGet));
+            return pending;
+        });
+    }
+
+    private void flush(Map<String, Long> pending) {
+        pending.forEach((customerId, amountMinorUnits) -> {
+            CustomerCredit credit = creditRepository.findByCustomerId(customerId)
+                .orElseThrow(() -> new IllegalStateException("Customer not found: " + customerId));
+            credit.releaseReservation(amountMinorUnits);
+            creditRepository.save(credit);
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.payment.infrastructure.seed;
+
+import com.example.shared.seed.ZipfDistribution;
+import com.example.shared.valueobject.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk-loads synthetic customer credit accounts for load tests.
+ *
+ * Rows are written with JDBC batch inserts straight into the customer_credits
+ * table, bypassing JPA, so a million customers load in seconds. Credit limits
+ * follow a Zipf distribution over the customer number: CUST-0000000 gets
+ * {@code maxCredit}, and limits fall off with rank down to {@code minCredit},
+ * so a few customers can place many orders while most run out after a few.
+ *
+ * Seeding is skipped when the first synthetic customer already exists, so a
+ * file-backed database is not loaded twice.
+ */
+public class SyntheticCustomerCreditSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticCustomerCreditSeeder.class);
+    private static final String INSERT_SQL =
+        "INSERT INTO customer_credits (customer_id, credit_limit_minor, available_credit_minor, "
+            + "reserved_credit_minor, version) VALUES (?, ?, ?, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int customers;
+    private final long maxCreditMinorUnits;
+    private final long minCreditMinorUnits;
+    private final double skew;
+    private final int batchSize;
+
+    public SyntheticCustomerCreditSeeder(JdbcTemplate jdbcTemplate, int customers, BigDecimal maxCredit,
+                                         BigDecimal minCredit, double skew, int batchSize) {
+        if (customers < 0) {
+            throw new IllegalArgumentException("Customer count cannot be negative");
+        }
+        if (minCredit.signum() < 0 || maxCredit.compareTo(minCredit) < 0) {
+            throw new IllegalArgumentException("Credit range must satisfy 0 <= min-credit <= max-credit");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.customers = customers;
+        this.maxCreditMinorUnits = Money.toMinorUnits(maxCredit);
+        this.minCreditMinorUnits = Money.toMinorUnits(minCredit);
+        this.skew = skew;
+        this.batchSize = batchSize;
+    }
+
+    public static String customerId(int rank) {
+        return String.format("CUST-%07d", rank);
+    }
+
+    @Override
+    public void run(String... args) {
+        if (customers == 0) {
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM customer_credits WHERE customer_id = ?", Integer.class, customerId(0));
+        if (existing != null && existing > 0) {
+            log.info("Synthetic customers already present, skipping seeding");
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int rank = 0; rank < customers; rank++) {
+            long credit = creditFor(rank);
+            batch.add(new Object[] {customerId(rank), credit, credit});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        log.info("Seeded {} synthetic customers (credit {}..{}, skew {}) in {} ms",
+            customers, Money.fromMinorUnits(maxCreditMinorUnits), Money.fromMinorUnits(creditFor(customers - 1)),
+            skew, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    long creditFor(int rank) {
+        return ZipfDistribution.scaled(maxCreditMinorUnits, minCreditMinorUnits, rank, skew);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.payment.infrastructure.seed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Enables the {@link SyntheticCustomerCreditSeeder} with {@code payment.seed.synthetic.*} settings.
+ * The demo customers of DataInitializer are created either way.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "payment.seed.synthetic", name = "enabled", havingValue = "true")
+public class SyntheticSeedConfig {
+
+    @Bean
+    public SyntheticCustomerCreditSeeder syntheticCustomerCreditSeeder(
+            JdbcTemplate jdbcTemplate,
+            @Value("${payment.seed.synthetic.customers:1000000}") int customers,
+            @Value("${payment.seed.synthetic.max-credit:10000000}") BigDecimal maxCredit,
+            @Value("${payment.seed.synthetic.min-credit:35000}") BigDecimal minCredit,
+            @Value("${payment.seed.synthetic.skew:1.0}") double skew,
+            @Value("${payment.seed.synthetic.batch-size:5000}") int batchSize) {
+        return new SyntheticCustomerCreditSeeder(jdbcTemplate, customers, maxCredit, minCredit, skew, batchSize);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.payment.domain.aggregate;
+
+import com.example.payment.domain.entity.CustomerCredit;
+import com.example.payment.domain.repository.CustomerCreditRepository;
+import com.example.shared.command.ConsumeCreditLeaseCommand;
+import com.example.shared.command.GrantCreditLeaseCommand;
+import com.example.shared.command.ReturnCreditLeaseCommand;
+import com.example.shared.event.CreditLeaseConsumedEvent;
+import com.example.shared.event.CreditLeaseDeniedEvent;
+import com.example.shared.event.CreditLeaseExpiredEvent;
+import com.example.shared.event.CreditLeaseGrantedEvent;
+import com.example.shared.event.CreditLeaseReturnedEvent;
+import org.axonframework.test.aggregate.AggregateTestFixture;
+import org.axonframework.test.aggregate.FixtureConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.axonframework.test.matchers.Matchers.*;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CreditLease aggregate.
+ */
+@DisplayName("CreditLease Aggregate")
+class CreditLeaseTest {
+
+    private static final String CUSTOMER_ID = "CUST-001";
+    private static final String HOLDER_ID = "sales-1";
+
+    private FixtureConfiguration<CreditLease> fixture;
+    private CustomerCredit credit;
+    private UUID leaseId;
+    private Instant expiresAt;
+
+    @Mock
+    private CustomerCreditRepository creditRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        fixture = new AggregateTestFixture<>(CreditLease.class);
+        fixture.registerInjectableResource(creditRepository);
+
+        credit = new CustomerCredit(CUSTOMER_ID, new BigDecimal("100000"));
+        when(creditRepository.findByCustomerId(CUSTOMER_ID)).thenReturn(Optional.of(credit));
+        when(creditRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        leaseId = UUID.randomUUID();
+        expiresAt = Instant.now().plus(Duration.ofSeconds(60));
+    }
+
+    @Nested
+    @DisplayName("GrantCreditLeaseCommand")
+    class GrantCreditLeaseTests {
+
+        @Test
+        @DisplayName("should hold the amount as reserved credit and schedule its expiry")
+        void shouldGrantLease() {
+            fixture.givenNoPriorActivity()
+                .when(new GrantCreditLeaseCommand(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("40000"), expiresAt))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(CreditLeaseGrantedEvent.class))
+                ))
+                .expectScheduledDeadlineWithName(expiresAt, "credit-lease-expiry");
+
+            assertEquals(new BigDecimal("60000.00"), credit.getAvailableCredit());
+            assertEquals(new BigDecimal("40000.00"), credit.getReservedCredit());
+        }
+
+        @Test
+        @DisplayName("should lease the remaining credit when the amount does not fit")
+        void shouldGrantRemainingCredit() {
+            credit.reserveCredit(new BigDecimal("90000"));
+
+            fixture.givenNoPriorActivity()
+                .when(new GrantCreditLeaseCommand(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("40000"), expiresAt))
+                .expectSuccessfulHandlerExecution()
+                .expectState(lease -> assertEquals(1_000_000, lease.getAmountMinorUnits()));
+
+            assertEquals(0, credit.getAvailableCreditMinorUnits());
+        }
+
+        @Test
+        @DisplayName("should deny the lease when the customer is not found")
+        void shouldDenyUnknownCustomer() {
+            when(creditRepository.findByCustomerId("UNKNOWN")).thenReturn(Optional.empty());
+
+            fixture.givenNoPriorActivity()
+                .when(new GrantCreditLeaseCommand(leaseId, HOLDER_ID, "UNKNOWN", new BigDecimal("40000"), expiresAt))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(CreditLeaseDeniedEvent.class))
+                ))
+                .expectNoScheduledDeadlines();
+        }
+    }
+
+    @Nested
+    @DisplayName("ConsumeCreditLeaseCommand")
+    class ConsumeCreditLeaseTests {
+
+        @Test
+        @DisplayName("should charge leased credit without touching the customer's row")
+        void shouldConsumeWithoutWritingCredit() {
+            credit.reserveCredit(new BigDecimal("40000"));
+
+            fixture.given(new CreditLeaseGrantedEvent(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("40000"), expiresAt))
+                .when(new ConsumeCreditLeaseCommand(leaseId, UUID.randomUUID(), new BigDecimal("35000")))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(CreditLeaseConsumedEvent.class))
+                ))
+                .expectState(lease -> assertEquals(500_000, lease.getRemainingMinorUnits()));
+
+            verify(creditRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should charge an order once")
+        void shouldConsumeOncePerOrder() {
+            UUID orderId = UUID.randomUUID();
+
+            fixture.given(
+                    new CreditLeaseGrantedEvent(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("40000"), expiresAt),
+                    new CreditLeaseConsumedEvent(leaseId, orderId, CUSTOMER_ID, new BigDecimal("35000"))
+                )
+                .when(new ConsumeCreditLeaseCommand(leaseId, orderId, new BigDecimal("35000")))
+                .expectSuccessfulHandlerExecution()
+                .expectNoEvents();
+        }
+
+        @Test
+        @DisplayName("should charge the customer directly after the lease expired")
+        void shouldConsumeCreditAfterExpiry() {
+            fixture.given(
+                    new CreditLeaseGrantedEvent(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("40000"), expiresAt),
+                    new CreditLeaseExpiredEvent(leaseId, CUSTOMER_ID, BigDecimal.ZERO, new BigDecimal("40000"))
+                )
+                .when(new ConsumeCreditLeaseCommand(leaseId, UUID.randomUUID(), new BigDecimal("35000")))
+                .expectSuccessfulHandlerExecution();
+
+            assertEquals(new BigDecimal("65000.00"), credit.getAvailableCredit());
+            assertEquals(0, credit.getReservedCreditMinorUnits());
+        }
+    }
+
+    @Nested
+    @DisplayName("Return and expiry")
+    class ReturnAndExpiryTests {
+
+        @Test
+        @DisplayName("should release returned credit straight away, no more than the lease holds")
+        void shouldReturnUnusedCredit() {
+            credit.reserveCredit(new BigDecimal("40000"));
+
+            fixture.given(
+                    new CreditLeaseGrantedEvent(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("40000"), expiresAt),
+                    new CreditLeaseConsumedEvent(leaseId, UUID.randomUUID(), CUSTOMER_ID, new BigDecimal("35000"))
+                )
+                .when(new ReturnCreditLeaseCommand(leaseId, new BigDecimal("40000")))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(CreditLeaseReturnedEvent.class))
+                ))
+                .expectState(lease -> assertEquals(0, lease.getRemainingMinorUnits()));
+
+            assertEquals(new BigDecimal("65000.00"), credit.getAvailableCredit());
+            assertEquals(new BigDecimal("35000.00"), credit.getReservedCredit());
+        }
+
+        @Test
+        @DisplayName("should deduct consumed credit and release the rest when the lease expires")
+        void shouldSettleOnExpiry() {
+            fixture.givenCommands(
+                    new GrantCreditLeaseCommand(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("40000"), expiresAt),
+                    new ConsumeCreditLeaseCommand(leaseId, UUID.randomUUID(), new BigDecimal("35000"))
+                )
+                .whenTimeElapses(Duration.ofSeconds(61))
+                .expectTriggeredDeadlinesWithName("credit-lease-expiry")
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(CreditLeaseExpiredEvent.class))
+                ));
+
+            assertEquals(new BigDecimal("65000.00"), credit.getAvailableCredit());
+            assertEquals(0, credit.getReservedCreditMinorUnits());
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.example.payment.domain.aggregate;
 import com.example.payment.domain.entity.CustomerCredit;
 import com.example.payment.domain.repository.CustomerCreditRepository;
 import com.example.shared.command.ConfirmPaymentCommand;
+import com.example.shared.command.ExpirePaymentReservationCommand;
 import com.example.shared.command.ReleasePaymentCommand;
 import com.example.shared.command.ReservePaymentCommand;
 import com.example.shared.event.PaymentConfirmedEvent;
 import com.example.shared.event.PaymentReleasedEvent;
+import com.example.shared.event.PaymentReservationExpiredEvent;
 import com.example.shared.event.PaymentReservationFailedEvent;
 import com.example.shared.event.PaymentReservedEvent;
 import com.example.shared.valueobject.ReservationStatus;
@@ -98,6 +100,25 @@ class PaymentReservationTest {
                 .expectState(reservation -> assertEquals(ReservationStatus.RELEASED, reservation.getStatus()));
         }
 
+        @Test
+        @DisplayName("should fail reservation when amount has sub-cent precision")
+        void shouldFailWhenAmountHasSubCentPrecision() {
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            String customerId = "CUST-001";
+            BigDecimal amount = new BigDecimal("35000.001");
+
+            fixture.givenNoPriorActivity()
+                .when(new ReservePaymentCommand(reservationId, orderId, customerId, amount))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(PaymentReservationFailedEvent.class))
+                ))
+                .expectState(reservation -> assertEquals(ReservationStatus.RELEASED, reservation.getStatus()));
+
+            verify(creditRepository, never()).save(any(CustomerCredit.class));
+        }
+
         @Test
         @DisplayName("should fail reservation when insufficient credit")
         void shouldFailWhenInsufficientCredit() {
@@ -173,4 +194,42 @@ class PaymentReservationTest {
                 .expectState(reservation -> assertEquals(ReservationStatus.RELEASED, reservation.getStatus()));
         }
     }
+    @Nested
+    @DisplayName("ExpirePaymentReservationCommand")
+    class ExpirePaymentReservationTests {
+
+        @Test
+        @DisplayName("should expire an open reservation without touching the customer's credit")
+        void shouldExpireReservation() {
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+
+            fixture.given(new PaymentReservedEvent(orderId, reservationId, "CUST-001", new BigDecimal("35000"),
+                    Instant.now().plusSeconds(15)))
+                .when(new ExpirePaymentReservationCommand(reservationId))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(PaymentReservationExpiredEvent.class))
+                ))
+                .expectState(reservation -> assertEquals(ReservationStatus.EXPIRED, reservation.getStatus()));
+
+            verifyNoInteractions(creditRepository);
+        }
+
+        @Test
+        @DisplayName("should ignore a reservation the saga already released")
+        void shouldIgnoreReleasedReservation() {
+            UUID reservationId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+
+            fixture.given(
+                    new PaymentReservedEvent(orderId, reservationId, "CUST-001", new BigDecimal("35000"),
+                        Instant.now().plusSeconds(15)),
+                    new PaymentReleasedEvent(orderId, reservationId, new BigDecimal("35000"), "Inventory failed")
+                )
+                .when(new ExpirePaymentReservationCommand(reservationId))
+                .expectSuccessfulHandlerExecution()
+                .expectNoEvents();
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.payment.domain.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CustomerCredit balance arithmetic.
+ */
+@DisplayName("CustomerCredit")
+class CustomerCreditTest {
+
+    private CustomerCredit credit;
+
+    @BeforeEach
+    void setUp() {
+        credit = new CustomerCredit("CUST-001", new BigDecimal("50000"));
+    }
+
+    @Test
+    @DisplayName("should hold the credit limit in minor units")
+    void shouldHoldCreditLimitInMinorUnits() {
+        // Then
+        assertEquals(5_000_000L, credit.getCreditLimitMinorUnits());
+        assertEquals(5_000_000L, credit.getAvailableCreditMinorUnits());
+        assertEquals(0L, credit.getReservedCreditMinorUnits());
+        assertEquals(0, new BigDecimal("50000").compareTo(credit.getAvailableCredit()));
+    }
+
+    @Test
+    @DisplayName("should move credit between available and reserved on reserve and release")
+    void shouldReserveAndRelease() {
+        // When
+        credit.reserveCredit(new BigDecimal("35000.50"));
+
+        // Then
+        assertEquals(new BigDecimal("14999.50"), credit.getAvailableCredit());
+        assertEquals(new BigDecimal("35000.50"), credit.getReservedCredit());
+
+        // When
+        credit.releaseReservation(3_500_050L);
+
+        // Then
+        assertEquals(5_000_000L, credit.getAvailableCreditMinorUnits());
+        assertEquals(0L, credit.getReservedCreditMinorUnits());
+    }
+
+    @Test
+    @DisplayName("should deduct reserved credit on confirm")
+    void shouldConfirmReservation() {
+        // Given
+        credit.reserveCredit(3_500_000L);
+
+        // When
+        credit.confirmReservation(3_500_000L);
+
+        // Then
+        assertEquals(1_500_000L, credit.getAvailableCreditMinorUnits());
+        assertEquals(0L, credit.getReservedCreditMinorUnits());
+    }
+
+    @Test
+    @DisplayName("should reject reservations beyond available credit")
+    void shouldRejectInsufficientCredit() {
+        // When & Then
+        assertTrue(credit.hasAvailableCredit(5_000_000L));
+        assertFalse(credit.hasAvailableCredit(new BigDecimal("50000.01")));
+        assertThrows(IllegalStateException.class, () -> credit.reserveCredit(5_000_001L));
+        assertEquals(5_000_000L, credit.getAvailableCreditMinorUnits());
+    }
+
+    @Test
+    @DisplayName("should reject amounts with more than two decimals at the boundary")
+    void shouldRejectSubCentAmounts() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> credit.reserveCredit(new BigDecimal("1.001")));
+        assertThrows(IllegalArgumentException.class, () -> new CustomerCredit("CUST-002", new BigDecimal("0.005")));
+        assertEquals(0L, credit.getReservedCreditMinorUnits());
+    }
+}
@@ -2,22 +2,26 @@ plugins {
     java
     id("org.springframework.boot")
     id("io.spring.dependency-management")
+    id("me.champeau.jmh")
 }
 
 dependencies {
     implementation(project(":shared-kernel"))
+    implementation(project(":shared-metrics"))
+    implementation(project(":shared-axon"))
 
     // Spring Boot
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
 
     // Axon Framework
     implementation("org.axonframework:axon-spring-boot-starter:4.9.3")
-
-    // Spring Retry for compensation retry mechanism
-    implementation("org.springframework.retry:spring-retry")
-    implementation("org.springframework:spring-aspects")
+    // Subscription query results are exposed as Reactor types
+    implementation("io.projectreactor:reactor-core")
+    // Ring buffer behind DisruptorCommandBus (sales.command-bus.disruptor.enabled)
+    implementation("com.lmax:disruptor:3.4.4")
 
     // Database
     runtimeOnly("com.h2database:h2")
@@ -32,6 +36,12 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
+
 tasks.bootJar {
     archiveBaseName.set("sales-service")
 }
@@ -0,0 +1,128 @@
+package com.example.sales.infrastructure.deadline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule/cancel throughput with a large number of outstanding deadlines,
+ * comparing the timing wheel against the ScheduledThreadPoolExecutor heap
+ * that backs Axon's SimpleDeadlineManager.
+ *
+ * Each operation schedules the 15 second order timeout and cancels it again,
+ * which is what OrderSaga does for nearly every order. Those two only enqueue on
+ * the wheel; {@code timingWheelScheduleAndExpire} adds the ticker's side, moving
+ * timeouts into their buckets and expiring them as the clock passes.
+ *
+ * Run with: ./gradlew :sales-service:jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DeadlineSchedulingBenchmark {
+
+    private static final long ORDER_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"1000000"})
+    public int outstandingDeadlines;
+
+    private TimingWheel<Runnable> wheel;
+    private ScheduledThreadPoolExecutor executor;
+
+    // The wheel runs on a frozen clock so the backlog never expires mid-run
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        now = System.nanoTime();
+        wheel = new TimingWheel<>(100, TimeUnit.MILLISECONDS, 512, now);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        for (int i = 0; i < outstandingDeadlines; i++) {
+            // Spread the backlog over the whole timeout window like a steady stream of orders
+            long delay = ORDER_TIMEOUT_NANOS + i % 1000 * TimeUnit.MILLISECONDS.toNanos(15);
+            wheel.schedule(NOOP, delay, now);
+            // Push the executor backlog out far enough that it cannot drain during the run
+            executor.schedule(NOOP, delay + TimeUnit.HOURS.toNanos(1), TimeUnit.NANOSECONDS);
+        }
+        // Hash the backlog into the wheel buckets before measuring
+        wheel.advanceTo(now, task -> { });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean timingWheelScheduleAndCancel() {
+        return wheel.schedule(NOOP, ORDER_TIMEOUT_NANOS, now).cancel();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean scheduledExecutorScheduleAndCancel() {
+        ScheduledFuture<?> future = executor.schedule(NOOP, ORDER_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+        return future.cancel(false);
+    }
+
+    /**
+     * One timeout scheduled per operation while the clock moves on by the order
+     * timeout divided by the backlog, so as many expire as are scheduled and the
+     * backlog stays at {@code outstandingDeadlines}. The ticker runs on one thread.
+     */
+    @Benchmark
+    @Threads(1)
+    public int timingWheelScheduleAndExpire(Ticking ticking) {
+        ticking.now += ticking.stepNanos;
+        ticking.wheel.schedule(NOOP, ORDER_TIMEOUT_NANOS, ticking.now);
+        return ticking.wheel.advanceTo(ticking.now, task -> { });
+    }
+
+    /**
+     * Advancing the wheel drains the cancelled handles so the measured
+     * backlog stays at {@code outstandingDeadlines} between iterations.
+     */
+    @TearDown(Level.Iteration)
+    public void drainCancelled() {
+        wheel.advanceTo(now, task -> { });
+    }
+
+    /**
+     * A wheel of its own whose clock is moved by the benchmark rather than frozen.
+     */
+    @State(Scope.Thread)
+    public static class Ticking {
+
+        private TimingWheel<Runnable> wheel;
+        private long now;
+        private long stepNanos;
+
+        @Setup(Level.Trial)
+        public void setUp(DeadlineSchedulingBenchmark benchmark) {
+            int outstanding = benchmark.outstandingDeadlines;
+            now = System.nanoTime();
+            wheel = new TimingWheel<>(100, TimeUnit.MILLISECONDS, 512, now);
+            stepNanos = Math.max(ORDER_TIMEOUT_NANOS / outstanding, 1);
+            for (int i = 0; i < outstanding; i++) {
+                // Deadlines evenly over the next timeout window, as if scheduled one step apart
+                wheel.schedule(NOOP, ORDER_TIMEOUT_NANOS - (long) (outstanding - i) * stepNanos, now);
+            }
+            wheel.advanceTo(now, task -> { });
+        }
+    }
+}
@@ -2,10 +2,8 @@ package com.example.sales;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
-@EnableRetry
 public class SalesServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,38 @@
+package com.example.sales.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating an order of several items.
+ */
+public record CreateMultiItemOrderRequest(
+    @NotBlank(message = "Customer ID is required")
+    String customerId,
+
+    @NotEmpty(message = "At least one item is required")
+    List<@Valid @NotNull Item> items
+) {
+    /**
+     * One line of the order.
+     */
+    public record Item(
+        @NotBlank(message = "Product ID is required")
+        String productId,
+
+        @Positive(message = "Quantity must be positive")
+        Integer quantity
+    ) {
+        public Item {
+            // Default quantity to 1, as for single-item orders
+            if (quantity == null) {
+                quantity = 1;
+            }
+        }
+    }
+}
@@ -4,28 +4,49 @@ import com.example.shared.valueobject.OrderStatus;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Response DTO for order information.
+ *
+ * {@code items} lists every product of the order. {@code productId} and
+ * {@code quantity} repeat the only item of a single-item order and are empty
+ * (null and 0) for an order of several items.
  */
 public record OrderResponse(
     UUID orderId,
     String customerId,
     String productId,
     int quantity,
+    List<Item> items,
     BigDecimal amount,
     OrderStatus status,
     String statusMessage,
     Instant createdAt,
     Instant updatedAt
 ) {
+    public OrderResponse(UUID orderId, String customerId, List<Item> items, BigDecimal amount,
+                         OrderStatus status, String statusMessage, Instant createdAt, Instant updatedAt) {
+        this(
+            orderId,
+            customerId,
+            items.size() == 1 ? items.get(0).productId() : null,
+            items.size() == 1 ? items.get(0).quantity() : 0,
+            items,
+            amount,
+            status,
+            statusMessage,
+            createdAt,
+            updatedAt
+        );
+    }
+
     public static OrderResponse accepted(UUID orderId, Instant createdAt) {
         return new OrderResponse(
             orderId,
             null,
-            null,
-            0,
+            List.of(),
             null,
             OrderStatus.PENDING,
             "訂單已受理，正在處理中",
@@ -33,4 +54,10 @@ public record OrderResponse(
             createdAt
         );
     }
+
+    /**
+     * One line of the order.
+     */
+    public record Item(String productId, int quantity) {
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.sales.application.dto;
+
+import com.example.shared.valueobject.OrderStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Status change of an order, emitted by the order_view projection to
+ * subscription queries on FindOrderByIdQuery.
+ */
+public record OrderStatusUpdate(
+    UUID orderId,
+    OrderStatus status,
+    String statusMessage,
+    Instant updatedAt
+) {
+}
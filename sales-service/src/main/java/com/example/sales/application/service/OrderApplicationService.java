@@ -1,21 +1,34 @@
 package com.example.sales.application.service;
 
+import com.example.sales.application.dto.CreateMultiItemOrderRequest;
 import com.example.sales.application.dto.CreateOrderRequest;
 import com.example.sales.application.dto.OrderResponse;
+import com.example.sales.application.dto.OrderStatusUpdate;
 import com.example.sales.infrastructure.query.OrderQueryModel;
+import com.example.sales.infrastructure.query.OrderResponseCache;
+import com.example.shared.command.CreateMultiItemOrderCommand;
 import com.example.shared.command.CreateOrderCommand;
+import com.example.shared.valueobject.Money;
+import com.example.shared.valueobject.OrderItem;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.axonframework.messaging.responsetypes.ResponseTypes;
 import org.axonframework.queryhandling.QueryGateway;
+import org.axonframework.queryhandling.SubscriptionQueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Application service for order operations.
@@ -29,10 +42,19 @@ public class OrderApplicationService {
 
     private final CommandGateway commandGateway;
     private final QueryGateway queryGateway;
+    private final OrderResponseCache orderCache;
+    private final int statusStreamBufferSize;
+    private final Duration statusStreamMaxDuration;
 
-    public OrderApplicationService(CommandGateway commandGateway, QueryGateway queryGateway) {
+    public OrderApplicationService(CommandGateway commandGateway, QueryGateway queryGateway,
+                                   OrderResponseCache orderCache,
+                                   @Value("${sales.order-events.buffer-size:16}") int statusStreamBufferSize,
+                                   @Value("${sales.order-events.max-duration:60s}") Duration statusStreamMaxDuration) {
         this.commandGateway = commandGateway;
         this.queryGateway = queryGateway;
+        this.orderCache = orderCache;
+        this.statusStreamBufferSize = statusStreamBufferSize;
+        this.statusStreamMaxDuration = statusStreamMaxDuration;
     }
 
     /**
@@ -42,7 +64,93 @@ public class OrderApplicationService {
     public CompletableFuture<OrderResponse> createOrder(CreateOrderRequest request) {
         UUID orderId = UUID.randomUUID();
         Instant now = Instant.now();
+        CreateOrderCommand command = toCommand(orderId, request);
 
+        return commandGateway.send(command)
+            .thenApply(result -> OrderResponse.accepted(orderId, now));
+    }
+
+    /**
+     * Create a new order of several items.
+     * Returns immediately with order acceptance; the outcome is read like any other order's.
+     */
+    public CompletableFuture<OrderResponse> createMultiItemOrder(CreateMultiItemOrderRequest request) {
+        UUID orderId = UUID.randomUUID();
+        Instant now = Instant.now();
+        CreateMultiItemOrderCommand command = toCommand(orderId, request);
+
+        return commandGateway.send(command)
+            .thenApply(result -> OrderResponse.accepted(orderId, now));
+    }
+
+    /**
+     * Create a new order and wait up to {@code wait} for the saga outcome.
+     * Completes with the CONFIRMED or CANCELLED order as soon as the projection
+     * reports it, or with the accepted response when the wait expires. The wait
+     * covers dispatching the command as well as waiting for the outcome.
+     */
+    public CompletableFuture<OrderResponse> createOrderAndWait(CreateOrderRequest request, Duration wait) {
+        long deadlineNanos = System.nanoTime() + wait.toNanos();
+        UUID orderId = UUID.randomUUID();
+        Instant now = Instant.now();
+        CreateOrderCommand command = toCommand(orderId, request);
+        OrderResponse accepted = OrderResponse.accepted(orderId, now);
+
+        // Subscribe before dispatching so no status update can be missed
+        SubscriptionQueryResult<Optional<OrderQueryModel>, OrderStatusUpdate> subscription =
+            queryGateway.subscriptionQuery(
+                new FindOrderByIdQuery(orderId),
+                ResponseTypes.optionalInstanceOf(OrderQueryModel.class),
+                ResponseTypes.instanceOf(OrderStatusUpdate.class)
+            );
+
+        return commandGateway.send(command)
+            .thenApply(result -> true)
+            .completeOnTimeout(false, wait.toNanos(), TimeUnit.NANOSECONDS)
+            .thenCompose(handled -> !handled ? CompletableFuture.completedFuture(accepted) : Flux.concat(
+                    subscription.initialResult().flatMap(Mono::justOrEmpty).map(this::toOrderResponse),
+                    subscription.updates().map(update -> toOrderResponse(command, now, update))
+                )
+                .filter(response -> response.status().isTerminal())
+                .next()
+                .timeout(Duration.ofNanos(Math.max(deadlineNanos - System.nanoTime(), 0)), Mono.just(accepted))
+                .defaultIfEmpty(accepted)
+                .onErrorResume(e -> {
+                    log.warn("Waiting for outcome of order {} failed, answering accepted", orderId, e);
+                    return Mono.just(accepted);
+                })
+                .toFuture())
+            .whenComplete((response, error) -> subscription.cancel());
+    }
+
+    /**
+     * Stream the status changes of an order until it reaches a terminal status.
+     *
+     * Starts with the current status if the order is already projected, then
+     * follows the projection's updates. Each stream holds its own subscription
+     * query whose update buffer is bounded; a subscriber that falls that far
+     * behind gets an error and can reconnect.
+     */
+    public Flux<OrderStatusUpdate> streamOrderStatus(UUID orderId) {
+        return Flux.using(
+                () -> queryGateway.subscriptionQuery(
+                    new FindOrderByIdQuery(orderId),
+                    ResponseTypes.optionalInstanceOf(OrderQueryModel.class),
+                    ResponseTypes.instanceOf(OrderStatusUpdate.class),
+                    statusStreamBufferSize
+                ),
+                subscription -> Flux.concat(
+                    subscription.initialResult().flatMap(Mono::justOrEmpty).map(this::toStatusUpdate),
+                    subscription.updates()
+                ),
+                SubscriptionQueryResult::cancel
+            )
+            .distinctUntilChanged(OrderStatusUpdate::status)
+            .takeUntil(update -> update.status().isTerminal())
+            .take(statusStreamMaxDuration);
+    }
+
+    private CreateOrderCommand toCommand(UUID orderId, CreateOrderRequest request) {
         // MVP: Fixed price for iPhone 17
         BigDecimal amount = IPHONE17_PRICE;
         int quantity = request.quantity() != null ? request.quantity() : 1;
@@ -50,22 +158,36 @@ public class OrderApplicationService {
         log.info("Creating order {} for customer {} - product: {}, quantity: {}, amount: {}",
             orderId, request.customerId(), request.productId(), quantity, amount);
 
-        CreateOrderCommand command = new CreateOrderCommand(
+        return new CreateOrderCommand(
             orderId,
             request.customerId(),
             request.productId(),
             quantity,
             amount
         );
+    }
 
-        return commandGateway.send(command)
-            .thenApply(result -> OrderResponse.accepted(orderId, now));
+    private CreateMultiItemOrderCommand toCommand(UUID orderId, CreateMultiItemOrderRequest request) {
+        // MVP: every product has the iPhone 17's fixed price
+        List<OrderItem> items = request.items().stream()
+            .map(item -> new OrderItem(item.productId(), item.quantity() != null ? item.quantity() : 1,
+                Money.of(IPHONE17_PRICE)))
+            .toList();
+
+        log.info("Creating order {} for customer {} - {} items", orderId, request.customerId(), items.size());
+
+        return new CreateMultiItemOrderCommand(orderId, request.customerId(), items);
     }
 
     /**
      * Get order by ID.
+     * Recent orders are served from the projection-fed cache without a query.
      */
     public CompletableFuture<Optional<OrderResponse>> getOrder(UUID orderId) {
+        Optional<OrderResponse> cached = orderCache.get(orderId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached);
+        }
         return queryGateway.query(
             new FindOrderByIdQuery(orderId),
             ResponseTypes.optionalInstanceOf(OrderQueryModel.class)
@@ -78,8 +200,9 @@ public class OrderApplicationService {
         return new OrderResponse(
             model.getOrderId(),
             model.getCustomerId(),
-            model.getProductId(),
-            model.getQuantity(),
+            model.getItems().stream()
+                .map(item -> new OrderResponse.Item(item.getProductId(), item.getQuantity()))
+                .toList(),
             model.getAmount(),
             model.getStatus(),
             model.getStatusMessage(),
@@ -88,6 +211,28 @@ public class OrderApplicationService {
         );
     }
 
+    private OrderStatusUpdate toStatusUpdate(OrderQueryModel model) {
+        return new OrderStatusUpdate(
+            model.getOrderId(),
+            model.getStatus(),
+            model.getStatusMessage(),
+            model.getUpdatedAt()
+        );
+    }
+
+    private OrderResponse toOrderResponse(CreateOrderCommand command, Instant createdAt, OrderStatusUpdate update) {
+        return new OrderResponse(
+            command.orderId(),
+            command.customerId(),
+            List.of(new OrderResponse.Item(command.productId(), command.quantity())),
+            command.amount(),
+            update.status(),
+            update.statusMessage(),
+            createdAt,
+            update.updatedAt()
+        );
+    }
+
     /**
      * Query to find order by ID.
      */
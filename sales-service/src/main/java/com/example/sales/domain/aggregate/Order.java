@@ -2,10 +2,14 @@ package com.example.sales.domain.aggregate;
 
 import com.example.shared.command.CancelOrderCommand;
 import com.example.shared.command.ConfirmOrderCommand;
+import com.example.shared.command.CreateMultiItemOrderCommand;
 import com.example.shared.command.CreateOrderCommand;
 import com.example.shared.event.OrderCancelledEvent;
 import com.example.shared.event.OrderConfirmedEvent;
+import com.example.shared.event.MultiItemOrderCreatedEvent;
 import com.example.shared.event.OrderCreatedEvent;
+import com.example.shared.valueobject.Money;
+import com.example.shared.valueobject.OrderItem;
 import com.example.shared.valueobject.OrderStatus;
 import org.axonframework.commandhandling.CommandHandler;
 import org.axonframework.eventsourcing.EventSourcingHandler;
@@ -15,13 +19,14 @@ import org.axonframework.spring.stereotype.Aggregate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Order aggregate root.
- * Manages the lifecycle and state of an order.
+ * Manages the lifecycle and state of an order, of one product or of several items.
  */
-@Aggregate
+@Aggregate(cache = "orderCache")
 public class Order {
 
     @AggregateIdentifier
@@ -29,6 +34,8 @@ public class Order {
     private String customerId;
     private String productId;
     private int quantity;
+    // Only for multi-item orders
+    private List<OrderItem> items;
     private BigDecimal amount;
     private OrderStatus status;
     private Instant createdAt;
@@ -51,6 +58,20 @@ public class Order {
         ));
     }
 
+    @CommandHandler
+    public Order(CreateMultiItemOrderCommand command) {
+        Money amount = command.items().stream()
+            .map(OrderItem::totalPrice)
+            .reduce(Money::add)
+            .orElseThrow();
+        AggregateLifecycle.apply(new MultiItemOrderCreatedEvent(
+            command.orderId(),
+            command.customerId(),
+            command.items(),
+            amount.amount()
+        ));
+    }
+
     @CommandHandler
     public void handle(ConfirmOrderCommand command) {
         if (status.isTerminal()) {
@@ -83,6 +104,17 @@ public class Order {
         this.updatedAt = event.timestamp();
     }
 
+    @EventSourcingHandler
+    public void on(MultiItemOrderCreatedEvent event) {
+        this.orderId = event.orderId();
+        this.customerId = event.customerId();
+        this.items = event.items();
+        this.amount = event.amount();
+        this.status = OrderStatus.PENDING;
+        this.createdAt = event.timestamp();
+        this.updatedAt = event.timestamp();
+    }
+
     @EventSourcingHandler
     public void on(OrderConfirmedEvent event) {
         this.status = OrderStatus.CONFIRMED;
@@ -112,6 +144,10 @@ public class Order {
         return quantity;
     }
 
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
     public BigDecimal getAmount() {
         return amount;
     }
@@ -1,10 +1,18 @@
 package com.example.sales.domain.saga;
 
+import com.example.sales.infrastructure.lease.CreditLeases;
+import com.example.sales.infrastructure.lease.StockLeases;
+import com.example.sales.infrastructure.metrics.SagaStepMetrics;
+import com.example.sales.infrastructure.retry.RetryableCommandGateway;
+import com.example.sales.infrastructure.timeout.AdaptiveOrderTimeout;
 import com.example.shared.command.*;
 import com.example.shared.event.*;
+import com.example.shared.valueobject.ProductQuantity;
 import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.deadline.DeadlineManager;
 import org.axonframework.deadline.annotation.DeadlineHandler;
+import org.axonframework.eventhandling.GenericEventMessage;
 import org.axonframework.modelling.saga.EndSaga;
 import org.axonframework.modelling.saga.SagaEventHandler;
 import org.axonframework.modelling.saga.StartSaga;
@@ -14,26 +22,49 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
-import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
  * OrderSaga coordinates the distributed transaction across Payment and Inventory services.
  * Implements the Choreography-based Saga pattern with compensation logic.
+ *
+ * The order is confirmed only once payment and inventory have both confirmed
+ * their reservations. A reservation can expire before the saga confirms it
+ * when the saga lags behind; the expiry then counts as that step's
+ * compensation and the order is cancelled.
  */
 @Saga
+@ProcessingGroup(OrderSaga.PROCESSING_GROUP)
 public class OrderSaga {
 
+    /** Axon's default processor name for this saga, kept so existing tokens stay valid. */
+    public static final String PROCESSING_GROUP = "OrderSagaProcessor";
+
     private static final Logger log = LoggerFactory.getLogger(OrderSaga.class);
     private static final String ORDER_TIMEOUT_DEADLINE = "order-timeout";
-    private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(15);
 
     @Autowired
     private transient CommandGateway commandGateway;
 
+    @Autowired
+    private transient RetryableCommandGateway retryableCommandGateway;
+
     @Autowired
     private transient DeadlineManager deadlineManager;
 
+    @Autowired
+    private transient SagaStepMetrics sagaStepMetrics;
+
+    @Autowired
+    private transient AdaptiveOrderTimeout orderTimeout;
+
+    @Autowired
+    private transient StockLeases stockLeases;
+
+    @Autowired
+    private transient CreditLeases creditLeases;
+
     // Saga state
     private UUID orderId;
     private String customerId;
@@ -43,6 +74,8 @@ public class OrderSaga {
 
     private UUID paymentReservationId;
     private UUID inventoryReservationId;
+    private UUID stockLeaseId;
+    private UUID creditLeaseId;
 
     private StepStatus paymentStatus = StepStatus.PENDING;
     private StepStatus inventoryStatus = StepStatus.PENDING;
@@ -50,45 +83,65 @@ public class OrderSaga {
     private String deadlineId;
     private String compensationReason;
     private boolean compensating = false;
+    private boolean timedOut = false;
+
+    // Step timestamps in epoch microseconds, 0 until reached
+    private long createdAtMicros;
+    private long paymentReservedAtMicros;
+    private long inventoryReservedAtMicros;
+    private long failedAtMicros;
 
     /**
      * Start the saga when an order is created.
-     * Sends commands to reserve payment and inventory.
+     * Sends commands to reserve payment and inventory, except for what a local
+     * lease covers.
      */
     @StartSaga
     @SagaEventHandler(associationProperty = "orderId")
     public void on(OrderCreatedEvent event) {
         log.info("Saga started for order: {}", event.orderId());
 
-        this.orderId = event.orderId();
-        this.customerId = event.customerId();
         this.productId = event.productId();
         this.quantity = event.quantity();
-        this.amount = event.amount();
+        start(event.orderId(), event.customerId(), event.amount(), event.timestamp());
+
+        // Hot products are taken from a local lease instead
+        this.stockLeaseId = stockLeases.tryDraw(productId, quantity);
+        if (stockLeaseId != null) {
+            this.inventoryStatus = StepStatus.SUCCESS;
+            this.inventoryReservedAtMicros = createdAtMicros;
+        } else {
+            commandGateway.send(new ReserveInventoryCommand(
+                inventoryReservationId,
+                orderId,
+                productId,
+                quantity
+            ));
+        }
 
-        // Schedule timeout deadline
-        this.deadlineId = deadlineManager.schedule(
-            TIMEOUT_DURATION,
-            ORDER_TIMEOUT_DEADLINE
-        );
+        // Both leased: nothing to wait for
+        checkCompletion();
+    }
 
-        // Generate reservation IDs
-        this.paymentReservationId = UUID.randomUUID();
-        this.inventoryReservationId = UUID.randomUUID();
+    /**
+     * Start the saga when an order of several items is created.
+     * All items are reserved with one inventory command, which is then confirmed
+     * or released by its reservation ID, so the saga keeps no items. Stock leases
+     * are not drawn from for these orders.
+     */
+    @StartSaga
+    @SagaEventHandler(associationProperty = "orderId")
+    public void on(MultiItemOrderCreatedEvent event) {
+        log.info("Saga started for order of {} items: {}", event.items().size(), event.orderId());
 
-        // Send commands to reserve payment and inventory in parallel
-        commandGateway.send(new ReservePaymentCommand(
-            paymentReservationId,
-            orderId,
-            customerId,
-            amount
-        ));
+        start(event.orderId(), event.customerId(), event.amount(), event.timestamp());
 
-        commandGateway.send(new ReserveInventoryCommand(
+        commandGateway.send(new ReserveInventoryItemsCommand(
             inventoryReservationId,
             orderId,
-            productId,
-            quantity
+            ProductQuantity.merged(event.items().stream()
+                .map(item -> new ProductQuantity(item.productId(), item.quantity()))
+                .toList())
         ));
     }
 
@@ -100,6 +153,8 @@ public class OrderSaga {
         log.info("Payment reserved for order: {}", orderId);
         this.paymentReservationId = event.reservationId();
         this.paymentStatus = StepStatus.SUCCESS;
+        this.paymentReservedAtMicros = SagaStepMetrics.epochMicros(event.timestamp());
+        recordReply(AdaptiveOrderTimeout.Downstream.PAYMENT, paymentReservedAtMicros);
         checkCompletion();
     }
 
@@ -110,7 +165,8 @@ public class OrderSaga {
     public void on(PaymentReservationFailedEvent event) {
         log.warn("Payment reservation failed for order: {} - {}", orderId, event.reason());
         this.paymentStatus = StepStatus.FAILED;
-        compensate("Payment failed: " + event.reason());
+        recordReply(AdaptiveOrderTimeout.Downstream.PAYMENT, SagaStepMetrics.epochMicros(event.timestamp()));
+        compensate("Payment failed: " + event.reason(), event.timestamp());
     }
 
     /**
@@ -118,10 +174,15 @@ public class OrderSaga {
      */
     @SagaEventHandler(associationProperty = "orderId")
     public void on(InventoryReservedEvent event) {
-        log.info("Inventory reserved for order: {}", orderId);
-        this.inventoryReservationId = event.reservationId();
-        this.inventoryStatus = StepStatus.SUCCESS;
-        checkCompletion();
+        inventoryReserved(event.reservationId(), event.timestamp());
+    }
+
+    /**
+     * Handle successful inventory reservation of all items of an order.
+     */
+    @SagaEventHandler(associationProperty = "orderId")
+    public void on(InventoryItemsReservedEvent event) {
+        inventoryReserved(event.reservationId(), event.timestamp());
     }
 
     /**
@@ -131,7 +192,8 @@ public class OrderSaga {
     public void on(InventoryReservationFailedEvent event) {
         log.warn("Inventory reservation failed for order: {} - {}", orderId, event.reason());
         this.inventoryStatus = StepStatus.FAILED;
-        compensate("Inventory failed: " + event.reason());
+        recordReply(AdaptiveOrderTimeout.Downstream.INVENTORY, SagaStepMetrics.epochMicros(event.timestamp()));
+        compensate("Inventory failed: " + event.reason(), event.timestamp());
     }
 
     /**
@@ -140,6 +202,8 @@ public class OrderSaga {
     @SagaEventHandler(associationProperty = "orderId")
     public void on(PaymentConfirmedEvent event) {
         log.info("Payment confirmed for order: {}", orderId);
+        this.paymentStatus = StepStatus.CONFIRMED;
+        checkConfirmed();
     }
 
     /**
@@ -147,7 +211,39 @@ public class OrderSaga {
      */
     @SagaEventHandler(associationProperty = "orderId")
     public void on(InventoryConfirmedEvent event) {
+        // A multi-item reservation is confirmed with one event per item
+        if (inventoryStatus == StepStatus.CONFIRMED) {
+            return;
+        }
         log.info("Inventory confirmed for order: {}", orderId);
+        this.inventoryStatus = StepStatus.CONFIRMED;
+        checkConfirmed();
+    }
+
+    /**
+     * Handle payment reservation expiry. Its credit has been returned already,
+     * so there is nothing left to release at payment.
+     */
+    @SagaEventHandler(associationProperty = "orderId")
+    public void on(PaymentReservationExpiredEvent event) {
+        log.warn("Payment reservation expired for order: {}", orderId);
+        this.paymentStatus = StepStatus.EXPIRED;
+        reservationExpired("Payment reservation expired", event.timestamp());
+    }
+
+    /**
+     * Handle inventory reservation expiry. Its stock has been returned already,
+     * so there is nothing left to release at inventory.
+     */
+    @SagaEventHandler(associationProperty = "orderId")
+    public void on(InventoryReservationExpiredEvent event) {
+        // A multi-item reservation expires with one event per item
+        if (inventoryStatus == StepStatus.EXPIRED) {
+            return;
+        }
+        log.warn("Inventory reservation expired for order: {}", orderId);
+        this.inventoryStatus = StepStatus.EXPIRED;
+        reservationExpired("Inventory reservation expired", event.timestamp());
     }
 
     /**
@@ -165,6 +261,10 @@ public class OrderSaga {
      */
     @SagaEventHandler(associationProperty = "orderId")
     public void on(InventoryReleasedEvent event) {
+        // A multi-item reservation is released with one event per item
+        if (inventoryStatus == StepStatus.COMPENSATED) {
+            return;
+        }
         log.info("Inventory released for order: {}", orderId);
         this.inventoryStatus = StepStatus.COMPENSATED;
         checkCompensationComplete();
@@ -178,6 +278,10 @@ public class OrderSaga {
     public void on(OrderConfirmedEvent event) {
         log.info("Order confirmed, ending saga: {}", orderId);
         cancelDeadline();
+        long endedAtMicros = SagaStepMetrics.epochMicros(event.timestamp());
+        recordReservationLatencies(SagaStepMetrics.Outcome.CONFIRMED);
+        sagaStepMetrics.record(SagaStepMetrics.Step.CONFIRMATION, SagaStepMetrics.Outcome.CONFIRMED,
+            Math.max(paymentReservedAtMicros, inventoryReservedAtMicros), endedAtMicros);
     }
 
     /**
@@ -188,6 +292,12 @@ public class OrderSaga {
     public void on(OrderCancelledEvent event) {
         log.info("Order cancelled, ending saga: {}", orderId);
         cancelDeadline();
+        SagaStepMetrics.Outcome outcome = event.isTimeout()
+            ? SagaStepMetrics.Outcome.TIMED_OUT
+            : SagaStepMetrics.Outcome.CANCELLED;
+        recordReservationLatencies(outcome);
+        sagaStepMetrics.record(SagaStepMetrics.Step.COMPENSATION, outcome,
+            failedAtMicros, SagaStepMetrics.epochMicros(event.timestamp()));
     }
 
     /**
@@ -196,53 +306,159 @@ public class OrderSaga {
     @DeadlineHandler(deadlineName = ORDER_TIMEOUT_DEADLINE)
     public void onTimeout() {
         log.warn("Order timeout for: {}", orderId);
-        compensate("Operation timed out");
+        timedOut = true;
+        orderTimeout.timedOut(orderId, createdAtMicros,
+            paymentStatus == StepStatus.PENDING, inventoryStatus == StepStatus.PENDING);
+        compensate("Operation timed out", GenericEventMessage.clock.instant());
         commandGateway.send(CancelOrderCommand.forTimeout(orderId));
     }
 
     /**
-     * Check if both reservations are successful and confirm the order.
+     * Take over the order, schedule its timeout and reserve its payment, from a
+     * local credit lease if one covers it.
+     */
+    private void start(UUID orderId, String customerId, BigDecimal amount, Instant createdAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.amount = amount;
+        this.createdAtMicros = SagaStepMetrics.epochMicros(createdAt);
+
+        // Schedule timeout deadline, sized from the recent reservation latencies
+        this.deadlineId = deadlineManager.schedule(
+            orderTimeout.timeout(),
+            ORDER_TIMEOUT_DEADLINE
+        );
+
+        // Generate reservation IDs
+        this.paymentReservationId = UUID.randomUUID();
+        this.inventoryReservationId = UUID.randomUUID();
+
+        // Payment and inventory are reserved in parallel; hot customers are
+        // taken from a local lease instead
+        this.creditLeaseId = creditLeases.tryDraw(customerId, amount);
+        if (creditLeaseId != null) {
+            this.paymentStatus = StepStatus.SUCCESS;
+            this.paymentReservedAtMicros = createdAtMicros;
+        } else {
+            commandGateway.send(new ReservePaymentCommand(
+                paymentReservationId,
+                orderId,
+                customerId,
+                amount
+            ));
+        }
+    }
+
+    private void inventoryReserved(UUID reservationId, Instant reservedAt) {
+        log.info("Inventory reserved for order: {}", orderId);
+        this.inventoryReservationId = reservationId;
+        this.inventoryStatus = StepStatus.SUCCESS;
+        this.inventoryReservedAtMicros = SagaStepMetrics.epochMicros(reservedAt);
+        recordReply(AdaptiveOrderTimeout.Downstream.INVENTORY, inventoryReservedAtMicros);
+        checkCompletion();
+    }
+
+    /**
+     * Check if both reservations are successful and confirm them. The order
+     * itself is confirmed once both confirmations are in.
      */
     private void checkCompletion() {
         if (paymentStatus == StepStatus.SUCCESS && inventoryStatus == StepStatus.SUCCESS) {
-            log.info("Both reservations successful, confirming order: {}", orderId);
+            log.info("Both reservations successful, confirming reservations of order: {}", orderId);
 
             // Cancel the timeout deadline
             cancelDeadline();
 
-            // Confirm payment and inventory
-            commandGateway.send(new ConfirmPaymentCommand(paymentReservationId, orderId));
-            commandGateway.send(new ConfirmInventoryCommand(inventoryReservationId, orderId));
+            // Confirm payment and inventory; a lease is consumed locally, so it counts as confirmed
+            if (creditLeaseId != null) {
+                // Retried, since a lost consume lets the lease hand the credit back to the customer
+                retryableCommandGateway.sendWithRetry(new ConsumeCreditLeaseCommand(creditLeaseId, orderId, amount));
+                paymentStatus = StepStatus.CONFIRMED;
+            } else {
+                commandGateway.send(new ConfirmPaymentCommand(paymentReservationId, orderId));
+            }
+            if (stockLeaseId != null) {
+                // Retried, since a lost consume lets the lease hand the units back to inventory
+                retryableCommandGateway.sendWithRetry(new ConsumeStockLeaseCommand(stockLeaseId, orderId, quantity));
+                inventoryStatus = StepStatus.CONFIRMED;
+            } else {
+                commandGateway.send(new ConfirmInventoryCommand(inventoryReservationId, orderId));
+            }
+
+            checkConfirmed();
+        }
+    }
 
-            // Confirm the order
+    /**
+     * Confirm the order once payment and inventory have both confirmed their reservations.
+     */
+    private void checkConfirmed() {
+        if (compensating) {
+            // The other reservation expired first; the order is being cancelled regardless
+            log.error("Order {} is cancelled after one of its reservations was confirmed: {}",
+                orderId, compensationReason);
+            checkCompensationComplete();
+            return;
+        }
+        if (paymentStatus == StepStatus.CONFIRMED && inventoryStatus == StepStatus.CONFIRMED) {
+            log.info("Both reservations confirmed, confirming order: {}", orderId);
             commandGateway.send(new ConfirmOrderCommand(orderId));
         }
     }
 
+    /**
+     * A reservation expired before the saga confirmed or released it: cancel the
+     * order, releasing whatever the other step still holds.
+     */
+    private void reservationExpired(String reason, Instant expiredAt) {
+        if (paymentStatus == StepStatus.CONFIRMED || inventoryStatus == StepStatus.CONFIRMED) {
+            // Confirmations cannot be undone here; the order is cancelled all the same
+            log.error("Order {} is cancelled after one of its reservations was confirmed: {}", orderId, reason);
+        }
+        if (compensating) {
+            checkCompensationComplete();
+        } else {
+            compensate(reason, expiredAt);
+        }
+    }
+
     /**
      * Perform compensation for failed reservations.
      */
-    private void compensate(String reason) {
+    private void compensate(String reason, Instant failedAt) {
         // Avoid duplicate compensation
         if (compensating) {
             return;
         }
         compensating = true;
         compensationReason = reason;
+        failedAtMicros = SagaStepMetrics.epochMicros(failedAt);
 
         log.info("Starting compensation for order: {}", orderId);
 
         // Cancel the timeout deadline
         cancelDeadline();
 
-        // Release payment if reserved
+        // Leased credit goes back to the local lease; there is nothing to release at payment
+        if (paymentStatus == StepStatus.SUCCESS && creditLeaseId != null) {
+            creditLeases.giveBack(creditLeaseId, amount);
+            paymentStatus = StepStatus.COMPENSATED;
+        }
+
+        // Release payment if reserved (retried, since a lost release leaks credit)
         if (paymentStatus == StepStatus.SUCCESS) {
-            commandGateway.send(new ReleasePaymentCommand(paymentReservationId, orderId, reason));
+            retryableCommandGateway.sendWithRetry(new ReleasePaymentCommand(paymentReservationId, orderId, reason));
+        }
+
+        // Leased units go back to the local lease; there is nothing to release at inventory
+        if (inventoryStatus == StepStatus.SUCCESS && stockLeaseId != null) {
+            stockLeases.giveBack(stockLeaseId, quantity);
+            inventoryStatus = StepStatus.COMPENSATED;
         }
 
-        // Release inventory if reserved
+        // Release inventory if reserved (retried, since a lost release leaks stock)
         if (inventoryStatus == StepStatus.SUCCESS) {
-            commandGateway.send(new ReleaseInventoryCommand(inventoryReservationId, orderId, reason));
+            retryableCommandGateway.sendWithRetry(new ReleaseInventoryCommand(inventoryReservationId, orderId, reason));
         }
 
         // If neither was reserved, cancel the order directly
@@ -258,10 +474,14 @@ public class OrderSaga {
         // Check if all compensations are complete
         boolean paymentDone = paymentStatus == StepStatus.COMPENSATED ||
                               paymentStatus == StepStatus.FAILED ||
-                              paymentStatus == StepStatus.PENDING;
+                              paymentStatus == StepStatus.PENDING ||
+                              paymentStatus == StepStatus.EXPIRED ||
+                              paymentStatus == StepStatus.CONFIRMED;
         boolean inventoryDone = inventoryStatus == StepStatus.COMPENSATED ||
                                 inventoryStatus == StepStatus.FAILED ||
-                                inventoryStatus == StepStatus.PENDING;
+                                inventoryStatus == StepStatus.PENDING ||
+                                inventoryStatus == StepStatus.EXPIRED ||
+                                inventoryStatus == StepStatus.CONFIRMED;
 
         if (paymentDone && inventoryDone && compensating) {
             log.info("Compensation complete for order: {}", orderId);
@@ -269,6 +489,26 @@ public class OrderSaga {
         }
     }
 
+    /**
+     * Record how long each reservation took, for the reservations that succeeded.
+     */
+    private void recordReservationLatencies(SagaStepMetrics.Outcome outcome) {
+        sagaStepMetrics.record(SagaStepMetrics.Step.PAYMENT_RESERVED, outcome,
+            createdAtMicros, paymentReservedAtMicros);
+        sagaStepMetrics.record(SagaStepMetrics.Step.INVENTORY_RESERVED, outcome,
+            createdAtMicros, inventoryReservedAtMicros);
+    }
+
+    /**
+     * Feed a reservation reply into the timeout estimate. Replies after the
+     * timeout are recorded by the policy itself, as evidence of a spurious timeout.
+     */
+    private void recordReply(AdaptiveOrderTimeout.Downstream downstream, long repliedAtMicros) {
+        if (!timedOut) {
+            orderTimeout.recordReply(downstream, createdAtMicros, repliedAtMicros);
+        }
+    }
+
     /**
      * Cancel the timeout deadline if it exists.
      */
@@ -286,6 +526,8 @@ public class OrderSaga {
         PENDING,
         SUCCESS,
         FAILED,
-        COMPENSATED
+        COMPENSATED,
+        CONFIRMED,
+        EXPIRED
     }
 }
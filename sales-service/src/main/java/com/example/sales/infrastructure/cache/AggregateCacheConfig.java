@@ -0,0 +1,31 @@
+package com.example.sales.infrastructure.cache;
+
+import com.example.sales.domain.aggregate.Order;
+import com.example.shared.caching.WeightedAggregateCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache of loaded Order aggregates, named on the Order's {@code @Aggregate}.
+ *
+ * Confirm and cancel commands arrive seconds after the order was created; with
+ * the order cached they skip replaying its events. Weights are approximate bytes:
+ * {@code base-weight} per order plus {@code item-weight} per line of a multi-item
+ * order, so {@code max-weight} bounds the cache's memory whatever the basket sizes.
+ * With {@code sales.command-bus.disruptor.enabled} the disruptor's own repository
+ * and cache are used instead.
+ */
+@Configuration
+public class AggregateCacheConfig {
+
+    @Bean
+    public WeightedAggregateCache orderCache(
+            @Value("${sales.aggregate-cache.max-weight:67108864}") long maxWeight,
+            @Value("${sales.aggregate-cache.base-weight:512}") long baseWeight,
+            @Value("${sales.aggregate-cache.item-weight:128}") long itemWeight) {
+        return WeightedAggregateCache.weighingAggregates("Order", maxWeight, Order.class,
+            order -> baseWeight + (order.getItems() != null ? order.getItems().size() * itemWeight : 0),
+            baseWeight);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.sales.infrastructure.commandbus;
+
+import com.example.sales.domain.aggregate.Order;
+import org.axonframework.common.caching.WeakReferenceCache;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.disruptor.commandhandling.DisruptorCommandBus;
+import org.axonframework.eventsourcing.GenericAggregateFactory;
+import org.axonframework.eventsourcing.NoSnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.eventstore.EventStore;
+import org.axonframework.modelling.command.Repository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Handles Order commands on a {@link DisruptorCommandBus} when
+ * {@code sales.command-bus.disruptor.enabled} is set.
+ *
+ * The disruptor becomes the local segment behind the Axon Server command bus, so
+ * remote routing is unchanged. Commands are put on a ring buffer and handled by a
+ * fixed set of invoker threads; a command for an order always goes to the same
+ * invoker, which keeps the loaded aggregate in its own cache instead of replaying
+ * the event stream and locking it for every command. Publisher threads then store
+ * and publish the events of consecutive commands, off the invoker threads.
+ *
+ * The Order repository must be created by the bus, so it is registered under
+ * Axon's default bean name "orderRepository", which the aggregate configuration
+ * picks up in place of its own EventSourcingRepository.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sales.command-bus.disruptor", name = "enabled", havingValue = "true")
+public class DisruptorCommandBusConfig {
+
+    @Bean(destroyMethod = "stop")
+    @Qualifier("localSegment")
+    public DisruptorCommandBus disruptorCommandBus(
+            org.axonframework.config.Configuration configuration,
+            TransactionManager transactionManager,
+            @Value("${sales.command-bus.disruptor.buffer-size:4096}") int bufferSize,
+            @Value("${sales.command-bus.disruptor.invoker-threads:2}") int invokerThreads,
+            @Value("${sales.command-bus.disruptor.publisher-threads:1}") int publisherThreads,
+            @Value("${sales.command-bus.disruptor.cooling-down-period:1s}") Duration coolingDownPeriod) {
+        if (Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Disruptor buffer size must be a power of two: " + bufferSize);
+        }
+        return DisruptorCommandBus.builder()
+            .transactionManager(transactionManager)
+            .messageMonitor(configuration.messageMonitor(DisruptorCommandBus.class, "commandBus"))
+            .bufferSize(bufferSize)
+            .invokerThreadCount(invokerThreads)
+            .publisherThreadCount(publisherThreads)
+            .coolingDownPeriod(coolingDownPeriod.toMillis())
+            // Aggregates evicted from an invoker's own cache are found here while still referenced
+            .cache(new WeakReferenceCache())
+            .build();
+    }
+
+    @Bean
+    public Repository<Order> orderRepository(DisruptorCommandBus disruptorCommandBus,
+                                             EventStore eventStore,
+                                             org.axonframework.config.Configuration configuration) {
+        return disruptorCommandBus.createRepository(
+            eventStore,
+            new GenericAggregateFactory<>(Order.class),
+            NoSnapshotTriggerDefinition.INSTANCE,
+            configuration.parameterResolverFactory(),
+            configuration.handlerDefinition(Order.class),
+            configuration::repository
+        );
+    }
+}
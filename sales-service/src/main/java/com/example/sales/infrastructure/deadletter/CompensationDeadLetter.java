@@ -0,0 +1,125 @@
+package com.example.sales.infrastructure.deadletter;
+
+import java.time.Instant;
+
+/**
+ * A compensation command that exhausted its retries.
+ *
+ * Entries are never deleted; the payload and failure are written once and
+ * replay only stamps the outcome, so the table doubles as an audit log.
+ */
+public class CompensationDeadLetter {
+
+    private Long sequenceId;
+    private final String commandType;
+    private final String payload;
+    private final String failure;
+    private final Instant enqueuedAt;
+    private Status status;
+    private int replayAttempts;
+    private Instant lastReplayAt;
+    private String lastReplayFailure;
+
+    public CompensationDeadLetter(String commandType, String payload, String failure, Instant enqueuedAt) {
+        this.commandType = commandType;
+        this.payload = payload;
+        this.failure = truncate(failure);
+        this.enqueuedAt = enqueuedAt;
+        this.status = Status.PENDING;
+    }
+
+    /**
+     * Rebuild an entry read back from the store.
+     */
+    CompensationDeadLetter(long sequenceId, String commandType, String payload, String failure, Instant enqueuedAt,
+                           Status status, int replayAttempts, Instant lastReplayAt, String lastReplayFailure) {
+        this.sequenceId = sequenceId;
+        this.commandType = commandType;
+        this.payload = payload;
+        this.failure = failure;
+        this.enqueuedAt = enqueuedAt;
+        this.status = status;
+        this.replayAttempts = replayAttempts;
+        this.lastReplayAt = lastReplayAt;
+        this.lastReplayFailure = lastReplayFailure;
+    }
+
+    void assignSequenceId(long sequenceId) {
+        this.sequenceId = sequenceId;
+    }
+
+    public void markReplayed(Instant timestamp) {
+        recordAttempt(timestamp);
+        this.status = Status.REPLAYED;
+        this.lastReplayFailure = null;
+    }
+
+    /**
+     * The handler ran and refused the command, e.g. the reservation was already released.
+     */
+    public void markRejected(Instant timestamp, String reason) {
+        recordAttempt(timestamp);
+        this.status = Status.REJECTED;
+        this.lastReplayFailure = truncate(reason);
+    }
+
+    public void recordFailedReplay(Instant timestamp, String reason) {
+        recordAttempt(timestamp);
+        this.lastReplayFailure = truncate(reason);
+    }
+
+    private void recordAttempt(Instant timestamp) {
+        this.replayAttempts++;
+        this.lastReplayAt = timestamp;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    // Getters
+    public Long getSequenceId() {
+        return sequenceId;
+    }
+
+    public String getCommandType() {
+        return commandType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public Instant getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getReplayAttempts() {
+        return replayAttempts;
+    }
+
+    public Instant getLastReplayAt() {
+        return lastReplayAt;
+    }
+
+    public String getLastReplayFailure() {
+        return lastReplayFailure;
+    }
+
+    /**
+     * Replay state of an entry.
+     */
+    public enum Status {
+        PENDING,
+        REPLAYED,
+        REJECTED
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.sales.infrastructure.deadletter;
+
+import com.example.sales.infrastructure.retry.DeadLetterQueue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC-backed dead-letter store for compensation commands.
+ *
+ * The table lives in its own database, normally an H2 file, rather than the
+ * service's in-memory datasource, so entries survive a restart. Commands are
+ * kept as JSON with their class name. Only classes from the shared command
+ * package are read back, so a tampered row cannot make the replay worker
+ * instantiate arbitrary types.
+ */
+public class CompensationDeadLetterStore implements DeadLetterQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(CompensationDeadLetterStore.class);
+    private static final String COMMAND_PACKAGE = "com.example.shared.command.";
+
+    private static final String CREATE_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS compensation_dead_letters (
+            sequence_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+            command_type VARCHAR(255) NOT NULL,
+            payload CLOB NOT NULL,
+            failure VARCHAR(1000),
+            enqueued_at TIMESTAMP NOT NULL,
+            status VARCHAR(16) NOT NULL,
+            replay_attempts INT NOT NULL,
+            last_replay_at TIMESTAMP,
+            last_replay_failure VARCHAR(1000)
+        )""";
+    private static final String CREATE_INDEX_SQL =
+        "CREATE INDEX IF NOT EXISTS idx_dead_letter_status_seq ON compensation_dead_letters (status, sequence_id)";
+    private static final String INSERT_SQL =
+        "INSERT INTO compensation_dead_letters (command_type, payload, failure, enqueued_at, status, replay_attempts)"
+            + " VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String UPDATE_SQL =
+        "UPDATE compensation_dead_letters SET status = ?, replay_attempts = ?, last_replay_at = ?,"
+            + " last_replay_failure = ? WHERE sequence_id = ?";
+    private static final String SELECT_PENDING_SQL =
+        "SELECT * FROM compensation_dead_letters WHERE status = 'PENDING' ORDER BY sequence_id LIMIT ?";
+    private static final String COUNT_PENDING_SQL =
+        "SELECT COUNT(*) FROM compensation_dead_letters WHERE status = 'PENDING'";
+
+    private static final RowMapper<CompensationDeadLetter> ROW_MAPPER = (rs, rowNum) -> new CompensationDeadLetter(
+        rs.getLong("sequence_id"),
+        rs.getString("command_type"),
+        rs.getString("payload"),
+        rs.getString("failure"),
+        rs.getTimestamp("enqueued_at").toInstant(),
+        CompensationDeadLetter.Status.valueOf(rs.getString("status")),
+        rs.getInt("replay_attempts"),
+        toInstant(rs.getTimestamp("last_replay_at")),
+        rs.getString("last_replay_failure")
+    );
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CompensationDeadLetterStore(DataSource dataSource, ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+    }
+
+    @Override
+    public void enqueue(Object command, Throwable cause) {
+        String commandType = command.getClass().getName();
+        try {
+            CompensationDeadLetter entry = new CompensationDeadLetter(
+                commandType,
+                objectMapper.writeValueAsString(command),
+                cause != null ? cause.getClass().getSimpleName() + ": " + cause.getMessage() : null,
+                Instant.now()
+            );
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, entry.getCommandType());
+                ps.setString(2, entry.getPayload());
+                ps.setString(3, entry.getFailure());
+                ps.setTimestamp(4, Timestamp.from(entry.getEnqueuedAt()));
+                ps.setString(5, entry.getStatus().name());
+                return ps;
+            }, keyHolder);
+            entry.assignSequenceId(keyHolder.getKey().longValue());
+            log.warn("Dead-lettered compensation command {} as entry {}", commandType, entry.getSequenceId());
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Nothing else will keep this command; make sure it is at least in the log
+            log.error("Could not dead-letter compensation command {}: {}", commandType, command, e);
+        }
+    }
+
+    /**
+     * Oldest pending entries first.
+     */
+    public List<CompensationDeadLetter> pending(int limit) {
+        return jdbcTemplate.query(SELECT_PENDING_SQL, ROW_MAPPER, limit);
+    }
+
+    public Optional<CompensationDeadLetter> oldestPending() {
+        return pending(1).stream().findFirst();
+    }
+
+    public long depth() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Write back the replay outcome; the payload and original failure are never updated.
+     */
+    public void save(CompensationDeadLetter entry) {
+        jdbcTemplate.update(UPDATE_SQL,
+            entry.getStatus().name(),
+            entry.getReplayAttempts(),
+            entry.getLastReplayAt() != null ? Timestamp.from(entry.getLastReplayAt()) : null,
+            entry.getLastReplayFailure(),
+            entry.getSequenceId());
+    }
+
+    /**
+     * Rebuild the command stored in an entry.
+     *
+     * @throws IllegalStateException if the entry does not hold a shared command
+     */
+    public Object toCommand(CompensationDeadLetter entry) {
+        if (!entry.getCommandType().startsWith(COMMAND_PACKAGE)) {
+            throw new IllegalStateException("Not a compensation command: " + entry.getCommandType());
+        }
+        try {
+            return objectMapper.readValue(entry.getPayload(), Class.forName(entry.getCommandType()));
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read dead-lettered command " + entry.getSequenceId(), e);
+        }
+    }
+
+    /**
+     * Close the store's own connection pool.
+     */
+    public void shutdown() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.sales.infrastructure.deadletter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Creates the {@link CompensationDeadLetterStore} from {@code sales.dead-letter.store.*}
+ * and starts the {@link DeadLetterReplayWorker} with {@code sales.dead-letter.replay.*} settings.
+ */
+@Configuration
+public class DeadLetterReplayConfig {
+
+    /**
+     * The store's pool is not a DataSource bean, so it does not replace the
+     * service's auto-configured datasource.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public CompensationDeadLetterStore compensationDeadLetterStore(
+            ObjectMapper objectMapper,
+            @Value("${sales.dead-letter.store.url:jdbc:h2:file:./data/sales-dead-letters}") String url,
+            @Value("${sales.dead-letter.store.username:sa}") String username,
+            @Value("${sales.dead-letter.store.password:}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("dead-letter-store");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(2);
+        return new CompensationDeadLetterStore(dataSource, objectMapper);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public DeadLetterReplayWorker deadLetterReplayWorker(
+            CompensationDeadLetterStore store,
+            CommandGateway commandGateway,
+            @Value("${sales.dead-letter.replay.batch-size:50}") int batchSize,
+            @Value("${sales.dead-letter.replay.interval:5s}") Duration interval,
+            @Value("${sales.dead-letter.replay.send-timeout:5s}") Duration sendTimeout) {
+        return new DeadLetterReplayWorker(store, commandGateway, batchSize, interval, sendTimeout);
+    }
+}
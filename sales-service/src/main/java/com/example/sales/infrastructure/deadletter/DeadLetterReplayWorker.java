@@ -0,0 +1,238 @@
+package com.example.sales.infrastructure.deadletter;
+
+import com.example.shared.exception.ReservationSettledException;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-dispatches dead-lettered compensation commands in throttled batches.
+ *
+ * Each run first replays the oldest entry on its own. If that fails for a
+ * reason other than the handler refusing it, the downstream service is taken
+ * to be still down and the run ends there, so an outage costs one probe per
+ * interval. Otherwise the rest of the batch is sent together. At most
+ * {@code batchSize} entries are replayed per {@code interval}.
+ *
+ * Only a {@link ReservationSettledException}, recognised by its error code
+ * rather than its message, settles an entry as rejected; any other failure
+ * leaves it pending.
+ */
+public class DeadLetterReplayWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplayWorker.class);
+    private static final long DRAIN_RATE_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final CompensationDeadLetterStore store;
+    private final CommandGateway commandGateway;
+    private final int batchSize;
+    private final Duration interval;
+    private final Duration sendTimeout;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong replayedTotal = new AtomicLong();
+    private final AtomicLong rejectedTotal = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final Deque<long[]> recentDrains = new ArrayDeque<>();
+    private volatile Instant lastRunAt;
+
+    public DeadLetterReplayWorker(CompensationDeadLetterStore store,
+                                  CommandGateway commandGateway,
+                                  int batchSize,
+                                  Duration interval,
+                                  Duration sendTimeout) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.store = store;
+        this.commandGateway = commandGateway;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.sendTimeout = sendTimeout;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dead-letter-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::replaySafely, interval.toMillis(), interval.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Run one replay batch now, on the worker thread.
+     */
+    public CompletableFuture<Integer> triggerReplay() {
+        return CompletableFuture.supplyAsync(this::replayBatch, scheduler);
+    }
+
+    /**
+     * Replay one batch.
+     *
+     * @return the number of entries settled (replayed or rejected)
+     */
+    synchronized int replayBatch() {
+        lastRunAt = Instant.now();
+        List<CompensationDeadLetter> batch = store.pending(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int settled = 0;
+        Outcome probe = settle(batch.get(0), send(batch.get(0)));
+        if (probe == Outcome.FAILED) {
+            log.info("Dead-letter replay probe failed, {} entries still pending", store.depth());
+            return 0;
+        }
+        settled++;
+
+        List<CompletableFuture<Object>> sent = new ArrayList<>(batch.size() - 1);
+        for (int i = 1; i < batch.size(); i++) {
+            sent.add(send(batch.get(i)));
+        }
+        for (int i = 1; i < batch.size(); i++) {
+            if (settle(batch.get(i), sent.get(i - 1)) != Outcome.FAILED) {
+                settled++;
+            }
+        }
+
+        recordDrain(settled);
+        log.info("Dead-letter replay settled {} of {} entries", settled, batch.size());
+        return settled;
+    }
+
+    public Stats stats() {
+        Instant oldest = store.oldestPending().map(CompensationDeadLetter::getEnqueuedAt).orElse(null);
+        return new Stats(
+            store.depth(),
+            replayedTotal.get(),
+            rejectedTotal.get(),
+            failedAttempts.get(),
+            drainRatePerSecond(),
+            oldest,
+            lastRunAt
+        );
+    }
+
+    private void replaySafely() {
+        try {
+            replayBatch();
+        } catch (RuntimeException e) {
+            log.error("Dead-letter replay run failed", e);
+        }
+    }
+
+    private CompletableFuture<Object> send(CompensationDeadLetter entry) {
+        try {
+            return commandGateway.send(store.toCommand(entry));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Outcome settle(CompensationDeadLetter entry, CompletableFuture<Object> result) {
+        Instant now = Instant.now();
+        Outcome outcome;
+        try {
+            result.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            entry.markReplayed(now);
+            replayedTotal.incrementAndGet();
+            outcome = Outcome.REPLAYED;
+        } catch (ExecutionException e) {
+            if (ReservationSettledException.isCauseOf(e.getCause())) {
+                // The handler ran and refused, e.g. the reservation was already released
+                entry.markRejected(now, e.getCause().getMessage());
+                rejectedTotal.incrementAndGet();
+                outcome = Outcome.REJECTED;
+            } else {
+                entry.recordFailedReplay(now, String.valueOf(e.getCause()));
+                failedAttempts.incrementAndGet();
+                outcome = Outcome.FAILED;
+            }
+        } catch (TimeoutException e) {
+            entry.recordFailedReplay(now, "Timed out after " + sendTimeout);
+            failedAttempts.incrementAndGet();
+            outcome = Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entry.recordFailedReplay(now, "Interrupted");
+            outcome = Outcome.FAILED;
+        }
+        store.save(entry);
+        return outcome;
+    }
+
+    private void recordDrain(int settled) {
+        long now = System.nanoTime();
+        synchronized (recentDrains) {
+            recentDrains.addLast(new long[]{now, settled});
+            evictOldDrains(now);
+        }
+    }
+
+    private double drainRatePerSecond() {
+        long now = System.nanoTime();
+        synchronized (recentDrains) {
+            evictOldDrains(now);
+            long settled = 0;
+            for (long[] drain : recentDrains) {
+                settled += drain[1];
+            }
+            return settled / (DRAIN_RATE_WINDOW_NANOS / 1_000_000_000.0);
+        }
+    }
+
+    private void evictOldDrains(long now) {
+        while (!recentDrains.isEmpty() && now - recentDrains.peekFirst()[0] > DRAIN_RATE_WINDOW_NANOS) {
+            recentDrains.removeFirst();
+        }
+    }
+
+    private enum Outcome {
+        REPLAYED,
+        REJECTED,
+        FAILED
+    }
+
+    /**
+     * Dead-letter queue state.
+     *
+     * @param queueDepth         entries waiting for replay
+     * @param replayedTotal      entries replayed successfully since start
+     * @param rejectedTotal      entries the handler refused on replay since start
+     * @param failedAttempts     replays that failed and stay pending, since start
+     * @param drainRatePerSecond entries settled per second over the last minute
+     * @param oldestPendingAt    when the oldest pending entry was dead-lettered
+     * @param lastRunAt          when the worker last ran
+     */
+    public record Stats(
+        long queueDepth,
+        long replayedTotal,
+        long rejectedTotal,
+        long failedAttempts,
+        double drainRatePerSecond,
+        Instant oldestPendingAt,
+        Instant lastRunAt
+    ) {
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.sales.infrastructure.deadline;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel with O(1) schedule and cancel.
+ *
+ * Timeouts are hashed into a fixed ring of buckets by their expiry tick.
+ * Scheduling and cancelling are thread-safe and only enqueue work; the bucket
+ * lists are owned by the single thread that calls {@link #advanceTo(long, Consumer)},
+ * which also hands every timeout that expired during a tick over in one pass.
+ * A timeout expires on the first tick at or after its deadline, so it may fire
+ * up to one tick late but never early.
+ *
+ * @param <T> The task type carried by each timeout
+ */
+public class TimingWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket<T>[] buckets;
+    private final long startNanos;
+
+    private final Queue<Timeout<T>> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+
+    // Only accessed by the thread advancing the wheel
+    private long currentTick;
+
+    /**
+     * @param tickDuration Resolution of the wheel
+     * @param unit         Unit of the tick duration
+     * @param wheelSize    Number of buckets, rounded up to a power of two
+     * @param startNanos   Reference time the first tick is measured from
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize, long startNanos) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.mask = size - 1;
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.buckets[i] = new Bucket<>();
+        }
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Schedule a task to expire after the given delay. Safe to call from any thread.
+     *
+     * @param task       The task to hand over on expiry
+     * @param delayNanos Delay relative to {@code nowNanos}
+     * @param nowNanos   Current time on the same clock as {@code startNanos}
+     * @return A handle that can be used to cancel the timeout
+     */
+    public Timeout<T> schedule(T task, long delayNanos, long nowNanos) {
+        long deadline = Math.max(nowNanos + Math.max(delayNanos, 0) - startNanos, 0);
+        Timeout<T> timeout = new Timeout<>(this, task, deadline);
+        pendingTimeouts.incrementAndGet();
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advance the wheel to the given time, handing every expired task to the consumer.
+     * Must only be called from a single thread at a time.
+     *
+     * @return The number of tasks that expired
+     */
+    public int advanceTo(long nowNanos, Consumer<? super T> expired) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        int expiredCount = 0;
+        while (currentTick <= targetTick) {
+            removeCancelled();
+            transferScheduled();
+            Bucket<T> bucket = buckets[(int) (currentTick & mask)];
+            expiredCount += bucket.expire(expired);
+            currentTick++;
+        }
+        return expiredCount;
+    }
+
+    /**
+     * Number of timeouts that are neither expired nor cancelled.
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    public long tickNanos() {
+        return tickNanos;
+    }
+
+    private void transferScheduled() {
+        Timeout<T> timeout;
+        while ((timeout = scheduledTimeouts.poll()) != null) {
+            if (timeout.state != Timeout.ST_INIT) {
+                continue;
+            }
+            // Round up, so a timeout is never handed over before its deadline
+            long expiryTick = -Math.floorDiv(-timeout.deadline, tickNanos);
+            long ticks = Math.max(expiryTick, currentTick);
+            timeout.remainingRounds = (ticks - currentTick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public static final class Timeout<T> {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheel<T> wheel;
+        private final T task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+
+        // Bucket linkage, only touched by the thread advancing the wheel
+        private long remainingRounds;
+        private Timeout<T> next;
+        private Timeout<T> prev;
+        private Bucket<T> bucket;
+
+        private Timeout(TimingWheel<T> wheel, T task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        /**
+         * Cancel this timeout. Returns {@code false} if it already expired or was cancelled.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            wheel.pendingTimeouts.decrementAndGet();
+            wheel.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private boolean expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return false;
+            }
+            wheel.pendingTimeouts.decrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list of timeouts hashed to the same slot.
+     */
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        int expire(Consumer<? super T> expired) {
+            int count = 0;
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.expire()) {
+                        expired.accept(timeout.task);
+                        count++;
+                    }
+                } else if (!timeout.isCancelled()) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            return count;
+        }
+
+        void remove(Timeout<T> timeout) {
+            Timeout<T> next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.sales.infrastructure.deadline;
+
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.config.ConfigurationScopeAwareProvider;
+import org.axonframework.deadline.DeadlineManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Replaces Axon's default DeadlineManager with {@link TimingWheelDeadlineManager}
+ * when {@code sales.deadline.timing-wheel.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sales.deadline.timing-wheel", name = "enabled", havingValue = "true")
+public class TimingWheelDeadlineConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public DeadlineManager deadlineManager(
+            org.axonframework.config.Configuration configuration,
+            TransactionManager transactionManager,
+            @Value("${sales.deadline.timing-wheel.tick-duration:100ms}") Duration tickDuration,
+            @Value("${sales.deadline.timing-wheel.wheel-size:512}") int wheelSize,
+            @Value("${sales.deadline.timing-wheel.dispatch-threads:2}") int dispatchThreads,
+            @Value("${sales.deadline.timing-wheel.dispatch-batch-size:256}") int dispatchBatchSize) {
+        return TimingWheelDeadlineManager.builder()
+            .scopeAwareProvider(new ConfigurationScopeAwareProvider(configuration))
+            .transactionManager(transactionManager)
+            .tickDuration(tickDuration)
+            .wheelSize(wheelSize)
+            .dispatchThreads(dispatchThreads)
+            .dispatchBatchSize(dispatchBatchSize)
+            .build();
+    }
+}
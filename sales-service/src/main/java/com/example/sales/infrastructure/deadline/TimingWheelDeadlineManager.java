@@ -0,0 +1,262 @@
+package com.example.sales.infrastructure.deadline;
+
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.deadline.AbstractDeadlineManager;
+import org.axonframework.deadline.DeadlineException;
+import org.axonframework.deadline.DeadlineMessage;
+import org.axonframework.deadline.GenericDeadlineMessage;
+import org.axonframework.messaging.DefaultInterceptorChain;
+import org.axonframework.messaging.InterceptorChain;
+import org.axonframework.messaging.ResultMessage;
+import org.axonframework.messaging.ScopeAwareProvider;
+import org.axonframework.messaging.ScopeDescriptor;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeadlineManager backed by a {@link TimingWheel}.
+ *
+ * Scheduling and cancelling a deadline are O(1) regardless of how many deadlines
+ * are outstanding, which keeps the per-order timeout of OrderSaga cheap during
+ * a flash sale. A single ticker thread advances the wheel and hands all deadlines
+ * that expired in a tick to the dispatch executor as one batch.
+ *
+ * Like Axon's SimpleDeadlineManager, deadlines are kept in memory only.
+ */
+public class TimingWheelDeadlineManager extends AbstractDeadlineManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TimingWheelDeadlineManager.class);
+
+    private final ScopeAwareProvider scopeAwareProvider;
+    private final TransactionManager transactionManager;
+    private final TimingWheel<DeadlineTask> wheel;
+    private final Map<String, TimingWheel.Timeout<DeadlineTask>> scheduledDeadlines = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService dispatcher;
+    private final int dispatchBatchSize;
+
+    private TimingWheelDeadlineManager(Builder builder) {
+        this.scopeAwareProvider = builder.scopeAwareProvider;
+        this.transactionManager = builder.transactionManager;
+        this.dispatchBatchSize = builder.dispatchBatchSize;
+        this.wheel = new TimingWheel<>(
+            builder.tickDuration.toNanos(), TimeUnit.NANOSECONDS, builder.wheelSize, System.nanoTime()
+        );
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-wheel-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = Executors.newFixedThreadPool(builder.dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "deadline-wheel-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickNanos = wheel.tickNanos();
+        this.ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String schedule(Instant triggerDateTime, String deadlineName,
+                           Object messageOrPayload, ScopeDescriptor deadlineScope) {
+        DeadlineMessage<Object> deadlineMessage =
+            GenericDeadlineMessage.asDeadlineMessage(deadlineName, messageOrPayload, triggerDateTime);
+        String deadlineId = deadlineMessage.getIdentifier();
+        runOnPrepareCommitOrNow(() -> {
+            DeadlineMessage<?> interceptedMessage = processDispatchInterceptors(deadlineMessage);
+            DeadlineTask task = new DeadlineTask(deadlineName, deadlineId, deadlineScope, interceptedMessage);
+            long delayNanos = Duration.between(Instant.now(), triggerDateTime).toNanos();
+            scheduledDeadlines.put(deadlineId, wheel.schedule(task, delayNanos, System.nanoTime()));
+        });
+        return deadlineId;
+    }
+
+    @Override
+    public void cancelSchedule(String deadlineName, String scheduleId) {
+        runOnPrepareCommitOrNow(() -> {
+            TimingWheel.Timeout<DeadlineTask> timeout = scheduledDeadlines.remove(scheduleId);
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        });
+    }
+
+    @Override
+    public void cancelAll(String deadlineName) {
+        runOnPrepareCommitOrNow(() -> scheduledDeadlines.values().removeIf(timeout ->
+            timeout.task().deadlineName.equals(deadlineName) && timeout.cancel()
+        ));
+    }
+
+    @Override
+    public void cancelAllWithinScope(String deadlineName, ScopeDescriptor scope) {
+        runOnPrepareCommitOrNow(() -> scheduledDeadlines.values().removeIf(timeout ->
+            timeout.task().deadlineName.equals(deadlineName)
+                && timeout.task().deadlineScope.equals(scope)
+                && timeout.cancel()
+        ));
+    }
+
+    /**
+     * Stop the ticker and let already expired deadlines finish dispatching.
+     */
+    public void shutdown() {
+        ticker.shutdown();
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Number of deadlines that are scheduled and neither fired nor cancelled.
+     */
+    public long outstandingDeadlines() {
+        return wheel.pendingTimeouts();
+    }
+
+    private void tick() {
+        try {
+            List<DeadlineTask> expired = new ArrayList<>();
+            wheel.advanceTo(System.nanoTime(), expired::add);
+            for (int from = 0; from < expired.size(); from += dispatchBatchSize) {
+                List<DeadlineTask> batch = expired.subList(from, Math.min(from + dispatchBatchSize, expired.size()));
+                dispatcher.execute(() -> batch.forEach(DeadlineTask::run));
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the fixed-rate ticker
+            log.error("Failed to advance deadline timing wheel", e);
+        }
+    }
+
+    /**
+     * A scheduled deadline waiting on the wheel.
+     */
+    private class DeadlineTask {
+
+        private final String deadlineName;
+        private final String deadlineId;
+        private final ScopeDescriptor deadlineScope;
+        private final DeadlineMessage<?> deadlineMessage;
+
+        private DeadlineTask(String deadlineName, String deadlineId,
+                             ScopeDescriptor deadlineScope, DeadlineMessage<?> deadlineMessage) {
+            this.deadlineName = deadlineName;
+            this.deadlineId = deadlineId;
+            this.deadlineScope = deadlineScope;
+            this.deadlineMessage = deadlineMessage;
+        }
+
+        private void run() {
+            scheduledDeadlines.remove(deadlineId);
+            log.debug("Triggered deadline {} [{}]", deadlineName, deadlineId);
+            try {
+                UnitOfWork<DeadlineMessage<?>> unitOfWork = DefaultUnitOfWork.startAndGet(deadlineMessage);
+                unitOfWork.attachTransaction(transactionManager);
+                InterceptorChain chain = new DefaultInterceptorChain<>(
+                    unitOfWork,
+                    handlerInterceptors(),
+                    message -> {
+                        executeScheduledDeadline(message);
+                        return null;
+                    }
+                );
+                ResultMessage<?> result = unitOfWork.executeWithResult(chain::proceed);
+                if (result.isExceptional()) {
+                    log.error("An error occurred while triggering deadline {} [{}]",
+                        deadlineName, deadlineId, result.exceptionResult());
+                }
+            } catch (Exception e) {
+                log.error("Failed to trigger deadline {} [{}]", deadlineName, deadlineId, e);
+            }
+        }
+
+        private void executeScheduledDeadline(DeadlineMessage<?> message) {
+            scopeAwareProvider.provideScopeAwareStream(deadlineScope)
+                .filter(scopeAwareComponent -> scopeAwareComponent.canResolve(deadlineScope))
+                .forEach(scopeAwareComponent -> {
+                    try {
+                        scopeAwareComponent.send(message, deadlineScope);
+                    } catch (Exception e) {
+                        throw new DeadlineException(
+                            "Failed to send deadline " + deadlineName + " to " + deadlineScope, e
+                        );
+                    }
+                });
+        }
+    }
+
+    /**
+     * Builder for {@link TimingWheelDeadlineManager}.
+     */
+    public static class Builder {
+
+        private ScopeAwareProvider scopeAwareProvider;
+        private TransactionManager transactionManager = NoTransactionManager.INSTANCE;
+        private Duration tickDuration = Duration.ofMillis(100);
+        private int wheelSize = 512;
+        private int dispatchThreads = 2;
+        private int dispatchBatchSize = 256;
+
+        public Builder scopeAwareProvider(ScopeAwareProvider scopeAwareProvider) {
+            this.scopeAwareProvider = scopeAwareProvider;
+            return this;
+        }
+
+        public Builder transactionManager(TransactionManager transactionManager) {
+            this.transactionManager = transactionManager;
+            return this;
+        }
+
+        public Builder tickDuration(Duration tickDuration) {
+            this.tickDuration = tickDuration;
+            return this;
+        }
+
+        public Builder wheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+            return this;
+        }
+
+        public Builder dispatchThreads(int dispatchThreads) {
+            this.dispatchThreads = dispatchThreads;
+            return this;
+        }
+
+        public Builder dispatchBatchSize(int dispatchBatchSize) {
+            this.dispatchBatchSize = dispatchBatchSize;
+            return this;
+        }
+
+        public TimingWheelDeadlineManager build() {
+            Objects.requireNonNull(scopeAwareProvider, "ScopeAwareProvider cannot be null");
+            Objects.requireNonNull(transactionManager, "TransactionManager cannot be null");
+            if (tickDuration == null || tickDuration.isZero() || tickDuration.isNegative()) {
+                throw new IllegalArgumentException("Tick duration must be positive");
+            }
+            if (dispatchThreads <= 0) {
+                throw new IllegalArgumentException("Dispatch threads must be positive");
+            }
+            if (dispatchBatchSize <= 0) {
+                throw new IllegalArgumentException("Dispatch batch size must be positive");
+            }
+            return new TimingWheelDeadlineManager(this);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.sales.infrastructure.eventprocessing;
+
+import com.example.sales.domain.saga.OrderSaga;
+import com.example.sales.infrastructure.lease.CreditLeaseEventHandler;
+import com.example.sales.infrastructure.lease.StockLeaseEventHandler;
+import com.example.sales.infrastructure.query.OrderQueryHandler;
+import com.example.sales.infrastructure.timeout.LateReservationReplyHandler;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.eventhandling.TrackingEventProcessorConfiguration;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs OrderSaga and the order_view projection on pooled streaming processors.
+ *
+ * Each processor's event stream is split into segments, and a pool of worker
+ * threads processes the claimed segments in parallel. Events of one order stay in
+ * one segment (the projection is sequenced by aggregate, sagas by saga identifier),
+ * so per-order ordering is kept while different orders proceed concurrently.
+ * Segment count and worker threads default to the number of available cores;
+ * {@code batch-size} events share one unit of work, so the projection's writes and
+ * the saga store's updates are committed once per batch.
+ *
+ * The segment count applies when a processor first starts against an empty token
+ * store. Afterwards segments are changed at runtime with the split and merge
+ * operations of {@code /api/v1/admin/event-processors}.
+ *
+ * {@link LateReservationReplyHandler} and the lease handlers ({@link StockLeaseEventHandler},
+ * {@link CreditLeaseEventHandler}) only need events from now on, so their
+ * single-threaded tracking processors start at the head of the stream.
+ */
+@Configuration
+public class EventProcessorConfig {
+
+    private final int segments;
+    private final int workerThreads;
+    private final int batchSize;
+
+    public EventProcessorConfig(@Value("${sales.event-processing.segments:0}") int segments,
+                                @Value("${sales.event-processing.worker-threads:0}") int workerThreads,
+                                @Value("${sales.event-processing.batch-size:100}") int batchSize) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.segments = segments > 0 ? segments : cores;
+        this.workerThreads = workerThreads > 0 ? workerThreads : cores;
+        this.batchSize = batchSize;
+    }
+
+    @Autowired
+    public void configurePooledProcessors(EventProcessingConfigurer eventProcessingConfigurer) {
+        registerPooled(eventProcessingConfigurer, OrderQueryHandler.PROCESSING_GROUP);
+        registerPooled(eventProcessingConfigurer, OrderSaga.PROCESSING_GROUP);
+        registerFromHead(eventProcessingConfigurer, LateReservationReplyHandler.PROCESSING_GROUP);
+        registerFromHead(eventProcessingConfigurer, StockLeaseEventHandler.PROCESSING_GROUP);
+        registerFromHead(eventProcessingConfigurer, CreditLeaseEventHandler.PROCESSING_GROUP);
+    }
+
+    private static void registerFromHead(EventProcessingConfigurer eventProcessingConfigurer, String name) {
+        eventProcessingConfigurer.registerTrackingEventProcessor(
+            name,
+            org.axonframework.config.Configuration::eventStore,
+            configuration -> TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                .andInitialTrackingToken(StreamableMessageSource::createHeadToken)
+        );
+    }
+
+    private void registerPooled(EventProcessingConfigurer eventProcessingConfigurer, String name) {
+        eventProcessingConfigurer.registerPooledStreamingEventProcessor(
+            name,
+            org.axonframework.config.Configuration::eventStore,
+            (configuration, builder) -> builder
+                .initialSegmentCount(segments)
+                .batchSize(batchSize)
+                .coordinatorExecutor(newExecutor(name + "-coordinator", 1))
+                .workerExecutor(newExecutor(name + "-worker", workerThreads))
+        );
+    }
+
+    private static ScheduledExecutorService newExecutor(String threadName, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
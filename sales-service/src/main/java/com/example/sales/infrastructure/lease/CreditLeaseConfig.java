@@ -0,0 +1,49 @@
+package com.example.sales.infrastructure.lease;
+
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds {@link CreditLeases} from {@code sales.credit-lease.*}.
+ *
+ * With {@code enabled} off no customer is leased and every order reserves its
+ * credit at payment.
+ */
+@Configuration
+public class CreditLeaseConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public CreditLeases creditLeases(
+            CommandGateway commandGateway,
+            @Value("${sales.credit-lease.enabled:false}") boolean enabled,
+            @Value("${sales.credit-lease.holder-id:}") String holderId,
+            @Value("${sales.credit-lease.customers:}") List<String> customers,
+            @Value("${sales.credit-lease.block-amount:500000}") BigDecimal blockAmount,
+            @Value("${sales.credit-lease.refill-below:100000}") BigDecimal refillBelow,
+            @Value("${sales.credit-lease.duration:60s}") Duration leaseDuration,
+            @Value("${sales.credit-lease.draw-margin:20s}") Duration drawMargin,
+            @Value("${sales.credit-lease.request-timeout:10s}") Duration requestTimeout,
+            @Value("${sales.credit-lease.retry-after-denial:5s}") Duration retryAfterDenial) {
+        if (!enabled) {
+            return CreditLeases.disabled();
+        }
+        return new CreditLeases(
+            commandGateway,
+            holderId.isBlank() ? "sales-" + UUID.randomUUID() : holderId,
+            customers,
+            blockAmount,
+            refillBelow,
+            leaseDuration,
+            drawMargin,
+            requestTimeout,
+            retryAfterDenial
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sales.infrastructure.lease;
+
+import com.example.shared.event.CreditLeaseDeniedEvent;
+import com.example.shared.event.CreditLeaseGrantedEvent;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Passes credit lease grants and denials to {@link CreditLeases}, which keeps
+ * those addressed to this node. Starts at the head of the event stream, like
+ * {@link StockLeaseEventHandler}.
+ */
+@Component
+@ProcessingGroup(CreditLeaseEventHandler.PROCESSING_GROUP)
+public class CreditLeaseEventHandler {
+
+    public static final String PROCESSING_GROUP = "credit-leases";
+
+    private final CreditLeases creditLeases;
+
+    public CreditLeaseEventHandler(CreditLeases creditLeases) {
+        this.creditLeases = creditLeases;
+    }
+
+    @EventHandler
+    public void on(CreditLeaseGrantedEvent event) {
+        creditLeases.on(event);
+    }
+
+    @EventHandler
+    public void on(CreditLeaseDeniedEvent event) {
+        creditLeases.on(event);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.sales.infrastructure.lease;
+
+import com.example.shared.command.GrantCreditLeaseCommand;
+import com.example.shared.command.ReturnCreditLeaseCommand;
+import com.example.shared.event.CreditLeaseDeniedEvent;
+import com.example.shared.event.CreditLeaseGrantedEvent;
+import com.example.shared.valueobject.Money;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Credit leased from payment-service to this sales node, for the customers
+ * listed in {@code sales.credit-lease.customers}.
+ *
+ * OrderSaga draws an order's amount from a lease instead of sending a
+ * ReservePaymentCommand, so a burst of one customer's orders no longer contends
+ * for that customer's credit row. Confirmed orders later consume their amount at
+ * payment; cancelled orders give it back to the lease. Refills, the draw margin
+ * and expiry work as for {@link StockLeases}.
+ */
+public class CreditLeases implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditLeases.class);
+
+    private final String holderId;
+    private final LeasePool pool;
+
+    public CreditLeases(CommandGateway commandGateway,
+                        String holderId,
+                        Collection<String> customers,
+                        BigDecimal blockAmount,
+                        BigDecimal refillBelow,
+                        Duration leaseDuration,
+                        Duration drawMargin,
+                        Duration requestTimeout,
+                        Duration retryAfterDenial) {
+        this(commandGateway, holderId, customers, blockAmount, refillBelow, leaseDuration, drawMargin,
+            requestTimeout, retryAfterDenial, Clock.systemUTC(), true);
+    }
+
+    CreditLeases(CommandGateway commandGateway,
+                 String holderId,
+                 Collection<String> customers,
+                 BigDecimal blockAmount,
+                 BigDecimal refillBelow,
+                 Duration leaseDuration,
+                 Duration drawMargin,
+                 Duration requestTimeout,
+                 Duration retryAfterDenial,
+                 Clock clock,
+                 boolean startRetirer) {
+        this.holderId = holderId;
+        // The pool counts in minor units, so draws stay long arithmetic
+        this.pool = new LeasePool(new LeasePool.Lessor() {
+            @Override
+            public CompletableFuture<?> requestLease(UUID leaseId, String customerId, long amount,
+                                                     Instant expiresAt) {
+                return commandGateway.send(new GrantCreditLeaseCommand(leaseId, holderId, customerId,
+                    Money.fromMinorUnits(amount), expiresAt));
+            }
+
+            @Override
+            public CompletableFuture<?> returnUnused(UUID leaseId, long amount) {
+                return commandGateway.send(new ReturnCreditLeaseCommand(leaseId, Money.fromMinorUnits(amount)));
+            }
+        }, customers, Money.toMinorUnits(blockAmount), Money.toMinorUnits(refillBelow), leaseDuration, drawMargin,
+            requestTimeout, retryAfterDenial, clock);
+        if (startRetirer) {
+            pool.startRetirer("credit-lease-retirer");
+        }
+    }
+
+    /**
+     * Leases for no customer: every draw misses and nothing is sent.
+     */
+    public static CreditLeases disabled() {
+        return new CreditLeases(null, "disabled", List.of(), BigDecimal.ONE, BigDecimal.ZERO, Duration.ofSeconds(1),
+            Duration.ZERO, Duration.ZERO, Duration.ZERO, Clock.systemUTC(), false);
+    }
+
+    /**
+     * Take an order's amount from a lease of the customer's credit.
+     *
+     * @return the lease the amount came from, or null when the customer is not
+     *         leased or no lease can cover the amount
+     */
+    public UUID tryDraw(String customerId, BigDecimal amount) {
+        if (!pool.isLeased(customerId)) {
+            return null;
+        }
+        return pool.tryDraw(customerId, Money.toMinorUnits(amount));
+    }
+
+    /**
+     * Put the amount of a cancelled order back into its lease. Credit of a lease
+     * this node has retired stays with payment, which releases it on expiry.
+     */
+    public void giveBack(UUID leaseId, BigDecimal amount) {
+        pool.giveBack(leaseId, Money.toMinorUnits(amount));
+    }
+
+    public void on(CreditLeaseGrantedEvent event) {
+        if (!holderId.equals(event.holderId()) || !pool.isLeased(event.customerId())) {
+            return;
+        }
+        pool.granted(event.leaseId(), event.customerId(), Money.toMinorUnits(event.amount()), event.expiresAt());
+        log.debug("Leased {} credit of {} until {}", event.amount(), event.customerId(), event.expiresAt());
+    }
+
+    public void on(CreditLeaseDeniedEvent event) {
+        if (!holderId.equals(event.holderId()) || !pool.isLeased(event.customerId())) {
+            return;
+        }
+        pool.denied(event.customerId());
+        log.info("Credit lease for {} denied: {}", event.customerId(), event.reason());
+    }
+
+    /**
+     * Stop drawing from leases that are close to expiry or used up, and return
+     * their undrawn credit.
+     */
+    void retireExpiring() {
+        pool.retireExpiring();
+    }
+
+    /**
+     * Return every lease's undrawn credit and stop retiring.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("credit.lease.draws", pool, LeasePool::leasedDraws)
+            .description("Order credit draws, by whether a local lease covered them")
+            .tags(Tags.of("outcome", "leased"))
+            .register(registry);
+        FunctionCounter.builder("credit.lease.draws", pool, LeasePool::missedDraws)
+            .description("Order credit draws, by whether a local lease covered them")
+            .tags(Tags.of("outcome", "missed"))
+            .register(registry);
+        pool.keys().forEach(customerId -> Gauge.builder("credit.lease.amount", pool,
+                p -> Money.fromMinorUnits(p.remaining(customerId)).doubleValue())
+            .description("Leased credit this node can still draw")
+            .tags(Tags.of("customer", customerId))
+            .register(registry));
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.sales.infrastructure.lease;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leases held by this node for a fixed set of keys (products, customers), with
+ * amounts in whole units of whatever is leased.
+ *
+ * Draws are a compare-and-set on the oldest lease that covers them. Below
+ * {@code refillBelow} another lease is requested, one request per key at a time;
+ * after a denial the key waits {@code retryAfterDenial} before asking again.
+ * Draws stop {@code drawMargin} before a lease expires, and a retired lease's
+ * undrawn amount is returned.
+ */
+final class LeasePool {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasePool.class);
+
+    /**
+     * The service leases come from.
+     */
+    interface Lessor {
+
+        CompletableFuture<?> requestLease(UUID leaseId, String key, long amount, Instant expiresAt);
+
+        CompletableFuture<?> returnUnused(UUID leaseId, long amount);
+    }
+
+    private final Lessor lessor;
+    private final Map<String, KeyLeases> keys;
+    private final Map<UUID, Lease> leases = new ConcurrentHashMap<>();
+    private final long blockSize;
+    private final long refillBelow;
+    private final Duration leaseDuration;
+    private final Duration drawMargin;
+    private final Duration requestTimeout;
+    private final Duration retryAfterDenial;
+    private final Clock clock;
+    private final AtomicLong leasedDraws = new AtomicLong();
+    private final AtomicLong missedDraws = new AtomicLong();
+    private volatile ScheduledExecutorService retirer;
+
+    LeasePool(Lessor lessor,
+              Collection<String> keys,
+              long blockSize,
+              long refillBelow,
+              Duration leaseDuration,
+              Duration drawMargin,
+              Duration requestTimeout,
+              Duration retryAfterDenial,
+              Clock clock) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        if (drawMargin.compareTo(leaseDuration) >= 0) {
+            throw new IllegalArgumentException("Draw margin must be shorter than the lease duration");
+        }
+        this.lessor = lessor;
+        this.keys = keys.stream()
+            .collect(Collectors.toUnmodifiableMap(Function.identity(), key -> new KeyLeases()));
+        this.blockSize = blockSize;
+        this.refillBelow = refillBelow;
+        this.leaseDuration = leaseDuration;
+        this.drawMargin = drawMargin;
+        this.requestTimeout = requestTimeout;
+        this.retryAfterDenial = retryAfterDenial;
+        this.clock = clock;
+    }
+
+    /**
+     * Retire expiring leases every second on a daemon thread, if any key is leased.
+     */
+    void startRetirer(String threadName) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        retirer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        retirer.scheduleWithFixedDelay(this::retireExpiring, 1, 1, TimeUnit.SECONDS);
+    }
+
+    boolean isLeased(String key) {
+        return keys.containsKey(key);
+    }
+
+    /**
+     * @return the lease the amount came from, or null when the key is not leased
+     *         or no lease can cover the amount
+     */
+    UUID tryDraw(String key, long amount) {
+        KeyLeases keyLeases = keys.get(key);
+        if (keyLeases == null) {
+            return null;
+        }
+        Instant now = clock.instant();
+        // Oldest lease first, so leases drain before they expire
+        for (Lease lease : keyLeases.leases) {
+            if (now.isBefore(lease.drawUntil) && lease.take(amount)) {
+                leasedDraws.incrementAndGet();
+                if (keyLeases.remaining() < refillBelow) {
+                    requestLease(key, keyLeases);
+                }
+                return lease.leaseId;
+            }
+        }
+        missedDraws.incrementAndGet();
+        requestLease(key, keyLeases);
+        return null;
+    }
+
+    /**
+     * Put a drawn amount back into its lease, unless the lease has been retired.
+     */
+    void giveBack(UUID leaseId, long amount) {
+        Lease lease = leases.get(leaseId);
+        if (lease != null && !lease.retired) {
+            lease.remaining.addAndGet(amount);
+        }
+    }
+
+    void granted(UUID leaseId, String key, long amount, Instant expiresAt) {
+        KeyLeases keyLeases = keys.get(key);
+        if (keyLeases == null) {
+            return;
+        }
+        Lease lease = new Lease(leaseId, amount, expiresAt.minus(drawMargin));
+        leases.put(leaseId, lease);
+        keyLeases.leases.add(lease);
+        keyLeases.requestedAt.set(0);
+    }
+
+    void denied(String key) {
+        KeyLeases keyLeases = keys.get(key);
+        if (keyLeases == null) {
+            return;
+        }
+        keyLeases.deniedUntil = clock.instant().plus(retryAfterDenial);
+        keyLeases.requestedAt.set(0);
+    }
+
+    /**
+     * Stop drawing from leases that are close to expiry or used up, and return
+     * their undrawn amounts.
+     */
+    void retireExpiring() {
+        Instant now = clock.instant();
+        keys.values().forEach(keyLeases -> {
+            for (Lease lease : keyLeases.leases) {
+                if (!now.isBefore(lease.drawUntil) || lease.remaining.get() == 0) {
+                    retire(keyLeases, lease);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop the retirer and return every lease's undrawn amount.
+     */
+    void shutdown() {
+        if (retirer != null) {
+            retirer.shutdownNow();
+        }
+        keys.values().forEach(keyLeases -> keyLeases.leases.forEach(lease -> retire(keyLeases, lease)));
+    }
+
+    Collection<String> keys() {
+        return keys.keySet();
+    }
+
+    long remaining(String key) {
+        KeyLeases keyLeases = keys.get(key);
+        return keyLeases == null ? 0 : keyLeases.remaining();
+    }
+
+    long leasedDraws() {
+        return leasedDraws.get();
+    }
+
+    long missedDraws() {
+        return missedDraws.get();
+    }
+
+    private void retire(KeyLeases keyLeases, Lease lease) {
+        lease.retired = true;
+        keyLeases.leases.remove(lease);
+        leases.remove(lease.leaseId);
+        long undrawn = lease.remaining.getAndSet(0);
+        if (undrawn > 0) {
+            lessor.returnUnused(lease.leaseId, undrawn)
+                .exceptionally(e -> {
+                    log.warn("Returning {} of lease {} failed; it is released when the lease expires",
+                        undrawn, lease.leaseId, e);
+                    return null;
+                });
+        }
+    }
+
+    /**
+     * Ask for another lease unless a request is outstanding or the last one was denied recently.
+     */
+    private void requestLease(String key, KeyLeases keyLeases) {
+        Instant now = clock.instant();
+        if (now.isBefore(keyLeases.deniedUntil)) {
+            return;
+        }
+        long requestedAt = keyLeases.requestedAt.get();
+        if (requestedAt != 0 && now.toEpochMilli() - requestedAt < requestTimeout.toMillis()) {
+            return;
+        }
+        if (!keyLeases.requestedAt.compareAndSet(requestedAt, now.toEpochMilli())) {
+            return;
+        }
+        lessor.requestLease(UUID.randomUUID(), key, blockSize, now.plus(leaseDuration))
+            .exceptionally(e -> {
+                log.warn("Lease request for {} failed", key, e);
+                keyLeases.requestedAt.compareAndSet(now.toEpochMilli(), 0);
+                return null;
+            });
+    }
+
+    /**
+     * Leases of one key and its outstanding request.
+     */
+    private static final class KeyLeases {
+
+        private final List<Lease> leases = new CopyOnWriteArrayList<>();
+        // Epoch millis of the outstanding lease request, 0 if none
+        private final AtomicLong requestedAt = new AtomicLong();
+        private volatile Instant deniedUntil = Instant.MIN;
+
+        long remaining() {
+            long total = 0;
+            for (Lease lease : leases) {
+                total += lease.remaining.get();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Undrawn amount of one lease.
+     */
+    private static final class Lease {
+
+        private final UUID leaseId;
+        private final AtomicLong remaining;
+        private final Instant drawUntil;
+        private volatile boolean retired;
+
+        private Lease(UUID leaseId, long amount, Instant drawUntil) {
+            this.leaseId = leaseId;
+            this.remaining = new AtomicLong(amount);
+            this.drawUntil = drawUntil;
+        }
+
+        boolean take(long amount) {
+            long current;
+            do {
+                current = remaining.get();
+                if (current < amount || retired) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - amount));
+            return true;
+        }
+    }
+}
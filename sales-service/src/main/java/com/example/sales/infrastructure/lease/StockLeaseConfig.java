@@ -0,0 +1,49 @@
+package com.example.sales.infrastructure.lease;
+
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds {@link StockLeases} from {@code sales.stock-lease.*}.
+ *
+ * With {@code enabled} off no product is leased and every order reserves its
+ * stock at inventory. The holder ID tells this node's leases apart from other
+ * nodes'; it defaults to a fresh ID per start.
+ */
+@Configuration
+public class StockLeaseConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public StockLeases stockLeases(
+            CommandGateway commandGateway,
+            @Value("${sales.stock-lease.enabled:false}") boolean enabled,
+            @Value("${sales.stock-lease.holder-id:}") String holderId,
+            @Value("${sales.stock-lease.products:}") List<String> products,
+            @Value("${sales.stock-lease.block-size:100}") int blockSize,
+            @Value("${sales.stock-lease.refill-below:20}") int refillBelow,
+            @Value("${sales.stock-lease.duration:60s}") Duration leaseDuration,
+            @Value("${sales.stock-lease.draw-margin:20s}") Duration drawMargin,
+            @Value("${sales.stock-lease.request-timeout:10s}") Duration requestTimeout,
+            @Value("${sales.stock-lease.retry-after-denial:5s}") Duration retryAfterDenial) {
+        if (!enabled) {
+            return StockLeases.disabled();
+        }
+        return new StockLeases(
+            commandGateway,
+            holderId.isBlank() ? "sales-" + UUID.randomUUID() : holderId,
+            products,
+            blockSize,
+            refillBelow,
+            leaseDuration,
+            drawMargin,
+            requestTimeout,
+            retryAfterDenial
+        );
+    }
+}
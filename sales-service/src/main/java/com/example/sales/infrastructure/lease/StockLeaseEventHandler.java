@@ -0,0 +1,37 @@
+package com.example.sales.infrastructure.lease;
+
+import com.example.shared.event.StockLeaseDeniedEvent;
+import com.example.shared.event.StockLeaseGrantedEvent;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Passes lease grants and denials to {@link StockLeases}, which keeps those
+ * addressed to this node.
+ *
+ * Leases granted before this node started belong to an earlier holder ID and
+ * expire at inventory, so the processor starts at the head of the event stream.
+ */
+@Component
+@ProcessingGroup(StockLeaseEventHandler.PROCESSING_GROUP)
+public class StockLeaseEventHandler {
+
+    public static final String PROCESSING_GROUP = "stock-leases";
+
+    private final StockLeases stockLeases;
+
+    public StockLeaseEventHandler(StockLeases stockLeases) {
+        this.stockLeases = stockLeases;
+    }
+
+    @EventHandler
+    public void on(StockLeaseGrantedEvent event) {
+        stockLeases.on(event);
+    }
+
+    @EventHandler
+    public void on(StockLeaseDeniedEvent event) {
+        stockLeases.on(event);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.sales.infrastructure.lease;
+
+import com.example.shared.command.GrantStockLeaseCommand;
+import com.example.shared.command.ReturnStockLeaseCommand;
+import com.example.shared.event.StockLeaseDeniedEvent;
+import com.example.shared.event.StockLeaseGrantedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Blocks of stock leased from inventory-service to this sales node, for the
+ * products listed in {@code sales.stock-lease.products}.
+ *
+ * OrderSaga draws an order's units from a lease instead of sending a
+ * ReserveInventoryCommand, so the stock decision for a hot product is a local
+ * compare-and-set. Confirmed orders later consume their units at inventory;
+ * cancelled orders give them back to the lease. When a product's leased units
+ * fall below {@code refill-below} another block is requested, and an order that
+ * finds no units takes the regular inventory round trip meanwhile.
+ *
+ * Draws stop {@code draw-margin} before a lease expires, which leaves in-flight
+ * orders time to consume before inventory takes the rest back; the undrawn units
+ * are returned at that point. A lease this node forgets about (a restart, a lost
+ * return) is released by inventory when it expires.
+ */
+public class StockLeases implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLeases.class);
+
+    private final String holderId;
+    private final LeasePool pool;
+
+    public StockLeases(CommandGateway commandGateway,
+                       String holderId,
+                       Collection<String> products,
+                       int blockSize,
+                       int refillBelow,
+                       Duration leaseDuration,
+                       Duration drawMargin,
+                       Duration requestTimeout,
+                       Duration retryAfterDenial) {
+        this(commandGateway, holderId, products, blockSize, refillBelow, leaseDuration, drawMargin,
+            requestTimeout, retryAfterDenial, Clock.systemUTC(), true);
+    }
+
+    StockLeases(CommandGateway commandGateway,
+                String holderId,
+                Collection<String> products,
+                int blockSize,
+                int refillBelow,
+                Duration leaseDuration,
+                Duration drawMargin,
+                Duration requestTimeout,
+                Duration retryAfterDenial,
+                Clock clock,
+                boolean startRetirer) {
+        this.holderId = holderId;
+        this.pool = new LeasePool(new LeasePool.Lessor() {
+            @Override
+            public CompletableFuture<?> requestLease(UUID leaseId, String productId, long quantity,
+                                                     Instant expiresAt) {
+                return commandGateway.send(new GrantStockLeaseCommand(leaseId, holderId, productId,
+                    (int) quantity, expiresAt));
+            }
+
+            @Override
+            public CompletableFuture<?> returnUnused(UUID leaseId, long quantity) {
+                return commandGateway.send(new ReturnStockLeaseCommand(leaseId, (int) quantity));
+            }
+        }, products, blockSize, refillBelow, leaseDuration, drawMargin, requestTimeout, retryAfterDenial, clock);
+        if (startRetirer) {
+            pool.startRetirer("stock-lease-retirer");
+        }
+    }
+
+    /**
+     * Leases for no product: every draw misses and nothing is sent.
+     */
+    public static StockLeases disabled() {
+        return new StockLeases(null, "disabled", List.of(), 1, 0, Duration.ofSeconds(1), Duration.ZERO,
+            Duration.ZERO, Duration.ZERO, Clock.systemUTC(), false);
+    }
+
+    /**
+     * Take units for an order from a lease of the product.
+     *
+     * @return the lease the units came from, or null when the product is not
+     *         leased or no lease can cover the quantity
+     */
+    public UUID tryDraw(String productId, int quantity) {
+        return pool.tryDraw(productId, quantity);
+    }
+
+    /**
+     * Put the units of a cancelled order back into their lease. Units of a lease
+     * this node has retired stay with inventory, which releases them on expiry.
+     */
+    public void giveBack(UUID leaseId, int quantity) {
+        pool.giveBack(leaseId, quantity);
+    }
+
+    public void on(StockLeaseGrantedEvent event) {
+        if (!holderId.equals(event.holderId()) || !pool.isLeased(event.productId())) {
+            return;
+        }
+        pool.granted(event.leaseId(), event.productId(), event.quantity(), event.expiresAt());
+        log.debug("Leased {} units of {} until {}", event.quantity(), event.productId(), event.expiresAt());
+    }
+
+    public void on(StockLeaseDeniedEvent event) {
+        if (!holderId.equals(event.holderId()) || !pool.isLeased(event.productId())) {
+            return;
+        }
+        pool.denied(event.productId());
+        log.info("Stock lease for {} denied: {}", event.productId(), event.reason());
+    }
+
+    /**
+     * Stop drawing from leases that are close to expiry or used up, and return
+     * their undrawn units.
+     */
+    void retireExpiring() {
+        pool.retireExpiring();
+    }
+
+    /**
+     * Return every lease's undrawn units and stop retiring.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stock.lease.draws", pool, LeasePool::leasedDraws)
+            .description("Order stock draws, by whether a local lease covered them")
+            .tags(Tags.of("outcome", "leased"))
+            .register(registry);
+        FunctionCounter.builder("stock.lease.draws", pool, LeasePool::missedDraws)
+            .description("Order stock draws, by whether a local lease covered them")
+            .tags(Tags.of("outcome", "missed"))
+            .register(registry);
+        pool.keys().forEach(productId -> Gauge.builder("stock.lease.units", pool, p -> p.remaining(productId))
+            .description("Leased units this node can still draw")
+            .tags(Tags.of("product", productId))
+            .register(registry));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.sales.infrastructure.metrics;
+
+import com.example.shared.metrics.LatencyGauges;
+import com.example.shared.metrics.LatencyHistogram;
+import com.example.shared.metrics.LatencyPercentiles;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order latency of the OrderSaga steps, by how the order ended.
+ *
+ * Durations are taken between event timestamps in microseconds. One histogram
+ * per step and outcome is allocated up front, so recording is an array lookup
+ * plus a histogram update. Histograms are cumulative since start.
+ *
+ * Micrometer sees each histogram as {@code order.saga.step.latency} gauges
+ * tagged with step, outcome and quantile, in seconds.
+ * Snapshot percentiles are in microseconds.
+ */
+@Component
+public class SagaStepMetrics implements MeterBinder {
+
+    /** One hour, in microseconds; slower steps are counted as one hour. */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final Step[] STEPS = Step.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final LatencyHistogram[][] histograms = new LatencyHistogram[STEPS.length][OUTCOMES.length];
+
+    public SagaStepMetrics() {
+        for (Step step : STEPS) {
+            for (Outcome outcome : OUTCOMES) {
+                histograms[step.ordinal()][outcome.ordinal()] = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+            }
+        }
+    }
+
+    /**
+     * Record the time between two points of one order, in epoch microseconds.
+     * Nothing is recorded if either point is unknown (zero).
+     */
+    public void record(Step step, Outcome outcome, long fromMicros, long toMicros) {
+        if (fromMicros == 0 || toMicros == 0) {
+            return;
+        }
+        histograms[step.ordinal()][outcome.ordinal()].record(toMicros - fromMicros);
+    }
+
+    public static long epochMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    /**
+     * Percentiles of every step that has recorded values, by step and outcome.
+     */
+    public Map<Step, Map<Outcome, LatencyPercentiles>> snapshot() {
+        Map<Step, Map<Outcome, LatencyPercentiles>> snapshot = new EnumMap<>(Step.class);
+        for (Step step : STEPS) {
+            Map<Outcome, LatencyPercentiles> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : OUTCOMES) {
+                LatencyHistogram.Snapshot histogram = histograms[step.ordinal()][outcome.ordinal()].snapshot();
+                if (histogram.totalCount() > 0) {
+                    byOutcome.put(outcome, LatencyPercentiles.of(histogram));
+                }
+            }
+            if (!byOutcome.isEmpty()) {
+                snapshot.put(step, byOutcome);
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Step step : STEPS) {
+            for (Outcome outcome : OUTCOMES) {
+                LatencyGauges.register(registry, "order.saga.step.latency", "OrderSaga step latency",
+                    Tags.of("step", step.tagValue, "outcome", outcome.tagValue),
+                    histograms[step.ordinal()][outcome.ordinal()]);
+            }
+        }
+    }
+
+    /**
+     * Measured saga steps.
+     */
+    public enum Step {
+        /** OrderCreatedEvent to PaymentReservedEvent */
+        PAYMENT_RESERVED("payment-reserved"),
+        /** OrderCreatedEvent to InventoryReservedEvent */
+        INVENTORY_RESERVED("inventory-reserved"),
+        /** Second of the two reservations to OrderConfirmedEvent */
+        CONFIRMATION("confirmation"),
+        /** First failure or timeout to OrderCancelledEvent */
+        COMPENSATION("compensation");
+
+        private final String tagValue;
+
+        Step(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    /**
+     * How the order ended.
+     */
+    public enum Outcome {
+        CONFIRMED("confirmed"),
+        CANCELLED("cancelled"),
+        TIMED_OUT("timed-out");
+
+        private final String tagValue;
+
+        Outcome(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+}
@@ -1,31 +1,59 @@
 package com.example.sales.infrastructure.query;
 
+import com.example.sales.application.dto.OrderResponse;
+import com.example.sales.application.dto.OrderStatusUpdate;
 import com.example.sales.application.service.OrderApplicationService.FindOrderByIdQuery;
 import com.example.shared.event.OrderCancelledEvent;
 import com.example.shared.event.OrderConfirmedEvent;
+import com.example.shared.event.MultiItemOrderCreatedEvent;
 import com.example.shared.event.OrderCreatedEvent;
 import com.example.shared.valueobject.OrderStatus;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
 import org.axonframework.queryhandling.QueryHandler;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Query handler for Order queries.
  * Also handles event projections to update the query model.
+ *
+ * Projection writes go through {@link OrderViewWriter}, which batches them per
+ * unit of work; the "order-view" processor's batch size sets how many events share one.
+ * Once that unit of work commits, the same changes are applied to {@link OrderResponseCache}
+ * and emitted as {@link OrderStatusUpdate}s to subscription queries on FindOrderByIdQuery.
  */
 @Component
+@ProcessingGroup(OrderQueryHandler.PROCESSING_GROUP)
 public class OrderQueryHandler {
 
+    public static final String PROCESSING_GROUP = "order-view";
+
     private static final Logger log = LoggerFactory.getLogger(OrderQueryHandler.class);
+    private static final String CACHE_UPDATES_RESOURCE = OrderQueryHandler.class.getName() + ".cacheUpdates";
 
     private final OrderQueryRepository repository;
+    private final OrderViewWriter writer;
+    private final OrderResponseCache cache;
+    private final QueryUpdateEmitter updateEmitter;
 
-    public OrderQueryHandler(OrderQueryRepository repository) {
+    public OrderQueryHandler(OrderQueryRepository repository, OrderViewWriter writer,
+                             OrderResponseCache cache, QueryUpdateEmitter updateEmitter) {
         this.repository = repository;
+        this.writer = writer;
+        this.cache = cache;
+        this.updateEmitter = updateEmitter;
     }
 
     @QueryHandler
@@ -36,34 +64,94 @@ public class OrderQueryHandler {
     @EventHandler
     public void on(OrderCreatedEvent event) {
         log.debug("Projecting OrderCreatedEvent for order: {}", event.orderId());
-        OrderQueryModel model = new OrderQueryModel(
+        created(event.orderId(), event.customerId(),
+            List.of(new OrderViewItem(event.productId(), event.quantity())),
+            event.amount(), event.timestamp());
+    }
+
+    @EventHandler
+    public void on(MultiItemOrderCreatedEvent event) {
+        log.debug("Projecting MultiItemOrderCreatedEvent for order: {}", event.orderId());
+        created(
             event.orderId(),
             event.customerId(),
-            event.productId(),
-            event.quantity(),
+            event.items().stream()
+                .map(item -> new OrderViewItem(item.productId(), item.quantity()))
+                .toList(),
             event.amount(),
-            OrderStatus.PENDING,
             event.timestamp()
         );
-        repository.save(model);
     }
 
     @EventHandler
     public void on(OrderConfirmedEvent event) {
         log.debug("Projecting OrderConfirmedEvent for order: {}", event.orderId());
-        repository.findById(event.orderId()).ifPresent(model -> {
-            model.updateStatus(OrderStatus.CONFIRMED, event.timestamp());
-            repository.save(model);
-        });
+        String message = OrderQueryModel.defaultStatusMessage(OrderStatus.CONFIRMED);
+        writer.updateStatus(event.orderId(), OrderStatus.CONFIRMED, message, event.timestamp());
+        afterCommit(() -> cache.updateStatus(event.orderId(), OrderStatus.CONFIRMED, message, event.timestamp()));
+        emitStatusUpdate(new OrderStatusUpdate(event.orderId(), OrderStatus.CONFIRMED, message, event.timestamp()));
     }
 
     @EventHandler
     public void on(OrderCancelledEvent event) {
         log.debug("Projecting OrderCancelledEvent for order: {}", event.orderId());
-        repository.findById(event.orderId()).ifPresent(model -> {
-            OrderStatus status = event.isTimeout() ? OrderStatus.CANCELLED_TIMEOUT : OrderStatus.CANCELLED;
-            model.updateStatus(status, event.reason(), event.timestamp());
-            repository.save(model);
-        });
+        OrderStatus status = event.isTimeout() ? OrderStatus.CANCELLED_TIMEOUT : OrderStatus.CANCELLED;
+        writer.updateStatus(event.orderId(), status, event.reason(), event.timestamp());
+        afterCommit(() -> cache.updateStatus(event.orderId(), status, event.reason(), event.timestamp()));
+        emitStatusUpdate(new OrderStatusUpdate(event.orderId(), status, event.reason(), event.timestamp()));
+    }
+
+    private void created(UUID orderId, String customerId, List<OrderViewItem> items,
+                         BigDecimal amount, Instant createdAt) {
+        writer.create(
+            orderId,
+            customerId,
+            items,
+            amount,
+            createdAt
+        );
+        afterCommit(() -> cache.put(new OrderResponse(
+            orderId,
+            customerId,
+            items.stream()
+                .map(item -> new OrderResponse.Item(item.getProductId(), item.getQuantity()))
+                .toList(),
+            amount,
+            OrderStatus.PENDING,
+            OrderQueryModel.defaultStatusMessage(OrderStatus.PENDING),
+            createdAt,
+            createdAt
+        )));
+        emitStatusUpdate(new OrderStatusUpdate(
+            orderId,
+            OrderStatus.PENDING,
+            OrderQueryModel.defaultStatusMessage(OrderStatus.PENDING),
+            createdAt
+        ));
+    }
+
+    /**
+     * Notify subscribers of the order. Emitting inside the unit of work defers delivery until it commits.
+     */
+    private void emitStatusUpdate(OrderStatusUpdate update) {
+        updateEmitter.emit(FindOrderByIdQuery.class, query -> query.orderId().equals(update.orderId()), update);
+    }
+
+    /**
+     * Keep the cache from showing projection changes that are later rolled back.
+     * Actions are queued on the root unit of work and run in event order, since
+     * Axon runs after-commit handlers in reverse registration order.
+     */
+    private void afterCommit(Runnable action) {
+        if (!CurrentUnitOfWork.isStarted()) {
+            action.run();
+            return;
+        }
+        UnitOfWork<?> root = CurrentUnitOfWork.get().root();
+        root.getOrComputeResource(CACHE_UPDATES_RESOURCE, key -> {
+            List<Runnable> updates = new ArrayList<>();
+            root.afterCommit(unitOfWork -> updates.forEach(Runnable::run));
+            return updates;
+        }).add(action);
     }
 }
@@ -5,11 +5,16 @@ import jakarta.persistence.*;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Query model (read model) for Order.
  * Optimized for reads, updated by event projections.
+ *
+ * The ordered products are rows of order_view_item, one per line of the order,
+ * in the order they were placed.
  */
 @Entity
 @Table(name = "order_view")
@@ -22,11 +27,10 @@ public class OrderQueryModel {
     @Column(name = "customer_id", nullable = false)
     private String customerId;
 
-    @Column(name = "product_id", nullable = false)
-    private String productId;
-
-    @Column(name = "quantity", nullable = false)
-    private int quantity;
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "order_view_item", joinColumns = @JoinColumn(name = "order_id"))
+    @OrderColumn(name = "line_no")
+    private List<OrderViewItem> items = new ArrayList<>();
 
     @Column(name = "amount", nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
@@ -47,23 +51,21 @@ public class OrderQueryModel {
     protected OrderQueryModel() {
     }
 
-    public OrderQueryModel(UUID orderId, String customerId, String productId,
-                          int quantity, BigDecimal amount, OrderStatus status,
-                          Instant createdAt) {
+    public OrderQueryModel(UUID orderId, String customerId, List<OrderViewItem> items,
+                          BigDecimal amount, OrderStatus status, Instant createdAt) {
         this.orderId = orderId;
         this.customerId = customerId;
-        this.productId = productId;
-        this.quantity = quantity;
+        this.items = new ArrayList<>(items);
         this.amount = amount;
         this.status = status;
-        this.statusMessage = getDefaultStatusMessage(status);
+        this.statusMessage = defaultStatusMessage(status);
         this.createdAt = createdAt;
         this.updatedAt = createdAt;
     }
 
     public void updateStatus(OrderStatus newStatus, Instant timestamp) {
         this.status = newStatus;
-        this.statusMessage = getDefaultStatusMessage(newStatus);
+        this.statusMessage = defaultStatusMessage(newStatus);
         this.updatedAt = timestamp;
     }
 
@@ -73,7 +75,7 @@ public class OrderQueryModel {
         this.updatedAt = timestamp;
     }
 
-    private String getDefaultStatusMessage(OrderStatus status) {
+    static String defaultStatusMessage(OrderStatus status) {
         return switch (status) {
             case PENDING -> "訂單已受理，正在處理中";
             case PROCESSING -> "訂單處理中";
@@ -92,12 +94,8 @@ public class OrderQueryModel {
         return customerId;
     }
 
-    public String getProductId() {
-        return productId;
-    }
-
-    public int getQuantity() {
-        return quantity;
+    public List<OrderViewItem> getItems() {
+        return items;
     }
 
     public BigDecimal getAmount() {
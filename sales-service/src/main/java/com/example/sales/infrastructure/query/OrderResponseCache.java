@@ -0,0 +1,156 @@
+package com.example.sales.infrastructure.query;
+
+import com.example.sales.application.dto.OrderResponse;
+import com.example.shared.valueobject.OrderStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of recent orders, filled by the order_view projection.
+ *
+ * Entries expire a fixed time after the order was cached, and the oldest entry
+ * is evicted once the cache is full. Both follow creation order, so eviction
+ * only ever looks at the head of a FIFO queue and memory stays bounded by
+ * {@code maxSize} whatever the order rate.
+ *
+ * Status changes replace the cached response in place; orders that are no
+ * longer cached are left to the database.
+ */
+public class OrderResponseCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<UUID, Node> entries = new ConcurrentHashMap<>();
+    private final Queue<Node> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public OrderResponseCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    OrderResponseCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public Optional<OrderResponse> get(UUID orderId) {
+        Node node = entries.get(orderId);
+        if (node == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (isExpired(node, nanoClock.getAsLong())) {
+            evict(node);
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(node.response);
+    }
+
+    /**
+     * Cache a newly created order, evicting expired and then oldest entries to stay within bounds.
+     */
+    public void put(OrderResponse response) {
+        long now = nanoClock.getAsLong();
+        Node node = new Node(response.orderId(), response, now);
+        Node previous = entries.put(node.orderId, node);
+        if (previous == null) {
+            size.incrementAndGet();
+        }
+        insertionOrder.add(node);
+        evictExpired(now);
+        while (size.get() > maxSize) {
+            Node oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            evict(oldest);
+        }
+    }
+
+    /**
+     * Apply a status change to a cached order. Does nothing if the order is not cached.
+     */
+    public void updateStatus(UUID orderId, OrderStatus status, String statusMessage, Instant updatedAt) {
+        Node node = entries.get(orderId);
+        if (node != null) {
+            OrderResponse current = node.response;
+            node.response = new OrderResponse(
+                current.orderId(),
+                current.customerId(),
+                current.productId(),
+                current.quantity(),
+                current.items(),
+                current.amount(),
+                status,
+                statusMessage,
+                current.createdAt(),
+                updatedAt
+            );
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(size.get(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void evictExpired(long now) {
+        Node head;
+        while ((head = insertionOrder.peek()) != null && isExpired(head, now)) {
+            if (insertionOrder.remove(head)) {
+                evict(head);
+            }
+        }
+    }
+
+    private void evict(Node node) {
+        // Only the node still mapped counts; a replayed create may have replaced it
+        if (entries.remove(node.orderId, node)) {
+            size.decrementAndGet();
+            evictions.increment();
+        }
+    }
+
+    private boolean isExpired(Node node, long now) {
+        return now - node.cachedAtNanos >= ttlNanos;
+    }
+
+    /**
+     * Cache counters.
+     */
+    public record Stats(int size, int maxSize, long hits, long misses, long evictions) {
+    }
+
+    private static final class Node {
+
+        private final UUID orderId;
+        private final long cachedAtNanos;
+        private volatile OrderResponse response;
+
+        private Node(UUID orderId, OrderResponse response, long cachedAtNanos) {
+            this.orderId = orderId;
+            this.response = response;
+            this.cachedAtNanos = cachedAtNanos;
+        }
+    }
+}
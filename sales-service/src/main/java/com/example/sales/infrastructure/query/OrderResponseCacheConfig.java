@@ -0,0 +1,21 @@
+package com.example.sales.infrastructure.query;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Sizes the {@link OrderResponseCache} from {@code sales.order-cache.*}.
+ */
+@Configuration
+public class OrderResponseCacheConfig {
+
+    @Bean
+    public OrderResponseCache orderResponseCache(
+            @Value("${sales.order-cache.max-size:100000}") int maxSize,
+            @Value("${sales.order-cache.ttl:30s}") Duration ttl) {
+        return new OrderResponseCache(maxSize, ttl);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.sales.infrastructure.query;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * One line of an order in the read model, stored in order_view_item.
+ */
+@Embeddable
+public class OrderViewItem {
+
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+
+    @Column(name = "quantity", nullable = false)
+    private int quantity;
+
+    protected OrderViewItem() {
+    }
+
+    public OrderViewItem(String productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.sales.infrastructure.query;
+
+import com.example.shared.valueobject.OrderStatus;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes order_view rows with JDBC batches instead of per-event entity loads and saves.
+ *
+ * Writes are collected on the root unit of work, so a tracking processor batch
+ * becomes one MERGE batch for new orders, one for their order_view_item rows and
+ * one UPDATE batch for status changes,
+ * flushed on prepare commit in the same transaction as the token update. Outside a
+ * unit of work each write is flushed immediately.
+ */
+@Component
+public class OrderViewWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderViewWriter.class);
+    private static final String PENDING_WRITES_RESOURCE = OrderViewWriter.class.getName() + ".pendingWrites";
+
+    static final String UPSERT_SQL = """
+        MERGE INTO order_view (order_id, customer_id, amount,
+                               status, status_message, created_at, updated_at)
+        KEY (order_id) VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    static final String UPSERT_ITEM_SQL = """
+        MERGE INTO order_view_item (order_id, line_no, product_id, quantity)
+        KEY (order_id, line_no) VALUES (?, ?, ?, ?)""";
+
+    static final String UPDATE_STATUS_SQL =
+        "UPDATE order_view SET status = ?, status_message = ?, updated_at = ? WHERE order_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderViewWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert a PENDING row and one item row per line for a new order, or overwrite them on replay.
+     */
+    public void create(UUID orderId, String customerId, List<OrderViewItem> items,
+                       BigDecimal amount, Instant createdAt) {
+        PendingWrites writes = pendingWrites();
+        writes.create(orderId, customerId, items, amount, createdAt);
+        flushIfUnbound(writes);
+    }
+
+    /**
+     * Change the status of an order without loading it.
+     */
+    public void updateStatus(UUID orderId, OrderStatus status, String message, Instant timestamp) {
+        PendingWrites writes = pendingWrites();
+        writes.updateStatus(orderId, status, message, timestamp);
+        flushIfUnbound(writes);
+    }
+
+    private PendingWrites pendingWrites() {
+        if (!CurrentUnitOfWork.isStarted()) {
+            return new PendingWrites();
+        }
+        UnitOfWork<?> root = CurrentUnitOfWork.get().root();
+        return root.getOrComputeResource(PENDING_WRITES_RESOURCE, key -> {
+            PendingWrites writes = new PendingWrites();
+            root.onPrepareCommit(unitOfWork -> writes.flushTo(jdbcTemplate));
+            return writes;
+        });
+    }
+
+    private void flushIfUnbound(PendingWrites writes) {
+        if (!CurrentUnitOfWork.isStarted()) {
+            writes.flushTo(jdbcTemplate);
+        }
+    }
+
+    /**
+     * Writes collected for one unit of work, keyed by order.
+     *
+     * A status change for an order created in the same batch is folded into its
+     * insert, and only the last status change per order is kept.
+     */
+    static final class PendingWrites {
+
+        private final Map<UUID, Object[]> creates = new LinkedHashMap<>();
+        private final Map<UUID, List<Object[]>> createdItems = new LinkedHashMap<>();
+        private final Map<UUID, Object[]> statusUpdates = new LinkedHashMap<>();
+
+        void create(UUID orderId, String customerId, List<OrderViewItem> items,
+                    BigDecimal amount, Instant createdAt) {
+            Timestamp timestamp = Timestamp.from(createdAt);
+            creates.put(orderId, new Object[]{
+                orderId, customerId, amount,
+                OrderStatus.PENDING.name(), OrderQueryModel.defaultStatusMessage(OrderStatus.PENDING),
+                timestamp, timestamp
+            });
+            List<Object[]> itemRows = new ArrayList<>(items.size());
+            for (int lineNo = 0; lineNo < items.size(); lineNo++) {
+                OrderViewItem item = items.get(lineNo);
+                itemRows.add(new Object[]{orderId, lineNo, item.getProductId(), item.getQuantity()});
+            }
+            createdItems.put(orderId, itemRows);
+        }
+
+        void updateStatus(UUID orderId, OrderStatus status, String message, Instant timestamp) {
+            Object[] created = creates.get(orderId);
+            if (created != null) {
+                created[3] = status.name();
+                created[4] = message;
+                created[6] = Timestamp.from(timestamp);
+                return;
+            }
+            statusUpdates.put(orderId, new Object[]{status.name(), message, Timestamp.from(timestamp), orderId});
+        }
+
+        void flushTo(JdbcTemplate jdbcTemplate) {
+            if (!creates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(creates.values()));
+                jdbcTemplate.batchUpdate(UPSERT_ITEM_SQL,
+                    createdItems.values().stream().flatMap(List::stream).toList());
+            }
+            if (!statusUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, new ArrayList<>(statusUpdates.values()));
+            }
+            log.debug("Flushed order_view batch: {} upserts, {} status updates", creates.size(), statusUpdates.size());
+            creates.clear();
+            createdItems.clear();
+            statusUpdates.clear();
+        }
+    }
+}
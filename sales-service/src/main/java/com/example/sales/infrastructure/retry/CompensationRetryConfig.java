@@ -0,0 +1,54 @@
+package com.example.sales.infrastructure.retry;
+
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Builds the {@link RetryableCommandGateway} from {@code sales.compensation-retry.*}.
+ *
+ * Per-command policies under {@code sales.compensation-retry.policies.<CommandSimpleName>}
+ * must be complete; commands without one use the default policy.
+ */
+@Configuration
+public class CompensationRetryConfig {
+
+    @Bean
+    public RetryBudget compensationRetryBudget(
+            @Value("${sales.compensation-retry.budget.retry-ratio:0.2}") double retryRatio,
+            @Value("${sales.compensation-retry.budget.min-retries-per-second:10}") double minRetriesPerSecond,
+            @Value("${sales.compensation-retry.budget.max-tokens:100}") double maxTokens) {
+        return new RetryBudget(retryRatio, minRetriesPerSecond, maxTokens);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public RetryableCommandGateway retryableCommandGateway(
+            CommandGateway commandGateway,
+            RetryBudget compensationRetryBudget,
+            DeadLetterQueue deadLetterQueue,
+            Environment environment,
+            @Value("${sales.compensation-retry.default.max-attempts:3}") int maxAttempts,
+            @Value("${sales.compensation-retry.default.initial-backoff:500ms}") Duration initialBackoff,
+            @Value("${sales.compensation-retry.default.multiplier:2.0}") double multiplier,
+            @Value("${sales.compensation-retry.default.max-backoff:10s}") Duration maxBackoff,
+            @Value("${sales.compensation-retry.default.jitter:0.5}") double jitter) {
+        Map<String, RetryPolicy> policies = Binder.get(environment)
+            .bind("sales.compensation-retry.policies", Bindable.mapOf(String.class, RetryPolicy.class))
+            .orElse(Map.of());
+        return new RetryableCommandGateway(
+            commandGateway,
+            new RetryPolicy(maxAttempts, initialBackoff, multiplier, maxBackoff, jitter),
+            policies,
+            compensationRetryBudget,
+            new RetryMetrics(),
+            deadLetterQueue
+        );
+    }
+}
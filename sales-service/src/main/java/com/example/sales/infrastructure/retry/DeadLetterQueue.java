@@ -0,0 +1,15 @@
+package com.example.sales.infrastructure.retry;
+
+/**
+ * Destination for compensation commands the retry pipeline has given up on.
+ */
+public interface DeadLetterQueue {
+
+    /**
+     * Keep a command for later replay.
+     *
+     * @param command the compensation command
+     * @param cause   the last failure
+     */
+    void enqueue(Object command, Throwable cause);
+}
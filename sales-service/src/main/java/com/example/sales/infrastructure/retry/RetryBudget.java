@@ -0,0 +1,81 @@
+package com.example.sales.infrastructure.retry;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries relative to first attempts, so that retries cannot multiply
+ * the load on a service that is already failing.
+ *
+ * Every first attempt deposits {@code retryRatio} tokens and every retry
+ * withdraws one; on top of that the budget refills at
+ * {@code minRetriesPerSecond} so a quiet system can still retry. Tokens are
+ * capped at {@code maxTokens}. With a ratio of 0.2, retries add at most 20%
+ * to the compensation traffic however many attempts each policy allows.
+ */
+public class RetryBudget {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double retryRatio;
+    private final double minRetriesPerSecond;
+    private final double maxTokens;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public RetryBudget(double retryRatio, double minRetriesPerSecond, double maxTokens) {
+        this(retryRatio, minRetriesPerSecond, maxTokens, System::nanoTime);
+    }
+
+    RetryBudget(double retryRatio, double minRetriesPerSecond, double maxTokens, LongSupplier nanoClock) {
+        if (retryRatio < 0 || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("Retry ratio and minimum retry rate cannot be negative");
+        }
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("Max tokens must be at least 1");
+        }
+        this.retryRatio = retryRatio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxTokens = maxTokens;
+        this.nanoClock = nanoClock;
+        this.tokens = maxTokens;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Record a first attempt.
+     */
+    public synchronized void onFirstAttempt() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + retryRatio);
+    }
+
+    /**
+     * Take one token for a retry.
+     *
+     * @return false if the budget is exhausted and the retry must not be made
+     */
+    public synchronized boolean tryAcquireRetry() {
+        refill();
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(maxTokens, tokens + minRetriesPerSecond * elapsed / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.sales.infrastructure.retry;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attempt and latency counters of the compensation retry pipeline, per command type.
+ *
+ * Latency is measured from the first send to the final outcome, retries included.
+ */
+public class RetryMetrics {
+
+    private final Map<String, CommandCounters> counters = new ConcurrentHashMap<>();
+
+    void recordAttempt(String commandType, int attempt) {
+        CommandCounters commandCounters = countersFor(commandType);
+        commandCounters.attempts.increment();
+        if (attempt > 1) {
+            commandCounters.retries.increment();
+        }
+    }
+
+    void recordSuccess(String commandType, long latencyNanos) {
+        CommandCounters commandCounters = countersFor(commandType);
+        commandCounters.successes.increment();
+        commandCounters.recordLatency(latencyNanos);
+    }
+
+    void recordFailure(String commandType, long latencyNanos, boolean budgetExhausted) {
+        CommandCounters commandCounters = countersFor(commandType);
+        commandCounters.failures.increment();
+        if (budgetExhausted) {
+            commandCounters.budgetRejections.increment();
+        }
+        commandCounters.recordLatency(latencyNanos);
+    }
+
+    /**
+     * Current counters, keyed by command simple name.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        counters.forEach((commandType, commandCounters) -> snapshot.put(commandType, commandCounters.snapshot()));
+        return snapshot;
+    }
+
+    private CommandCounters countersFor(String commandType) {
+        return counters.computeIfAbsent(commandType, type -> new CommandCounters());
+    }
+
+    /**
+     * Counters of one command type.
+     *
+     * @param attempts         sends including retries
+     * @param retries          sends after the first
+     * @param successes        commands that eventually succeeded
+     * @param failures         commands that gave up
+     * @param budgetRejections failures caused by an exhausted retry budget
+     * @param meanLatencyMillis mean time from first send to outcome
+     * @param maxLatencyMillis  longest time from first send to outcome
+     */
+    public record Snapshot(
+        long attempts,
+        long retries,
+        long successes,
+        long failures,
+        long budgetRejections,
+        double meanLatencyMillis,
+        double maxLatencyMillis
+    ) {
+    }
+
+    private static final class CommandCounters {
+
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder budgetRejections = new LongAdder();
+        private final LongAdder latencyCount = new LongAdder();
+        private final LongAdder latencyTotalNanos = new LongAdder();
+        private final LongAccumulator latencyMaxNanos = new LongAccumulator(Math::max, 0);
+
+        void recordLatency(long latencyNanos) {
+            latencyCount.increment();
+            latencyTotalNanos.add(latencyNanos);
+            latencyMaxNanos.accumulate(latencyNanos);
+        }
+
+        Snapshot snapshot() {
+            long count = latencyCount.sum();
+            double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+            return new Snapshot(
+                attempts.sum(),
+                retries.sum(),
+                successes.sum(),
+                failures.sum(),
+                budgetRejections.sum(),
+                count == 0 ? 0.0 : latencyTotalNanos.sum() / nanosPerMilli / count,
+                latencyMaxNanos.get() / nanosPerMilli
+            );
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.sales.infrastructure.retry;
+
+import java.time.Duration;
+
+/**
+ * Retry policy for one compensation command type.
+ *
+ * The delay before retry {@code n} (n = 1 for the second attempt) grows as
+ * {@code initialBackoff * multiplier^(n-1)}, capped at {@code maxBackoff}, and
+ * a random share of up to {@code jitter} of it is taken off so that
+ * compensations failing together do not retry together.
+ *
+ * @param maxAttempts    total attempts including the first send
+ * @param initialBackoff delay before the first retry
+ * @param multiplier     growth factor per retry
+ * @param maxBackoff     upper bound for any single delay
+ * @param jitter         fraction of the delay that is randomised, 0 (none) to 1 (full jitter)
+ */
+public record RetryPolicy(
+    int maxAttempts,
+    Duration initialBackoff,
+    double multiplier,
+    Duration maxBackoff,
+    double jitter
+) {
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (initialBackoff == null || initialBackoff.isNegative()) {
+            throw new IllegalArgumentException("Initial backoff cannot be null or negative");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        if (maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Max backoff cannot be less than initial backoff");
+        }
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Delay before the given retry.
+     *
+     * @param retry  1 for the first retry (second attempt)
+     * @param random uniform random value in [0, 1)
+     */
+    public long delayNanos(int retry, double random) {
+        double base = initialBackoff.toNanos() * Math.pow(multiplier, retry - 1);
+        double capped = Math.min(base, maxBackoff.toNanos());
+        return (long) (capped * (1.0 - jitter * random));
+    }
+
+    public boolean allowsAttempt(int attempt) {
+        return attempt <= maxAttempts;
+    }
+}
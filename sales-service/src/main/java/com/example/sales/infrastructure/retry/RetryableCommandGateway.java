@@ -3,96 +3,179 @@ package com.example.sales.infrastructure.retry;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A wrapper around CommandGateway that provides retry functionality
  * for compensation commands.
  *
- * According to US4, compensation commands should retry up to 3 times
- * with a 500ms delay between attempts.
+ * Retries are driven by a scheduler: a failed send, whether it throws or its
+ * future fails, schedules the next attempt after an exponential, jittered
+ * delay from the command type's {@link RetryPolicy}. No thread waits between
+ * attempts. Every retry also needs a token from the shared {@link RetryBudget},
+ * so retries stay a bounded fraction of the compensation traffic during an
+ * outage. Commands that are given up on are handed to the {@link DeadLetterQueue}
+ * for later replay instead of being dropped.
  */
-@Component
 public class RetryableCommandGateway {
 
     private static final Logger log = LoggerFactory.getLogger(RetryableCommandGateway.class);
 
     private final CommandGateway commandGateway;
+    private final RetryPolicy defaultPolicy;
+    private final Map<String, RetryPolicy> policies;
+    private final RetryBudget retryBudget;
+    private final RetryMetrics metrics;
+    private final DeadLetterQueue deadLetterQueue;
+    private final ScheduledExecutorService scheduler;
 
-    public RetryableCommandGateway(CommandGateway commandGateway) {
+    /**
+     * @param policies per-command policies keyed by command simple name, e.g. "ReleasePaymentCommand"
+     */
+    public RetryableCommandGateway(CommandGateway commandGateway,
+                                   RetryPolicy defaultPolicy,
+                                   Map<String, RetryPolicy> policies,
+                                   RetryBudget retryBudget,
+                                   RetryMetrics metrics,
+                                   DeadLetterQueue deadLetterQueue) {
         this.commandGateway = commandGateway;
+        this.defaultPolicy = defaultPolicy;
+        this.policies = Map.copyOf(policies);
+        this.retryBudget = retryBudget;
+        this.metrics = metrics;
+        this.deadLetterQueue = deadLetterQueue;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "compensation-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
      * Send a compensation command with retry logic.
-     * Retries up to 3 times with 500ms delay between attempts.
+     * The returned future completes with the first successful result, or fails with
+     * {@link CompensationFailedException} once the policy or the budget gives up.
      *
      * @param command The compensation command to send
      * @param <C> The command type
      * @param <R> The result type
      * @return CompletableFuture with the result
      */
-    @Retryable(
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 500),
-        retryFor = Exception.class
-    )
     public <C, R> CompletableFuture<R> sendWithRetry(C command) {
-        log.info("Sending compensation command: {}", command.getClass().getSimpleName());
-        return commandGateway.send(command);
+        String commandType = command.getClass().getSimpleName();
+        log.info("Sending compensation command: {}", commandType);
+
+        retryBudget.onFirstAttempt();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        attempt(command, commandType, policyFor(commandType), 1, System.nanoTime(), result);
+        return result;
     }
 
     /**
-     * Send a compensation command synchronously with retry logic.
+     * Send a compensation command and wait for its outcome.
+     * Only the calling thread waits; retries are scheduled like {@link #sendWithRetry}.
      *
      * @param command The compensation command to send
      * @param <C> The command type
      * @param <R> The result type
      * @return The result
      */
-    @Retryable(
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 500),
-        retryFor = Exception.class
-    )
     public <C, R> R sendAndWaitWithRetry(C command) {
-        log.info("Sending compensation command (sync): {}", command.getClass().getSimpleName());
-        return commandGateway.sendAndWait(command);
+        try {
+            return this.<C, R>sendWithRetry(command).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompensationFailedException("Interrupted while sending compensation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CompensationFailedException compensationFailed) {
+                throw compensationFailed;
+            }
+            throw new CompensationFailedException("Compensation failed after retries", e.getCause());
+        }
     }
 
-    /**
-     * Recovery method called after all retry attempts are exhausted.
-     *
-     * @param e The exception that caused the failure
-     * @param command The command that failed
-     * @param <C> The command type
-     * @param <R> The result type
-     * @return null (compensation failed permanently)
-     */
-    @Recover
-    public <C, R> CompletableFuture<R> recover(Exception e, C command) {
-        log.error("Compensation command failed after all retries: {} - {}",
-            command.getClass().getSimpleName(), e.getMessage());
-        // In a production system, you might want to:
-        // 1. Store the failed command for manual intervention
-        // 2. Send an alert
-        // 3. Log to a dead letter queue
-        return CompletableFuture.failedFuture(e);
+    public RetryMetrics metrics() {
+        return metrics;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private <C, R> void attempt(C command, String commandType, RetryPolicy policy, int attempt,
+                                long startNanos, CompletableFuture<R> result) {
+        metrics.recordAttempt(commandType, attempt);
+        CompletableFuture<R> sent;
+        try {
+            sent = commandGateway.send(command);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((value, error) -> {
+            if (error == null) {
+                metrics.recordSuccess(commandType, System.nanoTime() - startNanos);
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (!policy.allowsAttempt(attempt + 1)) {
+                giveUp(command, commandType, attempt, startNanos, cause, false, result);
+                return;
+            }
+            if (!retryBudget.tryAcquireRetry()) {
+                giveUp(command, commandType, attempt, startNanos, cause, true, result);
+                return;
+            }
+            long delayNanos = policy.delayNanos(attempt, ThreadLocalRandom.current().nextDouble());
+            log.warn("Compensation command {} failed on attempt {}, retrying in {} ms: {}",
+                commandType, attempt, TimeUnit.NANOSECONDS.toMillis(delayNanos), cause.getMessage());
+            try {
+                scheduler.schedule(
+                    () -> attempt(command, commandType, policy, attempt + 1, startNanos, result),
+                    delayNanos,
+                    TimeUnit.NANOSECONDS
+                );
+            } catch (RuntimeException e) {
+                // Scheduler shut down
+                giveUp(command, commandType, attempt, startNanos, cause, false, result);
+            }
+        });
     }
 
     /**
-     * Recovery method for synchronous calls.
+     * Called once retries are exhausted or refused by the budget.
+     * The command is dead-lettered before the caller sees the failure.
      */
-    @Recover
-    public <C, R> R recoverSync(Exception e, C command) {
-        log.error("Compensation command (sync) failed after all retries: {} - {}",
-            command.getClass().getSimpleName(), e.getMessage());
-        throw new CompensationFailedException("Compensation failed after retries", e);
+    private <C, R> void giveUp(C command, String commandType, int attempts, long startNanos,
+                               Throwable cause, boolean budgetExhausted, CompletableFuture<R> result) {
+        metrics.recordFailure(commandType, System.nanoTime() - startNanos, budgetExhausted);
+        log.error("Compensation command failed after {} attempt(s){}: {} - {}",
+            attempts, budgetExhausted ? " (retry budget exhausted)" : "", commandType, cause.getMessage());
+        deadLetterQueue.enqueue(command, cause);
+        result.completeExceptionally(new CompensationFailedException(
+            "Compensation failed after " + attempts + " attempt(s): " + command, cause
+        ));
+    }
+
+    private RetryPolicy policyFor(String commandType) {
+        return policies.getOrDefault(commandType, defaultPolicy);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
     /**
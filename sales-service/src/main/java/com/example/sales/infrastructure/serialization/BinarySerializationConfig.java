@@ -0,0 +1,21 @@
+package com.example.sales.infrastructure.serialization;
+
+import com.example.sales.domain.saga.OrderSaga;
+import com.example.shared.serialization.BinaryTypeRegistration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stores OrderSaga state in the binary layout when {@code axon.serializer.binary.enabled}
+ * is set. Bump the version whenever the saga's non-transient fields change.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "axon.serializer.binary", name = "enabled", havingValue = "true")
+public class BinarySerializationConfig {
+
+    @Bean
+    public BinaryTypeRegistration orderSagaBinaryType() {
+        return builder -> builder.register(OrderSaga.class, 3);
+    }
+}
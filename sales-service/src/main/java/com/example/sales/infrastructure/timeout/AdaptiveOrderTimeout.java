@@ -0,0 +1,359 @@
+package com.example.sales.infrastructure.timeout;
+
+import com.example.shared.metrics.LatencyHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Order timeout derived from how long the downstream reservations take.
+ *
+ * OrderSaga records the time from OrderCreatedEvent to each reservation reply,
+ * per downstream service. Samples go into a histogram per time window; the p99
+ * estimate of a downstream is the larger p99 of the current and the previous
+ * window, each only once it holds {@code minSamples} values. So a slowdown
+ * raises the timeout within one window and a recovery lowers it after at most
+ * two. The timeout is the slowest downstream's p99 times {@code multiplier},
+ * bounded by {@code min} and {@code max}; a downstream without enough samples
+ * counts as {@code initial}. The result is recomputed at most once per
+ * {@code refreshInterval}, so scheduling a deadline stays a field read.
+ *
+ * A timeout is spurious if every reservation that was still pending replies
+ * after all, within {@code classificationWindow}; otherwise it is genuine.
+ * Replies are matched by {@link LateReservationReplyHandler}, which runs on its
+ * own processor and may see a reply before the saga's timeout registers the
+ * order; such a reply is missed and the timeout counted as genuine.
+ *
+ * Micrometer sees {@code order.saga.timeouts} (kind spurious or genuine),
+ * {@code order.saga.timeout} (the current timeout) and
+ * {@code order.saga.reservation.latency.p99} per downstream, in seconds.
+ */
+public class AdaptiveOrderTimeout implements MeterBinder {
+
+    /** One hour, in microseconds; slower replies are counted as one hour. */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final Downstream[] DOWNSTREAMS = Downstream.values();
+
+    private final long initialMicros;
+    private final long minMicros;
+    private final long maxMicros;
+    private final double multiplier;
+    private final long minSamples;
+    private final long windowNanos;
+    private final long refreshNanos;
+    private final long classificationNanos;
+    private final LongSupplier nanoClock;
+
+    private final Window[] windows = new Window[DOWNSTREAMS.length];
+    private final Map<UUID, TimedOutOrder> timedOut = new ConcurrentHashMap<>();
+    private final LongAdder spurious = new LongAdder();
+    private final LongAdder genuine = new LongAdder();
+
+    private volatile long timeoutMicros;
+    private volatile long nextRefreshNanos;
+    private volatile long nextSweepNanos;
+
+    public AdaptiveOrderTimeout(Duration initial, Duration min, Duration max, double multiplier, long minSamples,
+                                Duration window, Duration refreshInterval, Duration classificationWindow) {
+        this(initial, min, max, multiplier, minSamples, window, refreshInterval, classificationWindow,
+            System::nanoTime);
+    }
+
+    AdaptiveOrderTimeout(Duration initial, Duration min, Duration max, double multiplier, long minSamples,
+                         Duration window, Duration refreshInterval, Duration classificationWindow,
+                         LongSupplier nanoClock) {
+        if (min.isNegative() || min.isZero() || max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("Timeout bounds must satisfy 0 < min <= max");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        if (minSamples < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window and minimum samples must be positive");
+        }
+        this.minMicros = toMicros(min);
+        this.maxMicros = toMicros(max);
+        this.initialMicros = Math.min(Math.max(toMicros(initial), minMicros), maxMicros);
+        this.multiplier = multiplier;
+        this.minSamples = minSamples;
+        this.windowNanos = window.toNanos();
+        this.refreshNanos = refreshInterval.toNanos();
+        this.classificationNanos = classificationWindow.toNanos();
+        this.nanoClock = nanoClock;
+
+        long now = nanoClock.getAsLong();
+        for (Downstream downstream : DOWNSTREAMS) {
+            windows[downstream.ordinal()] = new Window(now);
+        }
+        this.timeoutMicros = initialMicros;
+        this.nextRefreshNanos = now;
+        this.nextSweepNanos = now;
+    }
+
+    /**
+     * Timeout for an order created now.
+     */
+    public Duration timeout() {
+        long now = nanoClock.getAsLong();
+        if (now - nextRefreshNanos >= 0) {
+            nextRefreshNanos = now + refreshNanos;
+            timeoutMicros = computeTimeoutMicros(now);
+        }
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(timeoutMicros));
+    }
+
+    /**
+     * Record how long one reservation took, in epoch microseconds.
+     * Nothing is recorded if either point is unknown (zero).
+     */
+    public void recordReply(Downstream downstream, long createdAtMicros, long repliedAtMicros) {
+        if (createdAtMicros == 0 || repliedAtMicros == 0) {
+            return;
+        }
+        windows[downstream.ordinal()].record(nanoClock.getAsLong(), repliedAtMicros - createdAtMicros);
+    }
+
+    /**
+     * Register an order whose timeout fired, with the reservations it was still waiting for.
+     */
+    public void timedOut(UUID orderId, long createdAtMicros, boolean paymentPending, boolean inventoryPending) {
+        long now = nanoClock.getAsLong();
+        sweep(now);
+        if (!paymentPending && !inventoryPending) {
+            // Both replies were in, so waiting longer would not have helped
+            genuine.increment();
+            return;
+        }
+        timedOut.put(orderId, new TimedOutOrder(createdAtMicros, now, paymentPending, inventoryPending));
+    }
+
+    /**
+     * A reservation reply for an order, seen after the saga may have given up on it.
+     * Replies of orders that did not time out are ignored.
+     */
+    public void lateReply(UUID orderId, Downstream downstream, long repliedAtMicros) {
+        TimedOutOrder order = timedOut.get(orderId);
+        if (order == null || !order.replied(downstream)) {
+            return;
+        }
+        // A late reply is the sample the estimate most needs: it shows how slow the downstream really is
+        recordReply(downstream, order.createdAtMicros, repliedAtMicros);
+        if (order.complete() && timedOut.remove(orderId, order)) {
+            spurious.increment();
+        }
+    }
+
+    public Stats stats() {
+        sweep(nanoClock.getAsLong());
+        return new Stats(
+            timeout(),
+            estimate(Downstream.PAYMENT),
+            estimate(Downstream.INVENTORY),
+            spurious.sum(),
+            genuine.sum(),
+            timedOut.size()
+        );
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("order.saga.timeouts", this, timeout -> timeout.countedSpurious())
+            .description("Order timeouts, by whether the pending reservations replied afterwards")
+            .tags(Tags.of("kind", "spurious"))
+            .register(registry);
+        FunctionCounter.builder("order.saga.timeouts", this, timeout -> timeout.countedGenuine())
+            .description("Order timeouts, by whether the pending reservations replied afterwards")
+            .tags(Tags.of("kind", "genuine"))
+            .register(registry);
+        Gauge.builder("order.saga.timeout", this, timeout -> seconds(timeout.timeout()))
+            .description("Timeout scheduled for new orders")
+            .baseUnit("seconds")
+            .register(registry);
+        for (Downstream downstream : DOWNSTREAMS) {
+            Gauge.builder("order.saga.reservation.latency.p99", this, timeout -> {
+                    Duration estimate = timeout.estimate(downstream);
+                    return estimate == null ? Double.NaN : seconds(estimate);
+                })
+                .description("Windowed p99 of the reservation reply time")
+                .baseUnit("seconds")
+                .tags(Tags.of("downstream", downstream.tagValue))
+                .register(registry);
+        }
+    }
+
+    private long countedSpurious() {
+        return spurious.sum();
+    }
+
+    private long countedGenuine() {
+        sweep(nanoClock.getAsLong());
+        return genuine.sum();
+    }
+
+    private Duration estimate(Downstream downstream) {
+        long p99 = windows[downstream.ordinal()].p99(nanoClock.getAsLong());
+        return p99 < 0 ? null : Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(p99));
+    }
+
+    private long computeTimeoutMicros(long now) {
+        long slowest = 0;
+        for (Window window : windows) {
+            long p99 = window.p99(now);
+            slowest = Math.max(slowest, p99 < 0 ? initialMicros : (long) (p99 * multiplier));
+        }
+        return Math.min(Math.max(slowest, minMicros), maxMicros);
+    }
+
+    /**
+     * Count timed-out orders whose replies did not come in time as genuine. Runs at most once a second.
+     */
+    private void sweep(long now) {
+        if (now - nextSweepNanos < 0) {
+            return;
+        }
+        nextSweepNanos = now + TimeUnit.SECONDS.toNanos(1);
+        timedOut.forEach((orderId, order) -> {
+            if (now - order.timedOutAtNanos >= classificationNanos && timedOut.remove(orderId, order)) {
+                genuine.increment();
+            }
+        });
+    }
+
+    private static long toMicros(Duration duration) {
+        return TimeUnit.NANOSECONDS.toMicros(duration.toNanos());
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    /**
+     * Services whose reservation replies the saga waits for.
+     */
+    public enum Downstream {
+        PAYMENT("payment"),
+        INVENTORY("inventory");
+
+        private final String tagValue;
+
+        Downstream(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    /**
+     * Current policy state.
+     *
+     * @param paymentP99   null until the payment window has enough samples
+     * @param inventoryP99 null until the inventory window has enough samples
+     * @param unresolved   timed-out orders still waiting to be classified
+     */
+    public record Stats(Duration timeout, Duration paymentP99, Duration inventoryP99,
+                        long spuriousTimeouts, long genuineTimeouts, int unresolved) {
+    }
+
+    /**
+     * Histograms of the current and the previous window of one downstream.
+     */
+    private final class Window {
+
+        private volatile LatencyHistogram current = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+        private volatile LatencyHistogram previous;
+        private volatile long currentStartNanos;
+
+        private Window(long now) {
+            this.currentStartNanos = now;
+        }
+
+        void record(long now, long micros) {
+            rotateIfDue(now);
+            current.record(micros);
+        }
+
+        /**
+         * Larger p99 of the two windows that have enough samples, or -1 if neither has.
+         */
+        long p99(long now) {
+            rotateIfDue(now);
+            long p99 = -1;
+            for (LatencyHistogram histogram : new LatencyHistogram[] {previous, current}) {
+                if (histogram == null) {
+                    continue;
+                }
+                LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+                if (snapshot.totalCount() >= minSamples) {
+                    p99 = Math.max(p99, snapshot.valueAtPercentile(99.0));
+                }
+            }
+            return p99;
+        }
+
+        private void rotateIfDue(long now) {
+            if (now - currentStartNanos < windowNanos) {
+                return;
+            }
+            synchronized (this) {
+                long elapsed = now - currentStartNanos;
+                if (elapsed < windowNanos) {
+                    return;
+                }
+                // After a quiet spell longer than a window the previous values are stale too
+                previous = elapsed < 2 * windowNanos ? current : null;
+                current = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+                currentStartNanos = now;
+            }
+        }
+    }
+
+    /**
+     * An order whose timeout fired, until its pending reservations reply or the
+     * classification window ends.
+     */
+    private static final class TimedOutOrder {
+
+        private final long createdAtMicros;
+        private final long timedOutAtNanos;
+        private volatile boolean paymentPending;
+        private volatile boolean inventoryPending;
+
+        private TimedOutOrder(long createdAtMicros, long timedOutAtNanos,
+                              boolean paymentPending, boolean inventoryPending) {
+            this.createdAtMicros = createdAtMicros;
+            this.timedOutAtNanos = timedOutAtNanos;
+            this.paymentPending = paymentPending;
+            this.inventoryPending = inventoryPending;
+        }
+
+        /**
+         * Mark the downstream as replied.
+         *
+         * @return false if it was not pending, e.g. a duplicate reply
+         */
+        synchronized boolean replied(Downstream downstream) {
+            if (downstream == Downstream.PAYMENT && paymentPending) {
+                paymentPending = false;
+                return true;
+            }
+            if (downstream == Downstream.INVENTORY && inventoryPending) {
+                inventoryPending = false;
+                return true;
+            }
+            return false;
+        }
+
+        boolean complete() {
+            return !paymentPending && !inventoryPending;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.sales.infrastructure.timeout;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Builds the {@link AdaptiveOrderTimeout} from {@code sales.order-timeout.*}.
+ *
+ * Setting {@code min} and {@code max} to the same value gives a fixed timeout
+ * while keeping the latency estimates and timeout counters.
+ */
+@Configuration
+public class AdaptiveOrderTimeoutConfig {
+
+    @Bean
+    public AdaptiveOrderTimeout adaptiveOrderTimeout(
+            @Value("${sales.order-timeout.initial:15s}") Duration initial,
+            @Value("${sales.order-timeout.min:2s}") Duration min,
+            @Value("${sales.order-timeout.max:15s}") Duration max,
+            @Value("${sales.order-timeout.multiplier:2.0}") double multiplier,
+            @Value("${sales.order-timeout.min-samples:100}") long minSamples,
+            @Value("${sales.order-timeout.window:60s}") Duration window,
+            @Value("${sales.order-timeout.refresh-interval:1s}") Duration refreshInterval,
+            @Value("${sales.order-timeout.classification-window:30s}") Duration classificationWindow) {
+        return new AdaptiveOrderTimeout(initial, min, max, multiplier, minSamples,
+            window, refreshInterval, classificationWindow);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sales.infrastructure.timeout;
+
+import com.example.sales.infrastructure.metrics.SagaStepMetrics;
+import com.example.sales.infrastructure.timeout.AdaptiveOrderTimeout.Downstream;
+import com.example.shared.event.InventoryItemsReservedEvent;
+import com.example.shared.event.InventoryReservationFailedEvent;
+import com.example.shared.event.InventoryReservedEvent;
+import com.example.shared.event.PaymentReservationFailedEvent;
+import com.example.shared.event.PaymentReservedEvent;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Passes reservation replies to {@link AdaptiveOrderTimeout}, which keeps only
+ * those of orders that already timed out.
+ *
+ * The saga usually ends shortly after its timeout, so replies that arrive later
+ * never reach it. This handler sees them on its own processor, which starts at
+ * the head of the event stream since only live replies matter.
+ */
+@Component
+@ProcessingGroup(LateReservationReplyHandler.PROCESSING_GROUP)
+public class LateReservationReplyHandler {
+
+    public static final String PROCESSING_GROUP = "order-timeout-replies";
+
+    private final AdaptiveOrderTimeout orderTimeout;
+
+    public LateReservationReplyHandler(AdaptiveOrderTimeout orderTimeout) {
+        this.orderTimeout = orderTimeout;
+    }
+
+    @EventHandler
+    public void on(PaymentReservedEvent event) {
+        orderTimeout.lateReply(event.orderId(), Downstream.PAYMENT, SagaStepMetrics.epochMicros(event.timestamp()));
+    }
+
+    @EventHandler
+    public void on(PaymentReservationFailedEvent event) {
+        orderTimeout.lateReply(event.orderId(), Downstream.PAYMENT, SagaStepMetrics.epochMicros(event.timestamp()));
+    }
+
+    @EventHandler
+    public void on(InventoryReservedEvent event) {
+        orderTimeout.lateReply(event.orderId(), Downstream.INVENTORY, SagaStepMetrics.epochMicros(event.timestamp()));
+    }
+
+    @EventHandler
+    public void on(InventoryItemsReservedEvent event) {
+        orderTimeout.lateReply(event.orderId(), Downstream.INVENTORY, SagaStepMetrics.epochMicros(event.timestamp()));
+    }
+
+    @EventHandler
+    public void on(InventoryReservationFailedEvent event) {
+        orderTimeout.lateReply(event.orderId(), Downstream.INVENTORY, SagaStepMetrics.epochMicros(event.timestamp()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.sales.infrastructure.web;
+
+import com.example.sales.infrastructure.deadletter.DeadLetterReplayWorker;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller for the compensation dead-letter queue.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/dead-letters")
+public class DeadLetterAdminController {
+
+    private final DeadLetterReplayWorker replayWorker;
+
+    public DeadLetterAdminController(DeadLetterReplayWorker replayWorker) {
+        this.replayWorker = replayWorker;
+    }
+
+    /**
+     * Queue depth, oldest entry age and drain rate.
+     * GET /api/v1/admin/dead-letters
+     */
+    @GetMapping
+    public DeadLetterReplayWorker.Stats stats() {
+        return replayWorker.stats();
+    }
+
+    /**
+     * Replay one batch now instead of waiting for the next scheduled run.
+     * POST /api/v1/admin/dead-letters/replay
+     */
+    @PostMapping("/replay")
+    public CompletableFuture<Map<String, Integer>> replay() {
+        return replayWorker.triggerReplay().thenApply(settled -> Map.of("settled", settled));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.sales.infrastructure.web;
+
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller for the segments of the streaming event processors.
+ *
+ * Splitting a segment halves its share of the event stream so another worker
+ * thread, or another instance, can take the new half; merging joins a segment
+ * with its sibling again. Both only act on segments this instance has claimed
+ * and answer false otherwise, so with several instances the call may have to
+ * be repeated on the one that owns the segment.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/event-processors")
+public class EventProcessorAdminController {
+
+    private final EventProcessingConfiguration eventProcessingConfiguration;
+
+    public EventProcessorAdminController(EventProcessingConfiguration eventProcessingConfiguration) {
+        this.eventProcessingConfiguration = eventProcessingConfiguration;
+    }
+
+    /**
+     * Segments claimed by this instance, per streaming processor.
+     * GET /api/v1/admin/event-processors
+     */
+    @GetMapping
+    public List<ProcessorStatus> processors() {
+        return eventProcessingConfiguration.eventProcessors().values().stream()
+            .filter(StreamingEventProcessor.class::isInstance)
+            .map(StreamingEventProcessor.class::cast)
+            .map(EventProcessorAdminController::toStatus)
+            .sorted(Comparator.comparing(ProcessorStatus::name))
+            .toList();
+    }
+
+    /**
+     * Split a claimed segment in two.
+     * POST /api/v1/admin/event-processors/{name}/segments/{segmentId}/split
+     */
+    @PostMapping("/{name}/segments/{segmentId}/split")
+    public CompletableFuture<Map<String, Boolean>> split(@PathVariable String name, @PathVariable int segmentId) {
+        return processor(name).splitSegment(segmentId).thenApply(split -> Map.of("split", split));
+    }
+
+    /**
+     * Merge a claimed segment with its sibling.
+     * POST /api/v1/admin/event-processors/{name}/segments/{segmentId}/merge
+     */
+    @PostMapping("/{name}/segments/{segmentId}/merge")
+    public CompletableFuture<Map<String, Boolean>> merge(@PathVariable String name, @PathVariable int segmentId) {
+        return processor(name).mergeSegment(segmentId).thenApply(merged -> Map.of("merged", merged));
+    }
+
+    private StreamingEventProcessor processor(String name) {
+        return eventProcessingConfiguration.eventProcessor(name, StreamingEventProcessor.class)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "No streaming event processor named " + name));
+    }
+
+    private static ProcessorStatus toStatus(StreamingEventProcessor processor) {
+        List<SegmentStatus> segments = processor.processingStatus().values().stream()
+            .map(status -> toStatus(status))
+            .sorted(Comparator.comparingInt(SegmentStatus::segmentId))
+            .toList();
+        return new ProcessorStatus(processor.getName(), processor.isRunning(), processor.maxCapacity(), segments);
+    }
+
+    private static SegmentStatus toStatus(EventTrackerStatus status) {
+        return new SegmentStatus(
+            status.getSegment().getSegmentId(),
+            status.getSegment().getMask(),
+            status.isCaughtUp(),
+            status.isReplaying(),
+            status.isErrorState(),
+            status.getCurrentPosition().isPresent() ? status.getCurrentPosition().getAsLong() : null
+        );
+    }
+
+    /**
+     * @param maxCapacity segments this instance may claim at most
+     */
+    public record ProcessorStatus(String name, boolean running, int maxCapacity, List<SegmentStatus> segments) {
+    }
+
+    /**
+     * @param mask     segment mask; the segment covers 1/(mask+1) of the stream
+     * @param position last processed event position, if known
+     */
+    public record SegmentStatus(int segmentId, int mask, boolean caughtUp, boolean replaying,
+                                boolean error, Long position) {
+    }
+}
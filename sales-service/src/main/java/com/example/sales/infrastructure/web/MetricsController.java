@@ -0,0 +1,59 @@
+package com.example.sales.infrastructure.web;
+
+import com.example.sales.infrastructure.metrics.SagaStepMetrics;
+import com.example.sales.infrastructure.query.OrderResponseCache;
+import com.example.sales.infrastructure.retry.RetryMetrics;
+import com.example.sales.infrastructure.retry.RetryableCommandGateway;
+import com.example.shared.metrics.LatencyPercentiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * REST controller exposing in-process performance counters.
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+public class MetricsController {
+
+    private final OrderResponseCache orderCache;
+    private final RetryableCommandGateway retryableCommandGateway;
+    private final SagaStepMetrics sagaStepMetrics;
+
+    public MetricsController(OrderResponseCache orderCache,
+                             RetryableCommandGateway retryableCommandGateway,
+                             SagaStepMetrics sagaStepMetrics) {
+        this.orderCache = orderCache;
+        this.retryableCommandGateway = retryableCommandGateway;
+        this.sagaStepMetrics = sagaStepMetrics;
+    }
+
+    /**
+     * Order cache hit/miss/eviction counters.
+     * GET /api/v1/metrics/order-cache
+     */
+    @GetMapping("/order-cache")
+    public OrderResponseCache.Stats orderCache() {
+        return orderCache.stats();
+    }
+
+    /**
+     * Compensation retry attempts and latency per command type.
+     * GET /api/v1/metrics/compensation-retries
+     */
+    @GetMapping("/compensation-retries")
+    public Map<String, RetryMetrics.Snapshot> compensationRetries() {
+        return retryableCommandGateway.metrics().snapshot();
+    }
+
+    /**
+     * OrderSaga step latency p50/p99/p999 in microseconds, by step and outcome.
+     * GET /api/v1/metrics/saga-steps
+     */
+    @GetMapping("/saga-steps")
+    public Map<SagaStepMetrics.Step, Map<SagaStepMetrics.Outcome, LatencyPercentiles>> sagaSteps() {
+        return sagaStepMetrics.snapshot();
+    }
+}
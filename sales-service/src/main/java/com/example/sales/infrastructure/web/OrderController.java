@@ -1,15 +1,23 @@
 package com.example.sales.infrastructure.web;
 
+import com.example.sales.application.dto.CreateMultiItemOrderRequest;
 import com.example.sales.application.dto.CreateOrderRequest;
 import com.example.sales.application.dto.OrderResponse;
+import com.example.sales.application.dto.OrderStatusUpdate;
 import com.example.sales.application.service.OrderApplicationService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -24,24 +32,60 @@ public class OrderController {
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
     private final OrderApplicationService orderService;
+    private final Duration maxWait;
 
-    public OrderController(OrderApplicationService orderService) {
+    public OrderController(OrderApplicationService orderService,
+                           @Value("${sales.order-wait.max-wait:10s}") Duration maxWait) {
         this.orderService = orderService;
+        this.maxWait = maxWait;
     }
 
     /**
      * Create a new order.
      * POST /api/v1/orders
      *
-     * @return 202 Accepted with order ID
+     * Clients may opt in to waiting for the saga outcome with {@code ?wait=5},
+     * {@code ?wait=500ms} or {@code Prefer: wait=5} (RFC 7240); bare numbers are
+     * seconds. The wait is capped at the configured maximum.
+     *
+     * @return 200 OK with the confirmed or cancelled order if it finished within the wait,
+     *         otherwise 202 Accepted with order ID
      */
     @PostMapping
     public CompletableFuture<ResponseEntity<OrderResponse>> createOrder(
-            @Valid @RequestBody CreateOrderRequest request) {
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestParam(name = "wait", required = false) String waitParam,
+            @RequestHeader(name = "Prefer", required = false) String prefer) {
         log.info("Received create order request: customerId={}, productId={}",
             request.customerId(), request.productId());
 
-        return orderService.createOrder(request)
+        Duration wait = requestedWait(waitParam, prefer);
+        if (wait.isZero()) {
+            return orderService.createOrder(request)
+                .thenApply(response -> ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(response));
+        }
+
+        return orderService.createOrderAndWait(request, wait)
+            .thenApply(response -> ResponseEntity
+                .status(response.status().isTerminal() ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                .body(response));
+    }
+
+    /**
+     * Create a new order of several items.
+     * POST /api/v1/orders/multi-item
+     *
+     * @return 202 Accepted with order ID; follow the outcome with GET or the event stream
+     */
+    @PostMapping("/multi-item")
+    public CompletableFuture<ResponseEntity<OrderResponse>> createMultiItemOrder(
+            @Valid @RequestBody CreateMultiItemOrderRequest request) {
+        log.info("Received create multi-item order request: customerId={}, items={}",
+            request.customerId(), request.items().size());
+
+        return orderService.createMultiItemOrder(request)
             .thenApply(response -> ResponseEntity
                 .status(HttpStatus.ACCEPTED)
                 .body(response));
@@ -62,6 +106,56 @@ public class OrderController {
                 .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
+    /**
+     * Stream order status changes as Server-Sent Events.
+     * GET /api/v1/orders/{orderId}/events
+     *
+     * Each event is named after the status; the stream ends after the first
+     * terminal status. Served asynchronously, so no request thread is held while waiting.
+     */
+    @GetMapping(path = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<OrderStatusUpdate>> streamOrderEvents(@PathVariable UUID orderId) {
+        log.debug("Received order events subscription: orderId={}", orderId);
+
+        return orderService.streamOrderStatus(orderId)
+            .map(update -> ServerSentEvent.builder(update)
+                .event(update.status().name())
+                .build());
+    }
+
+    /**
+     * Resolve how long to wait for the outcome; zero means answer immediately.
+     */
+    private Duration requestedWait(String waitParam, String prefer) {
+        Duration wait = Duration.ZERO;
+        if (waitParam != null && !waitParam.isBlank()) {
+            try {
+                String value = waitParam.trim();
+                // Seconds without a unit, as in the Prefer header
+                wait = value.chars().allMatch(Character::isDigit)
+                    ? Duration.ofSeconds(Long.parseLong(value))
+                    : DurationStyle.detectAndParse(value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid wait: " + waitParam);
+            }
+        } else if (prefer != null) {
+            for (String preference : prefer.split(",")) {
+                String[] nameAndValue = preference.trim().split("=", 2);
+                if (nameAndValue.length == 2 && nameAndValue[0].trim().equalsIgnoreCase("wait")) {
+                    try {
+                        wait = Duration.ofSeconds(Long.parseLong(nameAndValue[1].trim()));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Prefer wait: " + nameAndValue[1].trim());
+                    }
+                }
+            }
+        }
+        if (wait.isNegative()) {
+            throw new IllegalArgumentException("Wait cannot be negative");
+        }
+        return wait.compareTo(maxWait) > 0 ? maxWait : wait;
+    }
+
     /**
      * Handle validation errors.
      */
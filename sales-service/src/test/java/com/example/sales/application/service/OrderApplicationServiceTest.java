@@ -0,0 +1,213 @@
+package com.example.sales.application.service;
+
+import com.example.sales.application.dto.CreateMultiItemOrderRequest;
+import com.example.sales.application.dto.CreateOrderRequest;
+import com.example.sales.application.dto.OrderResponse;
+import com.example.sales.application.dto.OrderStatusUpdate;
+import com.example.sales.infrastructure.query.OrderQueryModel;
+import com.example.sales.infrastructure.query.OrderResponseCache;
+import com.example.shared.command.CreateMultiItemOrderCommand;
+import com.example.shared.command.CreateOrderCommand;
+import com.example.shared.valueobject.Money;
+import com.example.shared.valueobject.OrderItem;
+import com.example.shared.valueobject.OrderStatus;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.queryhandling.QueryGateway;
+import org.axonframework.queryhandling.SubscriptionQueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderApplicationService wait-for-outcome mode.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderApplicationService")
+class OrderApplicationServiceTest {
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    @Mock
+    private QueryGateway queryGateway;
+
+    @Mock
+    private SubscriptionQueryResult<Optional<OrderQueryModel>, OrderStatusUpdate> subscription;
+
+    private OrderApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderApplicationService(commandGateway, queryGateway,
+            new OrderResponseCache(100, Duration.ofSeconds(30)), 16, Duration.ofSeconds(60));
+        lenient().when(subscription.initialResult()).thenReturn(Mono.just(Optional.empty()));
+    }
+
+    @Nested
+    @DisplayName("Wait for outcome")
+    class WaitForOutcomeTests {
+
+        @BeforeEach
+        void setUp() {
+            when(queryGateway.subscriptionQuery(
+                any(OrderApplicationService.FindOrderByIdQuery.class), any(ResponseType.class), any(ResponseType.class)
+            )).thenReturn(subscription);
+            when(commandGateway.send(any(CreateOrderCommand.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        }
+
+        @Test
+        @DisplayName("should complete with the confirmed order as soon as the update arrives")
+        void shouldCompleteOnTerminalUpdate() {
+            // Given
+            Sinks.Many<OrderStatusUpdate> updates = Sinks.many().unicast().onBackpressureBuffer();
+            when(subscription.updates()).thenReturn(updates.asFlux());
+
+            // When
+            CompletableFuture<OrderResponse> result =
+                service.createOrderAndWait(new CreateOrderRequest("CUST-001", "IPHONE17", 1), Duration.ofSeconds(5));
+            assertFalse(result.isDone());
+            updates.tryEmitNext(new OrderStatusUpdate(null, OrderStatus.PENDING, "訂單已受理，正在處理中", Instant.now()));
+            assertFalse(result.isDone());
+            updates.tryEmitNext(new OrderStatusUpdate(null, OrderStatus.CONFIRMED, "訂單已確認", Instant.now()));
+
+            // Then
+            OrderResponse response = result.join();
+            assertEquals(OrderStatus.CONFIRMED, response.status());
+            assertEquals("CUST-001", response.customerId());
+            verify(subscription).cancel();
+        }
+
+        @Test
+        @DisplayName("should answer with the accepted order when the wait expires")
+        void shouldAnswerAcceptedWhenWaitExpires() {
+            // Given
+            when(subscription.updates()).thenReturn(Flux.never());
+
+            // When
+            OrderResponse response = service.createOrderAndWait(
+                new CreateOrderRequest("CUST-001", "IPHONE17", 1), Duration.ofMillis(50)
+            ).join();
+
+            // Then
+            assertEquals(OrderStatus.PENDING, response.status());
+            assertNotNull(response.orderId());
+            verify(subscription).cancel();
+        }
+    }
+
+    @Nested
+    @DisplayName("Wait deadline")
+    class WaitDeadlineTests {
+
+        @Test
+        @DisplayName("should answer with the accepted order when the command outlasts the wait")
+        void shouldAnswerAcceptedWhenCommandOutlastsWait() {
+            // Given - the command never completes
+            when(queryGateway.subscriptionQuery(
+                any(OrderApplicationService.FindOrderByIdQuery.class), any(ResponseType.class), any(ResponseType.class)
+            )).thenReturn(subscription);
+            when(commandGateway.send(any(CreateOrderCommand.class))).thenReturn(new CompletableFuture<>());
+
+            // When
+            OrderResponse response = service.createOrderAndWait(
+                new CreateOrderRequest("CUST-001", "IPHONE17", 1), Duration.ofMillis(50)
+            ).orTimeout(5, TimeUnit.SECONDS).join();
+
+            // Then
+            assertEquals(OrderStatus.PENDING, response.status());
+            verify(subscription, never()).updates();
+            verify(subscription).cancel();
+        }
+    }
+
+    @Nested
+    @DisplayName("Status stream")
+    class StatusStreamTests {
+
+        @BeforeEach
+        void setUp() {
+            when(queryGateway.subscriptionQuery(
+                any(OrderApplicationService.FindOrderByIdQuery.class),
+                any(ResponseType.class), any(ResponseType.class), anyInt()
+            )).thenReturn(subscription);
+        }
+
+        @Test
+        @DisplayName("should stream status changes and complete after the terminal one")
+        void shouldCompleteAfterTerminalStatus() {
+            // Given
+            UUID orderId = UUID.randomUUID();
+            when(subscription.updates()).thenReturn(Flux.just(
+                new OrderStatusUpdate(orderId, OrderStatus.PENDING, "訂單已受理，正在處理中", Instant.now()),
+                new OrderStatusUpdate(orderId, OrderStatus.PENDING, "訂單已受理，正在處理中", Instant.now()),
+                new OrderStatusUpdate(orderId, OrderStatus.CANCELLED_TIMEOUT, "Order timeout", Instant.now()),
+                new OrderStatusUpdate(orderId, OrderStatus.CANCELLED, "late duplicate", Instant.now())
+            ));
+
+            // When
+            List<OrderStatus> statuses = service.streamOrderStatus(orderId)
+                .map(OrderStatusUpdate::status)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+            // Then
+            assertEquals(List.of(OrderStatus.PENDING, OrderStatus.CANCELLED_TIMEOUT), statuses);
+            verify(subscription).cancel();
+        }
+    }
+
+    @Nested
+    @DisplayName("Multi-item orders")
+    class MultiItemOrderTests {
+
+        @Test
+        @DisplayName("should send one priced multi-item command for all items")
+        void shouldSendMultiItemCommand() {
+            // Given
+            when(commandGateway.send(any(CreateMultiItemOrderCommand.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+            CreateMultiItemOrderRequest request = new CreateMultiItemOrderRequest("CUST-001", List.of(
+                new CreateMultiItemOrderRequest.Item("IPHONE17", 2),
+                new CreateMultiItemOrderRequest.Item("AIRPODS", null)
+            ));
+
+            // When
+            OrderResponse response = service.createMultiItemOrder(request).join();
+
+            // Then
+            ArgumentCaptor<CreateMultiItemOrderCommand> sent =
+                ArgumentCaptor.forClass(CreateMultiItemOrderCommand.class);
+            verify(commandGateway).send(sent.capture());
+            assertEquals(response.orderId(), sent.getValue().orderId());
+            assertEquals(List.of(
+                new OrderItem("IPHONE17", 2, Money.of(new BigDecimal("35000"))),
+                new OrderItem("AIRPODS", 1, Money.of(new BigDecimal("35000")))
+            ), sent.getValue().items());
+            assertEquals(OrderStatus.PENDING, response.status());
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.example.sales.domain.aggregate;
 
 import com.example.shared.command.CancelOrderCommand;
 import com.example.shared.command.ConfirmOrderCommand;
+import com.example.shared.command.CreateMultiItemOrderCommand;
 import com.example.shared.command.CreateOrderCommand;
 import com.example.shared.event.OrderCancelledEvent;
 import com.example.shared.event.OrderConfirmedEvent;
+import com.example.shared.event.MultiItemOrderCreatedEvent;
 import com.example.shared.event.OrderCreatedEvent;
+import com.example.shared.valueobject.Money;
+import com.example.shared.valueobject.OrderItem;
 import com.example.shared.valueobject.OrderStatus;
 import org.axonframework.test.aggregate.AggregateTestFixture;
 import org.axonframework.test.aggregate.FixtureConfiguration;
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.axonframework.test.matchers.Matchers.*;
@@ -98,6 +103,41 @@ class OrderTest {
         }
     }
 
+    @Nested
+    @DisplayName("CreateMultiItemOrderCommand")
+    class CreateMultiItemOrderTests {
+
+        @Test
+        @DisplayName("should create order priced as the sum of its items")
+        void shouldCreateMultiItemOrder() {
+            UUID orderId = UUID.randomUUID();
+            List<OrderItem> items = List.of(
+                new OrderItem("IPHONE17", 1, Money.of(35000)),
+                new OrderItem("AIRPODS4", 2, Money.of(5990))
+            );
+
+            fixture.givenNoPriorActivity()
+                .when(new CreateMultiItemOrderCommand(orderId, "CUST-001", items))
+                .expectSuccessfulHandlerExecution()
+                .expectEventsMatching(exactSequenceOf(
+                    messageWithPayload(instanceOf(MultiItemOrderCreatedEvent.class))
+                ))
+                .expectState(order -> {
+                    assertEquals(items, order.getItems());
+                    assertEquals(0, new BigDecimal("46980").compareTo(order.getAmount()));
+                    assertEquals(OrderStatus.PENDING, order.getStatus());
+                });
+        }
+
+        @Test
+        @DisplayName("should reject an order without items")
+        void shouldRejectEmptyItems() {
+            assertThrows(IllegalArgumentException.class, () ->
+                new CreateMultiItemOrderCommand(UUID.randomUUID(), "CUST-001", List.of())
+            );
+        }
+    }
+
     @Nested
     @DisplayName("ConfirmOrderCommand")
     class ConfirmOrderTests {
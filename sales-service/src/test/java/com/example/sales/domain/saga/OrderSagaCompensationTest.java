@@ -26,6 +26,7 @@ class OrderSagaCompensationTest {
     @BeforeEach
     void setUp() {
         fixture = new SagaTestFixture<>(OrderSaga.class);
+        OrderSagaTestResources.register(fixture);
     }
 
     @Test
@@ -239,6 +240,120 @@ class OrderSagaCompensationTest {
             ));
     }
 
+    @Test
+    @DisplayName("should release payment and not confirm the order when inventory expires before its confirmation")
+    void shouldReleasePaymentWhenInventoryExpires() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+
+        fixture.givenAPublished(new OrderCreatedEvent(
+                orderId,
+                "CUST-001",
+                "IPHONE17",
+                1,
+                new BigDecimal("35000")
+            ))
+            .andThenAPublished(new PaymentReservedEvent(
+                orderId,
+                paymentReservationId,
+                "CUST-001",
+                new BigDecimal("35000"),
+                Instant.now().plusSeconds(15)
+            ))
+            .whenPublishingA(new InventoryReservationExpiredEvent(
+                orderId,
+                inventoryReservationId,
+                "IPHONE17",
+                1
+            ))
+            .expectDispatchedCommandsMatching(exactSequenceOf(
+                messageWithPayload(instanceOf(ReleasePaymentCommand.class))
+            ));
+    }
+
+    @Test
+    @DisplayName("should cancel order when a reservation expires after its confirmation was refused")
+    void shouldCancelOrderWhenReservationExpiresDuringConfirmation() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+
+        // Confirmations were sent; payment confirmed, inventory had expired already
+        fixture.givenAPublished(new OrderCreatedEvent(
+                orderId,
+                "CUST-001",
+                "IPHONE17",
+                1,
+                new BigDecimal("35000")
+            ))
+            .andThenAPublished(new PaymentReservedEvent(
+                orderId,
+                paymentReservationId,
+                "CUST-001",
+                new BigDecimal("35000"),
+                Instant.now().plusSeconds(15)
+            ))
+            .andThenAPublished(new InventoryReservedEvent(
+                orderId,
+                inventoryReservationId,
+                "IPHONE17",
+                1,
+                9
+            ))
+            .andThenAPublished(new PaymentConfirmedEvent(orderId, paymentReservationId, new BigDecimal("35000")))
+            .whenPublishingA(new InventoryReservationExpiredEvent(
+                orderId,
+                inventoryReservationId,
+                "IPHONE17",
+                1
+            ))
+            .expectDispatchedCommandsMatching(exactSequenceOf(
+                messageWithPayload(instanceOf(CancelOrderCommand.class))
+            ));
+    }
+
+    @Test
+    @DisplayName("should cancel order when payment expires while inventory is being released")
+    void shouldCancelOrderWhenPaymentExpiresDuringCompensation() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+
+        fixture.givenAPublished(new OrderCreatedEvent(
+                orderId,
+                "CUST-001",
+                "IPHONE17",
+                1,
+                new BigDecimal("35000")
+            ))
+            .andThenAPublished(new PaymentReservedEvent(
+                orderId,
+                paymentReservationId,
+                "CUST-001",
+                new BigDecimal("35000"),
+                Instant.now().plusSeconds(15)
+            ))
+            .andThenAPublished(new InventoryReservationFailedEvent(
+                orderId,
+                inventoryReservationId,
+                "IPHONE17",
+                1,
+                0,
+                "OUT_OF_STOCK",
+                "Insufficient stock"
+            ))
+            .whenPublishingA(new PaymentReservationExpiredEvent(
+                orderId,
+                paymentReservationId,
+                "CUST-001",
+                new BigDecimal("35000")
+            ))
+            .expectDispatchedCommandsMatching(exactSequenceOf(
+                messageWithPayload(instanceOf(CancelOrderCommand.class))
+            ));
+    }
+
     @Test
     @DisplayName("should end saga when order is cancelled")
     void shouldEndSagaWhenOrderCancelled() {
@@ -2,6 +2,9 @@ package com.example.sales.domain.saga;
 
 import com.example.shared.command.*;
 import com.example.shared.event.*;
+import com.example.shared.valueobject.Money;
+import com.example.shared.valueobject.OrderItem;
+import com.example.shared.valueobject.ProductQuantity;
 import org.axonframework.test.saga.SagaTestFixture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.axonframework.test.matchers.Matchers.*;
@@ -26,6 +30,7 @@ class OrderSagaSuccessTest {
     @BeforeEach
     void setUp() {
         fixture = new SagaTestFixture<>(OrderSaga.class);
+        OrderSagaTestResources.register(fixture);
     }
 
     @Test
@@ -49,8 +54,8 @@ class OrderSagaSuccessTest {
     }
 
     @Test
-    @DisplayName("should confirm order when both payment and inventory are reserved")
-    void shouldConfirmOrderWhenBothReservationsSucceed() {
+    @DisplayName("should confirm both reservations when payment and inventory are reserved")
+    void shouldConfirmReservationsWhenBothReservationsSucceed() {
         UUID orderId = UUID.randomUUID();
         UUID paymentReservationId = UUID.randomUUID();
         UUID inventoryReservationId = UUID.randomUUID();
@@ -76,16 +81,15 @@ class OrderSagaSuccessTest {
                 1,
                 9
             ))
-            .expectDispatchedCommandsMatching(listWithAllOf(
+            .expectDispatchedCommandsMatching(exactSequenceOf(
                 messageWithPayload(instanceOf(ConfirmPaymentCommand.class)),
-                messageWithPayload(instanceOf(ConfirmInventoryCommand.class)),
-                messageWithPayload(instanceOf(ConfirmOrderCommand.class))
+                messageWithPayload(instanceOf(ConfirmInventoryCommand.class))
             ));
     }
 
     @Test
-    @DisplayName("should confirm order regardless of reservation event order")
-    void shouldConfirmOrderRegardlessOfEventOrder() {
+    @DisplayName("should confirm both reservations regardless of reservation event order")
+    void shouldConfirmReservationsRegardlessOfEventOrder() {
         UUID orderId = UUID.randomUUID();
         UUID paymentReservationId = UUID.randomUUID();
         UUID inventoryReservationId = UUID.randomUUID();
@@ -112,13 +116,79 @@ class OrderSagaSuccessTest {
                 new BigDecimal("35000"),
                 Instant.now().plusSeconds(15)
             ))
-            .expectDispatchedCommandsMatching(listWithAllOf(
+            .expectDispatchedCommandsMatching(exactSequenceOf(
                 messageWithPayload(instanceOf(ConfirmPaymentCommand.class)),
-                messageWithPayload(instanceOf(ConfirmInventoryCommand.class)),
+                messageWithPayload(instanceOf(ConfirmInventoryCommand.class))
+            ));
+    }
+
+    @Test
+    @DisplayName("should confirm order once payment and inventory are both confirmed")
+    void shouldConfirmOrderWhenBothConfirmed() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+
+        fixture.givenAPublished(new OrderCreatedEvent(
+                orderId,
+                "CUST-001",
+                "IPHONE17",
+                1,
+                new BigDecimal("35000")
+            ))
+            .andThenAPublished(new PaymentReservedEvent(
+                orderId,
+                paymentReservationId,
+                "CUST-001",
+                new BigDecimal("35000"),
+                Instant.now().plusSeconds(15)
+            ))
+            .andThenAPublished(new InventoryReservedEvent(
+                orderId,
+                inventoryReservationId,
+                "IPHONE17",
+                1,
+                9
+            ))
+            .andThenAPublished(new PaymentConfirmedEvent(orderId, paymentReservationId, new BigDecimal("35000")))
+            .whenPublishingA(new InventoryConfirmedEvent(orderId, inventoryReservationId, "IPHONE17", 1))
+            .expectDispatchedCommandsMatching(exactSequenceOf(
                 messageWithPayload(instanceOf(ConfirmOrderCommand.class))
             ));
     }
 
+    @Test
+    @DisplayName("should not confirm order while a confirmation is outstanding")
+    void shouldNotConfirmOrderBeforeBothConfirmed() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+
+        fixture.givenAPublished(new OrderCreatedEvent(
+                orderId,
+                "CUST-001",
+                "IPHONE17",
+                1,
+                new BigDecimal("35000")
+            ))
+            .andThenAPublished(new PaymentReservedEvent(
+                orderId,
+                paymentReservationId,
+                "CUST-001",
+                new BigDecimal("35000"),
+                Instant.now().plusSeconds(15)
+            ))
+            .andThenAPublished(new InventoryReservedEvent(
+                orderId,
+                inventoryReservationId,
+                "IPHONE17",
+                1,
+                9
+            ))
+            .whenPublishingA(new PaymentConfirmedEvent(orderId, paymentReservationId, new BigDecimal("35000")))
+            .expectNoDispatchedCommands();
+    }
+
     @Test
     @DisplayName("should end saga when order is confirmed")
     void shouldEndSagaWhenOrderConfirmed() {
@@ -150,4 +220,56 @@ class OrderSagaSuccessTest {
             .whenPublishingA(new OrderConfirmedEvent(orderId))
             .expectActiveSagas(0);
     }
+
+    @Test
+    @DisplayName("should reserve all items of a multi-item order with one inventory command")
+    void shouldReserveAllItemsWithOneInventoryCommand() {
+        UUID orderId = UUID.randomUUID();
+
+        fixture.givenNoPriorActivity()
+            .whenPublishingA(multiItemOrderCreated(orderId))
+            .expectActiveSagas(1)
+            .expectDispatchedCommandsMatching(listWithAllOf(
+                messageWithPayload(instanceOf(ReservePaymentCommand.class)),
+                messageWithPayload(instanceOf(ReserveInventoryItemsCommand.class))
+            ));
+    }
+
+    @Test
+    @DisplayName("should confirm both reservations of a multi-item order when payment and all items are reserved")
+    void shouldConfirmMultiItemReservationsWhenBothReservationsSucceed() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentReservationId = UUID.randomUUID();
+        UUID inventoryReservationId = UUID.randomUUID();
+
+        fixture.givenAPublished(multiItemOrderCreated(orderId))
+            .andThenAPublished(new PaymentReservedEvent(
+                orderId,
+                paymentReservationId,
+                "CUST-001",
+                new BigDecimal("46980"),
+                Instant.now().plusSeconds(15)
+            ))
+            .whenPublishingA(new InventoryItemsReservedEvent(
+                orderId,
+                inventoryReservationId,
+                List.of(new ProductQuantity("AIRPODS4", 2), new ProductQuantity("IPHONE17", 1))
+            ))
+            .expectDispatchedCommandsMatching(exactSequenceOf(
+                messageWithPayload(instanceOf(ConfirmPaymentCommand.class)),
+                messageWithPayload(instanceOf(ConfirmInventoryCommand.class))
+            ));
+    }
+
+    private static MultiItemOrderCreatedEvent multiItemOrderCreated(UUID orderId) {
+        return new MultiItemOrderCreatedEvent(
+            orderId,
+            "CUST-001",
+            List.of(
+                new OrderItem("IPHONE17", 1, Money.of(35000)),
+                new OrderItem("AIRPODS4", 2, Money.of(5990))
+            ),
+            new BigDecimal("46980")
+        );
+    }
 }
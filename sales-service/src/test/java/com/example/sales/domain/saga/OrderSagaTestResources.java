@@ -0,0 +1,45 @@
+package com.example.sales.domain.saga;
+
+import com.example.sales.infrastructure.lease.CreditLeases;
+import com.example.sales.infrastructure.lease.StockLeases;
+import com.example.sales.infrastructure.metrics.SagaStepMetrics;
+import com.example.sales.infrastructure.retry.RetryBudget;
+import com.example.sales.infrastructure.retry.RetryMetrics;
+import com.example.sales.infrastructure.retry.RetryPolicy;
+import com.example.sales.infrastructure.retry.RetryableCommandGateway;
+import com.example.sales.infrastructure.timeout.AdaptiveOrderTimeout;
+import org.axonframework.commandhandling.gateway.DefaultCommandGateway;
+import org.axonframework.test.saga.SagaTestFixture;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Registers the resources OrderSaga needs besides the fixture's own.
+ */
+final class OrderSagaTestResources {
+
+    private OrderSagaTestResources() {
+    }
+
+    static void register(SagaTestFixture<OrderSaga> fixture) {
+        // Compensations go through the fixture's command bus so they are recorded as dispatched
+        fixture.registerResource(new RetryableCommandGateway(
+            DefaultCommandGateway.builder().commandBus(fixture.getCommandBus()).build(),
+            new RetryPolicy(3, Duration.ofMillis(500), 2.0, Duration.ofSeconds(10), 0.5),
+            Map.of(),
+            new RetryBudget(0.2, 10, 100),
+            new RetryMetrics(),
+            (command, cause) -> { }
+        ));
+        fixture.registerResource(new SagaStepMetrics());
+        // Without samples the timeout stays at its initial 15s
+        fixture.registerResource(new AdaptiveOrderTimeout(
+            Duration.ofSeconds(15), Duration.ofSeconds(2), Duration.ofSeconds(15), 2.0, 100,
+            Duration.ofSeconds(60), Duration.ofSeconds(1), Duration.ofSeconds(30)
+        ));
+        // No leased products or customers, so inventory and payment are always reserved by command
+        fixture.registerResource(StockLeases.disabled());
+        fixture.registerResource(CreditLeases.disabled());
+    }
+}
@@ -30,6 +30,7 @@ class OrderSagaTimeoutTest {
     @BeforeEach
     void setUp() {
         fixture = new SagaTestFixture<>(OrderSaga.class);
+        OrderSagaTestResources.register(fixture);
     }
 
     @Test
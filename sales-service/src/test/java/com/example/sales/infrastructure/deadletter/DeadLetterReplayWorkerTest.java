@@ -0,0 +1,163 @@
+package com.example.sales.infrastructure.deadletter;
+
+import com.example.shared.command.ReleasePaymentCommand;
+import com.example.shared.exception.ReservationSettledException;
+import org.axonframework.commandhandling.CommandExecutionException;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeadLetterReplayWorker.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadLetterReplayWorker")
+class DeadLetterReplayWorkerTest {
+
+    @Mock
+    private CompensationDeadLetterStore store;
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    private DeadLetterReplayWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new DeadLetterReplayWorker(store, commandGateway, 10, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        when(store.toCommand(any())).thenAnswer(invocation ->
+            new ReleasePaymentCommand(UUID.randomUUID(), UUID.randomUUID(), "Test reason"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    @DisplayName("should replay the whole batch once the probe succeeds")
+    void shouldReplayBatch() {
+        // Given
+        CompensationDeadLetter first = entry();
+        CompensationDeadLetter second = entry();
+        when(store.pending(10)).thenReturn(List.of(first, second));
+        when(commandGateway.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        int settled = worker.replayBatch();
+
+        // Then
+        assertEquals(2, settled);
+        assertEquals(CompensationDeadLetter.Status.REPLAYED, first.getStatus());
+        assertEquals(CompensationDeadLetter.Status.REPLAYED, second.getStatus());
+        verify(store).save(first);
+        verify(store).save(second);
+        assertEquals(2, worker.stats().replayedTotal());
+    }
+
+    @Test
+    @DisplayName("should stop after a failed probe and keep the entries pending")
+    void shouldStopAfterFailedProbe() {
+        // Given
+        CompensationDeadLetter first = entry();
+        CompensationDeadLetter second = entry();
+        when(store.pending(10)).thenReturn(List.of(first, second));
+        when(commandGateway.send(any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("payment-service unavailable")));
+
+        // When
+        int settled = worker.replayBatch();
+
+        // Then
+        assertEquals(0, settled);
+        verify(commandGateway, times(1)).send(any());
+        assertEquals(CompensationDeadLetter.Status.PENDING, first.getStatus());
+        assertEquals(1, first.getReplayAttempts());
+        assertNotNull(first.getLastReplayFailure());
+        assertEquals(0, second.getReplayAttempts());
+    }
+
+    @Test
+    @DisplayName("should mark an entry the handler refuses as rejected and carry on")
+    void shouldRejectRefusedEntry() {
+        // Given - as Axon Server returns it: the type is lost, the details are kept
+        CompensationDeadLetter first = entry();
+        CompensationDeadLetter second = entry();
+        when(store.pending(10)).thenReturn(List.of(first, second));
+        when(commandGateway.send(any()))
+            .thenReturn(CompletableFuture.failedFuture(new CommandExecutionException(
+                "Reservation is settled", null, ReservationSettledException.ERROR_CODE)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        int settled = worker.replayBatch();
+
+        // Then
+        assertEquals(2, settled);
+        assertEquals(CompensationDeadLetter.Status.REJECTED, first.getStatus());
+        assertEquals(CompensationDeadLetter.Status.REPLAYED, second.getStatus());
+        assertEquals(1, worker.stats().rejectedTotal());
+    }
+
+    @Test
+    @DisplayName("should keep an entry pending when the handler fails for any other reason")
+    void shouldRetryOtherHandlerFailures() {
+        // Given
+        CompensationDeadLetter first = entry();
+        CompensationDeadLetter second = entry();
+        when(store.pending(10)).thenReturn(List.of(first, second));
+        when(commandGateway.send(any()))
+            .thenReturn(CompletableFuture.failedFuture(new CommandExecutionException(
+                "Concurrent modification", new IllegalStateException("Customer not found: C001"))));
+
+        // When
+        int settled = worker.replayBatch();
+
+        // Then
+        assertEquals(0, settled);
+        assertEquals(CompensationDeadLetter.Status.PENDING, first.getStatus());
+        assertEquals(1, first.getReplayAttempts());
+        assertEquals(0, worker.stats().rejectedTotal());
+        assertEquals(0, second.getReplayAttempts());
+    }
+
+    @Test
+    @DisplayName("should not treat a refusal-like message without the error code as a refusal")
+    void shouldIgnoreRefusalMessageWithoutCode() {
+        // Given
+        CompensationDeadLetter first = entry();
+        when(store.pending(10)).thenReturn(List.of(first, entry()));
+        when(commandGateway.send(any()))
+            .thenReturn(CompletableFuture.failedFuture(
+                new CommandExecutionException("Cannot release payment in status: EXPIRED", null)));
+
+        // When
+        int settled = worker.replayBatch();
+
+        // Then
+        assertEquals(0, settled);
+        assertEquals(CompensationDeadLetter.Status.PENDING, first.getStatus());
+        assertEquals(0, worker.stats().rejectedTotal());
+    }
+
+    private static CompensationDeadLetter entry() {
+        return new CompensationDeadLetter(
+            ReleasePaymentCommand.class.getName(), "{}", "IllegalStateException: unavailable", Instant.now()
+        );
+    }
+}
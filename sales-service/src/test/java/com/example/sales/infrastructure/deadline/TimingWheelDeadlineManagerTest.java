@@ -0,0 +1,138 @@
+package com.example.sales.infrastructure.deadline;
+
+import org.axonframework.messaging.Message;
+import org.axonframework.messaging.ScopeAware;
+import org.axonframework.messaging.ScopeDescriptor;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimingWheelDeadlineManager.
+ * Runs the real ticker with a short tick and records what reaches the scope.
+ */
+@DisplayName("TimingWheelDeadlineManager")
+class TimingWheelDeadlineManagerTest {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final Duration DELAY = Duration.ofMillis(50);
+    // Long enough for a deadline that should have fired to have done so
+    private static final long SETTLE_MILLIS = 300;
+
+    private final ScopeDescriptor scope = () -> "OrderSaga order-1";
+    private final RecordingScope recordingScope = new RecordingScope();
+    private TimingWheelDeadlineManager deadlineManager;
+
+    @BeforeEach
+    void setUp() {
+        deadlineManager = TimingWheelDeadlineManager.builder()
+            .scopeAwareProvider(descriptor -> Stream.of(recordingScope))
+            .tickDuration(TICK)
+            .wheelSize(64)
+            .dispatchThreads(1)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deadlineManager.shutdown();
+    }
+
+    @Test
+    @DisplayName("should fire a scheduled deadline on its scope, not before the trigger time")
+    void shouldFireScheduledDeadline() throws InterruptedException {
+        // Given
+        Instant triggerTime = Instant.now().plus(DELAY);
+
+        // When
+        deadlineManager.schedule(triggerTime, "orderTimeout", "order-1", scope);
+
+        // Then
+        assertTrue(recordingScope.fired.await(2, TimeUnit.SECONDS));
+        assertFalse(recordingScope.firedAt.get(0).isBefore(triggerTime));
+        assertEquals("order-1", recordingScope.payloads.get(0));
+        assertEquals(0, deadlineManager.outstandingDeadlines());
+    }
+
+    @Test
+    @DisplayName("should not fire a deadline cancelled before the unit of work that scheduled it commits")
+    void shouldNotFireDeadlineCancelledBeforeCommit() throws InterruptedException {
+        // Given
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        String deadlineId = deadlineManager.schedule(Instant.now().plus(DELAY), "orderTimeout", "order-1", scope);
+
+        // When
+        deadlineManager.cancelSchedule("orderTimeout", deadlineId);
+        unitOfWork.commit();
+
+        // Then
+        assertFalse(recordingScope.fired.await(SETTLE_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(0, deadlineManager.outstandingDeadlines());
+    }
+
+    @Test
+    @DisplayName("should not schedule a deadline when its unit of work rolls back")
+    void shouldNotScheduleOnRollback() throws InterruptedException {
+        // Given
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        deadlineManager.schedule(Instant.now().plus(DELAY), "orderTimeout", "order-1", scope);
+
+        // When
+        unitOfWork.rollback();
+
+        // Then
+        assertFalse(recordingScope.fired.await(SETTLE_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(0, deadlineManager.outstandingDeadlines());
+    }
+
+    @Test
+    @DisplayName("should still fire a deadline whose cancellation was rolled back")
+    void shouldFireAfterCancellationRollsBack() throws InterruptedException {
+        // Given
+        String deadlineId = deadlineManager.schedule(Instant.now().plus(DELAY), "orderTimeout", "order-1", scope);
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        deadlineManager.cancelSchedule("orderTimeout", deadlineId);
+
+        // When
+        unitOfWork.rollback();
+
+        // Then
+        assertTrue(recordingScope.fired.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("order-1"), recordingScope.payloads);
+    }
+
+    /**
+     * Stands in for the saga the deadline is scoped to.
+     */
+    private static class RecordingScope implements ScopeAware {
+
+        private final CountDownLatch fired = new CountDownLatch(1);
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+        private final List<Instant> firedAt = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Message<?> message, ScopeDescriptor scopeDescription) {
+            firedAt.add(Instant.now());
+            payloads.add(message.getPayload());
+            fired.countDown();
+        }
+
+        @Override
+        public boolean canResolve(ScopeDescriptor scopeDescription) {
+            return true;
+        }
+    }
+}
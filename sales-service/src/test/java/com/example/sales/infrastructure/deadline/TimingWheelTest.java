@@ -0,0 +1,140 @@
+package com.example.sales.infrastructure.deadline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimingWheel.
+ * Drives the wheel with an explicit clock so expiry is deterministic.
+ */
+@DisplayName("TimingWheel")
+class TimingWheelTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long START = 1_000_000_000L;
+
+    private TimingWheel<String> wheel;
+    private List<String> expired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(100, TimeUnit.MILLISECONDS, 8, START);
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("should expire a timeout once its tick has passed")
+    void shouldExpireTimeoutAfterDelay() {
+        // Given
+        TimingWheel.Timeout<String> timeout = wheel.schedule("order-1", 3 * TICK, START);
+
+        // When
+        wheel.advanceTo(START + 2 * TICK, expired::add);
+
+        // Then
+        assertTrue(expired.isEmpty());
+
+        // When
+        wheel.advanceTo(START + 3 * TICK, expired::add);
+
+        // Then
+        assertEquals(List.of("order-1"), expired);
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    @DisplayName("should not expire a timeout before its deadline within a tick")
+    void shouldNotExpireEarly() {
+        // Given
+        wheel.schedule("order-1", 2 * TICK + TICK / 2, START);
+
+        // When
+        wheel.advanceTo(START + 2 * TICK + TICK / 4, expired::add);
+
+        // Then
+        assertTrue(expired.isEmpty());
+
+        // When
+        wheel.advanceTo(START + 3 * TICK, expired::add);
+
+        // Then
+        assertEquals(List.of("order-1"), expired);
+    }
+
+    @Test
+    @DisplayName("should not expire a cancelled timeout")
+    void shouldNotExpireCancelledTimeout() {
+        // Given
+        TimingWheel.Timeout<String> timeout = wheel.schedule("order-1", 3 * TICK, START);
+        wheel.advanceTo(START + TICK, expired::add);
+
+        // When
+        assertTrue(timeout.cancel());
+        wheel.advanceTo(START + 10 * TICK, expired::add);
+
+        // Then
+        assertTrue(expired.isEmpty());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    @DisplayName("should keep timeouts longer than one rotation for the right number of rounds")
+    void shouldHonourRemainingRounds() {
+        // Given - 8 buckets of 100ms make one rotation 800ms
+        wheel.schedule("order-1", 20 * TICK, START);
+        wheel.advanceTo(START, expired::add);
+
+        // When
+        wheel.advanceTo(START + 19 * TICK, expired::add);
+
+        // Then
+        assertTrue(expired.isEmpty());
+
+        // When
+        wheel.advanceTo(START + 20 * TICK, expired::add);
+
+        // Then
+        assertEquals(List.of("order-1"), expired);
+    }
+
+    @Test
+    @DisplayName("should expire every timeout of a tick in a single advance")
+    void shouldExpireInBulkPerTick() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            wheel.schedule("order-" + i, 5 * TICK, START);
+        }
+        wheel.schedule("later", 6 * TICK, START);
+
+        // When
+        int count = wheel.advanceTo(START + 5 * TICK, expired::add);
+
+        // Then
+        assertEquals(1000, count);
+        assertEquals(1000, expired.size());
+        assertEquals(1, wheel.pendingTimeouts());
+    }
+
+    @Test
+    @DisplayName("should expire overdue timeouts on the next advance")
+    void shouldExpireOverdueTimeoutsImmediately() {
+        // Given
+        wheel.advanceTo(START + 10 * TICK, expired::add);
+        wheel.schedule("order-1", 0, START + 10 * TICK);
+
+        // When
+        wheel.advanceTo(START + 11 * TICK, expired::add);
+
+        // Then
+        assertEquals(List.of("order-1"), expired);
+    }
+}
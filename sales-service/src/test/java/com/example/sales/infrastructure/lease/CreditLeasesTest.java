@@ -0,0 +1,83 @@
+package com.example.sales.infrastructure.lease;
+
+import com.example.shared.command.GrantCreditLeaseCommand;
+import com.example.shared.command.ReturnCreditLeaseCommand;
+import com.example.shared.event.CreditLeaseGrantedEvent;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CreditLeases.
+ */
+@DisplayName("CreditLeases")
+class CreditLeasesTest {
+
+    private static final String HOLDER_ID = "sales-1";
+    private static final String CUSTOMER_ID = "CUST-0000000";
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private CommandGateway commandGateway;
+    private CreditLeases creditLeases;
+
+    @BeforeEach
+    void setUp() {
+        commandGateway = mock(CommandGateway.class);
+        when(commandGateway.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        creditLeases = new CreditLeases(commandGateway, HOLDER_ID, List.of(CUSTOMER_ID),
+            new BigDecimal("100000"), new BigDecimal("20000"), Duration.ofSeconds(60), Duration.ofSeconds(20),
+            Duration.ofSeconds(10), Duration.ofSeconds(5), clock, false);
+    }
+
+    @Test
+    @DisplayName("should request a lease of the block amount for a leased customer only")
+    void shouldRequestLeaseOnMiss() {
+        // When
+        UUID leased = creditLeases.tryDraw(CUSTOMER_ID, new BigDecimal("35000"));
+        UUID other = creditLeases.tryDraw("CUST-0000001", new BigDecimal("35000"));
+
+        // Then
+        assertNull(leased);
+        assertNull(other);
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(commandGateway).send(sent.capture());
+        GrantCreditLeaseCommand request = (GrantCreditLeaseCommand) sent.getValue();
+        assertEquals(CUSTOMER_ID, request.customerId());
+        assertEquals(new BigDecimal("100000.00"), request.amount());
+    }
+
+    @Test
+    @DisplayName("should draw order amounts from a granted lease and return the undrawn credit on shutdown")
+    void shouldDrawAndReturnCredit() {
+        // Given
+        UUID leaseId = UUID.randomUUID();
+        creditLeases.on(new CreditLeaseGrantedEvent(leaseId, HOLDER_ID, CUSTOMER_ID, new BigDecimal("100000"),
+            clock.instant().plusSeconds(60)));
+
+        // When
+        UUID first = creditLeases.tryDraw(CUSTOMER_ID, new BigDecimal("35000.50"));
+        UUID second = creditLeases.tryDraw(CUSTOMER_ID, new BigDecimal("35000"));
+        creditLeases.giveBack(second, new BigDecimal("35000"));
+        creditLeases.shutdown();
+
+        // Then
+        assertEquals(leaseId, first);
+        assertEquals(leaseId, second);
+        verify(commandGateway).send(new ReturnCreditLeaseCommand(leaseId, new BigDecimal("64999.50")));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.sales.infrastructure.lease;
+
+import com.example.shared.command.GrantStockLeaseCommand;
+import com.example.shared.command.ReturnStockLeaseCommand;
+import com.example.shared.event.StockLeaseDeniedEvent;
+import com.example.shared.event.StockLeaseGrantedEvent;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockLeases.
+ */
+@DisplayName("StockLeases")
+class StockLeasesTest {
+
+    private static final String HOLDER_ID = "sales-1";
+    private static final String PRODUCT_ID = "IPHONE17";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private CommandGateway commandGateway;
+    private StockLeases stockLeases;
+
+    @BeforeEach
+    void setUp() {
+        commandGateway = mock(CommandGateway.class);
+        when(commandGateway.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        stockLeases = new StockLeases(commandGateway, HOLDER_ID, List.of(PRODUCT_ID), 10, 3,
+            Duration.ofSeconds(60), Duration.ofSeconds(20), Duration.ofSeconds(10), Duration.ofSeconds(5),
+            clock, false);
+    }
+
+    @Test
+    @DisplayName("should miss and request a lease for a product without one")
+    void shouldRequestLeaseOnMiss() {
+        // When
+        UUID first = stockLeases.tryDraw(PRODUCT_ID, 1);
+        UUID second = stockLeases.tryDraw(PRODUCT_ID, 1);
+
+        // Then - one outstanding request at a time
+        assertNull(first);
+        assertNull(second);
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(commandGateway).send(sent.capture());
+        GrantStockLeaseCommand request = (GrantStockLeaseCommand) sent.getValue();
+        assertEquals(HOLDER_ID, request.holderId());
+        assertEquals(10, request.quantity());
+        assertEquals(clock.instant().plusSeconds(60), request.expiresAt());
+    }
+
+    @Test
+    @DisplayName("should draw from a granted lease and request the next block below the refill level")
+    void shouldDrawFromGrantedLease() {
+        // Given
+        UUID leaseId = grant(10);
+
+        // When
+        UUID drawn = stockLeases.tryDraw(PRODUCT_ID, 7);
+        UUID tooMany = stockLeases.tryDraw(PRODUCT_ID, 4);
+
+        // Then
+        assertEquals(leaseId, drawn);
+        assertNull(tooMany);
+        verify(commandGateway).send(any(GrantStockLeaseCommand.class));
+    }
+
+    @Test
+    @DisplayName("should ignore leases granted to another holder")
+    void shouldIgnoreOtherHolders() {
+        // Given
+        stockLeases.on(new StockLeaseGrantedEvent(UUID.randomUUID(), "sales-2", PRODUCT_ID, 10,
+            clock.instant().plusSeconds(60)));
+
+        // When / Then
+        assertNull(stockLeases.tryDraw(PRODUCT_ID, 1));
+    }
+
+    @Test
+    @DisplayName("should stop drawing near expiry and return the undrawn units")
+    void shouldRetireExpiringLease() {
+        // Given
+        UUID leaseId = grant(10);
+        stockLeases.tryDraw(PRODUCT_ID, 2);
+        stockLeases.giveBack(leaseId, 1);
+
+        // When - past expiry minus the draw margin
+        clock.advance(Duration.ofSeconds(41));
+        stockLeases.retireExpiring();
+
+        // Then
+        verify(commandGateway).send(new ReturnStockLeaseCommand(leaseId, 9));
+        stockLeases.giveBack(leaseId, 1);
+        assertNull(stockLeases.tryDraw(PRODUCT_ID, 1));
+    }
+
+    @Test
+    @DisplayName("should not ask again until the retry delay after a denial")
+    void shouldBackOffAfterDenial() {
+        // Given
+        stockLeases.tryDraw(PRODUCT_ID, 1);
+        stockLeases.on(new StockLeaseDeniedEvent(UUID.randomUUID(), HOLDER_ID, PRODUCT_ID, 10, "OUT_OF_STOCK"));
+
+        // When
+        stockLeases.tryDraw(PRODUCT_ID, 1);
+        clock.advance(Duration.ofSeconds(6));
+        stockLeases.tryDraw(PRODUCT_ID, 1);
+
+        // Then - the first request and one after the delay
+        verify(commandGateway, times(2)).send(any(GrantStockLeaseCommand.class));
+    }
+
+    private UUID grant(int quantity) {
+        UUID leaseId = UUID.randomUUID();
+        stockLeases.on(new StockLeaseGrantedEvent(leaseId, HOLDER_ID, PRODUCT_ID, quantity,
+            clock.instant().plusSeconds(60)));
+        return leaseId;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.sales.infrastructure.metrics;
+
+import com.example.shared.metrics.LatencyPercentiles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SagaStepMetrics.
+ */
+@DisplayName("SagaStepMetrics")
+class SagaStepMetricsTest {
+
+    private final SagaStepMetrics metrics = new SagaStepMetrics();
+
+    @Test
+    @DisplayName("should report percentiles per step and outcome")
+    void shouldReportPercentilesPerStepAndOutcome() {
+        // Given
+        long createdAt = SagaStepMetrics.epochMicros(Instant.parse("2025-01-01T00:00:00Z"));
+        metrics.record(SagaStepMetrics.Step.PAYMENT_RESERVED, SagaStepMetrics.Outcome.CONFIRMED,
+            createdAt, createdAt + 40);
+        metrics.record(SagaStepMetrics.Step.PAYMENT_RESERVED, SagaStepMetrics.Outcome.TIMED_OUT,
+            createdAt, createdAt + 20);
+
+        // When
+        Map<SagaStepMetrics.Step, Map<SagaStepMetrics.Outcome, LatencyPercentiles>> snapshot =
+            metrics.snapshot();
+
+        // Then
+        assertEquals(1, snapshot.size());
+        Map<SagaStepMetrics.Outcome, LatencyPercentiles> payment =
+            snapshot.get(SagaStepMetrics.Step.PAYMENT_RESERVED);
+        assertEquals(40, payment.get(SagaStepMetrics.Outcome.CONFIRMED).p50());
+        assertEquals(20, payment.get(SagaStepMetrics.Outcome.TIMED_OUT).p999());
+        assertFalse(payment.containsKey(SagaStepMetrics.Outcome.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("should skip steps the order never reached")
+    void shouldSkipUnreachedSteps() {
+        // When
+        metrics.record(SagaStepMetrics.Step.CONFIRMATION, SagaStepMetrics.Outcome.CONFIRMED, 0, 1_000);
+
+        // Then
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("should expose quantile gauges in seconds")
+    void shouldExposeGauges() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        // When
+        metrics.record(SagaStepMetrics.Step.COMPENSATION, SagaStepMetrics.Outcome.CANCELLED, 1, 1 + 50);
+
+        // Then
+        double p99 = registry.get("order.saga.step.latency")
+            .tag("step", "compensation")
+            .tag("outcome", "cancelled")
+            .tag("quantile", "0.99")
+            .gauge()
+            .value();
+        assertEquals(50 / 1_000_000.0, p99, 1e-9);
+    }
+}
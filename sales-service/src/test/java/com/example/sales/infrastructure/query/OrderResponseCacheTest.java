@@ -0,0 +1,134 @@
+package com.example.sales.infrastructure.query;
+
+import com.example.sales.application.dto.OrderResponse;
+import com.example.shared.valueobject.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderResponseCache.
+ * Drives the cache with an explicit clock so expiry is deterministic.
+ */
+@DisplayName("OrderResponseCache")
+class OrderResponseCacheTest {
+
+    private long now = 1_000_000_000L;
+
+    @Test
+    @DisplayName("should count a hit for a cached order and a miss for an unknown one")
+    void shouldCountHitsAndMisses() {
+        // Given
+        OrderResponseCache cache = newCache(10, Duration.ofSeconds(30));
+        OrderResponse order = pendingOrder();
+        cache.put(order);
+
+        // When & Then
+        assertEquals(order, cache.get(order.orderId()).orElseThrow());
+        assertTrue(cache.get(UUID.randomUUID()).isEmpty());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("should apply status changes to a cached order")
+    void shouldUpdateStatusInPlace() {
+        // Given
+        OrderResponseCache cache = newCache(10, Duration.ofSeconds(30));
+        OrderResponse order = pendingOrder();
+        cache.put(order);
+        Instant confirmedAt = order.createdAt().plusSeconds(2);
+
+        // When
+        cache.updateStatus(order.orderId(), OrderStatus.CONFIRMED, "訂單已確認", confirmedAt);
+
+        // Then
+        OrderResponse cached = cache.get(order.orderId()).orElseThrow();
+        assertEquals(OrderStatus.CONFIRMED, cached.status());
+        assertEquals("訂單已確認", cached.statusMessage());
+        assertEquals(order.customerId(), cached.customerId());
+        assertEquals(confirmedAt, cached.updatedAt());
+    }
+
+    @Test
+    @DisplayName("should evict the oldest order once full")
+    void shouldEvictOldestWhenFull() {
+        // Given
+        OrderResponseCache cache = newCache(2, Duration.ofSeconds(30));
+        OrderResponse first = pendingOrder();
+        OrderResponse second = pendingOrder();
+        OrderResponse third = pendingOrder();
+
+        // When
+        cache.put(first);
+        cache.put(second);
+        cache.put(third);
+
+        // Then
+        assertTrue(cache.get(first.orderId()).isEmpty());
+        assertTrue(cache.get(second.orderId()).isPresent());
+        assertTrue(cache.get(third.orderId()).isPresent());
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("should expire orders once the TTL has passed")
+    void shouldExpireAfterTtl() {
+        // Given
+        OrderResponseCache cache = newCache(10, Duration.ofSeconds(30));
+        OrderResponse order = pendingOrder();
+        cache.put(order);
+
+        // When
+        now += TimeUnit.SECONDS.toNanos(30);
+
+        // Then
+        assertTrue(cache.get(order.orderId()).isEmpty());
+        assertEquals(0, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("should stay within max size under a continuous stream of new orders")
+    void shouldStayBoundedUnderLoad() {
+        // Given
+        OrderResponseCache cache = newCache(1_000, Duration.ofSeconds(30));
+
+        // When - 10k orders per simulated second for 5 seconds
+        for (int i = 0; i < 50_000; i++) {
+            now += TimeUnit.MICROSECONDS.toNanos(100);
+            cache.put(pendingOrder());
+        }
+
+        // Then
+        assertEquals(1_000, cache.stats().size());
+        assertEquals(49_000, cache.stats().evictions());
+    }
+
+    private OrderResponseCache newCache(int maxSize, Duration ttl) {
+        return new OrderResponseCache(maxSize, ttl, () -> now);
+    }
+
+    private static OrderResponse pendingOrder() {
+        Instant createdAt = Instant.now();
+        return new OrderResponse(
+            UUID.randomUUID(),
+            "CUST-001",
+            List.of(new OrderResponse.Item("IPHONE17", 1)),
+            new BigDecimal("35000"),
+            OrderStatus.PENDING,
+            "訂單已受理，正在處理中",
+            createdAt,
+            createdAt
+        );
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.sales.infrastructure.query;
+
+import com.example.shared.valueobject.OrderStatus;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderViewWriter batching.
+ */
+@DisplayName("OrderViewWriter")
+class OrderViewWriterTest {
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final OrderViewWriter writer = new OrderViewWriter(jdbcTemplate);
+
+    @Test
+    @DisplayName("should flush all writes of a unit of work as one batch per statement on commit")
+    void shouldFlushOneBatchPerStatementOnCommit() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID existing = UUID.randomUUID();
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+
+        // When
+        writer.create(first, "CUST-001", List.of(new OrderViewItem("IPHONE17", 1)), new BigDecimal("35000"), Instant.now());
+        writer.create(second, "CUST-002", List.of(new OrderViewItem("IPHONE17", 1)), new BigDecimal("35000"), Instant.now());
+        writer.updateStatus(existing, OrderStatus.CONFIRMED, "訂單已確認", Instant.now());
+
+        // Then - nothing is written before commit
+        assertTrue(jdbcTemplate.batches.isEmpty());
+
+        unitOfWork.commit();
+
+        assertEquals(3, jdbcTemplate.batches.size());
+        assertEquals(OrderViewWriter.UPSERT_SQL, jdbcTemplate.batches.get(0).sql());
+        assertEquals(2, jdbcTemplate.batches.get(0).args().size());
+        assertEquals(OrderViewWriter.UPSERT_ITEM_SQL, jdbcTemplate.batches.get(1).sql());
+        assertEquals(2, jdbcTemplate.batches.get(1).args().size());
+        assertEquals(OrderViewWriter.UPDATE_STATUS_SQL, jdbcTemplate.batches.get(2).sql());
+        assertEquals(1, jdbcTemplate.batches.get(2).args().size());
+    }
+
+    @Test
+    @DisplayName("should fold a status change into the insert of an order created in the same batch")
+    void shouldFoldStatusIntoPendingInsert() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        OrderViewWriter.PendingWrites writes = new OrderViewWriter.PendingWrites();
+
+        // When
+        writes.create(orderId, "CUST-001", List.of(new OrderViewItem("IPHONE17", 1)), new BigDecimal("35000"), Instant.now());
+        writes.updateStatus(orderId, OrderStatus.CANCELLED_TIMEOUT, "Order timeout", Instant.now());
+        writes.flushTo(jdbcTemplate);
+
+        // Then
+        assertEquals(2, jdbcTemplate.batches.size());
+        Object[] row = jdbcTemplate.batches.get(0).args().get(0);
+        assertEquals(OrderViewWriter.UPSERT_SQL, jdbcTemplate.batches.get(0).sql());
+        assertEquals(orderId, row[0]);
+        assertEquals("CANCELLED_TIMEOUT", row[3]);
+        assertEquals("Order timeout", row[4]);
+    }
+
+    @Test
+    @DisplayName("should write one item row per line of an order, numbered in order")
+    void shouldWriteOneItemRowPerLine() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        OrderViewWriter.PendingWrites writes = new OrderViewWriter.PendingWrites();
+        List<OrderViewItem> items = List.of(
+            new OrderViewItem("IPHONE17", 1),
+            new OrderViewItem("SKU-0000001", 2),
+            new OrderViewItem("IPHONE17", 3)
+        );
+
+        // When
+        writes.create(orderId, "CUST-001", items, new BigDecimal("105000"), Instant.now());
+        writes.flushTo(jdbcTemplate);
+
+        // Then - every line keeps its product and quantity, repeated products included
+        Batch itemBatch = jdbcTemplate.batches.get(1);
+        assertEquals(OrderViewWriter.UPSERT_ITEM_SQL, itemBatch.sql());
+        assertEquals(3, itemBatch.args().size());
+        assertArrayEquals(new Object[]{orderId, 0, "IPHONE17", 1}, itemBatch.args().get(0));
+        assertArrayEquals(new Object[]{orderId, 1, "SKU-0000001", 2}, itemBatch.args().get(1));
+        assertArrayEquals(new Object[]{orderId, 2, "IPHONE17", 3}, itemBatch.args().get(2));
+    }
+
+    @Test
+    @DisplayName("should keep only the last status change per order")
+    void shouldKeepLastStatusPerOrder() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        OrderViewWriter.PendingWrites writes = new OrderViewWriter.PendingWrites();
+
+        // When
+        writes.updateStatus(orderId, OrderStatus.CONFIRMED, "訂單已確認", Instant.now());
+        writes.updateStatus(orderId, OrderStatus.CANCELLED, "Payment failed", Instant.now());
+        writes.flushTo(jdbcTemplate);
+
+        // Then
+        assertEquals(1, jdbcTemplate.batches.size());
+        assertEquals(1, jdbcTemplate.batches.get(0).args().size());
+        assertEquals("CANCELLED", jdbcTemplate.batches.get(0).args().get(0)[0]);
+        assertEquals(orderId, jdbcTemplate.batches.get(0).args().get(0)[3]);
+    }
+
+    @Test
+    @DisplayName("should write immediately outside a unit of work")
+    void shouldWriteImmediatelyWithoutUnitOfWork() {
+        // When
+        writer.updateStatus(UUID.randomUUID(), OrderStatus.CONFIRMED, "訂單已確認", Instant.now());
+
+        // Then
+        assertEquals(1, jdbcTemplate.batches.size());
+        assertEquals(OrderViewWriter.UPDATE_STATUS_SQL, jdbcTemplate.batches.get(0).sql());
+    }
+
+    private record Batch(String sql, List<Object[]> args) {
+    }
+
+    /**
+     * JdbcTemplate that records batch updates instead of executing them.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<Batch> batches = new ArrayList<>();
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            batches.add(new Batch(sql, new ArrayList<>(batchArgs)));
+            return new int[batchArgs.size()];
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.example.sales.infrastructure.retry;
 
+import com.example.shared.command.ReleaseInventoryCommand;
 import com.example.shared.command.ReleasePaymentCommand;
 import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -23,21 +32,32 @@ import static org.mockito.Mockito.*;
 @DisplayName("RetryableCommandGateway")
 class RetryableCommandGatewayTest {
 
+    private static final RetryPolicy FAST_POLICY =
+        new RetryPolicy(3, Duration.ofMillis(10), 2.0, Duration.ofMillis(50), 0.0);
+
     @Mock
     private CommandGateway commandGateway;
 
-    @InjectMocks
+    @Mock
+    private DeadLetterQueue deadLetterQueue;
+
     private RetryableCommandGateway retryableCommandGateway;
 
+    @BeforeEach
+    void setUp() {
+        retryableCommandGateway = newGateway(FAST_POLICY, Map.of(), new RetryBudget(0.2, 0, 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryableCommandGateway.shutdown();
+    }
+
     @Test
     @DisplayName("should send command successfully on first attempt")
     void shouldSendCommandSuccessfully() {
         // Given
-        ReleasePaymentCommand command = new ReleasePaymentCommand(
-            UUID.randomUUID(),
-            UUID.randomUUID(),
-            "Test reason"
-        );
+        ReleasePaymentCommand command = releasePayment();
         when(commandGateway.send(command)).thenReturn(CompletableFuture.completedFuture(null));
 
         // When
@@ -47,27 +67,186 @@ class RetryableCommandGatewayTest {
         assertNotNull(result);
         assertDoesNotThrow(() -> result.join());
         verify(commandGateway, times(1)).send(command);
+        assertEquals(1, retryableCommandGateway.metrics().snapshot().get("ReleasePaymentCommand").successes());
     }
 
     @Test
-    @DisplayName("should record compensation attempt for failed command")
-    void shouldRecordCompensationAttempt() {
+    @DisplayName("should retry when the returned future fails")
+    void shouldRetryFailedFuture() {
         // Given
-        ReleasePaymentCommand command = new ReleasePaymentCommand(
-            UUID.randomUUID(),
-            UUID.randomUUID(),
-            "Test reason"
-        );
-
-        // This test verifies logging behavior rather than retry
-        // since retry is handled by Spring AOP and requires integration testing
-        when(commandGateway.send(command)).thenReturn(CompletableFuture.completedFuture(null));
+        ReleasePaymentCommand command = releasePayment();
+        when(commandGateway.send(command))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("payment-service unavailable")))
+            .thenReturn(CompletableFuture.completedFuture(null));
 
         // When
         CompletableFuture<Void> result = retryableCommandGateway.sendWithRetry(command);
 
         // Then
-        assertNotNull(result);
-        verify(commandGateway).send(command);
+        assertDoesNotThrow(() -> result.get(5, TimeUnit.SECONDS));
+        verify(commandGateway, times(2)).send(command);
+        RetryMetrics.Snapshot snapshot = retryableCommandGateway.metrics().snapshot().get("ReleasePaymentCommand");
+        assertEquals(2, snapshot.attempts());
+        assertEquals(1, snapshot.retries());
+    }
+
+    @Test
+    @DisplayName("should retry when sending throws synchronously")
+    void shouldRetrySynchronousThrow() {
+        // Given
+        ReleasePaymentCommand command = releasePayment();
+        when(commandGateway.send(command))
+            .thenThrow(new IllegalStateException("No connection"))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        CompletableFuture<Void> result = retryableCommandGateway.sendWithRetry(command);
+
+        // Then
+        assertDoesNotThrow(() -> result.get(5, TimeUnit.SECONDS));
+        verify(commandGateway, times(2)).send(command);
+    }
+
+    @Test
+    @DisplayName("should fail with CompensationFailedException and dead-letter the command after all attempts")
+    void shouldFailAfterMaxAttempts() {
+        // Given
+        ReleasePaymentCommand command = releasePayment();
+        when(commandGateway.send(command))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("payment-service unavailable")));
+
+        // When
+        CompletableFuture<Void> result = retryableCommandGateway.sendWithRetry(command);
+
+        // Then
+        CompletionException thrown = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(RetryableCommandGateway.CompensationFailedException.class, thrown.getCause());
+        verify(commandGateway, times(3)).send(command);
+        verify(deadLetterQueue).enqueue(eq(command), any(IllegalStateException.class));
+        assertEquals(1, retryableCommandGateway.metrics().snapshot().get("ReleasePaymentCommand").failures());
+    }
+
+    @Test
+    @DisplayName("should apply the policy of the command type")
+    void shouldApplyPerCommandPolicy() {
+        // Given
+        retryableCommandGateway.shutdown();
+        retryableCommandGateway = newGateway(FAST_POLICY, Map.of(
+            "ReleaseInventoryCommand", new RetryPolicy(5, Duration.ofMillis(1), 1.0, Duration.ofMillis(1), 0.0)
+        ), new RetryBudget(0.2, 0, 100));
+        ReleaseInventoryCommand command = new ReleaseInventoryCommand(UUID.randomUUID(), UUID.randomUUID(), "Test reason");
+        when(commandGateway.send(command))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("inventory-service unavailable")));
+
+        // When
+        CompletableFuture<Void> result = retryableCommandGateway.sendWithRetry(command);
+
+        // Then
+        assertThrows(CompletionException.class, result::join);
+        verify(commandGateway, times(5)).send(command);
+    }
+
+    @Test
+    @DisplayName("should stop retrying when the retry budget is exhausted")
+    void shouldStopWhenBudgetExhausted() {
+        // Given - one token, no refill
+        retryableCommandGateway.shutdown();
+        retryableCommandGateway = newGateway(FAST_POLICY, Map.of(), new RetryBudget(0.0, 0, 1));
+        ReleasePaymentCommand command = releasePayment();
+        when(commandGateway.send(command))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("payment-service unavailable")));
+
+        // When
+        CompletableFuture<Void> result = retryableCommandGateway.sendWithRetry(command);
+
+        // Then
+        assertThrows(CompletionException.class, result::join);
+        verify(commandGateway, times(2)).send(command);
+        verify(deadLetterQueue).enqueue(eq(command), any());
+        assertEquals(1, retryableCommandGateway.metrics().snapshot().get("ReleasePaymentCommand").budgetRejections());
+    }
+
+    @Nested
+    @DisplayName("RetryPolicy")
+    class RetryPolicyTests {
+
+        @Test
+        @DisplayName("should grow the delay exponentially up to the cap")
+        void shouldGrowDelayExponentially() {
+            // Given
+            RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), 2.0, Duration.ofMillis(500), 0.0);
+
+            // Then
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(100), policy.delayNanos(1, 0.5));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(200), policy.delayNanos(2, 0.5));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(400), policy.delayNanos(3, 0.5));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(500), policy.delayNanos(4, 0.5));
+        }
+
+        @Test
+        @DisplayName("should take off up to the jitter share of the delay")
+        void shouldApplyJitter() {
+            // Given
+            RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), 2.0, Duration.ofMillis(500), 0.5);
+
+            // Then
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(100), policy.delayNanos(1, 0.0));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(75), policy.delayNanos(1, 0.5));
+        }
+    }
+
+    @Nested
+    @DisplayName("RetryBudget")
+    class RetryBudgetTests {
+
+        private long now = 0;
+
+        @Test
+        @DisplayName("should allow retries in proportion to first attempts")
+        void shouldAllowRetriesInProportion() {
+            // Given - empty bucket, 0.5 retry per first attempt, no refill
+            RetryBudget budget = new RetryBudget(0.5, 0, 10, () -> now);
+            while (budget.tryAcquireRetry()) {
+                // drain the initial tokens
+            }
+
+            // When
+            budget.onFirstAttempt();
+            boolean afterOne = budget.tryAcquireRetry();
+            budget.onFirstAttempt();
+            budget.onFirstAttempt();
+            boolean afterTwoMore = budget.tryAcquireRetry();
+
+            // Then
+            assertFalse(afterOne);
+            assertTrue(afterTwoMore);
+        }
+
+        @Test
+        @DisplayName("should refill at the minimum retry rate")
+        void shouldRefillOverTime() {
+            // Given
+            RetryBudget budget = new RetryBudget(0.0, 2, 10, () -> now);
+            while (budget.tryAcquireRetry()) {
+                // drain the initial tokens
+            }
+
+            // When
+            now += TimeUnit.MILLISECONDS.toNanos(500);
+
+            // Then
+            assertTrue(budget.tryAcquireRetry());
+            assertFalse(budget.tryAcquireRetry());
+        }
+    }
+
+    private RetryableCommandGateway newGateway(RetryPolicy defaultPolicy, Map<String, RetryPolicy> policies,
+                                               RetryBudget budget) {
+        return new RetryableCommandGateway(commandGateway, defaultPolicy, policies, budget, new RetryMetrics(),
+            deadLetterQueue);
+    }
+
+    private static ReleasePaymentCommand releasePayment() {
+        return new ReleasePaymentCommand(UUID.randomUUID(), UUID.randomUUID(), "Test reason");
     }
 }
@@ -0,0 +1,128 @@
+package com.example.sales.infrastructure.timeout;
+
+import com.example.sales.infrastructure.timeout.AdaptiveOrderTimeout.Downstream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveOrderTimeout.
+ */
+@DisplayName("AdaptiveOrderTimeout")
+class AdaptiveOrderTimeoutTest {
+
+    private static final long CREATED_AT = 1_000_000_000L;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AdaptiveOrderTimeout timeout = new AdaptiveOrderTimeout(
+        Duration.ofSeconds(15), Duration.ofSeconds(2), Duration.ofSeconds(15), 2.0, 10,
+        Duration.ofSeconds(60), Duration.ZERO, Duration.ofSeconds(30), nanos::get);
+
+    @Test
+    @DisplayName("should use the initial timeout until both downstreams have enough samples")
+    void shouldUseInitialTimeoutWithoutSamples() {
+        // Given - only payment has replies
+        recordReplies(Downstream.PAYMENT, 10, Duration.ofMillis(500));
+
+        // When
+        Duration scheduled = timeout.timeout();
+
+        // Then
+        assertEquals(Duration.ofSeconds(15), scheduled);
+        assertNotNull(timeout.stats().paymentP99());
+        assertNull(timeout.stats().inventoryP99());
+    }
+
+    @Test
+    @DisplayName("should scale the slower downstream's p99 and keep it within bounds")
+    void shouldScaleSlowerP99WithinBounds() {
+        // Given
+        recordReplies(Downstream.PAYMENT, 10, Duration.ofMillis(500));
+        recordReplies(Downstream.INVENTORY, 10, Duration.ofSeconds(2));
+
+        // When
+        Duration scheduled = timeout.timeout();
+
+        // Then - 2 x ~2s from inventory, within the histogram's precision
+        assertTrue(scheduled.compareTo(Duration.ofSeconds(4)) >= 0, "timeout " + scheduled);
+        assertTrue(scheduled.compareTo(Duration.ofMillis(4100)) < 0, "timeout " + scheduled);
+
+        // When - both are fast
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(121));
+        recordReplies(Downstream.PAYMENT, 10, Duration.ofMillis(10));
+        recordReplies(Downstream.INVENTORY, 10, Duration.ofMillis(10));
+
+        // Then - the minimum applies
+        assertEquals(Duration.ofSeconds(2), timeout.timeout());
+    }
+
+    @Test
+    @DisplayName("should count a timeout as spurious when the pending reservations reply afterwards")
+    void shouldCountSpuriousTimeout() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        timeout.timedOut(orderId, CREATED_AT, true, true);
+
+        // When
+        timeout.lateReply(orderId, Downstream.PAYMENT, CREATED_AT + 16_000_000);
+        AdaptiveOrderTimeout.Stats afterOne = timeout.stats();
+        timeout.lateReply(orderId, Downstream.INVENTORY, CREATED_AT + 17_000_000);
+        timeout.lateReply(orderId, Downstream.INVENTORY, CREATED_AT + 18_000_000);
+
+        // Then
+        assertEquals(0, afterOne.spuriousTimeouts());
+        AdaptiveOrderTimeout.Stats stats = timeout.stats();
+        assertEquals(1, stats.spuriousTimeouts());
+        assertEquals(0, stats.genuineTimeouts());
+        assertEquals(0, stats.unresolved());
+    }
+
+    @Test
+    @DisplayName("should count a timeout as genuine when a pending reservation never replies")
+    void shouldCountGenuineTimeout() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        timeout.timedOut(orderId, CREATED_AT, true, true);
+        timeout.lateReply(orderId, Downstream.PAYMENT, CREATED_AT + 16_000_000);
+
+        // When
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        // Then
+        AdaptiveOrderTimeout.Stats stats = timeout.stats();
+        assertEquals(0, stats.spuriousTimeouts());
+        assertEquals(1, stats.genuineTimeouts());
+        assertEquals(0, stats.unresolved());
+    }
+
+    @Test
+    @DisplayName("should ignore replies of orders that did not time out")
+    void shouldIgnoreRepliesOfLiveOrders() {
+        // When
+        timeout.lateReply(UUID.randomUUID(), Downstream.PAYMENT, CREATED_AT + 1_000);
+
+        // Then
+        assertNull(timeout.stats().paymentP99());
+    }
+
+    @Test
+    @DisplayName("should reject bounds where min exceeds max")
+    void shouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveOrderTimeout(
+            Duration.ofSeconds(15), Duration.ofSeconds(20), Duration.ofSeconds(15), 2.0, 10,
+            Duration.ofSeconds(60), Duration.ofSeconds(1), Duration.ofSeconds(30)));
+    }
+
+    private void recordReplies(Downstream downstream, int count, Duration latency) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(latency.toNanos());
+        for (int i = 0; i < count; i++) {
+            timeout.recordReply(downstream, CREATED_AT, CREATED_AT + micros);
+        }
+    }
+}
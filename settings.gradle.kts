@@ -1,6 +1,10 @@
 rootProject.name = "saga-axon"
 
 include("shared-kernel")
+include("shared-metrics")
+include("shared-axon")
 include("sales-service")
 include("payment-service")
 include("inventory-service")
+include("benchmarks")
+include("load-test")
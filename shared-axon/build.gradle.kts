@@ -0,0 +1,23 @@
+plugins {
+    java
+    id("io.spring.dependency-management")
+}
+
+dependencies {
+    // Provided by the services through axon-spring-boot-starter and spring-boot-starter-actuator
+    compileOnly("org.axonframework:axon-messaging:4.9.3")
+    compileOnly("org.axonframework:axon-configuration:4.9.3")
+    compileOnly("org.axonframework:axon-eventsourcing:4.9.3")
+    compileOnly("org.springframework.boot:spring-boot-autoconfigure:3.2.0")
+    compileOnly("io.micrometer:micrometer-core:1.12.0")
+    // BinarySerializer and the message types it registers; every service depends on shared-kernel
+    compileOnly(project(":shared-kernel"))
+
+    // Testing
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.1")
+    testImplementation("org.axonframework:axon-messaging:4.9.3")
+    testImplementation("org.axonframework:axon-configuration:4.9.3")
+    testImplementation("org.axonframework:axon-eventsourcing:4.9.3")
+    testImplementation("io.micrometer:micrometer-core:1.12.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
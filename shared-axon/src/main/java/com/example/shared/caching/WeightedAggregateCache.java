@@ -0,0 +1,307 @@
+package com.example.shared.caching;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.axonframework.common.Registration;
+import org.axonframework.common.caching.Cache;
+import org.axonframework.eventsourcing.AggregateCacheEntry;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded aggregate cache for Axon's caching event-sourcing repository.
+ *
+ * Every entry has a weight from the {@code weigher}, and the cache keeps the sum
+ * of weights at or below {@code maxWeight}. Eviction uses the CLOCK policy: entries
+ * sit in a FIFO queue, a read only sets the entry's referenced flag, and the evictor
+ * gives a referenced entry a second pass instead of removing it. Reads therefore
+ * never reorder anything or take a lock, which matters because every command on a
+ * cached aggregate reads the cache. The bound holds only approximately while puts
+ * race; the next put restores it.
+ *
+ * Concurrent commands for one aggregate are serialised by the repository's lock, so
+ * the cache only has to be safe for different keys changing at the same time.
+ *
+ * Micrometer sees {@code axon.aggregate.cache.gets} (result hit or miss),
+ * {@code axon.aggregate.cache.evictions}, {@code axon.aggregate.cache.size} and
+ * {@code axon.aggregate.cache.weight}, tagged with the cache name.
+ */
+public class WeightedAggregateCache implements Cache, MeterBinder {
+
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final String name;
+    private final long maxWeight;
+    private final ToLongFunction<Object> weigher;
+
+    private final ConcurrentHashMap<Object, Node> entries = new ConcurrentHashMap<>();
+    private final Queue<Node> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final AtomicInteger removedInClock = new AtomicInteger();
+    private final List<EntryListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param name      used as the {@code cache} tag, e.g. the aggregate type
+     * @param maxWeight upper bound for the summed weight of all entries
+     * @param weigher   weight of one cached value, taken when it is put; must be positive
+     */
+    public WeightedAggregateCache(String name, long maxWeight, ToLongFunction<Object> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Max weight must be positive");
+        }
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * A cache where every entry weighs {@code entryWeight}.
+     */
+    public static WeightedAggregateCache withEntryWeight(String name, long maxWeight, long entryWeight) {
+        if (entryWeight <= 0) {
+            throw new IllegalArgumentException("Entry weight must be positive");
+        }
+        return new WeightedAggregateCache(name, maxWeight, value -> entryWeight);
+    }
+
+    /**
+     * A cache weighing each aggregate by its state. Axon's caching repository puts
+     * an {@link AggregateCacheEntry}; {@code rootWeigher} sees the aggregate root
+     * inside it, e.g. to charge per item. Any other value weighs {@code fallbackWeight}.
+     */
+    public static <T> WeightedAggregateCache weighingAggregates(String name, long maxWeight, Class<T> rootType,
+                                                                ToLongFunction<? super T> rootWeigher,
+                                                                long fallbackWeight) {
+        if (fallbackWeight <= 0) {
+            throw new IllegalArgumentException("Fallback weight must be positive");
+        }
+        return new WeightedAggregateCache(name, maxWeight, value -> {
+            if (value instanceof AggregateCacheEntry<?> entry && rootType.isInstance(entry.getAggregateRoot())) {
+                return rootWeigher.applyAsLong(rootType.cast(entry.getAggregateRoot()));
+            }
+            return fallbackWeight;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> V get(K key) {
+        Node node = entries.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        node.referenced = true;
+        listeners.forEach(listener -> listener.onEntryRead(key, node.value));
+        return (V) node.value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        long entryWeight = weigh(value);
+        Node[] created = new Node[1];
+        long[] delta = new long[1];
+        entries.compute(key, (k, node) -> {
+            if (node == null) {
+                created[0] = new Node(k, value, entryWeight);
+                delta[0] = entryWeight;
+                return created[0];
+            }
+            // Updated in place, so a key never has more than one live node in the clock
+            delta[0] = entryWeight - node.weight;
+            node.value = value;
+            node.weight = entryWeight;
+            node.referenced = true;
+            return node;
+        });
+        weight.addAndGet(delta[0]);
+        if (created[0] != null) {
+            clock.add(created[0]);
+            listeners.forEach(listener -> listener.onEntryCreated(key, value));
+        } else {
+            listeners.forEach(listener -> listener.onEntryUpdated(key, value));
+        }
+        evictOverweight();
+    }
+
+    @Override
+    public boolean putIfAbsent(Object key, Object value) {
+        Node node = new Node(key, value, weigh(value));
+        if (entries.putIfAbsent(key, node) != null) {
+            return false;
+        }
+        weight.addAndGet(node.weight);
+        clock.add(node);
+        listeners.forEach(listener -> listener.onEntryCreated(key, value));
+        evictOverweight();
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Object key, Supplier<T> valueSupplier) {
+        T cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        T value = valueSupplier.get();
+        if (value != null && !putIfAbsent(key, value)) {
+            Node winner = entries.get(key);
+            if (winner != null) {
+                return (T) winner.value;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> void computeIfPresent(Object key, UnaryOperator<V> update) {
+        Node current = entries.get(key);
+        if (current == null) {
+            return;
+        }
+        V updated = update.apply((V) current.value);
+        if (updated == null) {
+            remove(key);
+        } else {
+            put(key, updated);
+        }
+    }
+
+    @Override
+    public boolean remove(Object key) {
+        Node node = entries.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.removed = true;
+        weight.addAndGet(-node.weight);
+        listeners.forEach(listener -> listener.onEntryRemoved(key));
+        // Removed nodes stay queued until the clock reaches them; purge them if they pile up
+        if (removedInClock.incrementAndGet() > Math.max(COMPACTION_THRESHOLD, entries.size())) {
+            removedInClock.set(0);
+            clock.removeIf(queued -> queued.removed);
+        }
+        return true;
+    }
+
+    @Override
+    public void removeAll() {
+        entries.keySet().forEach(this::remove);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public Registration registerCacheEntryListener(EntryListener cacheEntryListener) {
+        listeners.add(cacheEntryListener);
+        return () -> listeners.remove(cacheEntryListener);
+    }
+
+    public Stats stats() {
+        return new Stats(entries.size(), weight.get(), maxWeight, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("cache", name);
+        FunctionCounter.builder("axon.aggregate.cache.gets", hits, LongAdder::sum)
+            .description("Aggregate cache lookups")
+            .tags(tags.and("result", "hit"))
+            .register(registry);
+        FunctionCounter.builder("axon.aggregate.cache.gets", misses, LongAdder::sum)
+            .description("Aggregate cache lookups")
+            .tags(tags.and("result", "miss"))
+            .register(registry);
+        FunctionCounter.builder("axon.aggregate.cache.evictions", evictions, LongAdder::sum)
+            .description("Aggregates evicted to stay within the weight bound")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder("axon.aggregate.cache.size", entries, ConcurrentHashMap::size)
+            .description("Cached aggregates")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder("axon.aggregate.cache.weight", weight, AtomicLong::get)
+            .description("Summed weight of the cached aggregates")
+            .tags(tags)
+            .register(registry);
+    }
+
+    private long weigh(Object value) {
+        long entryWeight = weigher.applyAsLong(value);
+        if (entryWeight <= 0) {
+            throw new IllegalArgumentException("Entry weight must be positive: " + entryWeight);
+        }
+        return entryWeight;
+    }
+
+    private void evictOverweight() {
+        while (weight.get() > maxWeight) {
+            Node candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+            if (candidate.removed) {
+                continue;
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.add(candidate);
+                continue;
+            }
+            if (entries.remove(candidate.key, candidate)) {
+                candidate.removed = true;
+                weight.addAndGet(-candidate.weight);
+                evictions.increment();
+                listeners.forEach(listener -> listener.onEntryExpired(candidate.key));
+            }
+        }
+    }
+
+    /**
+     * Cache counters. Weights are in the weigher's unit.
+     */
+    public record Stats(int size, long weight, long maxWeight, long hits, long misses, long evictions) {
+    }
+
+    private static final class Node {
+
+        private final Object key;
+        private volatile Object value;
+        private volatile long weight;
+        private volatile boolean referenced;
+        private volatile boolean removed;
+
+        private Node(Object key, Object value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
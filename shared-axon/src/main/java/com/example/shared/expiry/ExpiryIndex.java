@@ -0,0 +1,105 @@
+package com.example.shared.expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Open reservations ordered by expiry, for a sweeper to find the expired ones.
+ *
+ * Keys sit in time buckets of {@code bucketWidth}, so the ordered part is one
+ * entry per bucket rather than per reservation, and adding or removing a key is a
+ * hash operation plus at most one tree lookup. Polling walks the buckets from the
+ * oldest and stops at the first one that is not yet due.
+ *
+ * Kept in memory only; its owner rebuilds it from the reservation events on start.
+ */
+public class ExpiryIndex<K> {
+
+    private final long bucketMillis;
+    private final NavigableMap<Long, Set<K>> buckets = new TreeMap<>();
+    private final Map<K, Long> expiries = new HashMap<>();
+
+    public ExpiryIndex(Duration bucketWidth) {
+        if (bucketWidth.toMillis() <= 0) {
+            throw new IllegalArgumentException("Bucket width must be at least 1ms");
+        }
+        this.bucketMillis = bucketWidth.toMillis();
+    }
+
+    /**
+     * Track a key, or move it if it is tracked already.
+     */
+    public synchronized void add(K key, Instant expiresAt) {
+        remove(key);
+        long expiry = expiresAt.toEpochMilli();
+        expiries.put(key, expiry);
+        buckets.computeIfAbsent(bucketOf(expiry), bucket -> new LinkedHashSet<>()).add(key);
+    }
+
+    /**
+     * Stop tracking a key; unknown keys are ignored.
+     */
+    public synchronized void remove(K key) {
+        Long expiry = expiries.remove(key);
+        if (expiry == null) {
+            return;
+        }
+        long bucket = bucketOf(expiry);
+        Set<K> keys = buckets.get(bucket);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+
+    /**
+     * Remove and return up to {@code max} keys that expired at or before {@code now}, oldest buckets first.
+     */
+    public synchronized List<Expired<K>> pollExpired(Instant now, int max) {
+        long nowMillis = now.toEpochMilli();
+        List<Expired<K>> expired = new ArrayList<>(Math.min(max, expiries.size()));
+        Iterator<Map.Entry<Long, Set<K>>> bucketIterator = buckets.headMap(bucketOf(nowMillis), true)
+            .entrySet().iterator();
+        while (bucketIterator.hasNext() && expired.size() < max) {
+            Set<K> keys = bucketIterator.next().getValue();
+            Iterator<K> keyIterator = keys.iterator();
+            while (keyIterator.hasNext() && expired.size() < max) {
+                K key = keyIterator.next();
+                long expiry = expiries.get(key);
+                // Only the bucket holding now can contain keys that are not yet due
+                if (expiry <= nowMillis) {
+                    keyIterator.remove();
+                    expiries.remove(key);
+                    expired.add(new Expired<>(key, Instant.ofEpochMilli(expiry)));
+                }
+            }
+            if (keys.isEmpty()) {
+                bucketIterator.remove();
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return expiries.size();
+    }
+
+    private long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+
+    /**
+     * A key taken out of the index and the expiry it had.
+     */
+    public record Expired<K>(K key, Instant expiresAt) {
+    }
+}
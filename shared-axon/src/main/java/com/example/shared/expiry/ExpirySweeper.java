@@ -0,0 +1,203 @@
+package com.example.shared.expiry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.TrackingEventProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Expires reservations that outlived their {@code expiresAt} by more than {@code grace},
+ * found through an {@link ExpiryIndex}.
+ *
+ * Every {@code interval} the sweeper takes the expired keys out of the index in
+ * batches of {@code batchSize}, sends a batch's expire commands together and waits
+ * for all of them before taking the next. A reservation whose command fails goes
+ * back into the index for the next sweep. The grace period keeps the sweeper clear
+ * of reservations whose saga is still deciding.
+ *
+ * The index is filled by an event processor, so until that processor has caught
+ * up it misses reservations and has not yet seen the settlements of others. A
+ * sweep only runs once {@code ready} says so, typically
+ * {@link #whenCaughtUp(EventProcessingConfiguration, String)} for the index's
+ * processing group.
+ *
+ * Micrometer sees {@code reservation.expiry.expired}, {@code reservation.expiry.pending}
+ * (reservations in the index) and {@code reservation.expiry.lag} (seconds the most
+ * overdue reservation of the last sweep was past expiry plus grace), tagged with
+ * the reservation type.
+ */
+public class ExpirySweeper implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpirySweeper.class);
+
+    private final String reservationType;
+    private final ExpiryIndex<UUID> index;
+    private final CommandGateway commandGateway;
+    private final Function<UUID, Object> expireCommand;
+    private final BooleanSupplier ready;
+    private final Duration grace;
+    private final int batchSize;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong expired = new AtomicLong();
+    private volatile long lastLagMillis;
+
+    public ExpirySweeper(String reservationType,
+                         ExpiryIndex<UUID> index,
+                         CommandGateway commandGateway,
+                         Function<UUID, Object> expireCommand,
+                         BooleanSupplier ready,
+                         Duration grace,
+                         int batchSize,
+                         Duration interval) {
+        this(reservationType, index, commandGateway, expireCommand, ready, grace, batchSize, interval,
+            Clock.systemUTC(), true);
+    }
+
+    ExpirySweeper(String reservationType,
+                  ExpiryIndex<UUID> index,
+                  CommandGateway commandGateway,
+                  Function<UUID, Object> expireCommand,
+                  BooleanSupplier ready,
+                  Duration grace,
+                  int batchSize,
+                  Duration interval,
+                  Clock clock,
+                  boolean start) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.reservationType = reservationType;
+        this.index = index;
+        this.commandGateway = commandGateway;
+        this.expireCommand = expireCommand;
+        this.ready = ready;
+        this.grace = grace;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        if (start) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, reservationType + "-expiry-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Ready once every segment of the tracking processor for {@code processingGroup}
+     * has caught up with the head of its stream.
+     */
+    public static BooleanSupplier whenCaughtUp(EventProcessingConfiguration eventProcessingConfiguration,
+                                               String processingGroup) {
+        return () -> eventProcessingConfiguration
+            .eventProcessor(processingGroup, TrackingEventProcessor.class)
+            .map(TrackingEventProcessor::processingStatus)
+            .filter(status -> !status.isEmpty())
+            .map(Map::values)
+            .map(segments -> segments.stream().allMatch(EventTrackerStatus::isCaughtUp))
+            .orElse(false);
+    }
+
+    /**
+     * Expire everything that is due, batch by batch.
+     */
+    void sweep() {
+        if (!ready.getAsBoolean()) {
+            log.debug("{} expiry index still catching up; skipping sweep", reservationType);
+            return;
+        }
+        Instant cutoff = clock.instant().minus(grace);
+        List<ExpiryIndex.Expired<UUID>> failed = new ArrayList<>();
+        long maxLagMillis = 0;
+        try {
+            List<ExpiryIndex.Expired<UUID>> batch;
+            do {
+                batch = index.pollExpired(cutoff, batchSize);
+                List<CompletableFuture<Object>> sent = new ArrayList<>(batch.size());
+                for (ExpiryIndex.Expired<UUID> reservation : batch) {
+                    sent.add(commandGateway.send(expireCommand.apply(reservation.key())));
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    ExpiryIndex.Expired<UUID> reservation = batch.get(i);
+                    try {
+                        sent.get(i).get();
+                        expired.incrementAndGet();
+                        maxLagMillis = Math.max(maxLagMillis,
+                            cutoff.toEpochMilli() - reservation.expiresAt().toEpochMilli());
+                    } catch (ExecutionException e) {
+                        log.warn("Expiring {} reservation {} failed; retrying next sweep",
+                            reservationType, reservation.key(), e.getCause());
+                        failed.add(reservation);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed.addAll(batch.subList(i, batch.size()));
+                        return;
+                    }
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            failed.forEach(reservation -> index.add(reservation.key(), reservation.expiresAt()));
+            lastLagMillis = maxLagMillis;
+        }
+    }
+
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("reservation", reservationType);
+        FunctionCounter.builder("reservation.expiry.expired", expired, AtomicLong::get)
+            .description("Reservations expired by the sweeper")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder("reservation.expiry.pending", index, ExpiryIndex::size)
+            .description("Open reservations tracked for expiry")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder("reservation.expiry.lag", this, sweeper -> sweeper.lastLagMillis / 1000.0)
+            .description("How far past expiry plus grace the most overdue reservation of the last sweep was")
+            .tags(tags)
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("{} reservation expiry sweep failed", reservationType, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.shared.serialization;
+
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Wraps the Jackson serializers Axon configures (general, messages, events) in a
+ * {@link BinarySerializer} that writes the shared-kernel messages, plus the types
+ * of every {@link BinaryTypeRegistration} bean, in its binary layout.
+ *
+ * The wrapped Jackson serializer stays the fallback, so tokens, deadlines and
+ * data stored before the switch are read exactly as before.
+ *
+ * Enable with {@code axon.serializer.binary.enabled=true}; every service that
+ * exchanges messages has to be switched, since a Jackson-only reader cannot
+ * decode binary payloads.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "axon.serializer.binary", name = "enabled", havingValue = "true")
+public class BinarySerializerAutoConfiguration {
+
+    @Bean
+    public static BeanPostProcessor binarySerializerPostProcessor(
+            ObjectProvider<BinaryTypeRegistration> registrations) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof JacksonSerializer jacksonSerializer)) {
+                    return bean;
+                }
+                BinarySerializer.Builder builder = BinarySerializer.builder()
+                    .fallback(jacksonSerializer)
+                    .register(SharedKernelTypes.MESSAGES);
+                registrations.orderedStream().forEach(registration -> registration.registerTo(builder));
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.shared.caching;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WeightedAggregateCache.
+ */
+@DisplayName("WeightedAggregateCache")
+class WeightedAggregateCacheTest {
+
+    @Test
+    @DisplayName("should count hits and misses")
+    void shouldCountHitsAndMisses() {
+        // Given
+        WeightedAggregateCache cache = WeightedAggregateCache.withEntryWeight("Order", 10, 1);
+        cache.put("order-1", "state");
+
+        // When
+        String hit = cache.get("order-1");
+        String miss = cache.get("order-2");
+
+        // Then
+        assertEquals("state", hit);
+        assertNull(miss);
+        WeightedAggregateCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    @DisplayName("should evict by weight rather than by entry count")
+    void shouldEvictByWeight() {
+        // Given - a value weighs its length
+        WeightedAggregateCache cache = new WeightedAggregateCache("Order", 10, value -> ((String) value).length());
+
+        // When
+        cache.put("a", "xxxx");
+        cache.put("b", "xxxx");
+        cache.put("c", "xxxx");
+
+        // Then
+        WeightedAggregateCache.Stats stats = cache.stats();
+        assertEquals(2, stats.size());
+        assertEquals(8, stats.weight());
+        assertEquals(1, stats.evictions());
+        assertFalse(cache.containsKey("a"));
+    }
+
+    @Test
+    @DisplayName("should give recently read entries a second chance")
+    void shouldKeepRecentlyReadEntries() {
+        // Given
+        WeightedAggregateCache cache = WeightedAggregateCache.withEntryWeight("Order", 3, 1);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        // When - "a" is read before "d" pushes the cache over its bound
+        cache.get("a");
+        cache.put("d", "4");
+
+        // Then
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("d"));
+    }
+
+    @Test
+    @DisplayName("should track the weight of replaced and removed entries")
+    void shouldTrackWeightOnReplaceAndRemove() {
+        // Given
+        WeightedAggregateCache cache = new WeightedAggregateCache("Order", 100, value -> ((String) value).length());
+        cache.put("a", "xx");
+
+        // When
+        cache.put("a", "xxxxx");
+        boolean inserted = cache.putIfAbsent("a", "x");
+        cache.put("b", "xxx");
+        cache.remove("b");
+
+        // Then
+        assertFalse(inserted);
+        assertEquals("xxxxx", cache.get("a"));
+        assertEquals(5, cache.stats().weight());
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test
+    @DisplayName("should weigh values that are not cached aggregates at the fallback weight")
+    void shouldWeighOtherValuesAtFallback() {
+        // Given
+        WeightedAggregateCache cache = WeightedAggregateCache.weighingAggregates(
+            "Order", 100, String.class, value -> 1_000, 7);
+
+        // When
+        cache.put("order-1", "state");
+
+        // Then
+        assertEquals(7, cache.stats().weight());
+        assertTrue(cache.containsKey("order-1"));
+    }
+
+    @Test
+    @DisplayName("should stay within its bound under concurrent puts and reads")
+    void shouldStayBoundedUnderConcurrency() throws Exception {
+        // Given
+        WeightedAggregateCache cache = WeightedAggregateCache.withEntryWeight("Order", 1_000, 1);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(threads.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    String key = thread + "-" + i;
+                    cache.put(key, key);
+                    cache.get(key);
+                    if (i % 7 == 0) {
+                        cache.remove(key);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        threads.shutdown();
+
+        // Then
+        WeightedAggregateCache.Stats stats = cache.stats();
+        assertTrue(stats.weight() <= 1_000, "weight " + stats.weight());
+        assertEquals(stats.size(), stats.weight());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.shared.expiry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExpiryIndex.
+ */
+@DisplayName("ExpiryIndex")
+class ExpiryIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:10Z");
+
+    private final ExpiryIndex<String> index = new ExpiryIndex<>(Duration.ofSeconds(1));
+
+    @Test
+    @DisplayName("should poll only expired keys, oldest first")
+    void shouldPollExpiredKeysOldestFirst() {
+        // Given - one key in the bucket holding now is not yet due
+        index.add("late", NOW.minusSeconds(1));
+        index.add("early", NOW.minusSeconds(5));
+        index.add("due", NOW.minusMillis(1));
+        index.add("not-due", NOW.plusMillis(500));
+
+        // When
+        List<ExpiryIndex.Expired<String>> expired = index.pollExpired(NOW, 10);
+
+        // Then
+        assertEquals(List.of("early", "late", "due"), expired.stream().map(ExpiryIndex.Expired::key).toList());
+        assertEquals(NOW.minusSeconds(5), expired.get(0).expiresAt());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("should hand out at most the requested number of keys per poll")
+    void shouldPollInBatches() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            index.add("key-" + i, NOW.minusSeconds(i));
+        }
+
+        // When
+        List<ExpiryIndex.Expired<String>> first = index.pollExpired(NOW, 3);
+        List<ExpiryIndex.Expired<String>> second = index.pollExpired(NOW, 3);
+
+        // Then
+        assertEquals(3, first.size());
+        assertEquals(2, second.size());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("should forget removed keys and move re-added ones")
+    void shouldRemoveAndMoveKeys() {
+        // Given
+        index.add("confirmed", NOW.minusSeconds(2));
+        index.add("extended", NOW.minusSeconds(2));
+
+        // When
+        index.remove("confirmed");
+        index.remove("unknown");
+        index.add("extended", NOW.plusSeconds(30));
+
+        // Then
+        assertTrue(index.pollExpired(NOW, 10).isEmpty());
+        assertEquals(1, index.size());
+        assertEquals(1, index.pollExpired(NOW.plusSeconds(30), 10).size());
+    }
+}
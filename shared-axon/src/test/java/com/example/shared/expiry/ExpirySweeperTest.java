@@ -0,0 +1,84 @@
+package com.example.shared.expiry;
+
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExpirySweeper.
+ * Sweeps are run directly; the gateway records the expire commands it is sent.
+ */
+@DisplayName("ExpirySweeper")
+class ExpirySweeperTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:01:00Z");
+    private static final Duration GRACE = Duration.ofSeconds(30);
+
+    private final ExpiryIndex<UUID> index = new ExpiryIndex<>(Duration.ofSeconds(1));
+    private final List<Object> sent = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean caughtUp = new AtomicBoolean();
+    private final ExpirySweeper sweeper = new ExpirySweeper(
+        "test", index, recordingGateway(), reservationId -> reservationId, caughtUp::get,
+        GRACE, 10, Duration.ofSeconds(1), Clock.fixed(NOW, ZoneOffset.UTC), false
+    );
+
+    @Test
+    @DisplayName("should not expire anything while the index is still catching up")
+    void shouldNotSweepBeforeCaughtUp() {
+        // Given
+        UUID reservationId = UUID.randomUUID();
+        index.add(reservationId, NOW.minus(GRACE).minusSeconds(5));
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        assertTrue(sent.isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("should expire reservations past expiry plus grace once the index has caught up")
+    void shouldSweepOnceCaughtUp() {
+        // Given
+        UUID overdue = UUID.randomUUID();
+        UUID inGrace = UUID.randomUUID();
+        index.add(overdue, NOW.minus(GRACE).minusSeconds(5));
+        index.add(inGrace, NOW.minusSeconds(5));
+        caughtUp.set(true);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        assertEquals(List.of(overdue), sent);
+        assertEquals(1, index.size());
+    }
+
+    private CommandGateway recordingGateway() {
+        return (CommandGateway) Proxy.newProxyInstance(
+            CommandGateway.class.getClassLoader(),
+            new Class<?>[]{CommandGateway.class},
+            (proxy, method, args) -> {
+                if (!method.getName().equals("send") || args.length != 1) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                sent.add(args[0]);
+                return CompletableFuture.completedFuture(null);
+            }
+        );
+    }
+}
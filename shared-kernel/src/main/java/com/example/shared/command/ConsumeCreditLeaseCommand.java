@@ -0,0 +1,27 @@
+package com.example.shared.command;
+
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Command to charge leased credit for a confirmed order.
+ */
+public record ConsumeCreditLeaseCommand(
+    @TargetAggregateIdentifier UUID leaseId,
+    UUID orderId,
+    BigDecimal amount
+) {
+    public ConsumeCreditLeaseCommand {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+    }
+}
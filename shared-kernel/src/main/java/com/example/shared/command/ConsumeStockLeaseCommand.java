@@ -0,0 +1,26 @@
+package com.example.shared.command;
+
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.util.UUID;
+
+/**
+ * Command to deduct leased stock for a confirmed order.
+ */
+public record ConsumeStockLeaseCommand(
+    @TargetAggregateIdentifier UUID leaseId,
+    UUID orderId,
+    int quantity
+) {
+    public ConsumeStockLeaseCommand {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+}
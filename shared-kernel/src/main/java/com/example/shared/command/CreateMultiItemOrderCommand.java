@@ -0,0 +1,29 @@
+package com.example.shared.command;
+
+import com.example.shared.valueobject.OrderItem;
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command to create a new order of several items, priced per item.
+ */
+public record CreateMultiItemOrderCommand(
+    @TargetAggregateIdentifier UUID orderId,
+    String customerId,
+    List<OrderItem> items
+) {
+    public CreateMultiItemOrderCommand {
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Items cannot be null or empty");
+        }
+        items = List.copyOf(items);
+    }
+}
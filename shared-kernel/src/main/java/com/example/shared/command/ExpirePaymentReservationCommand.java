@@ -0,0 +1,18 @@
+package com.example.shared.command;
+
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.util.UUID;
+
+/**
+ * Command to expire a payment reservation that was neither confirmed nor released in time.
+ */
+public record ExpirePaymentReservationCommand(
+    @TargetAggregateIdentifier UUID reservationId
+) {
+    public ExpirePaymentReservationCommand {
+        if (reservationId == null) {
+            throw new IllegalArgumentException("Reservation ID cannot be null");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.shared.command;
+
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Command to lease part of a customer's available credit to one sales node.
+ */
+public record GrantCreditLeaseCommand(
+    @TargetAggregateIdentifier UUID leaseId,
+    String holderId,
+    String customerId,
+    BigDecimal amount,
+    Instant expiresAt
+) {
+    public GrantCreditLeaseCommand {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (holderId == null || holderId.isBlank()) {
+            throw new IllegalArgumentException("Holder ID cannot be null or blank");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (expiresAt == null) {
+            throw new IllegalArgumentException("Expiry cannot be null");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.shared.command;
+
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Command to lease a block of a product's stock to one sales node.
+ */
+public record GrantStockLeaseCommand(
+    @TargetAggregateIdentifier UUID leaseId,
+    String holderId,
+    String productId,
+    int quantity,
+    Instant expiresAt
+) {
+    public GrantStockLeaseCommand {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (holderId == null || holderId.isBlank()) {
+            throw new IllegalArgumentException("Holder ID cannot be null or blank");
+        }
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be null or blank");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (expiresAt == null) {
+            throw new IllegalArgumentException("Expiry cannot be null");
+        }
+    }
+}
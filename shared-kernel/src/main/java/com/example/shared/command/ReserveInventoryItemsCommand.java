@@ -0,0 +1,30 @@
+package com.example.shared.command;
+
+import com.example.shared.valueobject.ProductQuantity;
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command to reserve inventory for all items of an order at once: every item is
+ * reserved or none is.
+ */
+public record ReserveInventoryItemsCommand(
+    @TargetAggregateIdentifier UUID reservationId,
+    UUID orderId,
+    List<ProductQuantity> items
+) {
+    public ReserveInventoryItemsCommand {
+        if (reservationId == null) {
+            throw new IllegalArgumentException("Reservation ID cannot be null");
+        }
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Items cannot be null or empty");
+        }
+        items = List.copyOf(items);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.shared.command;
+
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Command to hand leased credit the holder will not use back to the customer.
+ */
+public record ReturnCreditLeaseCommand(
+    @TargetAggregateIdentifier UUID leaseId,
+    BigDecimal amount
+) {
+    public ReturnCreditLeaseCommand {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+    }
+}
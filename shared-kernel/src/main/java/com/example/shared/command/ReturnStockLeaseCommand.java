@@ -0,0 +1,22 @@
+package com.example.shared.command;
+
+import org.axonframework.modelling.command.TargetAggregateIdentifier;
+
+import java.util.UUID;
+
+/**
+ * Command to hand leased stock the holder will not use back to the product.
+ */
+public record ReturnStockLeaseCommand(
+    @TargetAggregateIdentifier UUID leaseId,
+    int quantity
+) {
+    public ReturnStockLeaseCommand {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.shared.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when leased credit is charged for a confirmed order.
+ */
+public record CreditLeaseConsumedEvent(
+    UUID leaseId,
+    UUID orderId,
+    String customerId,
+    BigDecimal amount,
+    Instant timestamp
+) {
+    public CreditLeaseConsumedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public CreditLeaseConsumedEvent(UUID leaseId, UUID orderId, String customerId, BigDecimal amount) {
+        this(leaseId, orderId, customerId, amount, Instant.now());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.shared.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when no credit could be leased.
+ */
+public record CreditLeaseDeniedEvent(
+    UUID leaseId,
+    String holderId,
+    String customerId,
+    BigDecimal requestedAmount,
+    String reason,
+    Instant timestamp
+) {
+    public CreditLeaseDeniedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (holderId == null || holderId.isBlank()) {
+            throw new IllegalArgumentException("Holder ID cannot be null or blank");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("Reason cannot be null or blank");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public CreditLeaseDeniedEvent(UUID leaseId, String holderId, String customerId, BigDecimal requestedAmount,
+            String reason) {
+        this(leaseId, holderId, customerId, requestedAmount, reason, Instant.now());
+    }
+}
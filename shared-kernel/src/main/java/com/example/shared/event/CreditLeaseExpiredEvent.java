@@ -0,0 +1,40 @@
+package com.example.shared.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when a credit lease expires: the credit its orders consumed is
+ * deducted and the rest is returned to the customer.
+ */
+public record CreditLeaseExpiredEvent(
+    UUID leaseId,
+    String customerId,
+    BigDecimal consumedAmount,
+    BigDecimal releasedAmount,
+    Instant timestamp
+) {
+    public CreditLeaseExpiredEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (consumedAmount == null || consumedAmount.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Consumed amount cannot be negative");
+        }
+        if (releasedAmount == null || releasedAmount.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Released amount cannot be negative");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public CreditLeaseExpiredEvent(UUID leaseId, String customerId, BigDecimal consumedAmount,
+            BigDecimal releasedAmount) {
+        this(leaseId, customerId, consumedAmount, releasedAmount, Instant.now());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.shared.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when part of a customer's credit is leased to a sales node and held as reserved credit.
+ */
+public record CreditLeaseGrantedEvent(
+    UUID leaseId,
+    String holderId,
+    String customerId,
+    BigDecimal amount,
+    Instant expiresAt,
+    Instant timestamp
+) {
+    public CreditLeaseGrantedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (holderId == null || holderId.isBlank()) {
+            throw new IllegalArgumentException("Holder ID cannot be null or blank");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (expiresAt == null) {
+            throw new IllegalArgumentException("Expiry cannot be null");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public CreditLeaseGrantedEvent(UUID leaseId, String holderId, String customerId, BigDecimal amount,
+            Instant expiresAt) {
+        this(leaseId, holderId, customerId, amount, expiresAt, Instant.now());
+    }
+}
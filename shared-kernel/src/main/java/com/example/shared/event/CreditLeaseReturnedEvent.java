@@ -0,0 +1,34 @@
+package com.example.shared.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when unused leased credit is returned to the customer.
+ */
+public record CreditLeaseReturnedEvent(
+    UUID leaseId,
+    String customerId,
+    BigDecimal amount,
+    Instant timestamp
+) {
+    public CreditLeaseReturnedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public CreditLeaseReturnedEvent(UUID leaseId, String customerId, BigDecimal amount) {
+        this(leaseId, customerId, amount, Instant.now());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.shared.event;
+
+import com.example.shared.valueobject.ProductQuantity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event published when all items of a multi-item inventory reservation are reserved.
+ */
+public record InventoryItemsReservedEvent(
+    UUID orderId,
+    UUID reservationId,
+    List<ProductQuantity> items,
+    Instant timestamp
+) {
+    public InventoryItemsReservedEvent {
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (reservationId == null) {
+            throw new IllegalArgumentException("Reservation ID cannot be null");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Items cannot be null or empty");
+        }
+        items = List.copyOf(items);
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public InventoryItemsReservedEvent(UUID orderId, UUID reservationId, List<ProductQuantity> items) {
+        this(orderId, reservationId, items, Instant.now());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.shared.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when an inventory reservation expires; its stock is returned afterwards.
+ */
+public record InventoryReservationExpiredEvent(
+    UUID orderId,
+    UUID reservationId,
+    String productId,
+    int quantity,
+    Instant timestamp
+) {
+    public InventoryReservationExpiredEvent {
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (reservationId == null) {
+            throw new IllegalArgumentException("Reservation ID cannot be null");
+        }
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be null or blank");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public InventoryReservationExpiredEvent(UUID orderId, UUID reservationId, String productId, int quantity) {
+        this(orderId, reservationId, productId, quantity, Instant.now());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.shared.event;
+
+import com.example.shared.valueobject.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event published when a new order of several items is created.
+ */
+public record MultiItemOrderCreatedEvent(
+    UUID orderId,
+    String customerId,
+    List<OrderItem> items,
+    BigDecimal amount,
+    Instant timestamp
+) {
+    public MultiItemOrderCreatedEvent {
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Items cannot be null or empty");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        items = List.copyOf(items);
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public MultiItemOrderCreatedEvent(UUID orderId, String customerId, List<OrderItem> items, BigDecimal amount) {
+        this(orderId, customerId, items, amount, Instant.now());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.shared.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when a payment reservation expires; its credit is returned afterwards.
+ */
+public record PaymentReservationExpiredEvent(
+    UUID orderId,
+    UUID reservationId,
+    String customerId,
+    BigDecimal amount,
+    Instant timestamp
+) {
+    public PaymentReservationExpiredEvent {
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (reservationId == null) {
+            throw new IllegalArgumentException("Reservation ID cannot be null");
+        }
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be null or blank");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public PaymentReservationExpiredEvent(UUID orderId, UUID reservationId, String customerId, BigDecimal amount) {
+        this(orderId, reservationId, customerId, amount, Instant.now());
+    }
+}
@@ -43,6 +43,7 @@ public record PaymentReservationFailedEvent(
     public enum Reason {
         INSUFFICIENT_CREDIT,
         CUSTOMER_NOT_FOUND,
+        INVALID_AMOUNT,
         SYSTEM_ERROR
     }
 }
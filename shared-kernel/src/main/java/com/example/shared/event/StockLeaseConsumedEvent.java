@@ -0,0 +1,37 @@
+package com.example.shared.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when leased stock is deducted for a confirmed order.
+ */
+public record StockLeaseConsumedEvent(
+    UUID leaseId,
+    UUID orderId,
+    String productId,
+    int quantity,
+    Instant timestamp
+) {
+    public StockLeaseConsumedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be null or blank");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public StockLeaseConsumedEvent(UUID leaseId, UUID orderId, String productId, int quantity) {
+        this(leaseId, orderId, productId, quantity, Instant.now());
+    }
+}
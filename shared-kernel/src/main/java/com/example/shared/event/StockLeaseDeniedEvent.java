@@ -0,0 +1,39 @@
+package com.example.shared.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when no stock could be leased.
+ */
+public record StockLeaseDeniedEvent(
+    UUID leaseId,
+    String holderId,
+    String productId,
+    int requestedQuantity,
+    String reason,
+    Instant timestamp
+) {
+    public StockLeaseDeniedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (holderId == null || holderId.isBlank()) {
+            throw new IllegalArgumentException("Holder ID cannot be null or blank");
+        }
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be null or blank");
+        }
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("Reason cannot be null or blank");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public StockLeaseDeniedEvent(UUID leaseId, String holderId, String productId, int requestedQuantity,
+            String reason) {
+        this(leaseId, holderId, productId, requestedQuantity, reason, Instant.now());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.shared.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when a lease expires and its unconsumed stock is returned to the product.
+ */
+public record StockLeaseExpiredEvent(
+    UUID leaseId,
+    String productId,
+    int quantity,
+    Instant timestamp
+) {
+    public StockLeaseExpiredEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be null or blank");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public StockLeaseExpiredEvent(UUID leaseId, String productId, int quantity) {
+        this(leaseId, productId, quantity, Instant.now());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.shared.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when a block of stock is leased to a sales node and held as reserved stock.
+ */
+public record StockLeaseGrantedEvent(
+    UUID leaseId,
+    String holderId,
+    String productId,
+    int quantity,
+    Instant expiresAt,
+    Instant timestamp
+) {
+    public StockLeaseGrantedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (holderId == null || holderId.isBlank()) {
+            throw new IllegalArgumentException("Holder ID cannot be null or blank");
+        }
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be null or blank");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (expiresAt == null) {
+            throw new IllegalArgumentException("Expiry cannot be null");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public StockLeaseGrantedEvent(UUID leaseId, String holderId, String productId, int quantity, Instant expiresAt) {
+        this(leaseId, holderId, productId, quantity, expiresAt, Instant.now());
+    }
+}
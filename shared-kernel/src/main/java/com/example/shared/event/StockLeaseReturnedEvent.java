@@ -0,0 +1,33 @@
+package com.example.shared.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when unused leased stock is returned to the product.
+ */
+public record StockLeaseReturnedEvent(
+    UUID leaseId,
+    String productId,
+    int quantity,
+    Instant timestamp
+) {
+    public StockLeaseReturnedEvent {
+        if (leaseId == null) {
+            throw new IllegalArgumentException("Lease ID cannot be null");
+        }
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be null or blank");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+    public StockLeaseReturnedEvent(UUID leaseId, String productId, int quantity) {
+        this(leaseId, productId, quantity, Instant.now());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.shared.exception;
+
+import org.axonframework.commandhandling.CommandExecutionException;
+import org.axonframework.messaging.HandlerExecutionException;
+
+/**
+ * Thrown by a reservation aggregate that refuses to confirm or release a
+ * reservation that is already confirmed, released or expired.
+ *
+ * The {@link #ERROR_CODE} is carried as the exception's details, which Axon
+ * Server returns to the sender even though it does not keep the exception type,
+ * so senders classify the refusal with {@link #isCauseOf(Throwable)} instead of
+ * reading the message.
+ */
+public class ReservationSettledException extends CommandExecutionException {
+
+    public static final String ERROR_CODE = "RESERVATION_SETTLED";
+
+    public ReservationSettledException(String message) {
+        super(message, null, ERROR_CODE);
+    }
+
+    /**
+     * Whether the failure, or any exception in its cause chain, carries this refusal's error code.
+     */
+    public static boolean isCauseOf(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof HandlerExecutionException handlerFailure
+                    && ERROR_CODE.equals(handlerFailure.getDetails().orElse(null))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.shared.seed;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over ranks {@code 0 .. size-1}, rank 0 being the most frequent.
+ *
+ * Rank {@code r} has weight {@code 1 / (r + 1)^exponent}. An exponent of 0 is
+ * uniform; around 1 a few ranks dominate, the way a handful of SKUs and customers
+ * take most of the orders in a sale. Used both to skew seeded stock and credit
+ * and to pick which product or customer a synthetic order goes to.
+ */
+public final class ZipfDistribution {
+
+    private final double exponent;
+    private final double[] cumulative;
+
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent cannot be negative");
+        }
+        this.exponent = exponent;
+        this.cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += weight(rank, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    /**
+     * Unnormalised weight of a rank: 1 for rank 0, falling off as {@code (rank + 1)^-exponent}.
+     */
+    public static double weight(long rank, double exponent) {
+        return exponent == 0 ? 1.0 : Math.pow(rank + 1, -exponent);
+    }
+
+    /**
+     * Scale {@code max} by the weight of a rank, never going below {@code min}.
+     * Rank 0 gets {@code max}.
+     */
+    public static long scaled(long max, long min, long rank, double exponent) {
+        return Math.max(min, Math.round(max * weight(rank, exponent)));
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    public double exponent() {
+        return exponent;
+    }
+
+    /**
+     * Draw a rank.
+     */
+    public int sample(RandomGenerator random) {
+        double u = random.nextDouble();
+        int index = Arrays.binarySearch(cumulative, u);
+        int rank = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
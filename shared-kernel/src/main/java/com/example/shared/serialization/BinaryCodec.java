@@ -0,0 +1,461 @@
+package com.example.shared.serialization;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Field-by-field binary encoding of one record or class, derived by reflection.
+ *
+ * A record is written in component order and rebuilt through its canonical
+ * constructor, so its validation runs on decode too. A class is written by its
+ * non-static, non-transient fields, superclass fields first and each level
+ * sorted by name, and rebuilt through its no-argument constructor. Field names
+ * are never written: the layout is the schema, which is why it is versioned.
+ *
+ * Encoded object: a bitmap with one bit per reference-typed field (set if
+ * null), then each present field in order:
+ * <ul>
+ *   <li>int, long: zigzag varint; boolean: one byte; double: 8 bytes</li>
+ *   <li>String: UTF-8 length and bytes</li>
+ *   <li>UUID: two fixed 8-byte longs</li>
+ *   <li>enum: ordinal as varint</li>
+ *   <li>BigDecimal: zigzag scale, then the unscaled value as a zigzag varint,
+ *       or as two's-complement bytes if it does not fit in a long</li>
+ *   <li>Instant: zigzag epoch seconds and varint nanos</li>
+ *   <li>List: element count as varint, then each element; elements may not be null</li>
+ *   <li>any other record or class: nested, encoded the same way</li>
+ * </ul>
+ * Other field types, such as other collections or interfaces, are rejected when
+ * the codec is built.
+ */
+final class BinaryCodec {
+
+    private static final int MAX_NULLABLE_FIELDS = 64;
+
+    private final Class<?> type;
+    private final ValueCodec[] fieldCodecs;
+    private final boolean[] nullable;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final MethodHandle constructor;
+    private final int bitmapBytes;
+
+    private BinaryCodec(Class<?> type, List<Field> fields, MethodHandle constructor, MethodHandle[] setters,
+                        Set<Class<?>> building) throws IllegalAccessException {
+        this.type = type;
+        this.constructor = constructor;
+        this.setters = setters;
+        this.fieldCodecs = new ValueCodec[fields.size()];
+        this.nullable = new boolean[fields.size()];
+        this.getters = new MethodHandle[fields.size()];
+        int nullableCount = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            field.setAccessible(true);
+            fieldCodecs[i] = valueCodec(field.getType(), field.getGenericType(), type, building);
+            nullable[i] = !field.getType().isPrimitive();
+            nullableCount += nullable[i] ? 1 : 0;
+            getters[i] = MethodHandles.lookup().unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+        }
+        if (nullableCount > MAX_NULLABLE_FIELDS) {
+            throw new IllegalArgumentException(type.getName() + " has more than " + MAX_NULLABLE_FIELDS
+                + " reference fields");
+        }
+        this.bitmapBytes = (nullableCount + 7) / 8;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the type or one of its fields cannot be encoded
+     */
+    static BinaryCodec forType(Class<?> type) {
+        return forType(type, new HashSet<>());
+    }
+
+    private static BinaryCodec forType(Class<?> type, Set<Class<?>> building) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isArray()) {
+            throw new IllegalArgumentException("Cannot encode " + type.getName() + ": not a concrete class");
+        }
+        if (!building.add(type)) {
+            throw new IllegalArgumentException("Cannot encode " + type.getName() + ": it contains itself");
+        }
+        try {
+            return type.isRecord() ? forRecord(type, building) : forClass(type, building);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot encode " + type.getName() + ": " + e.getMessage(), e);
+        } finally {
+            building.remove(type);
+        }
+    }
+
+    private static BinaryCodec forRecord(Class<?> type, Set<Class<?>> building)
+            throws ReflectiveOperationException {
+        RecordComponent[] components = type.getRecordComponents();
+        List<Field> fields = new ArrayList<>(components.length);
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            fields.add(type.getDeclaredField(components[i].getName()));
+            parameterTypes[i] = components[i].getType();
+        }
+        var canonical = type.getDeclaredConstructor(parameterTypes);
+        canonical.setAccessible(true);
+        MethodHandle constructor = MethodHandles.lookup().unreflectConstructor(canonical)
+            .asSpreader(Object[].class, components.length)
+            .asType(MethodType.methodType(Object.class, Object[].class));
+        return new BinaryCodec(type, fields, constructor, null, building);
+    }
+
+    private static BinaryCodec forClass(Class<?> type, Set<Class<?>> building)
+            throws ReflectiveOperationException {
+        List<Field> fields = new ArrayList<>();
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> level = type; level != null && level != Object.class; level = level.getSuperclass()) {
+            hierarchy.add(0, level);
+        }
+        for (Class<?> level : hierarchy) {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : level.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    declared.add(field);
+                }
+            }
+            declared.sort(Comparator.comparing(Field::getName));
+            fields.addAll(declared);
+        }
+        var noArgs = type.getDeclaredConstructor();
+        noArgs.setAccessible(true);
+        MethodHandle constructor = MethodHandles.lookup().unreflectConstructor(noArgs)
+            .asType(MethodType.methodType(Object.class));
+        MethodHandle[] setters = new MethodHandle[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            field.setAccessible(true);
+            setters[i] = MethodHandles.lookup().unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+        return new BinaryCodec(type, fields, constructor, setters, building);
+    }
+
+    Class<?> type() {
+        return type;
+    }
+
+    byte[] encode(Object value) {
+        BinaryWriter out = new BinaryWriter(64);
+        write(out, value);
+        return out.toByteArray();
+    }
+
+    Object decode(byte[] bytes) {
+        BinaryReader in = new BinaryReader(bytes);
+        Object value = read(in);
+        if (!in.isAtEnd()) {
+            throw new IllegalArgumentException("Trailing bytes after " + type.getName());
+        }
+        return value;
+    }
+
+    void write(BinaryWriter out, Object value) {
+        int bitmapStart = out.reserve(bitmapBytes);
+        long nulls = 0;
+        int nullableIndex = 0;
+        for (int i = 0; i < fieldCodecs.length; i++) {
+            Object fieldValue = get(i, value);
+            if (nullable[i]) {
+                if (fieldValue == null) {
+                    nulls |= 1L << nullableIndex;
+                }
+                nullableIndex++;
+            }
+            if (fieldValue != null) {
+                fieldCodecs[i].write(out, fieldValue);
+            }
+        }
+        for (int b = 0; b < bitmapBytes; b++) {
+            out.setByte(bitmapStart + b, (int) (nulls >>> (8 * b)));
+        }
+    }
+
+    Object read(BinaryReader in) {
+        long nulls = 0;
+        for (int b = 0; b < bitmapBytes; b++) {
+            nulls |= (long) in.readByte() << (8 * b);
+        }
+        Object[] values = new Object[fieldCodecs.length];
+        int nullableIndex = 0;
+        for (int i = 0; i < fieldCodecs.length; i++) {
+            boolean isNull = nullable[i] && (nulls & (1L << nullableIndex++)) != 0;
+            values[i] = isNull ? null : fieldCodecs[i].read(in);
+        }
+        return instantiate(values);
+    }
+
+    private Object get(int index, Object target) {
+        try {
+            return (Object) getters[index].invokeExact(target);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot read field " + index + " of " + type.getName(), e);
+        }
+    }
+
+    private Object instantiate(Object[] values) {
+        try {
+            if (setters == null) {
+                return (Object) constructor.invokeExact(values);
+            }
+            Object instance = (Object) constructor.invokeExact();
+            // Nulls are set too, so field initialisers do not win over the encoded state
+            for (int i = 0; i < values.length; i++) {
+                setters[i].invokeExact(instance, values[i]);
+            }
+            return instance;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Cannot instantiate " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static ValueCodec valueCodec(Class<?> fieldType, Type genericType, Class<?> owner,
+                                         Set<Class<?>> building) {
+        if (fieldType == int.class || fieldType == Integer.class) {
+            return ValueCodec.INT;
+        }
+        if (fieldType == long.class || fieldType == Long.class) {
+            return ValueCodec.LONG;
+        }
+        if (fieldType == boolean.class || fieldType == Boolean.class) {
+            return ValueCodec.BOOLEAN;
+        }
+        if (fieldType == double.class || fieldType == Double.class) {
+            return ValueCodec.DOUBLE;
+        }
+        if (fieldType == String.class) {
+            return ValueCodec.STRING;
+        }
+        if (fieldType == UUID.class) {
+            return ValueCodec.UUID;
+        }
+        if (fieldType == BigDecimal.class) {
+            return ValueCodec.DECIMAL;
+        }
+        if (fieldType == Instant.class) {
+            return ValueCodec.INSTANT;
+        }
+        if (fieldType.isEnum()) {
+            return ValueCodec.forEnum(fieldType);
+        }
+        if (fieldType == List.class) {
+            return listCodec(genericType, owner, building);
+        }
+        if (fieldType.isPrimitive() || fieldType.getName().startsWith("java.")) {
+            throw new IllegalArgumentException("Cannot encode " + owner.getName() + ": unsupported field type "
+                + fieldType.getName());
+        }
+        BinaryCodec nested = forType(fieldType, building);
+        return new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                nested.write(out, value);
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return nested.read(in);
+            }
+        };
+    }
+
+    private static ValueCodec listCodec(Type genericType, Class<?> owner, Set<Class<?>> building) {
+        if (!(genericType instanceof ParameterizedType parameterized)
+                || !(parameterized.getActualTypeArguments()[0] instanceof Class<?> elementType)) {
+            throw new IllegalArgumentException("Cannot encode " + owner.getName() + ": a List needs a concrete "
+                + "element type");
+        }
+        ValueCodec elements = valueCodec(elementType, elementType, owner, building);
+        return new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                List<?> list = (List<?>) value;
+                out.writeVarLong(list.size());
+                for (Object element : list) {
+                    elements.write(out, Objects.requireNonNull(element, "List elements cannot be null"));
+                }
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                // Every element takes at least one byte, so the count is bounded by what is left
+                Object[] values = new Object[in.readLength()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = elements.read(in);
+                }
+                return List.of(values);
+            }
+        };
+    }
+
+    /**
+     * Encoding of one non-null field value.
+     */
+    private interface ValueCodec {
+
+        ValueCodec INT = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                out.writeSignedVarLong((Integer) value);
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return Math.toIntExact(in.readSignedVarLong());
+            }
+        };
+
+        ValueCodec LONG = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                out.writeSignedVarLong((Long) value);
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return in.readSignedVarLong();
+            }
+        };
+
+        ValueCodec BOOLEAN = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                out.writeByte((Boolean) value ? 1 : 0);
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return in.readByte() != 0;
+            }
+        };
+
+        ValueCodec DOUBLE = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                out.writeFixedLong(Double.doubleToRawLongBits((Double) value));
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return Double.longBitsToDouble(in.readFixedLong());
+            }
+        };
+
+        ValueCodec STRING = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                out.writeString((String) value);
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return in.readString();
+            }
+        };
+
+        ValueCodec UUID = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                java.util.UUID uuid = (java.util.UUID) value;
+                out.writeFixedLong(uuid.getMostSignificantBits());
+                out.writeFixedLong(uuid.getLeastSignificantBits());
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return new java.util.UUID(in.readFixedLong(), in.readFixedLong());
+            }
+        };
+
+        ValueCodec DECIMAL = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                BigDecimal decimal = (BigDecimal) value;
+                BigInteger unscaled = decimal.unscaledValue();
+                // Lowest bit of the header tells whether the unscaled value fits in a long
+                boolean big = unscaled.bitLength() > 63;
+                long zigzagScale = ((long) decimal.scale() << 1) ^ (decimal.scale() >> 31);
+                out.writeVarLong(zigzagScale << 1 | (big ? 1 : 0));
+                if (big) {
+                    byte[] bytes = unscaled.toByteArray();
+                    out.writeVarLong(bytes.length);
+                    out.writeBytes(bytes);
+                } else {
+                    out.writeSignedVarLong(unscaled.longValue());
+                }
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                long header = in.readVarLong();
+                long zigzagScale = header >>> 1;
+                int scale = (int) ((zigzagScale >>> 1) ^ -(zigzagScale & 1));
+                if ((header & 1) == 0) {
+                    return BigDecimal.valueOf(in.readSignedVarLong(), scale);
+                }
+                return new BigDecimal(new BigInteger(in.readBytes(in.readLength())), scale);
+            }
+        };
+
+        ValueCodec INSTANT = new ValueCodec() {
+            @Override
+            public void write(BinaryWriter out, Object value) {
+                Instant instant = (Instant) value;
+                out.writeSignedVarLong(instant.getEpochSecond());
+                out.writeVarLong(instant.getNano());
+            }
+
+            @Override
+            public Object read(BinaryReader in) {
+                return Instant.ofEpochSecond(in.readSignedVarLong(), in.readVarLong());
+            }
+        };
+
+        static ValueCodec forEnum(Class<?> enumType) {
+            Object[] constants = enumType.getEnumConstants();
+            return new ValueCodec() {
+                @Override
+                public void write(BinaryWriter out, Object value) {
+                    out.writeVarLong(((Enum<?>) value).ordinal());
+                }
+
+                @Override
+                public Object read(BinaryReader in) {
+                    long ordinal = in.readVarLong();
+                    if (ordinal < 0 || ordinal >= constants.length) {
+                        throw new IllegalArgumentException("No " + enumType.getName() + " with ordinal " + ordinal);
+                    }
+                    return constants[(int) ordinal];
+                }
+            };
+        }
+
+        void write(BinaryWriter out, Object value);
+
+        Object read(BinaryReader in);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.shared.serialization;
+
+import org.axonframework.serialization.Converter;
+import org.axonframework.serialization.SerializationException;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SerializedType;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.axonframework.serialization.SimpleSerializedType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Axon serializer that writes registered types in a compact binary layout and
+ * hands everything else to a fallback serializer.
+ *
+ * Registered types are encoded by {@link BinaryCodec}: no field names, UUIDs as
+ * two longs, enums as ordinals and amounts as scaled longs. They are only
+ * written this way when Axon asks for {@code byte[]}, which the event store,
+ * the saga store and Axon Server do; other representations, unregistered types
+ * (tokens, deadline payloads, metadata values) and data written before the
+ * switch all go through the fallback.
+ *
+ * The serialized type keeps the class name and sets the revision to
+ * {@code binary-<version>}, which is how stored data is routed back to the
+ * right decoder. Changing a registered type's fields, their order or an enum's
+ * constants changes its layout; bump its version then. Data with another
+ * binary version is rejected instead of being misread.
+ */
+public class BinarySerializer implements Serializer {
+
+    static final String REVISION_PREFIX = "binary-";
+
+    private final Serializer fallback;
+    private final Map<Class<?>, Registration> byType;
+    private final Map<String, Registration> byName;
+
+    private BinarySerializer(Builder builder) {
+        this.fallback = builder.fallback;
+        this.byType = Map.copyOf(builder.registrations);
+        Map<String, Registration> names = new HashMap<>();
+        byType.forEach((type, registration) -> names.put(type.getName(), registration));
+        this.byName = Map.copyOf(names);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> SerializedObject<T> serialize(Object object, Class<T> expectedRepresentation) {
+        if (object != null && expectedRepresentation == byte[].class) {
+            Registration registration = byType.get(object.getClass());
+            if (registration != null) {
+                return new SimpleSerializedObject<>((T) registration.codec.encode(object), expectedRepresentation,
+                    registration.serializedType);
+            }
+        }
+        return fallback.serialize(object, expectedRepresentation);
+    }
+
+    @Override
+    public <T> boolean canSerializeTo(Class<T> expectedRepresentation) {
+        return fallback.canSerializeTo(expectedRepresentation);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S, T> T deserialize(SerializedObject<S> serializedObject) {
+        Registration registration = registrationFor(serializedObject.getType());
+        if (registration == null) {
+            return fallback.deserialize(serializedObject);
+        }
+        byte[] bytes = getConverter().convert(serializedObject.getData(), serializedObject.getContentType(),
+            byte[].class);
+        try {
+            return (T) registration.codec.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Cannot decode " + serializedObject.getType().getName(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Class classForType(SerializedType type) {
+        Registration registration = registrationFor(type);
+        return registration != null ? registration.codec.type() : fallback.classForType(type);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public SerializedType typeForClass(Class type) {
+        Registration registration = byType.get(type);
+        return registration != null ? registration.serializedType : fallback.typeForClass(type);
+    }
+
+    @Override
+    public Converter getConverter() {
+        return fallback.getConverter();
+    }
+
+    /**
+     * Whether values of the type are written in the binary layout.
+     */
+    public boolean isRegistered(Class<?> type) {
+        return byType.containsKey(type);
+    }
+
+    private Registration registrationFor(SerializedType type) {
+        String revision = type.getRevision();
+        if (revision == null || !revision.startsWith(REVISION_PREFIX)) {
+            return null;
+        }
+        Registration registration = byName.get(type.getName());
+        if (registration == null) {
+            throw new SerializationException("No binary layout registered for " + type.getName());
+        }
+        if (!registration.serializedType.getRevision().equals(revision)) {
+            throw new SerializationException(type.getName() + " was written with layout " + revision
+                + " but " + registration.serializedType.getRevision() + " is registered");
+        }
+        return registration;
+    }
+
+    private record Registration(BinaryCodec codec, SerializedType serializedType) {
+    }
+
+    /**
+     * Builder for {@link BinarySerializer}. A fallback serializer is required.
+     */
+    public static class Builder {
+
+        private Serializer fallback;
+        private final Map<Class<?>, Registration> registrations = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Serializer for unregistered types and for data not written by this serializer.
+         */
+        public Builder fallback(Serializer fallback) {
+            this.fallback = fallback;
+            return this;
+        }
+
+        /**
+         * Register types at layout version 1.
+         */
+        public Builder register(Collection<Class<?>> types) {
+            types.forEach(type -> register(type, 1));
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the type or one of its fields cannot be encoded
+         */
+        public Builder register(Class<?> type, int version) {
+            if (version < 1) {
+                throw new IllegalArgumentException("Layout version must be positive");
+            }
+            registrations.put(type, new Registration(
+                BinaryCodec.forType(type),
+                new SimpleSerializedType(type.getName(), REVISION_PREFIX + version)
+            ));
+            return this;
+        }
+
+        public BinarySerializer build() {
+            Objects.requireNonNull(fallback, "Fallback serializer is required");
+            return new BinarySerializer(this);
+        }
+    }
+}
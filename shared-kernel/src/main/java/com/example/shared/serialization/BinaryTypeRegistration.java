@@ -0,0 +1,11 @@
+package com.example.shared.serialization;
+
+/**
+ * Adds a service's own types, such as saga state, to the {@link BinarySerializer}
+ * built for it. Services expose implementations as beans.
+ */
+@FunctionalInterface
+public interface BinaryTypeRegistration {
+
+    void registerTo(BinarySerializer.Builder builder);
+}
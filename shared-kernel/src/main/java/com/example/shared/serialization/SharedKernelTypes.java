@@ -0,0 +1,62 @@
+package com.example.shared.serialization;
+
+import com.example.shared.command.*;
+import com.example.shared.event.*;
+
+import java.util.List;
+
+/**
+ * The shared-kernel commands and events, for {@link BinarySerializer.Builder#register}.
+ */
+public final class SharedKernelTypes {
+
+    public static final List<Class<?>> MESSAGES = List.of(
+        CreateOrderCommand.class,
+        CreateMultiItemOrderCommand.class,
+        ConfirmOrderCommand.class,
+        CancelOrderCommand.class,
+        ReservePaymentCommand.class,
+        ConfirmPaymentCommand.class,
+        ReleasePaymentCommand.class,
+        ExpirePaymentReservationCommand.class,
+        ReserveInventoryCommand.class,
+        ReserveInventoryItemsCommand.class,
+        ConfirmInventoryCommand.class,
+        ReleaseInventoryCommand.class,
+        ExpireInventoryReservationCommand.class,
+        GrantStockLeaseCommand.class,
+        ConsumeStockLeaseCommand.class,
+        ReturnStockLeaseCommand.class,
+        GrantCreditLeaseCommand.class,
+        ConsumeCreditLeaseCommand.class,
+        ReturnCreditLeaseCommand.class,
+        OrderCreatedEvent.class,
+        MultiItemOrderCreatedEvent.class,
+        OrderConfirmedEvent.class,
+        OrderCancelledEvent.class,
+        PaymentReservedEvent.class,
+        PaymentReservationFailedEvent.class,
+        PaymentConfirmedEvent.class,
+        PaymentReleasedEvent.class,
+        PaymentReservationExpiredEvent.class,
+        InventoryReservedEvent.class,
+        InventoryItemsReservedEvent.class,
+        InventoryReservationFailedEvent.class,
+        InventoryConfirmedEvent.class,
+        InventoryReleasedEvent.class,
+        InventoryReservationExpiredEvent.class,
+        StockLeaseGrantedEvent.class,
+        StockLeaseDeniedEvent.class,
+        StockLeaseConsumedEvent.class,
+        StockLeaseReturnedEvent.class,
+        StockLeaseExpiredEvent.class,
+        CreditLeaseGrantedEvent.class,
+        CreditLeaseDeniedEvent.class,
+        CreditLeaseConsumedEvent.class,
+        CreditLeaseReturnedEvent.class,
+        CreditLeaseExpiredEvent.class
+    );
+
+    private SharedKernelTypes() {
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.shared.valueobject;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.util.Objects;
 
 /**
  * Value object representing monetary amounts.
  * Immutable and self-validating.
+ *
+ * Hot paths can work in minor units (hundredths, matching the scale of the
+ * persisted amounts) as plain {@code long}s; {@link #toMinorUnits(BigDecimal)}
+ * is the boundary where scale is checked.
  */
 public record Money(BigDecimal amount, String currency) {
 
     public static final String DEFAULT_CURRENCY = "TWD";
+    public static final int MINOR_UNIT_SCALE = 2;
+    private static final long MINOR_UNITS_PER_UNIT = 100;
 
     public Money {
         Objects.requireNonNull(amount, "Amount cannot be null");
@@ -35,6 +43,59 @@ public record Money(BigDecimal amount, String currency) {
         return new Money(BigDecimal.ZERO, DEFAULT_CURRENCY);
     }
 
+    public static Money ofMinorUnits(long minorUnits) {
+        return new Money(fromMinorUnits(minorUnits), DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Convert an amount to minor units.
+     *
+     * @throws IllegalArgumentException if the amount has more than two decimals or does not fit in a long
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        Objects.requireNonNull(amount, "Amount cannot be null");
+        BigInteger minorUnits;
+        try {
+            minorUnits = amount.setScale(MINOR_UNIT_SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                "Amount cannot be represented in minor units: " + amount.toPlainString(), e
+            );
+        }
+        if (!fitsLong(minorUnits)) {
+            throw new IllegalArgumentException(
+                "Amount cannot be represented in minor units: " + amount.toPlainString()
+            );
+        }
+        return minorUnits.longValue();
+    }
+
+    /**
+     * Whether {@link #toMinorUnits(BigDecimal)} accepts the amount.
+     */
+    public static boolean fitsMinorUnits(BigDecimal amount) {
+        return amount != null
+            && amount.stripTrailingZeros().scale() <= MINOR_UNIT_SCALE
+            && fitsLong(amount.setScale(MINOR_UNIT_SCALE, RoundingMode.UNNECESSARY).unscaledValue());
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+
+    /**
+     * Format minor units as a plain decimal string, e.g. 3500000 as "35000.00".
+     */
+    public static String formatMinorUnits(long minorUnits) {
+        long units = Math.abs(minorUnits / MINOR_UNITS_PER_UNIT);
+        long cents = Math.abs(minorUnits % MINOR_UNITS_PER_UNIT);
+        return (minorUnits < 0 ? "-" : "") + units + (cents < 10 ? ".0" : ".") + cents;
+    }
+
+    public long toMinorUnits() {
+        return toMinorUnits(amount);
+    }
+
     public Money add(Money other) {
         validateSameCurrency(other);
         return new Money(this.amount.add(other.amount), this.currency);
@@ -64,6 +125,13 @@ public record Money(BigDecimal amount, String currency) {
         return this.amount.compareTo(other.amount) < 0;
     }
 
+    /**
+     * The range check shared by {@link #toMinorUnits(BigDecimal)} and {@link #fitsMinorUnits(BigDecimal)}.
+     */
+    private static boolean fitsLong(BigInteger minorUnits) {
+        return minorUnits.bitLength() < Long.SIZE;
+    }
+
     private void validateSameCurrency(Money other) {
         if (!this.currency.equals(other.currency)) {
             throw new IllegalArgumentException(
@@ -0,0 +1,36 @@
+package com.example.shared.valueobject;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Value object representing a quantity of one product, as reserved from inventory.
+ * Immutable and self-validating.
+ */
+public record ProductQuantity(String productId, int quantity) {
+
+    public ProductQuantity {
+        Objects.requireNonNull(productId, "Product ID cannot be null");
+        if (productId.isBlank()) {
+            throw new IllegalArgumentException("Product ID cannot be blank");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+
+    /**
+     * One entry per product in product ID order, with the quantities of repeated
+     * products added up. Multi-product stock writes take their locks in this order.
+     */
+    public static List<ProductQuantity> merged(Collection<ProductQuantity> items) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        items.forEach(item -> quantities.merge(item.productId(), item.quantity(), Math::addExact));
+        return quantities.entrySet().stream()
+            .map(entry -> new ProductQuantity(entry.getKey(), entry.getValue()))
+            .toList();
+    }
+}
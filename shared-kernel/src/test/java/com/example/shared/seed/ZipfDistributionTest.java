@@ -0,0 +1,78 @@
+package com.example.shared.seed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ZipfDistribution.
+ */
+@DisplayName("ZipfDistribution")
+class ZipfDistributionTest {
+
+    @Test
+    @DisplayName("should scale values down with rank but not below the minimum")
+    void shouldScaleWithRank() {
+        // Then
+        assertEquals(1000, ZipfDistribution.scaled(1000, 10, 0, 1.0));
+        assertEquals(500, ZipfDistribution.scaled(1000, 10, 1, 1.0));
+        assertEquals(250, ZipfDistribution.scaled(1000, 10, 3, 1.0));
+        assertEquals(10, ZipfDistribution.scaled(1000, 10, 999, 1.0));
+    }
+
+    @Test
+    @DisplayName("should give every rank the maximum with exponent zero")
+    void shouldBeFlatWithoutSkew() {
+        // Then
+        assertEquals(1000, ZipfDistribution.scaled(1000, 10, 0, 0.0));
+        assertEquals(1000, ZipfDistribution.scaled(1000, 10, 999, 0.0));
+    }
+
+    @Test
+    @DisplayName("should sample rank zero most often under skew")
+    void shouldConcentrateSamplesOnHotRanks() {
+        // Given
+        ZipfDistribution distribution = new ZipfDistribution(100, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[100];
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        // Then - rank 0 carries 1 / H(100) ~ 19% of the weight, rank 1 half of that
+        assertEquals(0.193, counts[0] / 100_000.0, 0.01);
+        assertEquals(0.096, counts[1] / 100_000.0, 0.01);
+        assertTrue(counts[99] < counts[0] / 50);
+    }
+
+    @Test
+    @DisplayName("should sample uniformly with exponent zero")
+    void shouldSampleUniformlyWithoutSkew() {
+        // Given
+        ZipfDistribution distribution = new ZipfDistribution(4, 0.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[4];
+
+        // When
+        for (int i = 0; i < 40_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        // Then
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject an empty range and a negative exponent")
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(10, -0.5));
+    }
+}
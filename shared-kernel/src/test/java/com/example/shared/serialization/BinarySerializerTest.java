@@ -0,0 +1,229 @@
+package com.example.shared.serialization;
+
+import com.example.shared.command.*;
+import com.example.shared.event.*;
+import com.example.shared.valueobject.Money;
+import com.example.shared.valueobject.OrderItem;
+import com.example.shared.valueobject.ProductQuantity;
+import org.axonframework.serialization.ChainingConverter;
+import org.axonframework.serialization.Converter;
+import org.axonframework.serialization.SerializationException;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SerializedType;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.axonframework.serialization.SimpleSerializedType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BinarySerializer.
+ */
+@DisplayName("BinarySerializer")
+class BinarySerializerTest {
+
+    private static final UUID ORDER_ID = UUID.randomUUID();
+    private static final UUID RESERVATION_ID = UUID.randomUUID();
+    private static final BigDecimal AMOUNT = new BigDecimal("35000.00");
+
+    private final StoringSerializer fallback = new StoringSerializer();
+    private final BinarySerializer serializer = BinarySerializer.builder()
+        .fallback(fallback)
+        .register(SharedKernelTypes.MESSAGES)
+        .register(SagaState.class, 2)
+        .build();
+
+    @Test
+    @DisplayName("should round-trip every shared-kernel command and event")
+    void shouldRoundTripSharedKernelMessages() {
+        // Given
+        List<Object> messages = List.of(
+            new CreateOrderCommand(ORDER_ID, "CUST-001", "IPHONE17", 1, AMOUNT),
+            new ConfirmOrderCommand(ORDER_ID),
+            CancelOrderCommand.forTimeout(ORDER_ID),
+            new ReservePaymentCommand(RESERVATION_ID, ORDER_ID, "CUST-001", AMOUNT),
+            new ReleaseInventoryCommand(RESERVATION_ID, ORDER_ID, "Payment failed"),
+            new OrderCreatedEvent(ORDER_ID, "CUST-001", "IPHONE17", 1, AMOUNT),
+            new OrderCancelledEvent(ORDER_ID, "Operation timed out", true),
+            new PaymentReservedEvent(ORDER_ID, RESERVATION_ID, "CUST-001", AMOUNT, Instant.now()),
+            new PaymentReservationFailedEvent(ORDER_ID, RESERVATION_ID, "CUST-001", AMOUNT, null,
+                PaymentReservationFailedEvent.Reason.INSUFFICIENT_CREDIT.name(), "Insufficient crédit"),
+            new InventoryReservedEvent(ORDER_ID, RESERVATION_ID, "IPHONE17", 1, 99),
+            new MultiItemOrderCreatedEvent(ORDER_ID, "CUST-001", List.of(
+                new OrderItem("IPHONE17", 1, Money.of(AMOUNT)),
+                new OrderItem("SKU-0000001", 3, new Money(new BigDecimal("12.50"), "USD"))
+            ), AMOUNT),
+            new ReserveInventoryItemsCommand(RESERVATION_ID, ORDER_ID, List.of(
+                new ProductQuantity("IPHONE17", 1),
+                new ProductQuantity("SKU-0000001", 3)
+            ))
+        );
+
+        for (Object message : messages) {
+            // When
+            SerializedObject<byte[]> serialized = serializer.serialize(message, byte[].class);
+
+            // Then
+            assertEquals(message.getClass().getName(), serialized.getType().getName());
+            assertEquals("binary-1", serialized.getType().getRevision());
+            assertEquals(message, serializer.deserialize(serialized));
+        }
+        assertTrue(fallback.stored.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should write a UUID as two longs")
+    void shouldWriteUuidAsTwoLongs() {
+        // When
+        byte[] bytes = serializer.serialize(new ConfirmOrderCommand(ORDER_ID), byte[].class).getData();
+
+        // Then - one byte of null flags, sixteen of UUID
+        assertEquals(17, bytes.length);
+    }
+
+    @Test
+    @DisplayName("should keep amounts of any scale and size")
+    void shouldKeepAmountsOfAnyScaleAndSize() {
+        for (BigDecimal amount : List.of(new BigDecimal("0.01"), new BigDecimal("1E+3"),
+                new BigDecimal("123456789012345678901234567890.12"))) {
+            // Given
+            ReservePaymentCommand command = new ReservePaymentCommand(RESERVATION_ID, ORDER_ID, "CUST-001", amount);
+
+            // When
+            ReservePaymentCommand decoded = serializer.deserialize(serializer.serialize(command, byte[].class));
+
+            // Then - equals on BigDecimal compares the scale too
+            assertEquals(amount, decoded.amount());
+        }
+    }
+
+    @Test
+    @DisplayName("should restore class state including nulls over field initialisers")
+    void shouldRestoreClassState() {
+        // Given
+        SagaState state = new SagaState();
+        state.orderId = ORDER_ID;
+        state.status = null;
+        state.attempts = 3;
+        state.resource = "not serialized";
+
+        // When
+        SerializedObject<byte[]> serialized = serializer.serialize(state, byte[].class);
+        SagaState decoded = serializer.deserialize(serialized);
+
+        // Then
+        assertEquals("binary-2", serialized.getType().getRevision());
+        assertEquals(ORDER_ID, decoded.orderId);
+        assertNull(decoded.status);
+        assertEquals(3, decoded.attempts);
+        assertNull(decoded.resource);
+    }
+
+    @Test
+    @DisplayName("should hand unregistered types and other representations to the fallback")
+    void shouldUseFallback() {
+        // When
+        SerializedObject<byte[]> unregistered = serializer.serialize(List.of("token"), byte[].class);
+        SerializedObject<String> asString = serializer.serialize(new ConfirmOrderCommand(ORDER_ID), String.class);
+
+        // Then
+        assertNull(unregistered.getType().getRevision());
+        assertEquals(List.of("token"), serializer.deserialize(unregistered));
+        assertEquals(new ConfirmOrderCommand(ORDER_ID), serializer.deserialize(asString));
+        assertEquals(2, fallback.stored.size());
+    }
+
+    @Test
+    @DisplayName("should reject data written with another layout version")
+    void shouldRejectOtherLayoutVersion() {
+        // Given
+        byte[] bytes = serializer.serialize(new ConfirmOrderCommand(ORDER_ID), byte[].class).getData();
+        SimpleSerializedObject<byte[]> older = new SimpleSerializedObject<>(bytes, byte[].class,
+            ConfirmOrderCommand.class.getName(), "binary-0");
+
+        // When / Then
+        assertThrows(SerializationException.class, () -> serializer.deserialize(older));
+    }
+
+    @Test
+    @DisplayName("should refuse to register types with unsupported fields")
+    void shouldRefuseUnsupportedFields() {
+        // When / Then
+        BinarySerializer.Builder builder = BinarySerializer.builder().fallback(fallback);
+        assertThrows(IllegalArgumentException.class, () -> builder.register(WithMap.class, 1));
+    }
+
+    /**
+     * Saga-like class: mutable fields, an initialiser and a transient resource.
+     */
+    static class SagaState {
+
+        private UUID orderId;
+        private Status status = Status.PENDING;
+        private int attempts;
+        private transient String resource;
+
+        enum Status { PENDING, DONE }
+    }
+
+    record WithMap(Map<String, String> values) {
+    }
+
+    /**
+     * Keeps fallback-serialized objects in memory and hands out their keys.
+     */
+    private static class StoringSerializer implements Serializer {
+
+        private final Map<String, Object> stored = new HashMap<>();
+        private final Converter converter = new ChainingConverter();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> SerializedObject<T> serialize(Object object, Class<T> expectedRepresentation) {
+            String key = UUID.randomUUID().toString();
+            stored.put(key, object);
+            Object data = expectedRepresentation == String.class ? key : key.getBytes(StandardCharsets.UTF_8);
+            return new SimpleSerializedObject<>((T) data, expectedRepresentation, typeForClass(object.getClass()));
+        }
+
+        @Override
+        public <T> boolean canSerializeTo(Class<T> expectedRepresentation) {
+            return expectedRepresentation == String.class || expectedRepresentation == byte[].class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <S, T> T deserialize(SerializedObject<S> serializedObject) {
+            Object data = serializedObject.getData();
+            String key = data instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : (String) data;
+            return (T) stored.get(key);
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Class classForType(SerializedType type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public SerializedType typeForClass(Class type) {
+            return new SimpleSerializedType(type.getName(), null);
+        }
+
+        @Override
+        public Converter getConverter() {
+            return converter;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.shared.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Publishes a microsecond {@link LatencyHistogram} to Micrometer as p50/p99/p999 gauges in seconds.
+ *
+ * The gauges read the histogram when the registry is scraped; nothing is
+ * added to the recording path.
+ */
+public final class LatencyGauges {
+
+    private static final double[] PERCENTILES = {50.0, 99.0, 99.9};
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+
+    private LatencyGauges() {
+    }
+
+    public static void register(MeterRegistry registry, String name, String description, Tags tags,
+                                LatencyHistogram histogram) {
+        for (double percentile : PERCENTILES) {
+            Gauge.builder(name, histogram, h -> h.snapshot().valueAtPercentile(percentile) / MICROS_PER_SECOND)
+                .tags(tags)
+                .tag("quantile", String.valueOf(percentile / 100.0))
+                .baseUnit("seconds")
+                .description(description)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.shared.metrics;
+
+/**
+ * Percentiles of one {@link LatencyHistogram}, in the histogram's unit.
+ *
+ * @param count number of recorded values
+ * @param p50   median
+ * @param p99   99th percentile
+ * @param p999  99.9th percentile
+ * @param max   largest recorded value
+ */
+public record LatencyPercentiles(long count, long p50, long p99, long p999, long max) {
+
+    public static LatencyPercentiles of(LatencyHistogram.Snapshot histogram) {
+        return new LatencyPercentiles(
+            histogram.totalCount(),
+            histogram.valueAtPercentile(50.0),
+            histogram.valueAtPercentile(99.0),
+            histogram.valueAtPercentile(99.9),
+            histogram.maxValue()
+        );
+    }
+}
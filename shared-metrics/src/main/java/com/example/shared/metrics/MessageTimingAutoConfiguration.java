@@ -0,0 +1,52 @@
+package com.example.shared.metrics;
+
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.queryhandling.QueryBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the message timing interceptors on the command bus, the query bus
+ * and every event processor (sagas included) of the service it is on.
+ *
+ * Disable with {@code axon.message-timing.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "axon.message-timing", name = "enabled", matchIfMissing = true)
+public class MessageTimingAutoConfiguration {
+
+    private final MessageTimings messageTimings = new MessageTimings();
+    private final MessageTimingHandlerInterceptor handlerInterceptor =
+        new MessageTimingHandlerInterceptor(messageTimings);
+    private final MessageTimingDispatchInterceptor dispatchInterceptor = new MessageTimingDispatchInterceptor();
+
+    @Bean
+    public MessageTimings messageTimings() {
+        return messageTimings;
+    }
+
+    @Bean
+    public MessageTimingsEndpoint messageTimingsEndpoint() {
+        return new MessageTimingsEndpoint(messageTimings);
+    }
+
+    @Autowired
+    public void registerCommandInterceptors(CommandBus commandBus) {
+        commandBus.registerDispatchInterceptor(dispatchInterceptor);
+        commandBus.registerHandlerInterceptor(handlerInterceptor);
+    }
+
+    @Autowired
+    public void registerQueryInterceptors(QueryBus queryBus) {
+        queryBus.registerDispatchInterceptor(dispatchInterceptor);
+        queryBus.registerHandlerInterceptor(handlerInterceptor);
+    }
+
+    @Autowired
+    public void registerEventInterceptors(EventProcessingConfigurer eventProcessingConfigurer) {
+        eventProcessingConfigurer.registerDefaultHandlerInterceptor((configuration, processorName) -> handlerInterceptor);
+    }
+}
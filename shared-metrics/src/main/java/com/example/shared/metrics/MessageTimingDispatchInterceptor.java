@@ -0,0 +1,26 @@
+package com.example.shared.metrics;
+
+import org.axonframework.messaging.Message;
+import org.axonframework.messaging.MessageDispatchInterceptor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Stamps commands and queries with their dispatch time, so the handling side
+ * can measure how long they waited. Events carry their own timestamp.
+ */
+public class MessageTimingDispatchInterceptor implements MessageDispatchInterceptor<Message<?>> {
+
+    /** Metadata key holding the dispatch time in epoch microseconds. */
+    public static final String DISPATCHED_AT = "dispatchedAtMicros";
+
+    @Override
+    public BiFunction<Integer, Message<?>, Message<?>> handle(List<? extends Message<?>> messages) {
+        return (index, message) -> message.getMetaData().containsKey(DISPATCHED_AT)
+            ? message
+            : message.andMetaData(Map.of(DISPATCHED_AT, MessageTimings.epochMicros(Instant.now())));
+    }
+}
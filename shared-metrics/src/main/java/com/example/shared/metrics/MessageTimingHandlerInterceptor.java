@@ -0,0 +1,63 @@
+package com.example.shared.metrics;
+
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.messaging.InterceptorChain;
+import org.axonframework.messaging.Message;
+import org.axonframework.messaging.MessageHandlerInterceptor;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+
+import java.time.Instant;
+
+/**
+ * Times every handled message into {@link MessageTimings}.
+ *
+ * Queue wait runs from the event timestamp, or the dispatch time stamped by
+ * {@link MessageTimingDispatchInterceptor}, to the start of handling. Both are
+ * wall-clock times, so across hosts they include clock skew. Commit time runs
+ * from prepare-commit to after-commit of the unit of work, which is where
+ * event appends, saga stores and projection flushes happen.
+ */
+public class MessageTimingHandlerInterceptor implements MessageHandlerInterceptor<Message<?>> {
+
+    private final MessageTimings timings;
+
+    public MessageTimingHandlerInterceptor(MessageTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public Object handle(UnitOfWork<? extends Message<?>> unitOfWork, InterceptorChain interceptorChain)
+            throws Exception {
+        Message<?> message = unitOfWork.getMessage();
+        MessageTimings.TypeTimings typeTimings = timings.forType(message.getPayloadType());
+
+        long dispatchedAtMicros = dispatchedAtMicros(message);
+        if (dispatchedAtMicros != 0) {
+            typeTimings.recordQueueWait(MessageTimings.epochMicros(Instant.now()) - dispatchedAtMicros);
+        }
+
+        long[] commitStartedAt = new long[1];
+        unitOfWork.onPrepareCommit(uow -> commitStartedAt[0] = System.nanoTime());
+        unitOfWork.afterCommit(uow -> typeTimings.recordCommit((System.nanoTime() - commitStartedAt[0]) / 1_000));
+
+        long startedAt = System.nanoTime();
+        try {
+            Object result = interceptorChain.proceed();
+            typeTimings.recordHandled((System.nanoTime() - startedAt) / 1_000);
+            return result;
+        } catch (Exception e) {
+            typeTimings.recordFailed((System.nanoTime() - startedAt) / 1_000);
+            throw e;
+        }
+    }
+
+    private static long dispatchedAtMicros(Message<?> message) {
+        if (message instanceof EventMessage<?> event) {
+            return MessageTimings.epochMicros(event.getTimestamp());
+        }
+        // Numbers may come back as Integer or Long after serialization
+        return message.getMetaData().get(MessageTimingDispatchInterceptor.DISPATCHED_AT) instanceof Number dispatchedAt
+            ? dispatchedAt.longValue()
+            : 0;
+    }
+}
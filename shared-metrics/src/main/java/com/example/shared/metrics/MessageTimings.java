@@ -0,0 +1,149 @@
+package com.example.shared.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue wait, handling and commit latency of Axon messages, per payload type.
+ *
+ * All latencies are in microseconds. Counters for a payload type are created
+ * on its first message and published to Micrometer from then on:
+ * {@code axon.message.queue-wait}, {@code axon.message.handling} and
+ * {@code axon.message.commit} gauges plus {@code axon.message.handled} and
+ * {@code axon.message.failed} counters, all tagged with {@code message-type}.
+ */
+public class MessageTimings implements MeterBinder {
+
+    /** One hour, in microseconds; slower messages are counted as one hour. */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Map<Class<?>, TypeTimings> timings = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * Counters of one payload type, created on first use.
+     */
+    public TypeTimings forType(Class<?> payloadType) {
+        TypeTimings typeTimings = timings.get(payloadType);
+        if (typeTimings != null) {
+            return typeTimings;
+        }
+        return timings.computeIfAbsent(payloadType, type -> {
+            TypeTimings created = new TypeTimings(type.getSimpleName());
+            MeterRegistry current = registry;
+            if (current != null) {
+                created.register(current);
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Current counters, keyed by payload simple name.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        timings.values().forEach(typeTimings -> snapshot.put(typeTimings.messageType, typeTimings.snapshot()));
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        timings.values().forEach(typeTimings -> typeTimings.register(registry));
+    }
+
+    public static long epochMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    /**
+     * Counters of one payload type.
+     */
+    public static final class TypeTimings {
+
+        private final String messageType;
+        private final LatencyHistogram queueWait = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+        private final LatencyHistogram handling = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+        private final LatencyHistogram commit = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+        private final LongAdder handled = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private TypeTimings(String messageType) {
+            this.messageType = messageType;
+        }
+
+        public void recordQueueWait(long micros) {
+            queueWait.record(micros);
+        }
+
+        public void recordHandled(long micros) {
+            handled.increment();
+            handling.record(micros);
+        }
+
+        public void recordFailed(long micros) {
+            failed.increment();
+            handling.record(micros);
+        }
+
+        public void recordCommit(long micros) {
+            commit.record(micros);
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(
+                handled.sum(),
+                failed.sum(),
+                LatencyPercentiles.of(queueWait.snapshot()),
+                LatencyPercentiles.of(handling.snapshot()),
+                LatencyPercentiles.of(commit.snapshot())
+            );
+        }
+
+        private void register(MeterRegistry registry) {
+            Tags tags = Tags.of("message-type", messageType);
+            LatencyGauges.register(registry, "axon.message.queue-wait",
+                "Time from dispatch or publication to the start of handling", tags, queueWait);
+            LatencyGauges.register(registry, "axon.message.handling",
+                "Time spent in the message handler", tags, handling);
+            LatencyGauges.register(registry, "axon.message.commit",
+                "Time from prepare-commit to after-commit of the handling unit of work", tags, commit);
+            FunctionCounter.builder("axon.message.handled", handled, LongAdder::sum)
+                .tags(tags)
+                .description("Messages handled successfully")
+                .register(registry);
+            FunctionCounter.builder("axon.message.failed", failed, LongAdder::sum)
+                .tags(tags)
+                .description("Messages whose handler threw")
+                .register(registry);
+        }
+    }
+
+    /**
+     * Counters of one payload type, latencies in microseconds.
+     *
+     * @param handled   messages handled successfully
+     * @param failed    messages whose handler threw
+     * @param queueWait dispatch or publication to start of handling
+     * @param handling  time in the handler, failures included
+     * @param commit    prepare-commit to after-commit of the unit of work
+     */
+    public record Snapshot(
+        long handled,
+        long failed,
+        LatencyPercentiles queueWait,
+        LatencyPercentiles handling,
+        LatencyPercentiles commit
+    ) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.shared.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing {@link MessageTimings} per message type.
+ * GET /actuator/messagetimings
+ */
+@Endpoint(id = "messagetimings")
+public class MessageTimingsEndpoint {
+
+    private final MessageTimings timings;
+
+    public MessageTimingsEndpoint(MessageTimings timings) {
+        this.timings = timings;
+    }
+
+    @ReadOperation
+    public Map<String, MessageTimings.Snapshot> messageTimings() {
+        return timings.snapshot();
+    }
+}
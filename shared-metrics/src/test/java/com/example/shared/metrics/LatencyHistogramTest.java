@@ -0,0 +1,86 @@
+package com.example.shared.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+@DisplayName("LatencyHistogram")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("should report exact values below the first sub-bucket boundary")
+    void shouldReportSmallValuesExactly() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(1_000_000);
+        for (long value = 1; value <= 50; value++) {
+            histogram.record(value);
+        }
+
+        // When
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Then
+        assertEquals(50, snapshot.totalCount());
+        assertEquals(25, snapshot.valueAtPercentile(50.0));
+        assertEquals(50, snapshot.valueAtPercentile(99.9));
+        assertEquals(50, snapshot.maxValue());
+    }
+
+    @Test
+    @DisplayName("should keep percentiles within the bucket precision")
+    void shouldKeepPrecision() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(10_000_000);
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        // When
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Then
+        assertEquals(50_000, snapshot.valueAtPercentile(50.0), 50_000 * 0.016);
+        assertEquals(99_000, snapshot.valueAtPercentile(99.0), 99_000 * 0.016);
+        assertEquals(99_900, snapshot.valueAtPercentile(99.9), 99_900 * 0.016);
+        assertEquals(100_000, snapshot.maxValue());
+    }
+
+    @Test
+    @DisplayName("should clamp negative and oversized values")
+    void shouldClampOutOfRangeValues() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(1_000);
+
+        // When
+        histogram.record(-5);
+        histogram.record(5_000);
+
+        // Then
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.totalCount());
+        assertEquals(0, snapshot.valueAtPercentile(50.0));
+        assertEquals(1_000, snapshot.valueAtPercentile(100.0));
+    }
+
+    @Test
+    @DisplayName("should map every index back to a value that maps to it")
+    void shouldRoundTripIndexes() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(highest >= value);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+            assertEquals(index + 1, LatencyHistogram.indexOf(highest + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("should report zero when empty")
+    void shouldReportZeroWhenEmpty() {
+        assertEquals(0, new LatencyHistogram(1_000).snapshot().valueAtPercentile(99.0));
+    }
+}
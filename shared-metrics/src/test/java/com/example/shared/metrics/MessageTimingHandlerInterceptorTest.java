@@ -0,0 +1,84 @@
+package com.example.shared.metrics;
+
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.messaging.Message;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageTimingHandlerInterceptor.
+ */
+@DisplayName("MessageTimingHandlerInterceptor")
+class MessageTimingHandlerInterceptorTest {
+
+    private final MessageTimings timings = new MessageTimings();
+    private final MessageTimingHandlerInterceptor interceptor = new MessageTimingHandlerInterceptor(timings);
+    private final MessageTimingDispatchInterceptor dispatchInterceptor = new MessageTimingDispatchInterceptor();
+
+    @Test
+    @DisplayName("should record queue wait, handling and commit of a dispatched command")
+    void shouldTimeDispatchedCommand() throws Exception {
+        // Given
+        Message<?> command = dispatchInterceptor.handle(GenericCommandMessage.asCommandMessage(new TestCommand()));
+        DefaultUnitOfWork<Message<?>> unitOfWork = DefaultUnitOfWork.startAndGet(command);
+
+        // When
+        Object result = interceptor.handle(unitOfWork, () -> "handled");
+        unitOfWork.commit();
+
+        // Then
+        assertEquals("handled", result);
+        MessageTimings.Snapshot snapshot = timings.snapshot().get("TestCommand");
+        assertEquals(1, snapshot.handled());
+        assertEquals(0, snapshot.failed());
+        assertEquals(1, snapshot.queueWait().count());
+        assertEquals(1, snapshot.handling().count());
+        assertEquals(1, snapshot.commit().count());
+    }
+
+    @Test
+    @DisplayName("should count a failing handler and skip the commit time on rollback")
+    void shouldCountFailures() {
+        // Given
+        DefaultUnitOfWork<Message<?>> unitOfWork =
+            DefaultUnitOfWork.startAndGet(GenericCommandMessage.asCommandMessage(new TestCommand()));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> interceptor.handle(unitOfWork, () -> {
+            throw new IllegalStateException("handler failed");
+        }));
+        unitOfWork.rollback();
+
+        // Then
+        MessageTimings.Snapshot snapshot = timings.snapshot().get("TestCommand");
+        assertEquals(0, snapshot.handled());
+        assertEquals(1, snapshot.failed());
+        assertEquals(0, snapshot.queueWait().count());
+        assertEquals(0, snapshot.commit().count());
+    }
+
+    @Test
+    @DisplayName("should take the queue wait of an event from its timestamp")
+    void shouldUseEventTimestamp() throws Exception {
+        // Given
+        DefaultUnitOfWork<Message<?>> unitOfWork =
+            DefaultUnitOfWork.startAndGet(GenericEventMessage.asEventMessage(new TestEvent()));
+
+        // When
+        interceptor.handle(unitOfWork, () -> null);
+        unitOfWork.commit();
+
+        // Then
+        assertEquals(1, timings.snapshot().get("TestEvent").queueWait().count());
+    }
+
+    private record TestCommand() {
+    }
+
+    private record TestEvent() {
+    }
+}